@@ -2,6 +2,7 @@ package com.boeing.bookingservice.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.Authentication;
@@ -9,6 +10,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import feign.RequestInterceptor;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -17,6 +21,9 @@ public class FeignConfig {
 
     private static final Logger log = LoggerFactory.getLogger(FeignConfig.class);
 
+    private static final String FLIGHT_SERVICE = "flight-service";
+    private static final Pattern FLIGHT_ID_PATH = Pattern.compile("/flights/([0-9a-fA-F-]{36})(?:/|$)");
+
     @Bean
     public RequestInterceptor requestInterceptor() {
         return requestTemplate -> {
@@ -48,4 +55,25 @@ public class FeignConfig {
             log.warn("⚠️ No Authorization header found for inter-service call to {}", requestTemplate.url());
         };
     }
+
+    /**
+     * Sends the flight id of every flight-service call as its consistency session. flight-service pins a session
+     * to its primary database for a few seconds after the session writes, so reading a flight right after
+     * confirming or releasing its seats and fares never sees a replica that has not caught up yet. Calls that
+     * are not about a single flight (search, batch details, seat swap) carry no session and read the replica.
+     */
+    @Bean
+    public RequestInterceptor flightConsistencySessionInterceptor(
+            @Value("${services.flight-service.consistency-session-header:X-Consistency-Session}") String sessionHeader) {
+        return requestTemplate -> {
+            if (requestTemplate.feignTarget() == null
+                    || !FLIGHT_SERVICE.equals(requestTemplate.feignTarget().name())) {
+                return;
+            }
+            Matcher matcher = FLIGHT_ID_PATH.matcher(requestTemplate.path());
+            if (matcher.find()) {
+                requestTemplate.header(sessionHeader, matcher.group(1));
+            }
+        };
+    }
 }
@@ -16,12 +16,16 @@ import com.boeing.bookingservice.integration.fs.dto.FsConfirmFareSaleResponseDTO
 import com.boeing.bookingservice.integration.fs.dto.FsConfirmSeatsRequestDTO;
 import com.boeing.bookingservice.integration.fs.dto.FsConfirmSeatsResponseDTO;
 import com.boeing.bookingservice.integration.fs.dto.FsFareAvailabilityResponseDTO;
+import com.boeing.bookingservice.integration.fs.dto.FsFlightDetailsBatchRequestDTO;
+import com.boeing.bookingservice.integration.fs.dto.FsFlightDetailsBatchResponseDTO;
 import com.boeing.bookingservice.integration.fs.dto.FsFlightOptionDTO;
 import com.boeing.bookingservice.integration.fs.dto.FsFlightWithFareDetailsDTO;
 import com.boeing.bookingservice.integration.fs.dto.FsReleaseFareRequestDTO;
 import com.boeing.bookingservice.integration.fs.dto.FsReleaseFareResponseDTO;
 import com.boeing.bookingservice.integration.fs.dto.FsReleaseSeatsRequestDTO;
 import com.boeing.bookingservice.integration.fs.dto.FsReleaseSeatsResponseDTO;
+import com.boeing.bookingservice.integration.fs.dto.FsSeatSwapRequestDTO;
+import com.boeing.bookingservice.integration.fs.dto.FsSeatSwapResponseDTO;
 import com.boeing.bookingservice.integration.fs.dto.FsSeatsAvailabilityResponseDTO;
 import com.boeing.bookingservice.dto.response.FlightDetailDTO;
 
@@ -39,6 +43,9 @@ public interface FlightClient {
     @GetMapping("/flight-service/api/v1/fs/flights/{flightId}/details")
     FsFlightWithFareDetailsDTO getFlightDetails(@PathVariable("flightId") UUID flightId);
 
+    @PostMapping("/flight-service/api/v1/fs/flights/details:batch")
+    FsFlightDetailsBatchResponseDTO getFlightDetailsBatch(@RequestBody FsFlightDetailsBatchRequestDTO request);
+
     @GetMapping("/flight-service/api/v1/fs/flights/{flightId}/fares/{fareName}/check-availability")
     FsFareAvailabilityResponseDTO checkFareAvailability(
             @PathVariable("flightId") UUID flightId,
@@ -78,6 +85,9 @@ public interface FlightClient {
             @RequestBody FsReleaseSeatsRequestDTO request
     );
 
+    @PostMapping("/flight-service/api/v1/fs/flights/seats/swap")
+    FsSeatSwapResponseDTO swapSeats(@RequestBody FsSeatSwapRequestDTO request);
+
     @GetMapping("/flight-service/api/v1/fs/flights/{flightId}/details")
     FsFlightWithFareDetailsDTO getFlightBasicDetails(@PathVariable("flightId") UUID flightId);
 
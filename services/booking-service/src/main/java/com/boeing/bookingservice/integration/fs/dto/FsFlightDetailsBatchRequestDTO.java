@@ -0,0 +1,17 @@
+package com.boeing.bookingservice.integration.fs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FsFlightDetailsBatchRequestDTO {
+    private List<UUID> flightIds;
+}
@@ -0,0 +1,30 @@
+package com.boeing.bookingservice.integration.fs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FsFlightDetailsBatchResponseDTO {
+    private String status;
+    private String message;
+    // In request order; error is set instead of result when a flight was not found or its details could not be
+    // built, with flight-service's reason
+    private List<FlightResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FlightResult {
+        private UUID flightId;
+        private FsFlightWithFareDetailsDTO result;
+        private String error;
+    }
+}
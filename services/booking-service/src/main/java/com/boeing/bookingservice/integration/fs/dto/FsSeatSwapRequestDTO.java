@@ -0,0 +1,40 @@
+package com.boeing.bookingservice.integration.fs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FsSeatSwapRequestDTO {
+    private String bookingReference;
+    private List<FlightSeats> release;
+    private List<FlightSeats> confirm;
+    private List<FareSeats> releaseFares;
+    private List<FareSeats> confirmFares;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FlightSeats {
+        private UUID flightId;
+        private List<String> seatCodes;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FareSeats {
+        private UUID flightId;
+        private String fareName;
+        private int count;
+    }
+}
@@ -0,0 +1,29 @@
+package com.boeing.bookingservice.integration.fs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FsSeatSwapResponseDTO {
+    private String status;
+    private String message;
+    private List<FlightResult<FsConfirmSeatsResponseDTO>> confirmed;
+    private List<FlightResult<FsReleaseSeatsResponseDTO>> released;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FlightResult<T> {
+        private UUID flightId;
+        private T result;
+        private String error;
+    }
+}
@@ -295,14 +295,39 @@ public class CreateBookingSagaOrchestrator {
             boolean allFaresAvailable = true;
             String failureReason = null;
 
-            for (int i = 0; i < request.getFlightIds().size(); i++) {
+            // One round trip for all segments; results come back in request order
+            List<FsFlightDetailsBatchResponseDTO.FlightResult> segmentResults = List.of();
+            try {
+                FsFlightDetailsBatchResponseDTO batch = flightClient.getFlightDetailsBatch(
+                        new FsFlightDetailsBatchRequestDTO(request.getFlightIds()));
+                if (batch != null && batch.getResults() != null) {
+                    segmentResults = batch.getResults();
+                }
+            } catch (Exception e) {
+                allFaresAvailable = false;
+                failureReason = "Error checking flight segments: " + e.getMessage();
+                log.error("[SAGA_ERROR][{}] Error fetching details of flight segments: {}", sagaId, e.getMessage(), e);
+            }
+
+            for (int i = 0; allFaresAvailable && i < request.getFlightIds().size(); i++) {
                 UUID flightId = request.getFlightIds().get(i);
 
                 log.info("[SAGA_STEP][{}] Checking flight segment {}/{}: {}",
                         sagaId, i + 1, request.getFlightIds().size(), flightId);
 
                 try {
-                    FsFlightWithFareDetailsDTO flightDetails = flightClient.getFlightDetails(flightId);
+                    FsFlightDetailsBatchResponseDTO.FlightResult segmentResult =
+                            i < segmentResults.size() ? segmentResults.get(i) : null;
+                    if (segmentResult != null && segmentResult.getError() != null) {
+                        // Missing flights and failed lookups (e.g. aircraft-service down) both land here;
+                        // flight-service's error says which
+                        allFaresAvailable = false;
+                        failureReason = "Flight segment " + (i + 1) + " unavailable: " + segmentResult.getError();
+                        log.error("[SAGA_ERROR][{}] Flight segment {} ({}) unavailable: {}",
+                                sagaId, i + 1, flightId, segmentResult.getError());
+                        break;
+                    }
+                    FsFlightWithFareDetailsDTO flightDetails = segmentResult != null ? segmentResult.getResult() : null;
 
                     if (flightDetails == null || flightDetails.getAvailableFares() == null || flightDetails.getAvailableFares().isEmpty()) {
                         allFaresAvailable = false;
@@ -344,11 +369,6 @@ public class CreateBookingSagaOrchestrator {
 
                     allFlightDetails.add(flightDetail);
 
-                } catch (feign.FeignException.NotFound e) {
-                    allFaresAvailable = false;
-                    failureReason = "Flight segment " + (i + 1) + " not found: " + flightId;
-                    log.error("[SAGA_ERROR][{}] Flight segment {} not found: {}", sagaId, i + 1, flightId);
-                    break;
                 } catch (Exception e) {
                     allFaresAvailable = false;
                     failureReason = "Error checking flight segment " + (i + 1) + ": " + e.getMessage();
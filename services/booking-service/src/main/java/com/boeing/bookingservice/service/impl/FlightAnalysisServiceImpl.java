@@ -4,7 +4,8 @@ import com.boeing.bookingservice.dto.response.FlightAnalysisResult;
 import com.boeing.bookingservice.dto.response.FlightDetailDTO;
 import com.boeing.bookingservice.exception.FlightAnalysisException;
 import com.boeing.bookingservice.integration.fs.FlightClient;
-import com.boeing.bookingservice.integration.fs.dto.FsFlightWithFareDetailsDTO;
+import com.boeing.bookingservice.integration.fs.dto.FsFlightDetailsBatchRequestDTO;
+import com.boeing.bookingservice.integration.fs.dto.FsFlightDetailsBatchResponseDTO;
 import com.boeing.bookingservice.model.enums.FlightType;
 import com.boeing.bookingservice.service.FlightAnalysisService;
 import com.boeing.bookingservice.utils.FlightDTOConverter;
@@ -42,7 +43,7 @@ public class FlightAnalysisServiceImpl implements FlightAnalysisService {
         }
         
         try {
-            // Get flight details for all flights using robust sequential API calls
+            // Get flight details for all flights in one batch API call
             List<FlightDetailDTO> flights = getFlightDetailsBatch(flightIds);
             
             // Sort flights by departure time to ensure chronological order
@@ -115,66 +116,55 @@ public class FlightAnalysisServiceImpl implements FlightAnalysisService {
     }
     
     /**
-     * Fetches flight details for multiple flight IDs using sequential API calls.
-     * This method implements robust error handling and fails fast if any flight cannot be retrieved.
+     * Fetches flight details for multiple flight IDs with a single batch API call.
+     * This method fails fast if any flight cannot be retrieved.
      * 
      * @param flightIds List of flight IDs to fetch details for
      * @return List of FlightDetailDTO objects for all requested flights
      * @throws FlightAnalysisException if any flight details cannot be retrieved
      */
     private List<FlightDetailDTO> getFlightDetailsBatch(List<UUID> flightIds) {
-        log.info("🔍 Retrieving flight details for {} flights using sequential API calls", flightIds.size());
+        log.info("🔍 Retrieving flight details for {} flights using one batch API call", flightIds.size());
         
-        // Initialize empty list to collect results
-        List<FlightDetailDTO> results = new ArrayList<>();
+        FsFlightDetailsBatchResponseDTO response;
+        try {
+            response = flightClient.getFlightDetailsBatch(new FsFlightDetailsBatchRequestDTO(flightIds));
+        } catch (FeignException e) {
+            // Handle Feign client errors with detailed information
+            String errorMessage = String.format("Failed to fetch details for flights: %s. Feign client error: Status %d - %s. Analysis cannot proceed.", 
+                flightIds, e.status(), e.getMessage());
+            
+            log.error("❌ {}", errorMessage);
+            throw new FlightAnalysisException(errorMessage, e);
+        }
         
-        // Process each flight ID sequentially
-        for (UUID flightId : flightIds) {
-            try {
-                log.debug("🔍 Fetching details for flight: {}", flightId);
-                
-                // Call the existing single-flight API
-                FsFlightWithFareDetailsDTO fsFlightDetails = flightClient.getFlightDetails(flightId);
-                
-                // Validate the response
-                if (fsFlightDetails == null) {
-                    throw new FlightAnalysisException(
-                        String.format("Failed to fetch details for flight ID: %s. Flight service returned null response. Analysis cannot proceed.", flightId)
-                    );
-                }
-                
-                // Convert to internal DTO
-                FlightDetailDTO flightDetail = FlightDTOConverter.convertToFlightDetailDTO(fsFlightDetails);
-                
-                if (flightDetail == null) {
-                    throw new FlightAnalysisException(
-                        String.format("Failed to fetch details for flight ID: %s. Unable to convert flight service response to internal format. Analysis cannot proceed.", flightId)
-                    );
-                }
-                
-                // Add to results
-                results.add(flightDetail);
-                log.debug("✅ Successfully retrieved details for flight: {}", flightId);
-                
-            } catch (FlightAnalysisException e) {
-                // Re-throw our custom exception as-is
-                throw e;
-            } catch (FeignException e) {
-                // Handle Feign client errors with detailed information
-                String errorMessage = String.format("Failed to fetch details for flight ID: %s. Feign client error: Status %d - %s. Analysis cannot proceed.", 
-                    flightId, e.status(), e.getMessage());
-                
-                log.error("❌ {}", errorMessage);
-                throw new FlightAnalysisException(errorMessage, e);
-                
-            } catch (Exception e) {
-                // Handle any other unexpected errors
-                String errorMessage = String.format("Failed to fetch details for flight ID: %s. Unexpected error: %s. Analysis cannot proceed.", 
-                    flightId, e.getMessage());
-                
-                log.error("❌ {}", errorMessage, e);
-                throw new FlightAnalysisException(errorMessage, e);
+        if (response == null || response.getResults() == null || response.getResults().size() != flightIds.size()) {
+            throw new FlightAnalysisException(
+                String.format("Failed to fetch details for flights: %s. Flight service returned an incomplete response. Analysis cannot proceed.", flightIds)
+            );
+        }
+        
+        // Results come back in request order, one per flight ID
+        List<FlightDetailDTO> results = new ArrayList<>();
+        for (FsFlightDetailsBatchResponseDTO.FlightResult flightResult : response.getResults()) {
+            UUID flightId = flightResult.getFlightId();
+            if (flightResult.getResult() == null) {
+                throw new FlightAnalysisException(
+                    String.format("Failed to fetch details for flight ID: %s. %s. Analysis cannot proceed.", flightId,
+                        flightResult.getError() != null ? flightResult.getError() : "Flight service returned no details")
+                );
+            }
+            
+            // Convert to internal DTO
+            FlightDetailDTO flightDetail = FlightDTOConverter.convertToFlightDetailDTO(flightResult.getResult());
+            
+            if (flightDetail == null) {
+                throw new FlightAnalysisException(
+                    String.format("Failed to fetch details for flight ID: %s. Unable to convert flight service response to internal format. Analysis cannot proceed.", flightId)
+                );
             }
+            
+            results.add(flightDetail);
         }
         
         log.info("✅ Successfully retrieved details for all {} flights", results.size());
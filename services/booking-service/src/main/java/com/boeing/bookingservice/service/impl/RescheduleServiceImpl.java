@@ -66,17 +66,14 @@ public class RescheduleServiceImpl implements RescheduleService {
         // 4. Validate fare mới
         FsDetailedFareDTO newFare = validateNewFare(newFlightDetails, rescheduleRequest.getNewFareName());
 
-        // 5. Kiểm tra và confirm ghế mới
+        // 5. Kiểm tra ghế mới
         String confirmedSeatCode = handleSeatReservation(rescheduleRequest, newFlightDetails);
 
-        // 6. Release ghế cũ
-        releasePreviousSeat(bookingDetail);
-
-        // 7. Tính toán giá và xử lý payment nếu cần
+        // 6. Tính toán giá và xử lý payment nếu cần
         RescheduleFlightResponseDTO response = calculatePriceAndHandlePayment(
                 bookingDetail, newFlightDetails, newFare, confirmedSeatCode, rescheduleRequest, clientIpAddress);
 
-        // 8. Cập nhật booking detail và tạo history
+        // 7. Đổi ghế và cập nhật booking detail, tạo history
         updateBookingDetailAndCreateHistory(bookingDetail, rescheduleRequest, response, confirmedSeatCode);
 
         log.info("Reschedule completed successfully for booking detail: {}", bookingDetailId);
@@ -184,25 +181,6 @@ public class RescheduleServiceImpl implements RescheduleService {
         }
     }
 
-    private void releasePreviousSeat(BookingDetail bookingDetail) {
-        if (bookingDetail.getSelectedSeatCode() != null) {
-            try {
-                FsReleaseSeatsRequestDTO releaseRequest = FsReleaseSeatsRequestDTO.builder()
-                        .bookingReference(bookingDetail.getBookingCode())
-                        .seatCodes(Collections.singletonList(bookingDetail.getSelectedSeatCode()))
-                        .reason("RESCHEDULE")
-                        .build();
-
-                flightClient.releaseSeats(bookingDetail.getFlightId(), releaseRequest);
-                log.info("Released seat {} for flight {}", bookingDetail.getSelectedSeatCode(),
-                        bookingDetail.getFlightId());
-            } catch (Exception e) {
-                log.error("Failed to release seat {} for flight {}: {}",
-                        bookingDetail.getSelectedSeatCode(), bookingDetail.getFlightId(), e.getMessage());
-            }
-        }
-    }
-
     private RescheduleFlightResponseDTO calculatePriceAndHandlePayment(
             BookingDetail bookingDetail,
             FsFlightWithFareDetailsDTO newFlightDetails,
@@ -310,6 +288,10 @@ public class RescheduleServiceImpl implements RescheduleService {
         String oldSeatCode = bookingDetail.getSelectedSeatCode();
         double oldPrice = bookingDetail.getPrice();
 
+        // Ghế mới được giữ và ghế cũ được trả trong cùng một giao dịch của flight-service
+        swapSeat(bookingDetail, oldFlightId, oldSeatCode, rescheduleRequest.getNewFlightId(), confirmedSeatCode,
+                rescheduleRequest.getNewFareName());
+
         // Update booking detail
         bookingDetail.setFlightId(rescheduleRequest.getNewFlightId());
         bookingDetail.setFlightCode(response.getNewFlightCode());
@@ -358,9 +340,6 @@ public class RescheduleServiceImpl implements RescheduleService {
             bookingDetail.setStatus(BookingDetailStatus.RESCHEDULE_IN_PROGRESS);
             bookingDetailRepository.save(bookingDetail);
 
-            // Confirm seat mới trong flight service
-            confirmNewSeat(rescheduleRequest.getNewFlightId(), confirmedSeatCode, bookingDetail.getBookingCode());
-
             log.info("Reschedule saga created - SagaId: {}, BookingDetailId: {}, PaymentRequired: {}",
                     sagaId, bookingDetail.getId(), response.getPriceDifference());
 
@@ -385,9 +364,6 @@ public class RescheduleServiceImpl implements RescheduleService {
             bookingDetail.setStatus(BookingDetailStatus.RESCHEDULED);
             bookingDetailRepository.save(bookingDetail);
 
-            // Confirm seat mới trong flight service
-            confirmNewSeat(rescheduleRequest.getNewFlightId(), confirmedSeatCode, bookingDetail.getBookingCode());
-
             if (response.getPriceDifference() < 0) {
                 log.info(
                         "Reschedule completed - BookingDetailId: {}, HistoryId: {}, Price difference: {} VND (no refund)",
@@ -399,25 +375,46 @@ public class RescheduleServiceImpl implements RescheduleService {
         }
     }
 
-    private void confirmNewSeat(UUID flightId, String seatCode, String bookingReference) {
-        try {
-            FsConfirmSeatsRequestDTO confirmRequest = FsConfirmSeatsRequestDTO.builder()
-                    .bookingReference(bookingReference)
-                    .seatCodes(Collections.singletonList(seatCode))
-                    .build();
-
-            FsConfirmSeatsResponseDTO response = flightClient.confirmSeats(flightId, confirmRequest);
-
-            if (!"Success".equalsIgnoreCase(response.getStatus())) {
-                log.error("Failed to confirm new seat {} for flight {}: {}", seatCode, flightId, response.getMessage());
-                throw new BadRequestException("Failed to confirm new seat: " + response.getMessage());
-            }
+    /**
+     * Confirms the new seat and releases the old one in a single flight-service call, moving the passenger's
+     * fare sale from the old fare to the new one in the same call. If that fails the passenger keeps the old
+     * seat and fare and the reschedule is aborted.
+     */
+    private void swapSeat(BookingDetail bookingDetail, UUID oldFlightId, String oldSeatCode,
+            UUID newFlightId, String newSeatCode, String newFareName) {
+        // Seats are confirmed under the booking reference (see PaymentCompletionHandler)
+        String bookingReference = bookingDetail.getBooking().getBookingReference();
+        List<FsSeatSwapRequestDTO.FlightSeats> release = oldSeatCode != null
+                ? List.of(new FsSeatSwapRequestDTO.FlightSeats(oldFlightId, List.of(oldSeatCode)))
+                : List.of();
+        FsSeatSwapRequestDTO swapRequest = FsSeatSwapRequestDTO.builder()
+                .bookingReference(bookingReference)
+                .release(release)
+                .confirm(List.of(new FsSeatSwapRequestDTO.FlightSeats(newFlightId, List.of(newSeatCode))))
+                // One passenger per booking detail, sold under the booking reference like the seats
+                .releaseFares(bookingDetail.getSelectedFareName() != null
+                        ? List.of(new FsSeatSwapRequestDTO.FareSeats(oldFlightId, bookingDetail.getSelectedFareName(), 1))
+                        : List.of())
+                .confirmFares(List.of(new FsSeatSwapRequestDTO.FareSeats(newFlightId, newFareName, 1)))
+                .build();
 
-            log.info("Successfully confirmed new seat {} for flight {}", seatCode, flightId);
+        FsSeatSwapResponseDTO response;
+        try {
+            response = flightClient.swapSeats(swapRequest);
         } catch (Exception e) {
-            log.error("Failed to confirm new seat {} for flight {}", seatCode, flightId, e);
+            log.error("Failed to swap seat {} on flight {} for seat {} on flight {}",
+                    oldSeatCode, oldFlightId, newSeatCode, newFlightId, e);
             throw new BadRequestException("Failed to confirm new seat: " + e.getMessage());
         }
+        if (response == null || !"Success".equalsIgnoreCase(response.getStatus())) {
+            String message = response != null ? response.getMessage() : "no response from flight service";
+            log.error("Failed to swap seat {} on flight {} for seat {} on flight {}: {}",
+                    oldSeatCode, oldFlightId, newSeatCode, newFlightId, message);
+            throw new BadRequestException("Failed to confirm new seat: " + message);
+        }
+
+        log.info("Swapped seat {} on flight {} for seat {} on flight {}, booking {}",
+                oldSeatCode, oldFlightId, newSeatCode, newFlightId, bookingReference);
     }
 
     private void saveSagaState(UUID sagaId, SagaStep step,
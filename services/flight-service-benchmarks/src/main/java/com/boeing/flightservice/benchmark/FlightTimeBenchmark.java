@@ -0,0 +1,34 @@
+package com.boeing.flightservice.benchmark;
+
+import com.boeing.flightservice.service.impl.logic.FlightTimeServiceImpl;
+import com.boeing.flightservice.service.spec.logic.FlightTimeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FlightTimeBenchmark {
+
+    private final FlightTimeService flightTimeService = new FlightTimeServiceImpl();
+
+    // SGN -> HAN
+    private double lat1 = 10.8187;
+    private double lon1 = 106.6520;
+    private double lat2 = 21.2212;
+    private double lon2 = 105.8072;
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public double flightDuration() {
+        return flightTimeService.calculateFlightTime(lat1, lon1, lat2, lon2);
+    }
+
+    @Benchmark
+    public double haversineDistance() {
+        return flightTimeService.calculateDistanceKm(lat1, lon1, lat2, lon2);
+    }
+}
@@ -0,0 +1,127 @@
+package com.boeing.flightservice.benchmark;
+
+import com.boeing.flightservice.dto.paging.FlightDto;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.util.PaginationUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PaginationUtil#findAll} without a database: the repository is an in-memory stub that still
+ * evaluates the generated {@link Specification} against proxy criteria objects, so sort/paging parsing,
+ * predicate building and ModelMapper mapping are all measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PaginationBenchmark {
+
+    private static final Map<String, Class<?>> FLIGHT_FIELDS = Map.of(
+            "deleted", Boolean.class,
+            "code", String.class,
+            "aircraftId", UUID.class,
+            "departureTime", LocalDateTime.class,
+            "flightDurationMinutes", Integer.class
+    );
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private JpaSpecificationExecutor<Flight> repository;
+    private Map<String, String> params;
+    private Flight flight;
+
+    @Setup
+    public void setUp() {
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            flights.add(SeatLayoutFixtures.flight(180));
+        }
+        flight = flights.get(0);
+        repository = stubRepository(flights);
+
+        params = new LinkedHashMap<>();
+        params.put("pageNo", "1");
+        params.put("pageSize", String.valueOf(pageSize));
+        params.put("sortBy", "departureTime:desc,code");
+        params.put("code", "vn");
+        params.put("departureTime", "2026-01-01T00:00:00,2026-12-31T23:59:59");
+        params.put("flightDurationMinutes", "130");
+    }
+
+    @Benchmark
+    public MappingJacksonValue findAllWithFilters() {
+        return PaginationUtil.findAll(params, repository, FlightDto.class);
+    }
+
+    @Benchmark
+    public FlightDto modelMapperSingleFlight() {
+        return PaginationUtil.modelMapper.map(flight, FlightDto.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JpaSpecificationExecutor<Flight> stubRepository(List<Flight> flights) {
+        Object root = criteriaProxy(jakarta.persistence.criteria.Root.class);
+        Object criteriaBuilder = criteriaProxy(jakarta.persistence.criteria.CriteriaBuilder.class);
+        return (JpaSpecificationExecutor<Flight>) Proxy.newProxyInstance(
+                PaginationBenchmark.class.getClassLoader(),
+                new Class<?>[]{JpaSpecificationExecutor.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && args != null && args.length == 2
+                            && args[1] instanceof Pageable pageable) {
+                        Specification<Flight> specification = (Specification<Flight>) args[0];
+                        specification.toPredicate(
+                                (jakarta.persistence.criteria.Root<Flight>) root,
+                                null,
+                                (jakarta.persistence.criteria.CriteriaBuilder) criteriaBuilder);
+                        return new PageImpl<>(flights, pageable, flights.size());
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Criteria API stand-in: {@code root.get(field)} yields a path typed from {@link #FLIGHT_FIELDS},
+     * every other call returns another proxy of the declared return type.
+     */
+    private static Object criteriaProxy(Class<?> type) {
+        return criteriaProxy(type, Object.class);
+    }
+
+    private static Object criteriaProxy(Class<?> type, Class<?> javaType) {
+        return Proxy.newProxyInstance(PaginationBenchmark.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("get") && args != null && args.length == 1 && args[0] instanceof String field) {
+                        Class<?> fieldType = FLIGHT_FIELDS.get(field);
+                        if (fieldType == null) {
+                            throw new IllegalArgumentException("Unknown attribute " + field);
+                        }
+                        return criteriaProxy(jakarta.persistence.criteria.Path.class, fieldType);
+                    }
+                    if (method.getName().equals("getJavaType")) {
+                        return javaType;
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getReturnType().isInterface()) {
+                        return criteriaProxy(method.getReturnType(), javaType);
+                    }
+                    return null;
+                });
+    }
+}
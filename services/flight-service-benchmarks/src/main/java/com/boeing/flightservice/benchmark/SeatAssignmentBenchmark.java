@@ -0,0 +1,82 @@
+package com.boeing.flightservice.benchmark;
+
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.service.impl.logic.SeatAssignmentServiceImpl;
+import com.boeing.flightservice.service.spec.logic.SeatAssignmentService;
+import com.boeing.flightservice.util.CabinLayout;
+import com.boeing.flightservice.util.SeatCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group seat auto-assignment on the economy cabin. {@code assign} is the bitmap search alone,
+ * {@code buildLayoutAndAssign} adds building the cabin layout from seat codes (what a layout cache miss costs),
+ * and {@code seatListScan} is the string-based search clients had to run over the full seat map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SeatAssignmentBenchmark {
+
+    @Param({"180", "550"})
+    public int seats;
+
+    @Param({"0.6", "0.9"})
+    public double load;
+
+    @Param({"2", "6"})
+    public int partySize;
+
+    private final SeatAssignmentService service = new SeatAssignmentServiceImpl();
+
+    private List<String> economySeats;
+    private String pattern;
+    private CabinLayout cabin;
+    private BitSet available;
+    private Set<String> occupied;
+
+    @Setup
+    public void setUp() {
+        economySeats = SeatLayoutFixtures.seatSections(SeatLayoutFixtures.layout(seats)).get(FareType.ECONOMY);
+        pattern = seats == 180 ? "3-3" : "3-4-3";
+        cabin = CabinLayout.of(economySeats, pattern);
+        occupied = new HashSet<>(SeatLayoutFixtures.occupiedSeats(economySeats, load));
+        available = SeatCodec.toBitSet(economySeats);
+        for (String seat : occupied) {
+            available.clear(SeatCodec.ordinal(seat));
+        }
+    }
+
+    @Benchmark
+    public SeatAssignmentService.Assignment assign() {
+        return service.assign(cabin, available, partySize);
+    }
+
+    @Benchmark
+    public SeatAssignmentService.Assignment buildLayoutAndAssign() {
+        return service.assign(CabinLayout.of(economySeats, pattern), available, partySize);
+    }
+
+    @Benchmark
+    public List<String> seatListScan() {
+        // Same-row search only, ignoring aisles: the cheapest thing a client can do with the seat map
+        Map<String, List<String>> rows = new LinkedHashMap<>();
+        for (String seat : economySeats) {
+            rows.computeIfAbsent(seat.substring(0, seat.length() - 1), k -> new ArrayList<>()).add(seat);
+        }
+        for (List<String> row : rows.values()) {
+            int run = 0;
+            for (int i = 0; i < row.size(); i++) {
+                run = occupied.contains(row.get(i)) ? 0 : run + 1;
+                if (run == partySize) {
+                    return row.subList(i - partySize + 1, i + 1);
+                }
+            }
+        }
+        return List.of();
+    }
+}
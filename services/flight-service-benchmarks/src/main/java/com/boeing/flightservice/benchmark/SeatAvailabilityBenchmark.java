@@ -0,0 +1,89 @@
+package com.boeing.flightservice.benchmark;
+
+import com.boeing.flightservice.util.SeatCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-seat work done inside {@code FlightServiceImpl.checkSeatAvailability}: the seat-code regex,
+ * membership checks against the occupied and aircraft seat lists, and the fare CSV split. The
+ * {@code *Bitmap} variants are the {@link SeatCodec} ordinal equivalents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SeatAvailabilityBenchmark {
+
+    @Param({"180", "300", "550"})
+    public int seats;
+
+    private List<String> aircraftSeats;
+    private List<String> occupiedSeats;
+    private String fareCsv;
+    private List<String> requestedSeats;
+    private BitSet occupiedBitmap;
+    private byte[] fareBitmap;
+
+    @Setup
+    public void setUp() {
+        aircraftSeats = SeatLayoutFixtures.allSeats(SeatLayoutFixtures.layout(seats));
+        occupiedSeats = SeatLayoutFixtures.occupiedSeats(aircraftSeats, 0.6);
+        fareCsv = String.join(",", aircraftSeats);
+        // A saga request checks up to 10 seats at once, usually near the back of the cabin
+        requestedSeats = aircraftSeats.subList(aircraftSeats.size() - 10, aircraftSeats.size());
+        occupiedBitmap = SeatCodec.toBitSet(occupiedSeats);
+        fareBitmap = SeatCodec.encode(aircraftSeats);
+    }
+
+    @Benchmark
+    public void seatCodeRegex(Blackhole blackhole) {
+        for (String seat : requestedSeats) {
+            blackhole.consume(seat.matches("\\d+[A-Z]"));
+        }
+    }
+
+    @Benchmark
+    public void occupancyAndLayoutChecks(Blackhole blackhole) {
+        for (String seat : requestedSeats) {
+            blackhole.consume(occupiedSeats.contains(seat));
+            blackhole.consume(aircraftSeats.contains(seat));
+        }
+    }
+
+    @Benchmark
+    public void fareCsvParsing(Blackhole blackhole) {
+        for (String seat : requestedSeats) {
+            List<String> seatCodes = Arrays.stream(fareCsv.split(",")).toList();
+            blackhole.consume(seatCodes.contains(seat));
+        }
+    }
+
+    @Benchmark
+    public void seatCodeValidation(Blackhole blackhole) {
+        for (String seat : requestedSeats) {
+            blackhole.consume(SeatCodec.isValid(seat));
+        }
+    }
+
+    @Benchmark
+    public void occupancyBitmap(Blackhole blackhole) {
+        for (String seat : requestedSeats) {
+            blackhole.consume(occupiedBitmap.get(SeatCodec.ordinal(seat)));
+        }
+    }
+
+    @Benchmark
+    public void fareBitmapDecoding(Blackhole blackhole) {
+        for (String seat : requestedSeats) {
+            BitSet fareSeats = SeatCodec.decode(fareBitmap);
+            blackhole.consume(fareSeats.get(SeatCodec.ordinal(seat)));
+        }
+    }
+}
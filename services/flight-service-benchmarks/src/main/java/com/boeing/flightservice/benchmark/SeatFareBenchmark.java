@@ -0,0 +1,53 @@
+package com.boeing.flightservice.benchmark;
+
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.service.cache.SeatPriceCacheService;
+import com.boeing.flightservice.service.impl.logic.SeatServiceImpl;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.service.spec.logic.SeatService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SeatServiceImpl#getSeatFareAndPrice} resolves a seat to its fare by splitting every fare's CSV.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SeatFareBenchmark {
+
+    @Param({"180", "300", "550"})
+    public int seats;
+
+    private SeatService seatService;
+    private Flight flight;
+    private String firstSeat;
+    private String lastSeat;
+
+    @Setup
+    public void setUp() {
+        seatService = new SeatServiceImpl(new SeatPriceCacheService(new FlightMetrics(new SimpleMeterRegistry())));
+        flight = SeatLayoutFixtures.flight(seats);
+        List<String> allSeats = SeatLayoutFixtures.allSeats(SeatLayoutFixtures.layout(seats));
+        firstSeat = allSeats.get(0);
+        lastSeat = allSeats.get(allSeats.size() - 1);
+        // Prices are cached per fare after the first lookup; keep the benchmark on the lookup path
+        seatService.getSeatFareAndPrice(flight, firstSeat);
+        seatService.getSeatFareAndPrice(flight, lastSeat);
+    }
+
+    @Benchmark
+    public SeatService.FarePrice firstFareSeat() {
+        return seatService.getSeatFareAndPrice(flight, firstSeat);
+    }
+
+    @Benchmark
+    public SeatService.FarePrice lastFareSeat() {
+        return seatService.getSeatFareAndPrice(flight, lastSeat);
+    }
+}
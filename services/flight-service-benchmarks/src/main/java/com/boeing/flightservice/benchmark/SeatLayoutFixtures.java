@@ -0,0 +1,143 @@
+package com.boeing.flightservice.benchmark;
+
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.entity.Benefit;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.util.SeatCodec;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Realistic in-memory flights for the benchmarks. Layouts follow the aircraft-service seat map
+ * conventions (row number + column letter, sections per fare type).
+ */
+public final class SeatLayoutFixtures {
+
+    private SeatLayoutFixtures() {
+    }
+
+    public record Section(FareType fareType, int fromRow, int toRow, String columns) {
+    }
+
+    /**
+     * 180 seats: narrow-body, 3-3 economy with a small business cabin.
+     */
+    public static final List<Section> LAYOUT_180 = List.of(
+            new Section(FareType.BUSINESS, 1, 3, "ACDF"),
+            new Section(FareType.ECONOMY, 4, 31, "ABCDEF")
+    );
+
+    /**
+     * 300 seats: wide-body, 3-4-3 economy.
+     */
+    public static final List<Section> LAYOUT_300 = List.of(
+            new Section(FareType.FIRST_CLASS, 1, 1, "ADGK"),
+            new Section(FareType.BUSINESS, 2, 7, "ACDGHK"),
+            new Section(FareType.ECONOMY, 8, 33, "ABCDEFGHJK")
+    );
+
+    /**
+     * 550 seats: high-density wide-body.
+     */
+    public static final List<Section> LAYOUT_550 = List.of(
+            new Section(FareType.FIRST_CLASS, 1, 2, "ADGK"),
+            new Section(FareType.BUSINESS, 3, 9, "ACDGHK"),
+            new Section(FareType.ECONOMY, 10, 59, "ABCDEFGHJK")
+    );
+
+    public static List<Section> layout(int seats) {
+        return switch (seats) {
+            case 180 -> LAYOUT_180;
+            case 300 -> LAYOUT_300;
+            case 550 -> LAYOUT_550;
+            default -> throw new IllegalArgumentException("No fixture layout with " + seats + " seats");
+        };
+    }
+
+    public static Map<FareType, List<String>> seatSections(List<Section> layout) {
+        Map<FareType, List<String>> sections = new EnumMap<>(FareType.class);
+        for (Section section : layout) {
+            List<String> seats = sections.computeIfAbsent(section.fareType(), k -> new ArrayList<>());
+            for (int row = section.fromRow(); row <= section.toRow(); row++) {
+                for (char column : section.columns().toCharArray()) {
+                    seats.add(row + String.valueOf(column));
+                }
+            }
+        }
+        return sections;
+    }
+
+    public static List<String> allSeats(List<Section> layout) {
+        List<String> seats = new ArrayList<>();
+        seatSections(layout).values().forEach(seats::addAll);
+        return seats;
+    }
+
+    public static Airport airport(String code, double latitude, double longitude) {
+        return Airport.builder()
+                .id(UUID.nameUUIDFromBytes(code.getBytes()))
+                .code(code)
+                .name(code + " International Airport")
+                .city(code)
+                .country("Vietnam")
+                .timezone("Asia/Ho_Chi_Minh")
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+
+    public static Flight flight(int seats) {
+        Airport origin = airport("SGN", 10.8187, 106.6520);
+        Airport destination = airport("HAN", 21.2212, 105.8072);
+        LocalDateTime departure = LocalDateTime.of(2026, 1, 15, 8, 30);
+
+        Flight flight = Flight.builder()
+                .id(UUID.randomUUID())
+                .code("VN" + seats)
+                .aircraftId(UUID.randomUUID())
+                .origin(origin)
+                .destination(destination)
+                .departureTime(departure)
+                .estimatedArrivalTime(departure.plusMinutes(130))
+                .flightDurationMinutes(130)
+                .status(FlightStatus.SCHEDULED_OPEN)
+                .build();
+
+        List<Benefit> benefits = List.of(
+                Benefit.builder().id(UUID.randomUUID()).name("In-Flight Meal").description("Meal").iconURL("/icons/meal.svg").build(),
+                Benefit.builder().id(UUID.randomUUID()).name("Free WiFi").description("WiFi").iconURL("/icons/wifi.svg").build()
+        );
+
+        List<FlightFare> fares = new ArrayList<>();
+        seatSections(layout(seats)).forEach((fareType, codes) -> fares.add(FlightFare.builder()
+                .id(UUID.randomUUID())
+                .name(fareType.name())
+                .fareType(fareType)
+                .minPrice(100.0)
+                .maxPrice(500.0)
+                .seatBitmap(SeatCodec.encode(codes))
+                .benefits(benefits)
+                .flight(flight)
+                .build()));
+        flight.setFares(fares);
+        return flight;
+    }
+
+    /**
+     * Deterministic sample of roughly {@code ratio} of the seats, as occupied seat codes.
+     */
+    public static List<String> occupiedSeats(List<String> allSeats, double ratio) {
+        Random random = new Random(42);
+        List<String> occupied = new ArrayList<>();
+        for (String seat : allSeats) {
+            if (random.nextDouble() < ratio) {
+                occupied.add(seat);
+            }
+        }
+        return occupied;
+    }
+}
@@ -0,0 +1,46 @@
+package com.boeing.flightservice.benchmark;
+
+import com.boeing.flightservice.service.cache.SeatPriceCacheService;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SeatPriceCacheBenchmark {
+
+    private static final int FARES = 10_000;
+
+    private SeatPriceCacheService cache;
+    private String[] keys;
+    private String missingKey;
+
+    @Setup
+    public void setUp() {
+        cache = new SeatPriceCacheService(new FlightMetrics(new SimpleMeterRegistry()));
+        keys = new String[FARES];
+        for (int i = 0; i < FARES; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            cache.put(keys[i], 100.0 + i);
+        }
+        missingKey = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Double hit() {
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(FARES)]);
+    }
+
+    @Benchmark
+    public Double miss() {
+        return cache.get(missingKey);
+    }
+}
@@ -0,0 +1,191 @@
+package com.boeing.flightservice.benchmark;
+
+import com.boeing.flightservice.dto.response.AirportResponseDTO;
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.grpc.FlightProtoMapper;
+import com.boeing.flightservice.grpc.proto.FlightDetails;
+import com.boeing.flightservice.grpc.proto.FlightDetailsRequest;
+import com.boeing.flightservice.grpc.proto.FlightInternalServiceGrpc;
+import com.boeing.flightservice.util.SeatCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpServer;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flight details over the two service-to-service transports: JSON over HTTP/1.1 as the Feign clients
+ * use today, and protobuf over gRPC/HTTP/2. Codec benchmarks isolate serialization; the round-trip
+ * benchmarks add a loopback server for each transport serving a pre-built response.
+ * Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransportBenchmark {
+
+    static {
+        // Without it the JDK server's separate header/body writes hit delayed ACKs (~40 ms per call)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @Param({"180", "300", "550"})
+    public int seats;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private FsFlightWithFareDetailsDTO details;
+    private byte[] json;
+    private byte[] proto;
+
+    private HttpServer httpServer;
+    private HttpClient httpClient;
+    private URI detailsUri;
+    private Server grpcServer;
+    private ManagedChannel channel;
+    private FlightInternalServiceGrpc.FlightInternalServiceBlockingStub stub;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        details = details(SeatLayoutFixtures.flight(seats));
+        json = objectMapper.writeValueAsBytes(details);
+        FlightDetails message = FlightProtoMapper.toProto(details);
+        proto = message.toByteArray();
+        System.out.printf("%n[%d seats] JSON %d bytes, protobuf %d bytes (%.1f%%)%n",
+                seats, json.length, proto.length, 100.0 * proto.length / json.length);
+
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/details", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(json);
+            }
+        });
+        httpServer.start();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        detailsUri = URI.create("http://localhost:" + httpServer.getAddress().getPort() + "/details");
+
+        grpcServer = ServerBuilder.forPort(0)
+                .addService(new FlightInternalServiceGrpc.FlightInternalServiceImplBase() {
+                    @Override
+                    public void getFlightDetails(FlightDetailsRequest request,
+                                                 StreamObserver<FlightDetails> responseObserver) {
+                        responseObserver.onNext(message);
+                        responseObserver.onCompleted();
+                    }
+                })
+                .build()
+                .start();
+        channel = ManagedChannelBuilder.forAddress("localhost", grpcServer.getPort()).usePlaintext().build();
+        stub = FlightInternalServiceGrpc.newBlockingStub(channel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        grpcServer.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        httpServer.stop(0);
+        httpClient.close();
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws IOException {
+        return objectMapper.writeValueAsBytes(details);
+    }
+
+    @Benchmark
+    public FsFlightWithFareDetailsDTO jsonDecode() throws IOException {
+        return objectMapper.readValue(json, FsFlightWithFareDetailsDTO.class);
+    }
+
+    @Benchmark
+    public byte[] protoEncode() {
+        return FlightProtoMapper.toProto(details).toByteArray();
+    }
+
+    @Benchmark
+    public FlightDetails protoDecode() throws IOException {
+        return FlightDetails.parseFrom(proto);
+    }
+
+    @Benchmark
+    public FsFlightWithFareDetailsDTO jsonOverHttp1() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(
+                HttpRequest.newBuilder(detailsUri).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        return objectMapper.readValue(response.body(), FsFlightWithFareDetailsDTO.class);
+    }
+
+    @Benchmark
+    public FlightDetails protobufOverGrpc() {
+        return stub.getFlightDetails(FlightDetailsRequest.newBuilder().setFlightId(details.flightId().toString()).build());
+    }
+
+    /**
+     * Same shape FlightServiceImpl builds: the occupied list is repeated on the flight and on every fare.
+     */
+    private static FsFlightWithFareDetailsDTO details(Flight flight) {
+        List<String> allSeats = flight.getFares().stream()
+                .flatMap(fare -> SeatCodec.toSeatCodes(fare.getSeatSet()).stream())
+                .toList();
+        List<String> occupied = SeatLayoutFixtures.occupiedSeats(allSeats, 0.6);
+        return FsFlightWithFareDetailsDTO.builder()
+                .flightId(flight.getId())
+                .flightCode(flight.getCode())
+                .aircraft(FsFlightWithFareDetailsDTO.FsAircraftDTO.builder()
+                        .id(flight.getAircraftId()).code("VN-A321").model("Airbus A321").build())
+                .originAirport(AirportResponseDTO.fromEntity(flight.getOrigin()))
+                .destinationAirport(AirportResponseDTO.fromEntity(flight.getDestination()))
+                .departureTime(flight.getDepartureTime())
+                .estimatedArrivalTime(flight.getEstimatedArrivalTime())
+                .actualArrivalTime(flight.getEstimatedArrivalTime())
+                .status(flight.getStatus())
+                .flightDurationMinutes(flight.getFlightDurationMinutes())
+                .totalSeats(allSeats.size())
+                .remainingSeats(allSeats.size() - occupied.size())
+                .occupiedSeats(occupied)
+                .carryOnLuggageWeight(7)
+                .checkedBaggageWeight(30)
+                .availableFares(flight.getFares().stream().map(fare -> fare(fare, occupied)).toList())
+                .build();
+    }
+
+    private static FsFlightWithFareDetailsDTO.FsDetailedFareDTO fare(FlightFare fare, List<String> occupied) {
+        List<String> fareSeats = SeatCodec.toSeatCodes(fare.getSeatSet());
+        return FsFlightWithFareDetailsDTO.FsDetailedFareDTO.builder()
+                .id(fare.getId())
+                .price(250.0)
+                .name(fare.getName())
+                .fareType(fare.getFareType())
+                .seats(fareSeats)
+                .totalSeats(fareSeats.size())
+                .occupiedSeats(occupied)
+                .benefits(fare.getBenefits().stream()
+                        .map(b -> FsFlightWithFareDetailsDTO.Benefit.builder()
+                                .id(b.getId()).name(b.getName()).description(b.getDescription()).iconURL(b.getIconURL())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
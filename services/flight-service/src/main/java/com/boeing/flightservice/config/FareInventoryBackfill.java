@@ -0,0 +1,58 @@
+package com.boeing.flightservice.config;
+
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.repository.FlightFareRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills {@code flight_fares.capacity} from the seat bitmap and starts {@code sold} at 0 for fares created before
+ * the fare counters existed. Runs after {@link SeatEncodingMigration} so every fare already has a bitmap.
+ */
+@Slf4j
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class FareInventoryBackfill implements ApplicationRunner {
+
+    private final FlightFareRepository flightFareRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${fare-inventory.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        int fares = 0;
+        int backfilled;
+        while ((backfilled = transactionTemplate.execute(status -> backfillFares())) > 0) {
+            fares += backfilled;
+        }
+        if (fares > 0) {
+            log.info("Fare inventory backfill: {} fares given a capacity", fares);
+        }
+    }
+
+    private int backfillFares() {
+        List<FlightFare> fares = flightFareRepository.findTop500ByCapacityIsNull();
+        for (FlightFare fare : fares) {
+            fare.setCapacity(fare.getSeatCount());
+            if (fare.getSold() == null) {
+                fare.setSold(0);
+            }
+        }
+        flightFareRepository.saveAll(fares);
+        return fares.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.boeing.flightservice.config;
+
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Guards against route tag explosion: the first routes seen keep their own series, later ones are all
+     * recorded under {@code route=other}, so every operation stays measured.
+     */
+    @Bean
+    public MeterFilter routeTagCardinalityFilter(@Value("${metrics.max-route-tags:200}") int maxRouteTags) {
+        Set<String> routes = ConcurrentHashMap.newKeySet();
+        return MeterFilter.replaceTagValues(FlightMetrics.ROUTE_TAG, route -> {
+            if (routes.contains(route)) {
+                return route;
+            }
+            synchronized (routes) {
+                if (routes.size() < maxRouteTags) {
+                    routes.add(route);
+                    return route;
+                }
+            }
+            return FlightMetrics.OTHER_ROUTE;
+        });
+    }
+}
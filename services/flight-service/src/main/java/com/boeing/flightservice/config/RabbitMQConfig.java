@@ -0,0 +1,22 @@
+package com.boeing.flightservice.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    @Value("${app.rabbitmq.exchanges.events:flight.events.exchange}")
+    private String eventsExchangeName;
+
+    /**
+     * Flight change events from the outbox, routed as {@code flight.<change>}. Declared on first connection;
+     * consumers own and bind their queues.
+     */
+    @Bean
+    public TopicExchange flightEventsExchange() {
+        return new TopicExchange(eventsExchangeName, true, false);
+    }
+}
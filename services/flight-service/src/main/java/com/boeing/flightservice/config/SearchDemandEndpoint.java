@@ -0,0 +1,31 @@
+package com.boeing.flightservice.config;
+
+import com.boeing.flightservice.service.cache.SearchDemandTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/searchdemand}: the most searched route/date keys over the demand window and the result of the
+ * last prewarm, for sizing and checking the caches.
+ */
+@Component
+@Endpoint(id = "searchdemand")
+@RequiredArgsConstructor
+public class SearchDemandEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchDemandTracker searchDemandTracker;
+
+    @ReadOperation
+    public Map<String, Object> searchDemand(@Nullable Integer limit) {
+        int keys = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return searchDemandTracker.details(keys);
+    }
+}
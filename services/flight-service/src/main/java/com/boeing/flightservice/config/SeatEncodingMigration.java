@@ -0,0 +1,90 @@
+package com.boeing.flightservice.config;
+
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.entity.Seat;
+import com.boeing.flightservice.repository.FlightFareRepository;
+import com.boeing.flightservice.repository.SeatRepository;
+import com.boeing.flightservice.util.SeatCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * One-off move from the CSV seat format: fills {@code flight_fares.seat_bitmap} from {@code seats} (then clears
+ * the CSV) and {@code occupied_seats.seat_number} from {@code seat_code}. Runs in small transactions at startup
+ * and is a no-op once everything is converted.
+ */
+@Slf4j
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class SeatEncodingMigration implements ApplicationRunner {
+
+    private final FlightFareRepository flightFareRepository;
+    private final SeatRepository seatRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${seat-encoding.migration.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        int fares = 0;
+        int migrated;
+        while ((migrated = transactionTemplate.execute(status -> migrateFares())) > 0) {
+            fares += migrated;
+        }
+        int seats = 0;
+        while ((migrated = transactionTemplate.execute(status -> migrateSeats())) > 0) {
+            seats += migrated;
+        }
+        if (fares > 0 || seats > 0) {
+            log.info("Seat encoding migration: {} fares and {} occupied seats converted", fares, seats);
+        }
+    }
+
+    private int migrateFares() {
+        List<FlightFare> fares = flightFareRepository.findTop500BySeatBitmapIsNullAndSeatsIsNotNull();
+        for (FlightFare fare : fares) {
+            BitSet seats = new BitSet();
+            for (String seatCode : fare.getSeats().split(",")) {
+                String trimmed = seatCode.trim();
+                if (SeatCodec.isValid(trimmed)) {
+                    seats.set(SeatCodec.ordinal(trimmed));
+                } else if (!trimmed.isEmpty()) {
+                    log.warn("Dropping invalid seat code '{}' from fare {}", trimmed, fare.getId());
+                }
+            }
+            fare.setSeatSet(seats);
+            fare.setSeats(null);
+        }
+        flightFareRepository.saveAll(fares);
+        return fares.size();
+    }
+
+    private int migrateSeats() {
+        List<Seat> seats = seatRepository.findTop1000BySeatNumberIsNull();
+        for (Seat seat : seats) {
+            if (SeatCodec.isValid(seat.getSeatCode())) {
+                seat.setSeatNumber(SeatCodec.pack(seat.getSeatCode()));
+            } else {
+                // 0 is never a valid packed seat (rows start at 1), so the row is left as-is but marked done
+                log.warn("Occupied seat {} has invalid seat code '{}'", seat.getId(), seat.getSeatCode());
+                seat.setSeatNumber((short) 0);
+            }
+        }
+        seatRepository.saveAll(seats);
+        return seats.size();
+    }
+}
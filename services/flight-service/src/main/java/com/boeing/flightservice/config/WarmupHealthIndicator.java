@@ -0,0 +1,24 @@
+package com.boeing.flightservice.config;
+
+import com.boeing.flightservice.service.cache.CacheWarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports OUT_OF_SERVICE until startup cache warm-up is done. It is included in the readiness group, so the
+ * load balancer holds traffic back while the liveness probe stays UP.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService cacheWarmupService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmupService.isDone() ? Health.up() : Health.outOfService();
+        return builder.withDetails(cacheWarmupService.details()).build();
+    }
+}
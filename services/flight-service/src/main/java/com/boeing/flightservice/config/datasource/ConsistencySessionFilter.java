@@ -0,0 +1,45 @@
+package com.boeing.flightservice.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the caller's consistency session for the request from the configured header, for example one id per
+ * booking flow. Requests without the header get no session: behind the gateway the client address is the same
+ * for everyone, and pinning it would send all reads to the primary. booking-service sends the flight id of each call
+ * as its session, so a read of a flight right after a write to it goes to the primary; gRPC callers send the
+ * session as call metadata, see {@link ConsistencySessionServerInterceptor}.
+ */
+public class ConsistencySessionFilter extends OncePerRequestFilter {
+
+    private final String sessionHeader;
+
+    public ConsistencySessionFilter(String sessionHeader) {
+        this.sessionHeader = sessionHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String session = request.getHeader(sessionHeader);
+        if (session == null || session.isBlank()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReadYourWritesGuard.bindSession(session);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesGuard.clearSession();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.boeing.flightservice.config.datasource;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+
+import java.util.Locale;
+
+/**
+ * gRPC counterpart of {@link ConsistencySessionFilter}: binds the session from the call metadata. gRPC may run
+ * each callback of a call on a different thread, so the session is bound around every callback rather than once.
+ */
+public class ConsistencySessionServerInterceptor implements ServerInterceptor {
+
+    private final Metadata.Key<String> sessionKey;
+
+    public ConsistencySessionServerInterceptor(String sessionHeader) {
+        this.sessionKey = Metadata.Key.of(sessionHeader.toLowerCase(Locale.ROOT), Metadata.ASCII_STRING_MARSHALLER);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String session = headers.get(sessionKey);
+        ServerCall.Listener<ReqT> listener = next.startCall(call, headers);
+        if (session == null || session.isBlank()) {
+            return listener;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                inSession(session, () -> super.onMessage(message));
+            }
+
+            @Override
+            public void onHalfClose() {
+                inSession(session, super::onHalfClose);
+            }
+
+            @Override
+            public void onCancel() {
+                inSession(session, super::onCancel);
+            }
+
+            @Override
+            public void onComplete() {
+                inSession(session, super::onComplete);
+            }
+
+            @Override
+            public void onReady() {
+                inSession(session, super::onReady);
+            }
+        };
+    }
+
+    private static void inSession(String session, Runnable callback) {
+        ReadYourWritesGuard.bindSession(session);
+        try {
+            callback.run();
+        } finally {
+            ReadYourWritesGuard.clearSession();
+        }
+    }
+}
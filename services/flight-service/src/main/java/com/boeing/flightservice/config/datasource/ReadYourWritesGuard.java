@@ -0,0 +1,51 @@
+package com.boeing.flightservice.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Staleness guard for replica reads: after a session commits a write it is pinned to the primary for
+ * the configured window, long enough for the replica to catch up, so it always reads its own writes.
+ * <p>
+ * The session is bound per request by {@link ConsistencySessionFilter}; work without a session (scheduled
+ * jobs, startup) is never pinned.
+ */
+public class ReadYourWritesGuard {
+
+    private static final ThreadLocal<String> CURRENT_SESSION = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> pinnedSessions;
+
+    public ReadYourWritesGuard(Duration pinDuration, long maxSessions) {
+        this.pinnedSessions = Caffeine.newBuilder()
+                .expireAfterWrite(pinDuration)
+                .maximumSize(maxSessions)
+                .build();
+    }
+
+    public static void bindSession(String sessionId) {
+        CURRENT_SESSION.set(sessionId);
+    }
+
+    public static void clearSession() {
+        CURRENT_SESSION.remove();
+    }
+
+    public static String currentSession() {
+        return CURRENT_SESSION.get();
+    }
+
+    public void pinCurrentSession() {
+        String session = CURRENT_SESSION.get();
+        if (session != null) {
+            pinnedSessions.put(session, Boolean.TRUE);
+        }
+    }
+
+    public boolean isCurrentSessionPinned() {
+        String session = CURRENT_SESSION.get();
+        return session != null && pinnedSessions.getIfPresent(session) != null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.boeing.flightservice.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.grpc.server.GlobalServerInterceptor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Active only when {@code spring.datasource.replica.url} is set; otherwise Boot's single pool is used unchanged.
+ * {@code @Transactional(readOnly = true)} work goes to the replica, the rest to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("flight-primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("spring.datasource.replica", DataSourceProperties.class)
+                .get();
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("flight-replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(
+            @Value("${spring.datasource.replica.pin-after-write-ms:5000}") long pinAfterWriteMillis,
+            @Value("${spring.datasource.replica.max-pinned-sessions:100000}") long maxPinnedSessions
+    ) {
+        return new ReadYourWritesGuard(Duration.ofMillis(pinAfterWriteMillis), maxPinnedSessions);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 HikariDataSource replicaDataSource,
+                                 ReadYourWritesGuard readYourWritesGuard) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, readYourWritesGuard);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConsistencySessionFilter> consistencySessionFilter(
+            @Value("${spring.datasource.replica.session-header:X-Consistency-Session}") String sessionHeader
+    ) {
+        FilterRegistrationBean<ConsistencySessionFilter> registration =
+                new FilterRegistrationBean<>(new ConsistencySessionFilter(sessionHeader));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @GlobalServerInterceptor
+    public ConsistencySessionServerInterceptor consistencySessionServerInterceptor(
+            @Value("${spring.datasource.replica.session-header:X-Consistency-Session}") String sessionHeader
+    ) {
+        return new ConsistencySessionServerInterceptor(sessionHeader);
+    }
+}
@@ -0,0 +1,127 @@
+package com.boeing.flightservice.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * <p>
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only published after the
+ * transaction has begun, so the physical connection has to be fetched lazily on first statement.
+ * <p>
+ * A read-write transaction pins its session only once a statement on it changed rows, so one that only
+ * read (or only took locks) leaves the session on the replica.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {PRIMARY, REPLICA}
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private final ReadYourWritesGuard guard;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesGuard guard) {
+        this.guard = guard;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return guard.isCurrentSessionPinned() ? Target.PRIMARY : Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackWrites(super.getConnection(username, password));
+    }
+
+    private Connection trackWrites(Connection connection) {
+        if (ReadYourWritesGuard.currentSession() == null
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (STATEMENT_FACTORIES.contains(method.getName()) && result instanceof Statement statement) {
+                        return trackWrites(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private Object trackWrites(Statement statement, Class<?> statementType) {
+        return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{statementType},
+                (proxy, method, args) -> {
+                    Object result = invoke(statement, method, args);
+                    if (changedRows(method.getName(), result)) {
+                        pinSessionAfterCommit();
+                    }
+                    return result;
+                });
+    }
+
+    private static boolean changedRows(String method, Object result) {
+        return switch (method) {
+            case "executeUpdate", "executeLargeUpdate" -> ((Number) result).longValue() > 0;
+            case "executeBatch" -> Arrays.stream((int[]) result)
+                    .anyMatch(count -> count > 0 || count == Statement.SUCCESS_NO_INFO);
+            case "executeLargeBatch" -> Arrays.stream((long[]) result)
+                    .anyMatch(count -> count > 0 || count == Statement.SUCCESS_NO_INFO);
+            // An update count; reading it here would consume it, so any is taken as a write
+            case "execute" -> !((Boolean) result);
+            default -> false;
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private void pinSessionAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        boolean registered = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(PinSessionAfterCommit.class::isInstance);
+        if (!registered) {
+            TransactionSynchronizationManager.registerSynchronization(new PinSessionAfterCommit());
+        }
+    }
+
+    private final class PinSessionAfterCommit implements TransactionSynchronization {
+        @Override
+        public void afterCommit() {
+            guard.pinCurrentSession();
+        }
+    }
+}
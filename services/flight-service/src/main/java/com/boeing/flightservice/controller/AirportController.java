@@ -2,6 +2,7 @@ package com.boeing.flightservice.controller;
 
 import com.boeing.flightservice.annotation.StandardAPIResponses;
 import com.boeing.flightservice.annotation.StandardGetParams;
+import com.boeing.flightservice.dto.union.AirportDTO;
 import com.boeing.flightservice.service.spec.AirportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Map;
 
 @Tag(name = "1. Airport", description = "APIs for managing airports")
@@ -30,4 +32,18 @@ public class AirportController {
     public MappingJacksonValue getAllAirports(@Parameter(hidden = true) @RequestParam Map<String, String> params) {
         return airportService.findAll(params);
     }
+
+    @Operation(
+            summary = "Autocomplete airports by code, city or name",
+            description = "Prefix match on the IATA code, city, name or any word of them, ignoring case and accents. "
+                    + "Code matches come first. Served from memory, suitable for calling on every keystroke."
+    )
+    @GetMapping("/autocomplete")
+    @StandardAPIResponses
+    public List<AirportDTO.Response> autocomplete(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return airportService.autocomplete(query, limit);
+    }
 }
@@ -0,0 +1,58 @@
+package com.boeing.flightservice.controller;
+
+import com.boeing.flightservice.annotation.StandardAPIResponses;
+import com.boeing.flightservice.dto.response.FsLoadFactorReportDTO;
+import com.boeing.flightservice.service.spec.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Tag(name = "Analytics", description = "Reporting APIs for revenue management")
+@RestController
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final AnalyticsService service;
+
+    @GetMapping("/api/v1/fs/analytics/load-factors")
+    @Operation(
+            summary = "Load factors per fare type",
+            description = "Capacity, sold and occupied seats per fare type for flights departing between from and to "
+                    + "(inclusive), grouped by FLIGHT, ROUTE or DAY. Use format=csv for a CSV download."
+    )
+    @StandardAPIResponses
+    // @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
+    public ResponseEntity<?> getLoadFactors(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID routeId,
+            @RequestParam(required = false) FsLoadFactorReportDTO.GroupBy groupBy,
+            @RequestParam(defaultValue = "json") String format
+    ) {
+        FsLoadFactorReportDTO report = service.getLoadFactors(from, to, routeId, groupBy);
+        if ("csv".equalsIgnoreCase(format)) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .contentType(TEXT_CSV)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"load-factors-"
+                            + report.groupBy().name().toLowerCase() + "-" + from + "-" + to + ".csv\"")
+                    .body(service.toCsv(report));
+        }
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(report);
+    }
+}
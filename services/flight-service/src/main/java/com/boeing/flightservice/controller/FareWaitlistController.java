@@ -0,0 +1,74 @@
+package com.boeing.flightservice.controller;
+
+import com.boeing.flightservice.annotation.StandardAPIResponses;
+import com.boeing.flightservice.dto.request.FsWaitlistClaimRequestDTO;
+import com.boeing.flightservice.dto.request.FsWaitlistJoinRequestDTO;
+import com.boeing.flightservice.dto.response.FsWaitlistEntryDTO;
+import com.boeing.flightservice.service.spec.FareWaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Tag(name = "2. Flight", description = "APIs for managing flights")
+@RestController
+@RequiredArgsConstructor
+public class FareWaitlistController {
+
+    private final FareWaitlistService service;
+
+    @PostMapping("/api/v1/fs/flights/{flightId}/fares/{fareName}/waitlist")
+    @Operation(
+            summary = "Join the waitlist of a sold-out fare",
+            description = "Queues the customer by loyalty tier, then request time. When seats of the fare are released "
+                    + "they are held for the first entries that fit (status OFFERED) until the hold expires."
+    )
+    @StandardAPIResponses
+    public ResponseEntity<FsWaitlistEntryDTO> joinWaitlist(
+            @PathVariable("flightId") UUID flightId,
+            @PathVariable("fareName") String fareName,
+            @RequestBody FsWaitlistJoinRequestDTO request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(service.join(flightId, fareName, request));
+    }
+
+    @GetMapping("/api/v1/fs/waitlist/{entryId}")
+    @Operation(summary = "Status of a waitlist entry, including the hold while seats are offered")
+    @StandardAPIResponses
+    public ResponseEntity<FsWaitlistEntryDTO> getWaitlistEntry(@PathVariable("entryId") UUID entryId) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.getEntry(entryId));
+    }
+
+    @PostMapping("/api/v1/fs/waitlist/{entryId}/claim")
+    @Operation(
+            summary = "Claim offered seats for a booking",
+            description = "Moves the seats held for the entry to the booking, as if they had been sold to it with "
+                    + "confirm-sale. Only possible while the hold has not expired."
+    )
+    @StandardAPIResponses
+    public ResponseEntity<FsWaitlistEntryDTO> claimWaitlistOffer(
+            @PathVariable("entryId") UUID entryId,
+            @RequestBody FsWaitlistClaimRequestDTO request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.claim(entryId, request));
+    }
+
+    @DeleteMapping("/api/v1/fs/waitlist/{entryId}")
+    @Operation(summary = "Leave the waitlist; held seats are offered to the next entry")
+    @StandardAPIResponses
+    public ResponseEntity<FsWaitlistEntryDTO> cancelWaitlistEntry(@PathVariable("entryId") UUID entryId) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.cancel(entryId));
+    }
+}
@@ -6,6 +6,7 @@ import com.boeing.flightservice.dto.request.*;
 import com.boeing.flightservice.dto.response.*;
 import com.boeing.flightservice.dto.union.Search;
 import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.service.cache.FlightDetailsSnapshot;
 import com.boeing.flightservice.service.spec.FlightService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -124,13 +125,23 @@ public class FlightController {
     public ResponseEntity<FsFlightWithFareDetailsDTO> getFlightDetails(
             @PathVariable UUID flightId
     ) {
+        // The ETag lets Spring answer If-None-Match with 304 Not Modified and skip the body
+        FlightDetailsSnapshot snapshot = service.getFlightDetailsSnapshot(flightId);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(
-                        service.getFlightDetails(
-                                flightId
-                        )
-                );
+                .eTag(snapshot.etag())
+                .body(snapshot.details());
+    }
+
+    @PostMapping("/api/v1/fs/flights/details:batch")
+    @Operation(summary = "Lấy chi tiết nhiều chuyến bay trong một lần gọi (đặt vé nhiều chặng, check-in).", description = "Trả về chi tiết của từng chuyến bay theo thứ tự yêu cầu; chuyến bay không tồn tại hoặc không lấy được thông tin máy bay có lỗi riêng thay vì làm hỏng cả yêu cầu.")
+    @StandardAPIResponses
+    public ResponseEntity<FsBatchResponseDTO<FsFlightWithFareDetailsDTO>> getFlightDetailsBatch(
+            @RequestBody FsFlightDetailsBatchRequestDTO request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.getFlightDetailsBatch(request));
     }
 
     @PostMapping("/api/v1/fs/flights/{flightId}/seats/confirm")
@@ -169,6 +180,65 @@ public class FlightController {
                 );
     }
 
+    @PostMapping("/api/v1/fs/flights/seats/check-availability:batch")
+    @Operation(summary = "Kiểm tra ghế cho nhiều chuyến bay trong một lần gọi (Saga step).", description = "Kiểm tra ghế cho nhiều chuyến bay trong một lần gọi (Saga step). Kết quả trả về theo từng chuyến bay.")
+    @StandardAPIResponses
+    public ResponseEntity<FsBatchResponseDTO<FsSeatsAvailabilityResponseDTO>> checkSeatAvailabilityBatch(
+            @RequestBody FsBatchSeatsRequestDTO request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.checkSeatAvailabilityBatch(request));
+    }
+
+    @PostMapping("/api/v1/fs/flights/seats/confirm:batch")
+    @Operation(summary = "Xác nhận ghế cho nhiều chuyến bay trong một giao dịch (Saga step).", description = "Xác nhận ghế cho nhiều chuyến bay trong một giao dịch: nếu một chuyến bay thất bại thì không ghế nào được xác nhận.")
+    @StandardAPIResponses
+//    @PreAuthorize("hasAnyRole('ADMIN','STAFF','USER')")
+    public ResponseEntity<FsBatchResponseDTO<FsConfirmSeatsResponseDTO>> confirmSeatsBatch(
+            @RequestBody FsBatchSeatsRequestDTO request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.confirmSeatsBatch(request));
+    }
+
+    @PostMapping("/api/v1/fs/flights/seats/release:batch")
+    @Operation(summary = "Giải phóng ghế trên nhiều chuyến bay (hủy vé, Saga rollback).", description = "Giải phóng ghế trên nhiều chuyến bay trong một giao dịch (hủy vé, Saga rollback).")
+    @StandardAPIResponses
+//    @PreAuthorize("hasAnyRole('ADMIN','STAFF','USER')")
+    public ResponseEntity<FsBatchResponseDTO<FsReleaseSeatsResponseDTO>> releaseSeatsBatch(
+            @RequestBody FsBatchSeatsRequestDTO request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.releaseSeatsBatch(request));
+    }
+
+    @PostMapping("/api/v1/fs/flights/seats/swap")
+    @Operation(summary = "Đổi ghế trong một giao dịch (đổi chuyến, đổi ghế khi check-in).", description = "Xác nhận ghế mới rồi giải phóng ghế cũ của cùng một booking trong một giao dịch: nếu một bước thất bại thì booking giữ nguyên các ghế cũ. releaseFares/confirmFares (tùy chọn) chuyển số vé đã bán của hạng vé theo cùng giao dịch.")
+    @StandardAPIResponses
+//    @PreAuthorize("hasAnyRole('ADMIN','STAFF','USER')")
+    public ResponseEntity<FsSeatSwapResponseDTO> swapSeats(
+            @RequestBody FsSeatSwapRequestDTO request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.swapSeats(request));
+    }
+
+    @PostMapping("/api/v1/fs/flights/{flightId}/seats/auto-assign")
+    @Operation(summary = "Gợi ý ghế ngồi cạnh nhau cho một nhóm hành khách theo hạng vé.", description = "Tìm dãy ghế trống liền kề tốt nhất cho số lượng hành khách: ưu tiên cùng hàng, sau đó hai hàng liền nhau. Không giữ chỗ; dùng seats/confirm để xác nhận.")
+    @StandardAPIResponses
+    public ResponseEntity<FsSeatAutoAssignResponseDTO> autoAssignSeats(
+            @PathVariable UUID flightId,
+            @RequestBody FsSeatAutoAssignRequestDTO request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.autoAssignSeats(flightId, request));
+    }
+
     // Deprecated APIs for backward compatibility
     @GetMapping("/api/v1/fs/aircraft/{aircraftId}/seat-sections")
     @Operation(
@@ -192,11 +262,10 @@ public class FlightController {
     @GetMapping("/api/v1/fs/flights/{flightId}/available-seats-count")
     @Operation(
             summary = "Get available seats count for a flight and fare class",
-            description = "Get the number of available seats for a specific flight and fare class",
-            deprecated = true
+            description = "Get the number of seats the fare class can still sell: its capacity minus the seats sold "
+                    + "through confirm-fare-sale. Seat-level availability counts booked seats instead"
     )
     @StandardAPIResponses
-    @Deprecated
 //    @PreAuthorize("hasAnyRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getAvailableSeatsCount(
             @PathVariable UUID flightId,
@@ -213,11 +282,9 @@ public class FlightController {
     @PostMapping("/api/v1/fs/flights/{flightId}/fares/{fareName}/confirm-sale")
     @Operation(
             summary = "Xác nhận đã bán vé và giảm số lượng ghế trống cho hạng vé đó sau khi thanh toán thành công (Saga step).",
-            description = "Xác nhận đã bán vé và giảm số lượng ghế trống cho hạng vé đó sau khi thanh toán thành công (Saga step).",
-            deprecated = true
+            description = "Xác nhận đã bán vé và giảm số lượng ghế trống cho hạng vé đó sau khi thanh toán thành công (Saga step)."
     )
     @StandardAPIResponses
-    @Deprecated
 //    @PreAuthorize("hasAnyRole('ADMIN')")
     public ResponseEntity<FsConfirmFareSaleResponseDTO> confirmFareSale(
             @PathVariable("flightId") UUID flightId,
@@ -232,11 +299,9 @@ public class FlightController {
     @PostMapping("/api/v1/fs/flights/{flightId}/fares/{fareName}/release")
     @Operation(
             summary = "Giải phóng/tăng lại số lượng ghế trống cho hạng vé (khi hủy vé, scheduler hủy booking PENDING_PAYMENT, Saga rollback).",
-            description = "Giải phóng/tăng lại số lượng ghế trống cho hạng vé (khi hủy vé, scheduler hủy booking PENDING_PAYMENT, Saga rollback).",
-            deprecated = true
+            description = "Giải phóng/tăng lại số lượng ghế trống cho hạng vé (khi hủy vé, scheduler hủy booking PENDING_PAYMENT, Saga rollback)."
     )
     @StandardAPIResponses
-    @Deprecated
 //    @PreAuthorize("hasAnyRole('ADMIN')")
     public ResponseEntity<FsReleaseFareResponseDTO> releaseFare(
             @PathVariable("flightId") UUID flightId,
@@ -0,0 +1,38 @@
+package com.boeing.flightservice.controller;
+
+import com.boeing.flightservice.annotation.StandardAPIResponses;
+import com.boeing.flightservice.dto.request.FsFlightDisruptionRequestDTO;
+import com.boeing.flightservice.dto.response.FsFlightDisruptionResponseDTO;
+import com.boeing.flightservice.service.spec.FlightDisruptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "2. Flight", description = "APIs for managing flights")
+@RestController
+@RequiredArgsConstructor
+public class FlightDisruptionController {
+
+    private final FlightDisruptionService service;
+
+    @PostMapping("/api/v1/fs/flights/disruptions")
+    @Operation(
+            summary = "Apply a status change or delay to many flights at once",
+            description = "Cancels, closes or shifts every flight matching the filter in one transaction. "
+                    + "Rejected without changes if a shift breaks an aircraft turnaround; use dryRun to preview."
+    )
+    @StandardAPIResponses
+    // @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
+    public ResponseEntity<FsFlightDisruptionResponseDTO> applyDisruption(
+            @RequestBody FsFlightDisruptionRequestDTO request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.applyDisruption(request));
+    }
+}
@@ -0,0 +1,64 @@
+package com.boeing.flightservice.controller;
+
+import com.boeing.flightservice.annotation.StandardAPIResponses;
+import com.boeing.flightservice.service.cache.ReferenceDataCacheService;
+import com.boeing.flightservice.service.cache.ReferenceDataSnapshot;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Reference data", description = "Airports, routes and benefits in one versioned snapshot")
+@RestController
+@RequiredArgsConstructor
+public class ReferenceDataController {
+
+    private final ReferenceDataCacheService referenceDataCacheService;
+
+    @GetMapping(value = "/api/v1/fs/reference-data", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "All active airports, routes and benefits",
+            description = "Routes refer to airports by id. The ETag is a hash of the content: keep the snapshot "
+                    + "and revalidate with If-None-Match, which returns 304 until reference data changes."
+    )
+    @StandardAPIResponses
+    public ResponseEntity<byte[]> getReferenceData(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        // The body is serialized once per snapshot; the ETag lets Spring answer If-None-Match with 304
+        ReferenceDataSnapshot snapshot = referenceDataCacheService.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response
+                    .eTag(snapshot.gzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(snapshot.gzip());
+        }
+        return response
+                .eTag(snapshot.etag())
+                .body(snapshot.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+package com.boeing.flightservice.controller;
+
+import com.boeing.flightservice.annotation.StandardAPIResponses;
+import com.boeing.flightservice.dto.request.FsScheduleImportRequestDTO;
+import com.boeing.flightservice.dto.response.FsScheduleImportStatusDTO;
+import com.boeing.flightservice.service.spec.ScheduleImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+@Tag(name = "2. Flight", description = "APIs for managing flights")
+@RestController
+@RequiredArgsConstructor
+public class ScheduleImportController {
+
+    private final ScheduleImportService service;
+
+    @PostMapping(value = "/api/v1/fs/flights/imports/ssim", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Import a flight schedule from an SSIM file",
+            description = "Starts a background import of the type 3 (flight leg) records of an IATA SSIM file. "
+                    + "Each leg becomes one flight per operating day, flown by the first free aircraft mapped to its "
+                    + "aircraft type and sold with the given fares. Existing flight codes are skipped, so an import "
+                    + "can be repeated. Poll the returned job for progress."
+    )
+    @StandardAPIResponses
+    // @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
+    public ResponseEntity<FsScheduleImportStatusDTO> startImport(
+            @RequestPart("file") MultipartFile file,
+            @RequestPart("options") FsScheduleImportRequestDTO options
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(service.startImport(file, options));
+    }
+
+    @GetMapping("/api/v1/fs/flights/imports/{jobId}")
+    @Operation(summary = "Progress of a schedule import")
+    @StandardAPIResponses
+    // @PreAuthorize("hasAnyRole('ADMIN','STAFF')")
+    public ResponseEntity<FsScheduleImportStatusDTO> getImport(@PathVariable UUID jobId) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(service.getImport(jobId));
+    }
+}
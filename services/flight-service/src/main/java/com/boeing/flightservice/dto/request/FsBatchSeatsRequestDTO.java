@@ -0,0 +1,19 @@
+package com.boeing.flightservice.dto.request;
+
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+public record FsBatchSeatsRequestDTO(
+        String bookingReference,
+        List<FlightSeats> flights
+) {
+    @Builder
+    public record FlightSeats(
+            UUID flightId,
+            List<String> seatCodes
+    ) {
+    }
+}
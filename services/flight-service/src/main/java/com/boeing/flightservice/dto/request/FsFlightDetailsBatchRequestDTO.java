@@ -0,0 +1,16 @@
+package com.boeing.flightservice.dto.request;
+
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Flights whose details are needed together, e.g. the segments of one booking. Ids may repeat; each position
+ * gets its own result.
+ */
+@Builder
+public record FsFlightDetailsBatchRequestDTO(
+        List<UUID> flightIds
+) {
+}
@@ -0,0 +1,27 @@
+package com.boeing.flightservice.dto.request;
+
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A disruption applied to every flight matching the filter: a status change, a time shift, or both.
+ * Flights are matched by departure window and optionally narrowed to an airport (departing or arriving)
+ * and/or explicit ids; {@code statuses} defaults to the scheduled ones.
+ */
+@Builder
+public record FsFlightDisruptionRequestDTO(
+        LocalDateTime departureFrom,
+        LocalDateTime departureTo,
+        UUID airportId,
+        List<UUID> flightIds,
+        List<FlightStatus> statuses,
+        FlightStatus newStatus,
+        Integer delayMinutes,
+        String reason,
+        boolean dryRun
+) {
+}
@@ -0,0 +1,24 @@
+package com.boeing.flightservice.dto.request;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Options for an SSIM schedule import. SSIM names aircraft types, not tails, so {@code aircraftByType} lists the
+ * aircraft each type (e.g. "321") may be flown by; every flight is given the first of them that is free for its
+ * block plus the minimum turnaround. SSIM carries no prices, so every imported flight gets the fares in
+ * {@code seatClassFares}. {@code from}/{@code to} clip the periods in the file; a dry run plans without writing.
+ */
+@Builder
+public record FsScheduleImportRequestDTO(
+        Map<String, List<UUID>> aircraftByType,
+        List<FsFlightCreateRequest.SeatClassFareRequest> seatClassFares,
+        LocalDate from,
+        LocalDate to,
+        boolean dryRun
+) {
+}
@@ -0,0 +1,10 @@
+package com.boeing.flightservice.dto.request;
+
+import lombok.Builder;
+
+@Builder
+public record FsSeatAutoAssignRequestDTO(
+        String fareName,
+        Integer partySize
+) {
+}
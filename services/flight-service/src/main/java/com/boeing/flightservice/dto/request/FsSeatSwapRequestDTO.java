@@ -0,0 +1,28 @@
+package com.boeing.flightservice.dto.request;
+
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seats a booking gives up and seats it moves to, e.g. for a reschedule or a seat change. {@code release} may
+ * be empty; {@code confirm} may not. A flight may appear in both lists. {@code releaseFares} and
+ * {@code confirmFares}, both optional, move the booking's fare sales along with its seats.
+ */
+@Builder
+public record FsSeatSwapRequestDTO(
+        String bookingReference,
+        List<FsBatchSeatsRequestDTO.FlightSeats> release,
+        List<FsBatchSeatsRequestDTO.FlightSeats> confirm,
+        List<FareSeats> releaseFares,
+        List<FareSeats> confirmFares
+) {
+    @Builder
+    public record FareSeats(
+            UUID flightId,
+            String fareName,
+            int count
+    ) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.boeing.flightservice.dto.request;
+
+import lombok.Builder;
+
+@Builder
+public record FsWaitlistClaimRequestDTO(
+        String bookingReference
+) {
+}
@@ -0,0 +1,16 @@
+package com.boeing.flightservice.dto.request;
+
+import com.boeing.flightservice.entity.enums.MembershipTier;
+import lombok.Builder;
+
+/**
+ * Joins the waitlist of a fare. {@code customerReference} identifies the customer to the caller (user id or
+ * e-mail); {@code tier} is their loyalty tier, if any, and ranks them ahead of earlier requests of lower tiers.
+ */
+@Builder
+public record FsWaitlistJoinRequestDTO(
+        String customerReference,
+        int seats,
+        MembershipTier tier
+) {
+}
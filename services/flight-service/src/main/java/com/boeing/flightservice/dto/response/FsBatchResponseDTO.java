@@ -0,0 +1,25 @@
+package com.boeing.flightservice.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-flight results of a batch call, in request order. {@code error} is set instead of {@code result}
+ * when a flight was rejected outright (not found, booking closed, invalid seat code, aircraft unavailable).
+ */
+@Builder
+public record FsBatchResponseDTO<T>(
+        String status,
+        String message,
+        List<FlightResult<T>> results
+) {
+    @Builder
+    public record FlightResult<T>(
+            UUID flightId,
+            T result,
+            String error
+    ) {
+    }
+}
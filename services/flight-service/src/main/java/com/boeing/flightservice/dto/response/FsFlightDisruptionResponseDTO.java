@@ -0,0 +1,42 @@
+package com.boeing.flightservice.dto.response;
+
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk disruption. Nothing is applied when {@code conflicts} is not empty or on a dry run;
+ * {@code flights} then lists what would have changed.
+ */
+@Builder
+public record FsFlightDisruptionResponseDTO(
+        String status,
+        String message,
+        int matchedFlights,
+        int updatedFlights,
+        List<FlightChange> flights,
+        List<AircraftConflict> conflicts
+) {
+    @Builder
+    public record FlightChange(
+            UUID flightId,
+            String flightCode,
+            FlightStatus previousStatus,
+            FlightStatus status,
+            LocalDateTime previousDepartureTime,
+            LocalDateTime departureTime,
+            LocalDateTime estimatedArrivalTime
+    ) {
+    }
+
+    @Builder
+    public record AircraftConflict(
+            UUID aircraftId,
+            String flightCode,
+            String conflictingFlightCode
+    ) {
+    }
+}
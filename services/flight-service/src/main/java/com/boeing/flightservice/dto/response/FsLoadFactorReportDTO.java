@@ -0,0 +1,43 @@
+package com.boeing.flightservice.dto.response;
+
+import com.boeing.flightservice.entity.enums.FareType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Load factors per fare type for flights departing in {@code [from, to]}. Row keys depend on the grouping:
+ * FLIGHT fills flight, route and date, ROUTE the route, DAY the date.
+ */
+@Builder
+public record FsLoadFactorReportDTO(
+        LocalDate from,
+        LocalDate to,
+        GroupBy groupBy,
+        List<Row> rows
+) {
+    public enum GroupBy { FLIGHT, ROUTE, DAY }
+
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Row(
+            UUID flightId,
+            String flightCode,
+            String originCode,
+            String destinationCode,
+            LocalDate date,
+            FareType fareType,
+            int flights,
+            int capacity,
+            // Seats sold through the fare sale counters
+            int soldSeats,
+            // Seats assigned on the seat map
+            int occupiedSeats,
+            // occupiedSeats / capacity
+            double loadFactor
+    ) {
+    }
+}
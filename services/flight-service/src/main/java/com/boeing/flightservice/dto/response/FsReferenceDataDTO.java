@@ -0,0 +1,31 @@
+package com.boeing.flightservice.dto.response;
+
+import com.boeing.flightservice.dto.union.AirportDTO;
+import com.boeing.flightservice.dto.union.BenefitDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FsReferenceDataDTO(
+        String version,
+        List<AirportDTO.Response> airports,
+        List<Route> routes,
+        List<BenefitDTO.Response> benefits
+) {
+
+    /**
+     * Routes refer to airports by id instead of embedding them, which keeps the payload small.
+     */
+    @Builder
+    public record Route(
+            UUID id,
+            UUID originId,
+            UUID destinationId,
+            Integer estimatedDurationMinutes
+    ) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.boeing.flightservice.dto.response;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of a schedule import. Counters grow while the job runs; {@code issues} keeps the first problems found
+ * (unparseable lines, unknown routes or aircraft types, existing flight codes, turnaround conflicts) up to a cap,
+ * {@code issueCount} counts all of them.
+ */
+@Builder
+public record FsScheduleImportStatusDTO(
+        UUID jobId,
+        String fileName,
+        State state,
+        boolean dryRun,
+        long linesRead,
+        long legsRead,
+        long flightsPlanned,
+        long flightsCreated,
+        long flightsSkipped,
+        long issueCount,
+        List<Issue> issues,
+        String message,
+        LocalDateTime submittedAt,
+        LocalDateTime finishedAt,
+        long elapsedMs
+) {
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    @Builder
+    public record Issue(
+            int line,
+            String flightCode,
+            String message
+    ) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.boeing.flightservice.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+public record FsSeatAutoAssignResponseDTO(
+        UUID flightId,
+        String fareName,
+        int partySize,
+        List<String> seatCodes,
+        String strategy,
+        boolean together
+) {
+}
@@ -0,0 +1,18 @@
+package com.boeing.flightservice.dto.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Outcome of a seat swap, per flight and in request order. A swap is all or nothing: when it fails, every seat
+ * is reported as not confirmed or not released.
+ */
+@Builder
+public record FsSeatSwapResponseDTO(
+        String status,
+        String message,
+        List<FsBatchResponseDTO.FlightResult<FsConfirmSeatsResponseDTO>> confirmed,
+        List<FsBatchResponseDTO.FlightResult<FsReleaseSeatsResponseDTO>> released
+) {
+}
@@ -0,0 +1,30 @@
+package com.boeing.flightservice.dto.response;
+
+import com.boeing.flightservice.entity.enums.MembershipTier;
+import com.boeing.flightservice.entity.enums.WaitlistStatus;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A waitlist entry. While {@code status} is OFFERED the seats are held under {@code holdReference} until
+ * {@code holdExpiresAt} and can be claimed for a booking.
+ */
+@Builder
+public record FsWaitlistEntryDTO(
+        UUID id,
+        UUID flightId,
+        UUID fareId,
+        String customerReference,
+        int seats,
+        MembershipTier tier,
+        WaitlistStatus status,
+        LocalDateTime requestedAt,
+        String holdReference,
+        LocalDateTime holdExpiresAt,
+        String bookingReference,
+        // Entries still waiting on the fare, this one included while it waits
+        long waiting
+) {
+}
@@ -17,15 +17,27 @@ public record Search(
             LocalDate departureDate,
             Integer noAdults,
             Integer noChildren,
-            Integer noBabies
+            Integer noBabies,
+            // Optional: also match airports within this many km of the route's origin/destination
+            Double radiusKm,
+            // Ranking of the itinerary list, DEPARTURE by default
+            SortBy sortBy,
+            // Page size; defaults and caps are set in config
+            Integer limit,
+            // nextCursor of the previous page
+            String cursor
     ) {
     }
 
+    public enum SortBy { DURATION, PRICE, DEPARTURE }
+
     @Builder
     public record Response(
             Integer total,
             List<FsFlightWithFareDetailsDTO> directs,
-            List<List<FsFlightWithFareDetailsDTO>> connects
+            List<List<FsFlightWithFareDetailsDTO>> connects,
+            // Null on the last page
+            String nextCursor
     ) {
     }
 }
@@ -0,0 +1,45 @@
+package com.boeing.flightservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Seats a booking holds against a fare's sold counter. One row per fare and booking reference makes
+ * confirm-sale and release idempotent when the booking saga retries them.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "fare_sales", uniqueConstraints = @UniqueConstraint(
+        name = "uk_fare_sales_fare_booking", columnNames = {"fare_id", "booking_reference"}))
+public class FareSale {
+
+    @Id
+    @GeneratedValue
+    UUID id;
+
+    // Plain id rather than a relation so replacing a flight's fares does not cascade into the sales ledger
+    @Column(name = "fare_id", nullable = false)
+    UUID fareId;
+
+    @Column(name = "booking_reference", nullable = false)
+    String bookingReference;
+
+    // Seats still held; drops to 0 once the booking has released everything
+    @Column(name = "quantity", nullable = false)
+    Integer quantity;
+
+    @Column(name = "confirmed_at")
+    LocalDateTime confirmedAt;
+
+    @Column(name = "released_at")
+    LocalDateTime releasedAt;
+}
@@ -0,0 +1,74 @@
+package com.boeing.flightservice.entity;
+
+import com.boeing.flightservice.entity.enums.MembershipTier;
+import com.boeing.flightservice.entity.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A customer waiting for seats on a sold-out fare. When seats are released the entry is offered: the seats are
+ * held against the fare's sold counter as a FareSale under {@link #holdReference()} until the customer claims
+ * them for a booking or the hold expires.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "fare_waitlist", indexes = {
+        @Index(name = "idx_fare_waitlist_fare_status", columnList = "fare_id, status"),
+        @Index(name = "idx_fare_waitlist_hold_expiry", columnList = "status, hold_expires_at")
+})
+public class FareWaitlistEntry {
+
+    public static final String HOLD_REFERENCE_PREFIX = "WL-";
+
+    @Id
+    @GeneratedValue
+    UUID id;
+
+    // Plain ids, like FareSale, so replacing a flight's fares does not cascade into the waitlist
+    @Column(name = "fare_id", nullable = false)
+    UUID fareId;
+
+    @Column(name = "flight_id", nullable = false)
+    UUID flightId;
+
+    @Column(name = "customer_reference", nullable = false)
+    String customerReference;
+
+    @Column(name = "seats", nullable = false)
+    Integer seats;
+
+    // Null for customers without a membership, who rank below every tier
+    @Column(name = "tier")
+    @Enumerated(EnumType.STRING)
+    MembershipTier tier;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    WaitlistStatus status;
+
+    @Column(name = "requested_at", nullable = false)
+    LocalDateTime requestedAt;
+
+    @Column(name = "offered_at")
+    LocalDateTime offeredAt;
+
+    @Column(name = "hold_expires_at")
+    LocalDateTime holdExpiresAt;
+
+    // Booking the held seats were claimed for
+    @Column(name = "booking_reference")
+    String bookingReference;
+
+    public String holdReference() {
+        return HOLD_REFERENCE_PREFIX + id;
+    }
+}
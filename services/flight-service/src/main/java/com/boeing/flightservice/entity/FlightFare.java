@@ -1,10 +1,13 @@
 package com.boeing.flightservice.entity;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.UUID;
 
 import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.util.SeatCodec;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -40,11 +43,31 @@ public class FlightFare {
     @Enumerated(EnumType.STRING)
     FareType fareType;
 
-    // Separated by comma
+    // Legacy comma-separated seat codes; moved into seatBitmap by SeatEncodingMigration and cleared
     @Column(name = "seats")
     String seats;
 
+    // Seat set keyed by SeatCodec ordinal
+    @Column(name = "seat_bitmap", length = 8192)
+    byte[] seatBitmap;
+
+    // Seats in the fare; set from the seat bitmap when the fare is created
+    @Column(name = "capacity")
+    Integer capacity;
+
+    // Seats sold against the fare, only changed through FlightFareRepository's conditional updates
+    @Column(name = "sold")
+    @Builder.Default
+    Integer sold = 0;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    BitSet seatSet;
+
+    // Loaded for up to 50 fares per query when several flights are built together
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(
             name = "flight_fare_benefits",
             joinColumns = @JoinColumn(name = "fare_id"),
@@ -62,4 +85,28 @@ public class FlightFare {
 
     @OneToMany(mappedBy = "flightFare")
     List<Seat> occupiedSeats;
+
+    /**
+     * Decoded seat set, cached per entity instance; treat as read-only and use setSeatSet to change it.
+     */
+    public BitSet getSeatSet() {
+        if (seatSet == null) {
+            seatSet = SeatCodec.decode(seatBitmap);
+        }
+        return seatSet;
+    }
+
+    public void setSeatSet(BitSet seats) {
+        this.seatSet = (BitSet) seats.clone();
+        this.seatBitmap = SeatCodec.encode(seats);
+    }
+
+    public void setSeatBitmap(byte[] seatBitmap) {
+        this.seatBitmap = seatBitmap;
+        this.seatSet = null;
+    }
+
+    public int getSeatCount() {
+        return getSeatSet().cardinality();
+    }
 }
@@ -0,0 +1,44 @@
+package com.boeing.flightservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A change event waiting to be published, written in the same transaction as the change itself. Rows are
+ * inserted by OutboxWriter and published by OutboxRelay; published rows are deleted after a retention period.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "flight_outbox", indexes = @Index(name = "idx_flight_outbox_pending", columnList = "published_at, created_at"))
+public class OutboxEvent {
+
+    @Id
+    UUID id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    UUID aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    String eventType;
+
+    @Column(name = "routing_key", nullable = false, length = 64)
+    String routingKey;
+
+    @Column(name = "payload", nullable = false, length = 1024)
+    String payload;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    LocalDateTime publishedAt;
+}
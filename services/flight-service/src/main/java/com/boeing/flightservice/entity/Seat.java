@@ -12,7 +12,7 @@ import java.util.UUID;
 @Getter
 @Setter
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "occupied_seats")
+@Table(name = "occupied_seats", indexes = @Index(name = "idx_occupied_seats_flight_seat", columnList = "flight_id, seat_number"))
 @NoArgsConstructor
 public class Seat {
 
@@ -23,6 +23,10 @@ public class Seat {
     @Column(name = "seat_code")
     String seatCode;
 
+    // SeatCodec.pack(seatCode)
+    @Column(name = "seat_number")
+    Short seatNumber;
+
     @ManyToOne
     @JoinColumn(name = "flight_fare_id")
     FlightFare flightFare;
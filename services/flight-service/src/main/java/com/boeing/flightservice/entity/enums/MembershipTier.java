@@ -0,0 +1,10 @@
+package com.boeing.flightservice.entity.enums;
+
+/**
+ * Loyalty tiers as defined by loyalty-service, lowest first.
+ */
+public enum MembershipTier {
+    SILVER,
+    GOLD,
+    PLATINUM
+}
@@ -0,0 +1,10 @@
+package com.boeing.flightservice.entity.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    // Seats are held for the customer until the hold expires
+    OFFERED,
+    CLAIMED,
+    EXPIRED,
+    CANCELLED
+}
@@ -0,0 +1,71 @@
+package com.boeing.flightservice.grpc;
+
+import com.boeing.flightservice.dto.request.FsConfirmSeatsRequestDTO;
+import com.boeing.flightservice.dto.request.FsReleaseSeatsRequestDTO;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.grpc.proto.*;
+import com.boeing.flightservice.service.spec.FlightService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.grpc.server.service.GrpcService;
+
+import java.util.function.Supplier;
+
+/**
+ * gRPC front for the internal flight-details and seat operations; same service layer as the REST
+ * controllers, served on the separate gRPC port over HTTP/2.
+ */
+@GrpcService
+@Slf4j
+@RequiredArgsConstructor
+public class FlightInternalGrpcService extends FlightInternalServiceGrpc.FlightInternalServiceImplBase {
+
+    private final FlightService flightService;
+
+    @Override
+    public void getFlightDetails(FlightDetailsRequest request, StreamObserver<FlightDetails> responseObserver) {
+        respond(responseObserver, () -> FlightProtoMapper.toProto(
+                flightService.getFlightDetails(FlightProtoMapper.toUuid(request.getFlightId()))));
+    }
+
+    @Override
+    public void checkSeatAvailability(SeatAvailabilityRequest request,
+                                      StreamObserver<SeatAvailability> responseObserver) {
+        respond(responseObserver, () -> FlightProtoMapper.toProto(flightService.checkSeatAvailability(
+                FlightProtoMapper.toUuid(request.getFlightId()), request.getSeatCodesList())));
+    }
+
+    @Override
+    public void confirmSeats(ConfirmSeatsRequest request, StreamObserver<ConfirmSeatsResult> responseObserver) {
+        respond(responseObserver, () -> FlightProtoMapper.toProto(flightService.confirmSeat(
+                FlightProtoMapper.toUuid(request.getFlightId()),
+                FsConfirmSeatsRequestDTO.builder()
+                        .bookingReference(request.getBookingReference())
+                        .seatCodes(request.getSeatCodesList())
+                        .build())));
+    }
+
+    @Override
+    public void releaseSeats(ReleaseSeatsRequest request, StreamObserver<ReleaseSeatsResult> responseObserver) {
+        respond(responseObserver, () -> FlightProtoMapper.toProto(flightService.releaseSeats(
+                FlightProtoMapper.toUuid(request.getFlightId()),
+                FsReleaseSeatsRequestDTO.builder()
+                        .bookingReference(request.getBookingReference())
+                        .seatCodes(request.getSeatCodesList())
+                        .build())));
+    }
+
+    private <T> void respond(StreamObserver<T> responseObserver, Supplier<T> call) {
+        try {
+            responseObserver.onNext(call.get());
+            responseObserver.onCompleted();
+        } catch (BadRequestException | IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+        } catch (RuntimeException e) {
+            log.error("gRPC call failed: {}", e.getMessage(), e);
+            responseObserver.onError(Status.INTERNAL.withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.boeing.flightservice.grpc;
+
+import com.boeing.flightservice.dto.response.AirportResponseDTO;
+import com.boeing.flightservice.dto.response.FsConfirmSeatsResponseDTO;
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.dto.response.FsReleaseSeatsResponseDTO;
+import com.boeing.flightservice.dto.response.FsSeatsAvailabilityResponseDTO;
+import com.boeing.flightservice.grpc.proto.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Maps the REST response DTOs onto their protobuf counterparts. Proto3 has no nulls, so absent values
+ * become the field default (empty string, 0).
+ */
+public final class FlightProtoMapper {
+
+    private FlightProtoMapper() {
+    }
+
+    public static FlightDetails toProto(FsFlightWithFareDetailsDTO dto) {
+        FlightDetails.Builder builder = FlightDetails.newBuilder()
+                .setFlightId(text(dto.flightId()))
+                .setFlightCode(text(dto.flightCode()))
+                .setDepartureTime(epochSeconds(dto.departureTime()))
+                .setEstimatedArrivalTime(epochSeconds(dto.estimatedArrivalTime()))
+                .setActualArrivalTime(epochSeconds(dto.actualArrivalTime()))
+                .setFlightDurationMinutes(number(dto.flightDurationMinutes()))
+                .setTotalSeats(dto.totalSeats())
+                .setRemainingSeats(dto.remainingSeats())
+                .setCarryOnLuggageWeight(number(dto.carryOnLuggageWeight()))
+                .setCheckedBaggageWeight(number(dto.checkedBaggageWeight()))
+                .addAllOccupiedSeats(nonNull(dto.occupiedSeats()));
+        if (dto.status() != null) {
+            builder.setStatus(FlightStatus.valueOf(dto.status().name()));
+        }
+        if (dto.aircraft() != null) {
+            builder.setAircraft(Aircraft.newBuilder()
+                    .setId(text(dto.aircraft().id()))
+                    .setCode(text(dto.aircraft().code()))
+                    .setModel(text(dto.aircraft().model())));
+        }
+        if (dto.originAirport() != null) {
+            builder.setOriginAirport(toProto(dto.originAirport()));
+        }
+        if (dto.destinationAirport() != null) {
+            builder.setDestinationAirport(toProto(dto.destinationAirport()));
+        }
+        // Occupied seats are already on the flight; fares only carry their own seat list
+        for (FsFlightWithFareDetailsDTO.FsDetailedFareDTO fare : nonNull(dto.availableFares())) {
+            Fare.Builder fareBuilder = Fare.newBuilder()
+                    .setId(text(fare.id()))
+                    .setPrice(fare.price() != null ? fare.price() : 0)
+                    .setName(text(fare.name()))
+                    .addAllSeats(nonNull(fare.seats()));
+            if (fare.fareType() != null) {
+                fareBuilder.setFareType(FareType.valueOf(fare.fareType().name()));
+            }
+            for (FsFlightWithFareDetailsDTO.Benefit benefit : nonNull(fare.benefits())) {
+                fareBuilder.addBenefits(Benefit.newBuilder()
+                        .setId(text(benefit.id()))
+                        .setName(text(benefit.name()))
+                        .setDescription(text(benefit.description()))
+                        .setIconUrl(text(benefit.iconURL())));
+            }
+            builder.addAvailableFares(fareBuilder);
+        }
+        return builder.build();
+    }
+
+    public static SeatAvailability toProto(FsSeatsAvailabilityResponseDTO dto) {
+        SeatAvailability.Builder builder = SeatAvailability.newBuilder()
+                .setAllRequestedSeatsAvailable(dto.isAllRequestedSeatsAvailable());
+        for (FsSeatsAvailabilityResponseDTO.SeatStatus status : nonNull(dto.getSeatStatuses())) {
+            SeatStatus.Builder seat = SeatStatus.newBuilder()
+                    .setSeatCode(text(status.getSeatCode()))
+                    .setAvailable(status.isAvailable());
+            if (status.getFare() != null) {
+                seat.setFareId(text(status.getFare().getId()))
+                        .setFareName(text(status.getFare().getName()))
+                        .setPrice(status.getFare().getPrice() != null ? status.getFare().getPrice() : 0);
+            }
+            builder.addSeatStatuses(seat);
+        }
+        return builder.build();
+    }
+
+    public static ConfirmSeatsResult toProto(FsConfirmSeatsResponseDTO dto) {
+        return ConfirmSeatsResult.newBuilder()
+                .setStatus(text(dto.status()))
+                .addAllConfirmedSeats(nonNull(dto.confirmedSeats()))
+                .addAllFailedToConfirmSeats(nonNull(dto.failedToConfirmSeats()))
+                .setMessage(text(dto.message()))
+                .build();
+    }
+
+    public static ReleaseSeatsResult toProto(FsReleaseSeatsResponseDTO dto) {
+        return ReleaseSeatsResult.newBuilder()
+                .setStatus(text(dto.status()))
+                .addAllReleasedSeats(nonNull(dto.releasedSeats()))
+                .addAllFailedToReleaseSeats(nonNull(dto.failedToReleaseSeats()))
+                .build();
+    }
+
+    public static Airport toProto(AirportResponseDTO airport) {
+        return Airport.newBuilder()
+                .setId(text(airport.getId()))
+                .setName(text(airport.getName()))
+                .setCode(text(airport.getCode()))
+                .setCity(text(airport.getCity()))
+                .setCountry(text(airport.getCountry()))
+                .setTimezone(text(airport.getTimezone()))
+                .build();
+    }
+
+    public static UUID toUuid(String value) {
+        return UUID.fromString(value);
+    }
+
+    private static long epochSeconds(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : 0;
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static int number(Integer value) {
+        return Objects.requireNonNullElse(value, 0);
+    }
+
+    private static <T> List<T> nonNull(List<T> list) {
+        return list != null ? list : List.of();
+    }
+}
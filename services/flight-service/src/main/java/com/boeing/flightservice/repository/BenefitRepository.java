@@ -5,10 +5,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface BenefitRepository extends JpaRepository<Benefit, UUID>, JpaSpecificationExecutor<Benefit> {
     Optional<Benefit> findByIdAndDeleted(UUID id, Boolean deleted);
+
+    List<Benefit> findByDeleted(Boolean deleted);
 }
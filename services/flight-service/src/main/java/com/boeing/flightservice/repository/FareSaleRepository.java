@@ -0,0 +1,14 @@
+package com.boeing.flightservice.repository;
+
+import com.boeing.flightservice.entity.FareSale;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FareSaleRepository extends JpaRepository<FareSale, UUID> {
+
+    Optional<FareSale> findByFareIdAndBookingReference(UUID fareId, String bookingReference);
+}
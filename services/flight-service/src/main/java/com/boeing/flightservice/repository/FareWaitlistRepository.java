@@ -0,0 +1,33 @@
+package com.boeing.flightservice.repository;
+
+import com.boeing.flightservice.entity.FareWaitlistEntry;
+import com.boeing.flightservice.entity.enums.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FareWaitlistRepository extends JpaRepository<FareWaitlistEntry, UUID> {
+
+    // Scalar lookup, so the entry itself is first loaded after its flight's seat lock is taken
+    @Query("SELECT e.flightId FROM FareWaitlistEntry e WHERE e.id = :id")
+    Optional<UUID> findFlightIdById(@Param("id") UUID id);
+
+    List<FareWaitlistEntry> findByFareIdAndStatus(UUID fareId, WaitlistStatus status);
+
+    long countByFareIdAndStatus(UUID fareId, WaitlistStatus status);
+
+    Optional<FareWaitlistEntry> findFirstByFareIdAndCustomerReferenceAndStatusIn(
+            UUID fareId, String customerReference, Collection<WaitlistStatus> statuses);
+
+    // For the hold expiry job
+    List<FareWaitlistEntry> findTop100ByStatusAndHoldExpiresAtBeforeOrderByHoldExpiresAt(
+            WaitlistStatus status, LocalDateTime holdExpiresAt);
+}
@@ -1,10 +1,12 @@
 package com.boeing.flightservice.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,6 +16,29 @@ import com.boeing.flightservice.entity.FlightFare;
 @Repository
 public interface FlightFareRepository extends JpaRepository<FlightFare, UUID>, JpaSpecificationExecutor<FlightFare> {
     
-    @Query("SELECT ff FROM FlightFare ff WHERE ff.flight.id = :flightId AND ff.name = :fareName AND ff.deleted = false")
+    @Query("SELECT ff FROM FlightFare ff WHERE ff.flight.id = :flightId AND LOWER(ff.name) = LOWER(:fareName) AND ff.deleted = false")
     Optional<FlightFare> findByFlightIdAndFareNameAndDeleted(@Param("flightId") UUID flightId, @Param("fareName") String fareName);
+
+    List<FlightFare> findTop500BySeatBitmapIsNullAndSeatsIsNotNull();
+
+    List<FlightFare> findTop500ByCapacityIsNull();
+
+    @Query("SELECT ff.capacity - ff.sold FROM FlightFare ff WHERE ff.flight.id = :flightId AND LOWER(ff.name) = LOWER(:fareName) AND ff.deleted = false")
+    List<Integer> findRemainingByFlightIdAndFareName(@Param("flightId") UUID flightId, @Param("fareName") String fareName);
+
+    @Query("SELECT ff.capacity - ff.sold FROM FlightFare ff WHERE ff.id = :fareId")
+    Integer findRemainingById(@Param("fareId") UUID fareId);
+
+    /**
+     * Adds to the sold counter only if the fare still has room; returns 0 when it would oversell. Like
+     * decrementSold it flushes pending changes first and clears the persistence context afterwards, so no managed
+     * fare keeps the old count; entities loaded before the call are detached and must be saved to persist changes.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FlightFare ff SET ff.sold = ff.sold + :count WHERE ff.id = :fareId AND ff.sold + :count <= ff.capacity")
+    int incrementSold(@Param("fareId") UUID fareId, @Param("count") int count);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FlightFare ff SET ff.sold = ff.sold - :count WHERE ff.id = :fareId AND ff.sold >= :count")
+    int decrementSold(@Param("fareId") UUID fareId, @Param("count") int count);
 }
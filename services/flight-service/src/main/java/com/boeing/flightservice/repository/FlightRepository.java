@@ -3,11 +3,15 @@ package com.boeing.flightservice.repository;
 import com.boeing.flightservice.entity.Airport;
 import com.boeing.flightservice.entity.Flight;
 import com.boeing.flightservice.entity.enums.FlightStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +20,10 @@ import java.util.UUID;
 public interface FlightRepository extends JpaRepository<Flight, UUID>, JpaSpecificationExecutor<Flight> {
     Optional<Flight> findByIdAndDeleted(UUID id, Boolean deleted);
 
+    // Fares and airports in the same query, for building the details of several flights at once
+    @EntityGraph(attributePaths = {"fares", "origin", "destination"})
+    List<Flight> findWithFaresByIdInAndDeleted(Collection<UUID> ids, Boolean deleted);
+
     List<Flight> findByDepartureTimeGreaterThanEqualAndStatusAndDeletedAndDestinationAndOrigin(
             LocalDateTime departureTimeIsGreaterThan,
             FlightStatus status,
@@ -42,6 +50,31 @@ public interface FlightRepository extends JpaRepository<Flight, UUID>, JpaSpecif
             Airport destination
     );
 
+    // Set-based variants used by the search, so nearby airports are resolved in one query
+    List<Flight> findByDepartureTimeGreaterThanEqualAndStatusAndDeletedAndOriginIdInAndDestinationIdIn(
+            LocalDateTime departureTimeIsGreaterThan,
+            FlightStatus status,
+            Boolean deleted,
+            Collection<UUID> originIds,
+            Collection<UUID> destinationIds
+    );
+
+    List<Flight> findByDepartureTimeGreaterThanEqualAndStatusAndDeletedAndOriginIdIn(
+            LocalDateTime departureTimeIsGreaterThan,
+            FlightStatus status,
+            Boolean deleted,
+            Collection<UUID> originIds
+    );
+
+    List<Flight> findByDepartureTimeBetweenAndStatusAndDeletedAndOriginIdInAndDestinationIdIn(
+            LocalDateTime departureTimeStart,
+            LocalDateTime departureTimeEnd,
+            FlightStatus status,
+            Boolean deleted,
+            Collection<UUID> originIds,
+            Collection<UUID> destinationIds
+    );
+
     List<Flight> findByAircraftIdAndDeleted(UUID aircraftId, Boolean deleted);
     
     boolean existsByCodeAndDeleted(String code, Boolean deleted);
@@ -56,9 +89,31 @@ public interface FlightRepository extends JpaRepository<Flight, UUID>, JpaSpecif
             LocalDateTime departureTimeEnd
     );
     
+    // For bulk disruptions
+    List<Flight> findByDeletedAndStatusInAndDepartureTimeBetween(
+            Boolean deleted,
+            Collection<FlightStatus> statuses,
+            LocalDateTime departureTimeStart,
+            LocalDateTime departureTimeEnd
+    );
+
+    List<Flight> findByIdInAndDeleted(Collection<UUID> ids, Boolean deleted);
+
+    List<Flight> findByAircraftIdInAndDeletedAndStatusNotAndDepartureTimeBetween(
+            Collection<UUID> aircraftIds,
+            Boolean deleted,
+            FlightStatus status,
+            LocalDateTime departureTimeStart,
+            LocalDateTime departureTimeEnd
+    );
+
     List<Flight> findByStatusNotInAndDeletedAndDepartureTimeBefore(
             List<FlightStatus> statuses,
             Boolean deleted,
             LocalDateTime departureTime
     );
+
+    // For schedule imports: which of a chunk's flight codes are already taken
+    @Query("SELECT f.code FROM Flight f WHERE f.code IN :codes AND f.deleted = false")
+    List<String> findExistingCodes(@Param("codes") Collection<String> codes);
 }
@@ -1,5 +1,6 @@
 package com.boeing.flightservice.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,6 +15,8 @@ import com.boeing.flightservice.entity.Route;
 @Repository
 public interface RouteRepository extends JpaRepository<Route, UUID>, JpaSpecificationExecutor<Route> {
     Optional<Route> findByIdAndDeleted(UUID id, Boolean deleted);
+
+    List<Route> findByDeleted(Boolean deleted);
     
     @Query("SELECT r FROM Route r WHERE r.origin.id = :originId AND r.destination.id = :destinationId AND r.deleted = false")
     Optional<Route> findByOriginAndDestination(@Param("originId") UUID originId, @Param("destinationId") UUID destinationId);
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +13,11 @@ import java.util.UUID;
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, UUID>, JpaSpecificationExecutor<Seat> {
     Optional<Seat> findBySeatCodeAndFlightIdAndDeleted(String seatCode, UUID flightId, Boolean deleted);
+    Optional<Seat> findBySeatNumberAndFlightIdAndDeleted(Short seatNumber, UUID flightId, Boolean deleted);
+    List<Seat> findTop1000BySeatNumberIsNull();
     List<Seat> findByFlightIdAndDeleted(UUID flightId, Boolean deleted);
+
+    List<Seat> findByFlightIdInAndDeleted(Collection<UUID> flightIds, Boolean deleted);
     List<Seat> findByFlightId(UUID flightId); // Find all seats regardless of deleted status
+    boolean existsByFlightFareId(UUID fareId); // Released seats included, they still reference the fare
 }
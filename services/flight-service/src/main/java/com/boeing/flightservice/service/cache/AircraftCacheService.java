@@ -0,0 +1,59 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Active-aircraft responses from aircraft-service, which carry both the aircraft info and its seat layout.
+ * Layouts change rarely, so a short TTL keeps flight reads from calling aircraft-service on every request.
+ */
+@Service
+@Slf4j
+public class AircraftCacheService {
+
+    private final Cache<UUID, Map<String, Object>> cache;
+
+    public AircraftCacheService(FlightMetrics flightMetrics,
+                                @Value("${aircraft-cache.ttl-minutes:10}") long ttlMinutes,
+                                @Value("${aircraft-cache.max-size:1000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        flightMetrics.monitorCache("aircraft", cache);
+    }
+
+    /**
+     * Cached response for the aircraft, loading it on a miss. Null responses are not cached.
+     */
+    public Map<String, Object> get(UUID aircraftId, Supplier<Map<String, Object>> loader) {
+        Map<String, Object> cached = cache.getIfPresent(aircraftId);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Object> loaded = loader.get();
+        if (loaded != null) {
+            cache.put(aircraftId, loaded);
+        }
+        return loaded;
+    }
+
+    public boolean contains(UUID aircraftId) {
+        return cache.getIfPresent(aircraftId) != null;
+    }
+
+    public void invalidate(UUID aircraftId) {
+        log.debug("Evicting cached aircraft {}", aircraftId);
+        cache.invalidate(aircraftId);
+    }
+}
@@ -0,0 +1,219 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.dto.union.AirportDTO;
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.service.event.ReferenceDataChangedEvent;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * In-memory prefix index for airport pickers. Codes, cities, names and the later words of cities and names are
+ * folded (case, accents, punctuation) and kept in one sorted array per kind; a lookup binary-searches each array
+ * for the query prefix and walks the matching run, so it costs a few comparisons and never reads the database.
+ * <p>
+ * Results are ranked by kind: IATA code, start of city, start of name, then any later word; within a kind they
+ * follow the folded key order, so an exact match comes before longer completions. The index is rebuilt after
+ * airports change here and periodically to pick up other instances' changes; lookups keep using the previous
+ * index until the new one is swapped in.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AirportAutocompleteIndex {
+
+    // Ranking order of the matches
+    private enum Kind { CODE, CITY, NAME, WORD }
+
+    private record Entry(String key, int airport) {
+    }
+
+    private record Index(AirportDTO.Response[] airports, Entry[][] entries) {
+    }
+
+    private static final Comparator<Entry> ENTRY_ORDER =
+            Comparator.comparing(Entry::key).thenComparingInt(Entry::airport);
+
+    private final AirportRepository airportRepository;
+    private final FlightMetrics flightMetrics;
+
+    private volatile Index index;
+
+    @PostConstruct
+    void registerMetrics() {
+        flightMetrics.gauge("flight.airport.autocomplete.size", "Airports held in the autocomplete index", this,
+                autocomplete -> autocomplete.index == null ? 0 : autocomplete.index.airports().length);
+    }
+
+    /**
+     * Up to limit active airports whose code, city or name (or a word of them) starts with the query.
+     */
+    public List<AirportDTO.Response> search(String query, int limit) {
+        String prefix = fold(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Index current = ensureBuilt();
+        List<AirportDTO.Response> result = new ArrayList<>(Math.min(limit, 16));
+        BitSet added = new BitSet(current.airports().length);
+        for (Entry[] entries : current.entries()) {
+            for (int i = lowerBound(entries, prefix); i < entries.length && result.size() < limit; i++) {
+                Entry entry = entries[i];
+                if (!entry.key().startsWith(prefix)) {
+                    break;
+                }
+                if (!added.get(entry.airport())) {
+                    added.set(entry.airport());
+                    result.add(current.airports()[entry.airport()]);
+                }
+            }
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds the index eagerly instead of on the first lookup; returns the number of airports indexed.
+     */
+    public int warmUp() {
+        return ensureBuilt().airports().length;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event.kind() == ReferenceDataChangedEvent.Kind.AIRPORT) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${airport-autocomplete.refresh-ms:300000}",
+            initialDelayString = "${airport-autocomplete.refresh-ms:300000}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Keep serving the previous index
+            log.warn("Airport autocomplete refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private Index ensureBuilt() {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = build();
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized void rebuild() {
+        index = build();
+    }
+
+    private Index build() {
+        List<Airport> airports = airportRepository.findByDeleted(false);
+        AirportDTO.Response[] responses = new AirportDTO.Response[airports.size()];
+        List<List<Entry>> entries = new ArrayList<>();
+        for (int i = 0; i < Kind.values().length; i++) {
+            entries.add(new ArrayList<>());
+        }
+        for (int i = 0; i < airports.size(); i++) {
+            Airport airport = airports.get(i);
+            responses[i] = AirportDTO.fromEntity(airport);
+            add(entries.get(Kind.CODE.ordinal()), fold(airport.getCode()), i);
+            addWords(entries, Kind.CITY, fold(airport.getCity()), i);
+            addWords(entries, Kind.NAME, fold(airport.getName()), i);
+        }
+
+        Entry[][] sorted = new Entry[entries.size()][];
+        for (int kind = 0; kind < sorted.length; kind++) {
+            sorted[kind] = entries.get(kind).toArray(Entry[]::new);
+            Arrays.sort(sorted[kind], ENTRY_ORDER);
+        }
+        log.info("Built airport autocomplete index over {} airports", responses.length);
+        return new Index(responses, sorted);
+    }
+
+    // The whole folded value under its own kind, each later word as a WORD entry
+    private static void addWords(List<List<Entry>> entries, Kind kind, String folded, int airport) {
+        if (folded.isEmpty()) {
+            return;
+        }
+        add(entries.get(kind.ordinal()), folded, airport);
+        for (int space = folded.indexOf(' '); space >= 0; space = folded.indexOf(' ', space + 1)) {
+            add(entries.get(Kind.WORD.ordinal()), folded.substring(space + 1), airport);
+        }
+    }
+
+    private static void add(List<Entry> entries, String key, int airport) {
+        if (!key.isEmpty()) {
+            entries.add(new Entry(key, airport));
+        }
+    }
+
+    private static int lowerBound(Entry[] entries, String key) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].key().compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Lower case without accents, with every run of characters other than letters and digits turned into one
+     * space, e.g. "Đà Nẵng" and "da-nang" both fold to "da nang".
+     */
+    static String fold(String value) {
+        if (value == null || value.isBlank()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            // Letters that carry their stroke in the base character and do not decompose
+            switch (c) {
+                case 'đ', 'Đ' -> c = 'd';
+                case 'ø', 'Ø' -> c = 'o';
+                case 'ł', 'Ł' -> c = 'l';
+                case 'ı' -> c = 'i';
+                default -> c = Character.toLowerCase(c);
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !folded.isEmpty()) {
+                    folded.append(' ');
+                }
+                pendingSpace = false;
+                folded.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return folded.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.service.impl.logic.FlightTimeServiceImpl;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.service.spec.logic.FlightTimeService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * In-memory 3D k-d tree over airport coordinates projected onto the unit sphere.
+ * Chord length on the sphere is monotonic with great-circle distance, so a Euclidean
+ * range query is exact; candidates are confirmed with the haversine distance.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AirportSpatialIndex {
+
+    private final AirportRepository airportRepository;
+    private final FlightTimeService flightTimeService;
+    private final FlightMetrics flightMetrics;
+
+    private volatile Node root;
+    private volatile boolean built;
+    private volatile int size;
+
+    @PostConstruct
+    void registerMetrics() {
+        flightMetrics.gauge("flight.airport.index.size", "Airports held in the spatial index", this, index -> index.size);
+    }
+
+    /**
+     * Ids of active airports within radiusKm of the given airport, always including the airport itself.
+     */
+    public Set<UUID> findWithinRadius(Airport center, double radiusKm) {
+        Set<UUID> result = new LinkedHashSet<>();
+        result.add(center.getId());
+        if (center.getLatitude() == null || center.getLongitude() == null || radiusKm <= 0) {
+            return result;
+        }
+
+        Node tree = ensureBuilt();
+        if (tree == null) {
+            return result;
+        }
+
+        double[] target = toUnitVector(center.getLatitude(), center.getLongitude());
+        double chord = 2 * Math.sin(Math.min(radiusKm / FlightTimeServiceImpl.EARTH_RADIUS_KM, Math.PI) / 2);
+        List<Node> candidates = new ArrayList<>();
+        rangeSearch(tree, target, chord * chord, candidates);
+
+        for (Node node : candidates) {
+            double distance = flightTimeService.calculateDistanceKm(
+                    center.getLatitude(), center.getLongitude(), node.latitude, node.longitude);
+            if (distance <= radiusKm) {
+                result.add(node.id);
+            }
+        }
+        log.debug("Found {} airports within {} km of {}", result.size(), radiusKm, center.getCode());
+        return result;
+    }
+
+    public void invalidate() {
+        built = false;
+    }
+
+    /**
+     * Builds the index eagerly instead of on the first nearby search; returns the number of airports indexed.
+     */
+    public int warmUp() {
+        ensureBuilt();
+        return size;
+    }
+
+    private Node ensureBuilt() {
+        if (!built) {
+            synchronized (this) {
+                if (!built) {
+                    root = build(airportRepository.findByDeleted(false));
+                    built = true;
+                }
+            }
+        }
+        return root;
+    }
+
+    private Node build(List<Airport> airports) {
+        List<Node> nodes = new ArrayList<>(airports.size());
+        for (Airport airport : airports) {
+            if (airport.getLatitude() == null || airport.getLongitude() == null) {
+                continue;
+            }
+            nodes.add(new Node(airport.getId(), airport.getLatitude(), airport.getLongitude(),
+                    toUnitVector(airport.getLatitude(), airport.getLongitude())));
+        }
+        log.info("Building airport spatial index over {} airports", nodes.size());
+        size = nodes.size();
+        return build(nodes, 0, nodes.size(), 0);
+    }
+
+    private Node build(List<Node> nodes, int from, int to, int depth) {
+        if (from >= to) {
+            return null;
+        }
+        int axis = depth % 3;
+        nodes.subList(from, to).sort(Comparator.comparingDouble(n -> n.point[axis]));
+        int mid = (from + to) >>> 1;
+        Node node = nodes.get(mid);
+        node.axis = axis;
+        node.left = build(nodes, from, mid, depth + 1);
+        node.right = build(nodes, mid + 1, to, depth + 1);
+        return node;
+    }
+
+    private void rangeSearch(Node node, double[] target, double chordSquared, List<Node> out) {
+        if (node == null) {
+            return;
+        }
+        double dx = node.point[0] - target[0];
+        double dy = node.point[1] - target[1];
+        double dz = node.point[2] - target[2];
+        if (dx * dx + dy * dy + dz * dz <= chordSquared) {
+            out.add(node);
+        }
+        double diff = target[node.axis] - node.point[node.axis];
+        Node near = diff < 0 ? node.left : node.right;
+        Node far = diff < 0 ? node.right : node.left;
+        rangeSearch(near, target, chordSquared, out);
+        if (diff * diff <= chordSquared) {
+            rangeSearch(far, target, chordSquared, out);
+        }
+    }
+
+    private static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        return new double[]{
+                Math.cos(lat) * Math.cos(lon),
+                Math.cos(lat) * Math.sin(lon),
+                Math.sin(lat)
+        };
+    }
+
+    private static final class Node {
+        final UUID id;
+        final double latitude;
+        final double longitude;
+        final double[] point;
+        int axis;
+        Node left;
+        Node right;
+
+        Node(UUID id, double latitude, double longitude, double[] point) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.point = point;
+        }
+    }
+}
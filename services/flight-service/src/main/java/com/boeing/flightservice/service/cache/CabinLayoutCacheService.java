@@ -0,0 +1,41 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.util.CabinLayout;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cabin layouts per aircraft and section, derived from the cached aircraft response. Building one from seat
+ * codes costs far more than a seat search on it, so it is kept for the same TTL as the aircraft.
+ */
+@Service
+public class CabinLayoutCacheService {
+
+    private record Key(UUID aircraftId, FareType fareType) {
+    }
+
+    private final Cache<Key, CabinLayout> cache;
+
+    public CabinLayoutCacheService(FlightMetrics flightMetrics,
+                                   @Value("${aircraft-cache.ttl-minutes:10}") long ttlMinutes,
+                                   @Value("${aircraft-cache.max-size:1000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .maximumSize(maxSize * FareType.values().length)
+                .recordStats()
+                .build();
+        flightMetrics.monitorCache("cabin-layout", cache);
+    }
+
+    public CabinLayout get(UUID aircraftId, FareType fareType, Supplier<CabinLayout> loader) {
+        return cache.get(new Key(aircraftId, fareType), key -> loader.get());
+    }
+}
@@ -0,0 +1,201 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.service.ext.ExternalAircraftService;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.service.spec.logic.SeatService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the caches hit by the first requests after a deploy: the airport spatial and autocomplete indexes, the
+ * reference-data snapshot, aircraft layouts and fare prices for flights departing in the next few days. Aircraft
+ * are fetched in parallel; the whole phase is bounded by a time budget, after which the instance reports ready with
+ * whatever was loaded.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CacheWarmupService {
+
+    public enum State { PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED, DISABLED }
+
+    private final FlightRepository flightRepository;
+    private final ExternalAircraftService externalAircraftService;
+    private final AirportSpatialIndex airportSpatialIndex;
+    private final AirportAutocompleteIndex airportAutocompleteIndex;
+    private final ReferenceDataCacheService referenceDataCacheService;
+    private final SeatService seatService;
+    private final FlightMetrics flightMetrics;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.days-ahead:3}")
+    private int daysAhead;
+
+    @Value("${warmup.parallelism:8}")
+    private int parallelism;
+
+    @Value("${warmup.time-budget-seconds:60}")
+    private long timeBudgetSeconds;
+
+    private volatile State state = State.PENDING;
+    private volatile Duration elapsed = Duration.ZERO;
+    private volatile long deadline;
+    private volatile String failure;
+    private final AtomicInteger flights = new AtomicInteger();
+    private final AtomicInteger fares = new AtomicInteger();
+    private final AtomicInteger aircraft = new AtomicInteger();
+    private final AtomicInteger aircraftFailures = new AtomicInteger();
+
+    @PostConstruct
+    void registerMetrics() {
+        flightMetrics.gauge("flight.warmup.done", "1 once startup cache warm-up has finished", this,
+                warmup -> warmup.isDone() ? 1 : 0);
+        flightMetrics.gauge("flight.warmup.duration", "Seconds spent in startup cache warm-up", this,
+                warmup -> warmup.elapsed.toMillis() / 1000.0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            state = State.DISABLED;
+            return;
+        }
+        Thread.ofPlatform().name("cache-warmup").daemon().start(this::warmUp);
+    }
+
+    /**
+     * True once warm-up has finished, run out of budget or is disabled. The budget also applies while a step
+     * is still blocked, so a slow database or aircraft-service cannot hold readiness back indefinitely.
+     */
+    public boolean isDone() {
+        return switch (state) {
+            case PENDING -> false;
+            case RUNNING -> System.nanoTime() - deadline >= 0;
+            default -> true;
+        };
+    }
+
+    public Map<String, Object> details() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("state", state == State.RUNNING && isDone() ? State.TIMED_OUT : state);
+        details.put("flights", flights.get());
+        details.put("fares", fares.get());
+        details.put("aircraft", aircraft.get());
+        details.put("aircraftFailures", aircraftFailures.get());
+        details.put("elapsedMs", elapsed.toMillis());
+        if (failure != null) {
+            details.put("error", failure);
+        }
+        return details;
+    }
+
+    void warmUp() {
+        long started = System.nanoTime();
+        deadline = started + TimeUnit.SECONDS.toNanos(timeBudgetSeconds);
+        state = State.RUNNING;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                Thread.ofPlatform().name("cache-warmup-", 0).daemon().factory());
+        try {
+            log.info("Cache warm-up started: flights departing in the next {} days, budget {}s", daysAhead, timeBudgetSeconds);
+            int airports = airportSpatialIndex.warmUp();
+            airportAutocompleteIndex.warmUp();
+            referenceDataCacheService.get();
+
+            Set<UUID> aircraftIds = warmFlights();
+            List<Future<?>> pending = new ArrayList<>(aircraftIds.size());
+            for (UUID aircraftId : aircraftIds) {
+                pending.add(executor.submit(() -> warmAircraft(aircraftId)));
+            }
+            boolean completed = awaitAll(pending);
+
+            state = completed ? State.COMPLETED : State.TIMED_OUT;
+            elapsed = Duration.ofNanos(System.nanoTime() - started);
+            log.info("Cache warm-up {} in {} ms: {} airports, {} flights, {} fares, {}/{} aircraft ({} failed)",
+                    completed ? "completed" : "ran out of budget", elapsed.toMillis(), airports, flights.get(),
+                    fares.get(), aircraft.get(), aircraftIds.size(), aircraftFailures.get());
+        } catch (Exception e) {
+            // A failed warm-up only means a cold start, it must not keep the instance out of rotation
+            failure = e.getClass().getSimpleName() + ": " + e.getMessage();
+            state = State.FAILED;
+            elapsed = Duration.ofNanos(System.nanoTime() - started);
+            log.warn("Cache warm-up aborted after {} ms: {}", elapsed.toMillis(), e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Loads open flights in the warm-up window, primes their fare prices and returns the aircraft they use.
+     */
+    private Set<UUID> warmFlights() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Flight> upcoming = flightRepository.findByStatusAndDeletedAndDepartureTimeBetween(
+                    FlightStatus.SCHEDULED_OPEN, false, now, now.plusDays(daysAhead));
+            Set<UUID> aircraftIds = new LinkedHashSet<>();
+            for (Flight flight : upcoming) {
+                if (flight.getAircraftId() != null) {
+                    aircraftIds.add(flight.getAircraftId());
+                }
+                if (flight.getFares() != null) {
+                    for (FlightFare fare : flight.getFares()) {
+                        seatService.getFarePrice(fare);
+                        fares.incrementAndGet();
+                    }
+                }
+                flights.incrementAndGet();
+            }
+            return aircraftIds;
+        });
+    }
+
+    private void warmAircraft(UUID aircraftId) {
+        try {
+            // One aircraft-service response backs both the seat sections and the aircraft info
+            externalAircraftService.getAircraftSeatSections(aircraftId);
+            aircraft.incrementAndGet();
+        } catch (Exception e) {
+            aircraftFailures.incrementAndGet();
+            log.debug("Could not warm aircraft {}: {}", aircraftId, e.getMessage());
+        }
+    }
+
+    private boolean awaitAll(List<Future<?>> pending) throws InterruptedException {
+        for (Future<?> future : pending) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                future.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return false;
+            } catch (ExecutionException e) {
+                // warmAircraft handles its own failures
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,330 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.dto.response.AirportResponseDTO;
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.service.event.FlightChangedEvent;
+import com.boeing.flightservice.service.ext.ExternalAircraftService;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.service.spec.logic.SeatService;
+import com.boeing.flightservice.util.SeatCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Precomputed flight details, one immutable {@link FlightDetailsSnapshot} per flight. A snapshot is never
+ * modified: committed seat, fare and status changes build a new one and swap it in, and a rebuild only replaces
+ * a snapshot with a higher version. Reads of a cached flight are a map lookup and do not touch the database
+ * or aircraft-service.
+ * <p>
+ * Changes made by other instances are picked up when a snapshot is older than the max age: it is still served
+ * while a background rebuild runs, and kept if that rebuild fails. Background rebuilds run on a small pool of
+ * their own with a bounded queue; when it is full the stale snapshot is kept until a later read.
+ */
+@Service
+@Slf4j
+public class FlightDetailsCacheService {
+
+    private final FlightRepository flightRepository;
+    private final SeatInventoryStore seatInventoryStore;
+    private final ExternalAircraftService externalAircraftService;
+    private final SeatService seatService;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate primaryTemplate;
+    private final Cache<UUID, FlightDetailsSnapshot> snapshots;
+    private final Set<UUID> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor;
+    private final long maxAgeNanos;
+    // Seeded from the clock so versions keep growing across restarts and stay valid as entity tags
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    @Value("${business.default-carry-on-weight}")
+    private int defaultCarryOnWeight;
+
+    @Value("${business.default-checked-baggage-weight}")
+    private int defaultCheckedBaggageWeight;
+
+    public FlightDetailsCacheService(FlightRepository flightRepository,
+                                     SeatInventoryStore seatInventoryStore,
+                                     ExternalAircraftService externalAircraftService,
+                                     SeatService seatService,
+                                     PlatformTransactionManager transactionManager,
+                                     FlightMetrics flightMetrics,
+                                     @Value("${flight-details.max-age-seconds:30}") long maxAgeSeconds,
+                                     @Value("${flight-details.idle-minutes:60}") long idleMinutes,
+                                     @Value("${flight-details.max-size:20000}") long maxSize,
+                                     @Value("${flight-details.refresh-threads:2}") int refreshThreads,
+                                     @Value("${flight-details.refresh-queue:500}") int refreshQueue) {
+        this.flightRepository = flightRepository;
+        this.seatInventoryStore = seatInventoryStore;
+        this.externalAircraftService = externalAircraftService;
+        this.seatService = seatService;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        // Rebuilds after a local commit must not read a lagging replica
+        this.primaryTemplate = new TransactionTemplate(transactionManager);
+        this.primaryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAgeNanos = TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        flightMetrics.monitorCache("flight-details", snapshots);
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(refreshQueue),
+                Thread.ofPlatform().name("flight-details-refresh-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Current snapshot of the flight, built on a miss.
+     */
+    public FlightDetailsSnapshot get(UUID flightId) {
+        FlightDetailsSnapshot snapshot = snapshots.getIfPresent(flightId);
+        if (snapshot != null) {
+            refreshIfStale(snapshot);
+            return snapshot;
+        }
+        FlightDetailsSnapshot built = rebuild(flightId, readTemplate);
+        if (built == null) {
+            throw new BadRequestException("Flight not found with ID " + flightId);
+        }
+        return built;
+    }
+
+    /**
+     * Snapshots of several flights; flights that do not exist are in neither map of the result. Cached ones are
+     * served as in {@link #get(UUID)}, the misses are built together from one flight query, one occupancy read
+     * and one aircraft lookup per distinct aircraft. A failed aircraft lookup only fails the flights using it.
+     */
+    public Batch getAll(Collection<UUID> flightIds) {
+        Map<UUID, FlightDetailsSnapshot> found = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID flightId : flightIds) {
+            FlightDetailsSnapshot snapshot = snapshots.getIfPresent(flightId);
+            if (snapshot != null) {
+                refreshIfStale(snapshot);
+                found.put(flightId, snapshot);
+            } else {
+                missing.add(flightId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return new Batch(found, Map.of());
+        }
+        long version = versions.incrementAndGet();
+        Batch built = readTemplate.execute(status -> {
+            List<Flight> flights = flightRepository.findWithFaresByIdInAndDeleted(missing, false);
+            Map<UUID, BitSet> occupied = seatInventoryStore.occupied(missing);
+            Map<UUID, FsFlightWithFareDetailsDTO.FsAircraftDTO> aircraft = new HashMap<>();
+            Map<UUID, String> aircraftErrors = new HashMap<>();
+            Map<UUID, FlightDetailsSnapshot> builtSnapshots = new HashMap<>();
+            Map<UUID, String> errors = new HashMap<>();
+            for (Flight flight : flights) {
+                UUID aircraftId = flight.getAircraftId();
+                if (!aircraft.containsKey(aircraftId) && !aircraftErrors.containsKey(aircraftId)) {
+                    try {
+                        aircraft.put(aircraftId, externalAircraftService.getAircraftInfo(aircraftId));
+                    } catch (RuntimeException e) {
+                        log.warn("Could not load aircraft {} for flight details: {}", aircraftId, e.getMessage());
+                        aircraftErrors.put(aircraftId, e.getMessage());
+                    }
+                }
+                if (aircraftErrors.containsKey(aircraftId)) {
+                    errors.put(flight.getId(), "Aircraft details unavailable for flight " + flight.getId() + ": "
+                            + aircraftErrors.get(aircraftId));
+                    continue;
+                }
+                builtSnapshots.put(flight.getId(), build(flight, version, aircraft.get(aircraftId),
+                        occupied.getOrDefault(flight.getId(), new BitSet())));
+            }
+            return new Batch(builtSnapshots, errors);
+        });
+        built.snapshots().forEach((flightId, snapshot) ->
+                found.put(flightId, snapshots.asMap().merge(flightId, snapshot, FlightDetailsCacheService::newer)));
+        return new Batch(found, built.errors());
+    }
+
+    /**
+     * Version for snapshots of entities the caller is about to load; take it before reading them.
+     */
+    public long nextVersion() {
+        return versions.incrementAndGet();
+    }
+
+    /**
+     * Snapshot for a flight the caller already loaded, e.g. a search result, with a version from
+     * {@link #nextVersion()} taken before that load. On a miss it is built from that entity and only cached if no
+     * snapshot read later was installed meanwhile.
+     */
+    public FlightDetailsSnapshot get(Flight flight, long version) {
+        FlightDetailsSnapshot snapshot = snapshots.getIfPresent(flight.getId());
+        if (snapshot != null) {
+            refreshIfStale(snapshot);
+            return snapshot;
+        }
+        FlightDetailsSnapshot built = build(flight, version);
+        return snapshots.asMap().merge(flight.getId(), built, FlightDetailsCacheService::newer);
+    }
+
+    /**
+     * Cached snapshot without building or refreshing it.
+     */
+    public Optional<FlightDetailsSnapshot> peek(UUID flightId) {
+        return Optional.ofNullable(snapshots.getIfPresent(flightId));
+    }
+
+    @TransactionalEventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (!snapshots.asMap().containsKey(event.flightId())) {
+            // Nothing to swap; the next read builds from the committed state
+            return;
+        }
+        try {
+            rebuild(event.flightId(), primaryTemplate);
+        } catch (Exception e) {
+            // Without a fresh snapshot the next read goes to the database rather than serving the old one
+            snapshots.invalidate(event.flightId());
+            log.warn("Could not rebuild details of flight {} after {}: {}",
+                    event.flightId(), event.change(), e.getMessage());
+        }
+    }
+
+    public void invalidate(UUID flightId) {
+        snapshots.invalidate(flightId);
+    }
+
+    private void refreshIfStale(FlightDetailsSnapshot snapshot) {
+        UUID flightId = snapshot.details().flightId();
+        if (System.nanoTime() - snapshot.builtAtNanos() < maxAgeNanos || !refreshing.add(flightId)) {
+            return;
+        }
+        try {
+            CompletableFuture.runAsync(() -> rebuild(flightId, readTemplate), refreshExecutor)
+                    .whenComplete((built, error) -> {
+                        refreshing.remove(flightId);
+                        if (error != null) {
+                            log.debug("Keeping stale details of flight {}: {}", flightId, error.getMessage());
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(flightId);
+            log.debug("Refresh queue full, keeping stale details of flight {}", flightId);
+        }
+    }
+
+    /**
+     * Loads the flight and installs a new snapshot, or drops the cached one if the flight is gone. The version
+     * is taken before reading, so of two concurrent rebuilds the one that read later wins.
+     */
+    private FlightDetailsSnapshot rebuild(UUID flightId, TransactionTemplate template) {
+        long version = versions.incrementAndGet();
+        FlightDetailsSnapshot built = template.execute(status -> flightRepository.findByIdAndDeleted(flightId, false)
+                .map(flight -> build(flight, version))
+                .orElse(null));
+        if (built == null) {
+            snapshots.invalidate(flightId);
+            return null;
+        }
+        return snapshots.asMap().merge(flightId, built, FlightDetailsCacheService::newer);
+    }
+
+    /**
+     * Result of {@link #getAll(Collection)}: snapshots, and why flights that exist could not be built.
+     */
+    public record Batch(Map<UUID, FlightDetailsSnapshot> snapshots, Map<UUID, String> errors) {
+    }
+
+    private static FlightDetailsSnapshot newer(FlightDetailsSnapshot current, FlightDetailsSnapshot candidate) {
+        return candidate.version() > current.version() ? candidate : current;
+    }
+
+    private FlightDetailsSnapshot build(Flight flight, long version) {
+        return build(flight, version, externalAircraftService.getAircraftInfo(flight.getAircraftId()),
+                seatInventoryStore.occupied(flight.getId()));
+    }
+
+    private FlightDetailsSnapshot build(Flight flight, long version,
+                                        FsFlightWithFareDetailsDTO.FsAircraftDTO aircraftDTO, BitSet occupied) {
+        List<String> occupiedSeatCodes = List.copyOf(SeatCodec.toSeatCodes(occupied));
+        int totalSeats = flight.getFares() != null
+                ? flight.getFares().stream().mapToInt(FlightFare::getSeatCount).sum()
+                : 0;
+
+        FsFlightWithFareDetailsDTO details = FsFlightWithFareDetailsDTO.builder()
+                .flightId(flight.getId())
+                .flightCode(flight.getCode())
+                .aircraft(aircraftDTO)
+                .originAirport(AirportResponseDTO.fromEntity(flight.getOrigin()))
+                .destinationAirport(AirportResponseDTO.fromEntity(flight.getDestination()))
+                .departureTime(flight.getDepartureTime())
+                .estimatedArrivalTime(flight.getEstimatedArrivalTime())
+                .status(flight.getStatus())
+                .flightDurationMinutes(flight.getFlightDurationMinutes())
+                .actualArrivalTime(
+                        flight.getEstimatedArrivalTime().plusMinutes(flight.getFlightDurationMinutes().longValue()))
+                .occupiedSeats(occupiedSeatCodes)
+                .remainingSeats(totalSeats - occupiedSeatCodes.size())
+                .totalSeats(totalSeats)
+                .carryOnLuggageWeight(defaultCarryOnWeight)
+                .checkedBaggageWeight(defaultCheckedBaggageWeight)
+                .availableFares(flight.getFares() != null ? flight.getFares().stream().map(
+                        fare -> {
+                            List<String> seats = SeatCodec.toSeatCodes(fare.getSeatSet());
+                            return FsFlightWithFareDetailsDTO.FsDetailedFareDTO
+                                    .builder()
+                                    .id(fare.getId())
+                                    .fareType(fare.getFareType())
+                                    .price(seatService.getFarePrice(fare))
+                                    .name(fare.getName())
+                                    .seats(List.copyOf(seats))
+                                    .totalSeats(seats.size())
+                                    .occupiedSeats(occupiedSeatCodes)
+                                    .benefits(fare.getBenefits().stream()
+                                            .map(b -> FsFlightWithFareDetailsDTO.Benefit.builder()
+                                                    .id(b.getId())
+                                                    .name(b.getName())
+                                                    .description(b.getDescription())
+                                                    .iconURL(b.getIconURL())
+                                                    .build())
+                                            .toList())
+                                    .build();
+                        }).toList() : List.of())
+                .build();
+        return new FlightDetailsSnapshot(details, version, System.nanoTime());
+    }
+}
@@ -0,0 +1,14 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+
+/**
+ * Immutable flight details as of one rebuild. Versions only grow, including across restarts, so the version
+ * doubles as a strong HTTP entity tag.
+ */
+public record FlightDetailsSnapshot(FsFlightWithFareDetailsDTO details, long version, long builtAtNanos) {
+
+    public String etag() {
+        return "\"" + Long.toHexString(version) + "\"";
+    }
+}
@@ -0,0 +1,41 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.dto.response.FsLoadFactorReportDTO;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Load-factor reports by query. Reports are read by dashboards that refresh often, so a short TTL absorbs
+ * repeated queries while keeping the numbers close to live.
+ */
+@Service
+public class LoadFactorCacheService {
+
+    public record Key(LocalDate from, LocalDate to, UUID routeId, FsLoadFactorReportDTO.GroupBy groupBy) {
+    }
+
+    private final Cache<Key, FsLoadFactorReportDTO> cache;
+
+    public LoadFactorCacheService(FlightMetrics flightMetrics,
+                                  @Value("${analytics.load-factor.cache-ttl-seconds:60}") long ttlSeconds,
+                                  @Value("${analytics.load-factor.cache-max-size:200}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        flightMetrics.monitorCache("load-factor", cache);
+    }
+
+    public FsLoadFactorReportDTO get(Key key, Supplier<FsLoadFactorReportDTO> loader) {
+        return cache.get(key, k -> loader.get());
+    }
+}
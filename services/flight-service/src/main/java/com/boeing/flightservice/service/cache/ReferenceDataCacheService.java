@@ -0,0 +1,191 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.dto.response.FsReferenceDataDTO;
+import com.boeing.flightservice.dto.union.AirportDTO;
+import com.boeing.flightservice.dto.union.BenefitDTO;
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.entity.Route;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.repository.BenefitRepository;
+import com.boeing.flightservice.repository.RouteRepository;
+import com.boeing.flightservice.service.event.ReferenceDataChangedEvent;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Airports, routes and benefits as one serialized {@link ReferenceDataSnapshot}. Requests are served from the
+ * prebuilt bytes; the snapshot is rebuilt only after a committed change on this instance, or once it is older
+ * than the max age so changes made through other instances are picked up. An unchanged rebuild keeps its
+ * version, so the periodic check costs clients nothing.
+ */
+@Service
+@Slf4j
+public class ReferenceDataCacheService {
+
+    private static final Comparator<AirportDTO.Response> AIRPORT_ORDER = Comparator
+            .comparing(AirportDTO.Response::code, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(AirportDTO.Response::id);
+    private static final Comparator<BenefitDTO.Response> BENEFIT_ORDER = Comparator
+            .comparing(BenefitDTO.Response::name, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(BenefitDTO.Response::id);
+
+    private final AirportRepository airportRepository;
+    private final RouteRepository routeRepository;
+    private final BenefitRepository benefitRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTemplate;
+    private final long maxAgeNanos;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Bumped by every committed change; a snapshot built from an older generation is out of date
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile ReferenceDataSnapshot snapshot;
+
+    public ReferenceDataCacheService(AirportRepository airportRepository,
+                                     RouteRepository routeRepository,
+                                     BenefitRepository benefitRepository,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     FlightMetrics flightMetrics,
+                                     @Value("${reference-data.max-age-seconds:300}") long maxAgeSeconds) {
+        this.airportRepository = airportRepository;
+        this.routeRepository = routeRepository;
+        this.benefitRepository = benefitRepository;
+        this.objectMapper = objectMapper;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.maxAgeNanos = TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+        flightMetrics.gauge("flight.reference.snapshot.bytes", "Size of the reference-data snapshot JSON", this,
+                cache -> cache.snapshot == null ? 0 : cache.snapshot.json().length);
+    }
+
+    /**
+     * The current snapshot. After a change the caller waits for the rebuild; when the snapshot has only aged,
+     * one caller rebuilds while the others keep getting the existing one.
+     */
+    public ReferenceDataSnapshot get() {
+        ReferenceDataSnapshot current = snapshot;
+        if (current != null && current.generation() == generation.get()) {
+            if (System.nanoTime() - current.builtAtNanos() < maxAgeNanos || !rebuildLock.tryLock()) {
+                return current;
+            }
+        } else {
+            rebuildLock.lock();
+        }
+        try {
+            current = snapshot;
+            long target = generation.get();
+            if (current != null && current.generation() == target
+                    && System.nanoTime() - current.builtAtNanos() < maxAgeNanos) {
+                return current;
+            }
+            ReferenceDataSnapshot rebuilt = build(target);
+            if (current == null || !current.version().equals(rebuilt.version())) {
+                log.info("Reference data snapshot {} built: {} bytes, {} gzipped",
+                        rebuilt.version(), rebuilt.json().length, rebuilt.gzip().length);
+            }
+            snapshot = rebuilt;
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        generation.incrementAndGet();
+        log.debug("Reference data changed ({}), snapshot will be rebuilt", event.kind());
+    }
+
+    private ReferenceDataSnapshot build(long target) {
+        FsReferenceDataDTO content = readTemplate.execute(status -> load());
+        try {
+            // The version is the hash of the content alone, then written into the payload clients keep
+            String version = hash(objectMapper.writeValueAsBytes(content));
+            byte[] json = objectMapper.writeValueAsBytes(FsReferenceDataDTO.builder()
+                    .version(version)
+                    .airports(content.airports())
+                    .routes(content.routes())
+                    .benefits(content.benefits())
+                    .build());
+            return new ReferenceDataSnapshot(version, json, gzip(json), target, System.nanoTime());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize reference data", e);
+        }
+    }
+
+    private FsReferenceDataDTO load() {
+        // Airports first: routes then resolve their origin and destination from the persistence context
+        List<Airport> airports = airportRepository.findByDeleted(false);
+        Set<UUID> activeAirports = new HashSet<>(airports.size() * 2);
+        List<AirportDTO.Response> airportRows = new ArrayList<>(airports.size());
+        for (Airport airport : airports) {
+            activeAirports.add(airport.getId());
+            airportRows.add(AirportDTO.fromEntity(airport));
+        }
+        airportRows.sort(AIRPORT_ORDER);
+
+        List<FsReferenceDataDTO.Route> routeRows = new ArrayList<>();
+        for (Route route : routeRepository.findByDeleted(false)) {
+            UUID originId = route.getOrigin().getId();
+            UUID destinationId = route.getDestination().getId();
+            if (activeAirports.contains(originId) && activeAirports.contains(destinationId)) {
+                routeRows.add(FsReferenceDataDTO.Route.builder()
+                        .id(route.getId())
+                        .originId(originId)
+                        .destinationId(destinationId)
+                        .estimatedDurationMinutes(route.getEstimatedDurationMinutes())
+                        .build());
+            }
+        }
+        routeRows.sort(Comparator.comparing(FsReferenceDataDTO.Route::id));
+
+        List<BenefitDTO.Response> benefitRows = new ArrayList<>(benefitRepository.findByDeleted(false).stream()
+                .map(BenefitDTO::fromEntity)
+                .toList());
+        benefitRows.sort(BENEFIT_ORDER);
+
+        return FsReferenceDataDTO.builder()
+                .airports(airportRows)
+                .routes(routeRows)
+                .benefits(benefitRows)
+                .build();
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,19 @@
+package com.boeing.flightservice.service.cache;
+
+/**
+ * All active reference data serialized once, as JSON and pre-gzipped JSON. The version is a hash of the content,
+ * so rebuilding unchanged data yields the same version and clients keep their copy.
+ */
+public record ReferenceDataSnapshot(String version, byte[] json, byte[] gzip, long generation, long builtAtNanos) {
+
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Entity tag of the gzip representation; it is a different byte sequence, so it needs its own strong tag.
+     */
+    public String gzipEtag() {
+        return "\"" + version + "-gzip\"";
+    }
+}
@@ -0,0 +1,278 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.Route;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.repository.RouteRepository;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.util.CountMinSketch;
+import com.boeing.flightservice.util.TopK;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Which route/date pairs are being searched, in constant memory. Each time bucket of the sliding window holds a
+ * {@link CountMinSketch} of search keys plus a bounded set of heavy-hitter candidates; a bucket is cleared and
+ * reused once it falls out of the window. The hottest upcoming keys drive a scheduled prewarm of the flight
+ * details cache, which also loads the aircraft behind those flights.
+ */
+@Service
+@Slf4j
+public class SearchDemandTracker {
+
+    public record SearchKey(UUID routeId, String originCode, String destinationCode, LocalDate date) {
+
+        long hash() {
+            return CountMinSketch.mix(routeId.getMostSignificantBits()
+                    ^ CountMinSketch.mix(routeId.getLeastSignificantBits() ^ date.toEpochDay()));
+        }
+    }
+
+    public record HotKey(SearchKey key, long searches) {
+    }
+
+    public record PrewarmResult(int keys, int flights, int failures, long elapsedMs, long finishedAtMillis) {
+    }
+
+    private final RouteRepository routeRepository;
+    private final FlightRepository flightRepository;
+    private final FlightDetailsCacheService flightDetailsCacheService;
+    private final TransactionTemplate readTemplate;
+    private final Bucket[] buckets;
+    private final long bucketMillis;
+    private final int candidatesPerBucket;
+
+    @Value("${search-demand.prewarm.enabled:true}")
+    private boolean prewarmEnabled;
+
+    @Value("${search-demand.prewarm.keys:20}")
+    private int prewarmKeys;
+
+    @Value("${search-demand.prewarm.max-flights-per-key:50}")
+    private int maxFlightsPerKey;
+
+    private volatile PrewarmResult lastPrewarm;
+
+    public SearchDemandTracker(RouteRepository routeRepository,
+                               FlightRepository flightRepository,
+                               FlightDetailsCacheService flightDetailsCacheService,
+                               PlatformTransactionManager transactionManager,
+                               FlightMetrics flightMetrics,
+                               @Value("${search-demand.window-buckets:6}") int windowBuckets,
+                               @Value("${search-demand.bucket-seconds:600}") long bucketSeconds,
+                               @Value("${search-demand.sketch-width:2048}") int sketchWidth,
+                               @Value("${search-demand.sketch-depth:4}") int sketchDepth,
+                               @Value("${search-demand.top-k:100}") int topK) {
+        this.routeRepository = routeRepository;
+        this.flightRepository = flightRepository;
+        this.flightDetailsCacheService = flightDetailsCacheService;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.bucketMillis = bucketSeconds * 1000;
+        this.candidatesPerBucket = topK;
+        this.buckets = new Bucket[Math.max(1, windowBuckets)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket(new CountMinSketch(sketchWidth, sketchDepth));
+        }
+        flightMetrics.gauge("flight.search.demand.window", "Searches counted in the demand window", this,
+                tracker -> tracker.windowTotal(System.currentTimeMillis()));
+    }
+
+    /**
+     * Counts one search; called on the search path, so it only touches the current bucket.
+     */
+    public void record(Route route, LocalDate date) {
+        if (route == null || date == null) {
+            return;
+        }
+        record(new SearchKey(route.getId(), route.getOrigin().getCode(), route.getDestination().getCode(), date),
+                System.currentTimeMillis());
+    }
+
+    void record(SearchKey key, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        synchronized (bucket) {
+            if (bucket.epoch != epoch) {
+                bucket.reset(epoch);
+            }
+            bucket.add(key, candidatesPerBucket);
+        }
+    }
+
+    /**
+     * The most searched keys over the window, by estimated search count.
+     */
+    public List<HotKey> hotKeys(int limit) {
+        return hotKeys(limit, System.currentTimeMillis());
+    }
+
+    List<HotKey> hotKeys(int limit, long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        List<Bucket> live = new ArrayList<>(buckets.length);
+        Set<SearchKey> candidates = new HashSet<>();
+        for (Bucket bucket : buckets) {
+            synchronized (bucket) {
+                if (current - bucket.epoch < buckets.length) {
+                    live.add(bucket);
+                    candidates.addAll(bucket.candidates.keySet());
+                }
+            }
+        }
+
+        // A key may have been a candidate in only some buckets, so it is scored by its estimates summed over all
+        TopK<HotKey> top = new TopK<>(Math.max(1, limit),
+                Comparator.comparingLong(HotKey::searches).reversed().thenComparing(hot -> hot.key().date()));
+        for (SearchKey key : candidates) {
+            long hash = key.hash();
+            long searches = 0;
+            for (Bucket bucket : live) {
+                synchronized (bucket) {
+                    searches += bucket.sketch.estimate(hash);
+                }
+            }
+            top.offer(new HotKey(key, searches));
+        }
+        return top.toSortedList();
+    }
+
+    public Map<String, Object> details(int limit) {
+        long now = System.currentTimeMillis();
+        CountMinSketch sketch = buckets[0].sketch;
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("windowSeconds", bucketMillis / 1000 * buckets.length);
+        details.put("buckets", buckets.length);
+        details.put("sketchWidth", sketch.width());
+        details.put("sketchDepth", sketch.depth());
+        details.put("searches", windowTotal(now));
+        details.put("hotKeys", hotKeys(limit, now));
+        details.put("lastPrewarm", lastPrewarm);
+        return details;
+    }
+
+    @Scheduled(fixedDelayString = "${search-demand.prewarm.interval-ms:60000}",
+            initialDelayString = "${search-demand.prewarm.interval-ms:60000}")
+    public void prewarm() {
+        if (!prewarmEnabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        // Past dates can still be hot in the window but have nothing left to book
+        List<HotKey> hot = hotKeys(prewarmKeys * 2).stream()
+                .filter(hotKey -> !hotKey.key().date().isBefore(today))
+                .limit(prewarmKeys)
+                .toList();
+        int flights = 0;
+        int failures = 0;
+        for (HotKey hotKey : hot) {
+            try {
+                Integer warmed = readTemplate.execute(status -> prewarm(hotKey.key()));
+                flights += warmed == null ? 0 : warmed;
+            } catch (Exception e) {
+                failures++;
+                log.debug("Could not prewarm {}: {}", hotKey.key(), e.getMessage());
+            }
+        }
+        lastPrewarm = new PrewarmResult(hot.size(), flights, failures,
+                (System.nanoTime() - started) / 1_000_000, System.currentTimeMillis());
+        if (!hot.isEmpty()) {
+            log.info("Prewarmed {} flights for {} hot search keys in {} ms ({} failed)",
+                    flights, hot.size(), lastPrewarm.elapsedMs(), failures);
+        }
+    }
+
+    private int prewarm(SearchKey key) {
+        Route route = routeRepository.findByIdAndDeleted(key.routeId(), false).orElse(null);
+        if (route == null) {
+            return 0;
+        }
+        // Same direct-flight query as the search; building the details also loads the aircraft
+        long version = flightDetailsCacheService.nextVersion();
+        List<Flight> flights = flightRepository.findByDepartureTimeBetweenAndStatusAndDeletedAndOriginIdInAndDestinationIdIn(
+                key.date().atStartOfDay(),
+                key.date().plusDays(1).atStartOfDay(),
+                FlightStatus.SCHEDULED_OPEN,
+                false,
+                List.of(route.getOrigin().getId()),
+                List.of(route.getDestination().getId()));
+        int warmed = 0;
+        for (Flight flight : flights) {
+            if (warmed == maxFlightsPerKey) {
+                break;
+            }
+            flightDetailsCacheService.get(flight, version);
+            warmed++;
+        }
+        return warmed;
+    }
+
+    private long windowTotal(long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        long total = 0;
+        for (Bucket bucket : buckets) {
+            synchronized (bucket) {
+                if (current - bucket.epoch < buckets.length) {
+                    total += bucket.sketch.total();
+                }
+            }
+        }
+        return total;
+    }
+
+    private static final class Bucket {
+
+        final CountMinSketch sketch;
+        final Map<SearchKey, Long> candidates = new HashMap<>();
+        long epoch = Long.MIN_VALUE / 2;
+        // Lower bound of the smallest candidate count; it only has to be exact when a candidate is replaced
+        long floor;
+
+        Bucket(CountMinSketch sketch) {
+            this.sketch = sketch;
+        }
+
+        void reset(long epoch) {
+            this.epoch = epoch;
+            sketch.clear();
+            candidates.clear();
+            floor = 0;
+        }
+
+        void add(SearchKey key, int capacity) {
+            long estimate = sketch.add(key.hash(), 1);
+            if (candidates.containsKey(key) || candidates.size() < capacity) {
+                candidates.put(key, estimate);
+                return;
+            }
+            if (estimate <= floor) {
+                return;
+            }
+            SearchKey smallest = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<SearchKey, Long> candidate : candidates.entrySet()) {
+                if (candidate.getValue() < min) {
+                    min = candidate.getValue();
+                    smallest = candidate.getKey();
+                }
+            }
+            if (estimate > min) {
+                candidates.remove(smallest);
+                candidates.put(key, estimate);
+                min = estimate;
+                for (long count : candidates.values()) {
+                    min = Math.min(min, count);
+                }
+            }
+            floor = min;
+        }
+    }
+}
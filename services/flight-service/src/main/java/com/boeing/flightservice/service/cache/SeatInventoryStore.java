@@ -0,0 +1,449 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.entity.Seat;
+import com.boeing.flightservice.repository.SeatRepository;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.util.SeatCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Occupied seats per flight, as a bitmap keyed by seat ordinal, optionally kept in a memory-mapped file so an
+ * instance restarts with the occupancy of every flight it served instead of querying occupied_seats per flight.
+ * <p>
+ * The file is a header followed by fixed-size slots; a slot holds the flight id, an inventory version, the
+ * bitmap and a CRC32C over all of it. Seat confirmations and releases are written through after they commit.
+ * Stored bitmaps are served right away after a restart, but each one is compared with occupied_seats in the
+ * background on its first use and again once older than the verify age, which also picks up other instances'
+ * writes; a slot whose checksum does not match (e.g. torn by a crash) is dropped at startup. Verifications run on
+ * a small pool of their own and are skipped, until a later read, when its queue is full.
+ * <p>
+ * Only read paths use this; seat writes always check occupied_seats under the flight's seat lock. With the
+ * store disabled, or for a flight without a slot, {@link #occupied(UUID)} reads occupied_seats.
+ */
+@Service
+@Slf4j
+public class SeatInventoryStore {
+
+    private static final int MAGIC = 0x53454154;
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 64;
+    // flight id (16), version (8), bitmap length (4), checksum (4)
+    private static final int SLOT_HEADER_BYTES = 32;
+
+    private static final class Slot {
+        final int index;
+        long version;
+        // System.nanoTime() of the last check against occupied_seats, 0 until the first one
+        long verifiedAt;
+        long lastRead;
+
+        Slot(int index, long version) {
+            this.index = index;
+            this.version = version;
+        }
+    }
+
+    private final SeatRepository seatRepository;
+    private final TransactionTemplate readTemplate;
+    private final boolean enabled;
+    private final Path path;
+    private final int slotCount;
+    private final int bitmapBytes;
+    private final int slotBytes;
+    private final long verifyAfterNanos;
+
+    private final Map<UUID, Slot> slots = new HashMap<>();
+    private final BitSet usedSlots = new BitSet();
+    private final Set<UUID> verifying = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor verifyExecutor;
+    // Versions of recent writes to flights without a slot, so an older read of occupied_seats is not stored
+    private final Cache<UUID, Long> recentWrites = Caffeine.newBuilder()
+            .expireAfterWrite(1, TimeUnit.MINUTES)
+            .build();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong mismatches = new AtomicLong();
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+
+    public SeatInventoryStore(SeatRepository seatRepository,
+                              PlatformTransactionManager transactionManager,
+                              FlightMetrics flightMetrics,
+                              @Value("${seat-inventory.store.enabled:false}") boolean enabled,
+                              @Value("${seat-inventory.store.path:seat-inventory.dat}") String path,
+                              @Value("${seat-inventory.store.slots:16384}") int slotCount,
+                              @Value("${seat-inventory.store.slot-bytes:1024}") int bitmapBytes,
+                              @Value("${seat-inventory.store.verify-after-seconds:30}") long verifyAfterSeconds,
+                              @Value("${seat-inventory.store.verify-threads:2}") int verifyThreads,
+                              @Value("${seat-inventory.store.verify-queue:500}") int verifyQueue) {
+        this.seatRepository = seatRepository;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.slotCount = slotCount;
+        this.bitmapBytes = bitmapBytes;
+        this.slotBytes = SLOT_HEADER_BYTES + bitmapBytes;
+        this.verifyAfterNanos = TimeUnit.SECONDS.toNanos(verifyAfterSeconds);
+        // Idle threads time out, so the pool needs no shutdown of its own across close() and open()
+        this.verifyExecutor = new ThreadPoolExecutor(verifyThreads, verifyThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(verifyQueue),
+                Thread.ofPlatform().name("seat-inventory-verify-", 0).daemon().factory());
+        this.verifyExecutor.allowCoreThreadTimeOut(true);
+        // Seeded from the clock so versions keep growing across restarts
+        this.versions.set(System.currentTimeMillis() * 1000);
+        flightMetrics.gauge("flight.seat.inventory.store.flights", "Flights held in the seat inventory store", this,
+                SeatInventoryStore::size);
+        flightMetrics.gauge("flight.seat.inventory.store.mismatches",
+                "Stored seat inventories found to differ from occupied_seats", mismatches, AtomicLong::get);
+    }
+
+    /**
+     * Maps the store file, creating or resetting it when its layout does not match the configuration, and
+     * indexes the slots whose checksum is intact. Failing to open only disables the store.
+     */
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled || buffer != null) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) slotCount * slotBytes);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Seat inventory store {} could not be opened, reading occupied_seats instead: {}", path, e.getMessage());
+            close();
+            return;
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT
+                || buffer.getInt(8) != slotCount || buffer.getInt(12) != bitmapBytes) {
+            log.info("Initializing seat inventory store {} with {} slots of {} bytes", path, slotCount, bitmapBytes);
+            for (int i = 0; i < slotCount; i++) {
+                clearSlot(i);
+            }
+            buffer.putInt(0, MAGIC).putInt(4, FORMAT).putInt(8, slotCount).putInt(12, bitmapBytes);
+            return;
+        }
+
+        int dropped = 0;
+        long maxVersion = 0;
+        for (int i = 0; i < slotCount; i++) {
+            int offset = offset(i);
+            UUID flightId = new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+            if (flightId.getMostSignificantBits() == 0 && flightId.getLeastSignificantBits() == 0) {
+                continue;
+            }
+            if (!checksumMatches(i) || slots.containsKey(flightId)) {
+                clearSlot(i);
+                dropped++;
+                continue;
+            }
+            long version = buffer.getLong(offset + 16);
+            slots.put(flightId, new Slot(i, version));
+            usedSlots.set(i);
+            maxVersion = Math.max(maxVersion, version);
+        }
+        versions.accumulateAndGet(maxVersion + 1, Math::max);
+        log.info("Opened seat inventory store {} in {} ms: {} flights, {} damaged slots dropped",
+                path, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), slots.size(), dropped);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Closing seat inventory store {}: {}", path, e.getMessage());
+            }
+            channel = null;
+        }
+        slots.clear();
+        usedSlots.clear();
+    }
+
+    /**
+     * Occupied seats of the flight by seat ordinal; the caller gets its own copy.
+     */
+    public BitSet occupied(UUID flightId) {
+        if (buffer == null) {
+            return occupiedSeatSet(seatRepository.findByFlightIdAndDeleted(flightId, false));
+        }
+        BitSet stored = read(flightId);
+        if (stored != null) {
+            return stored;
+        }
+        long version = versions.incrementAndGet();
+        BitSet loaded = occupiedSeatSet(seatRepository.findByFlightIdAndDeleted(flightId, false));
+        store(flightId, loaded, version, false);
+        return (BitSet) loaded.clone();
+    }
+
+    /**
+     * Occupied seats of several flights, each a copy of its own; flights without a stored bitmap are read from
+     * occupied_seats with one query.
+     */
+    public Map<UUID, BitSet> occupied(Collection<UUID> flightIds) {
+        Map<UUID, BitSet> occupied = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID flightId : flightIds) {
+            BitSet stored = buffer != null ? read(flightId) : null;
+            if (stored != null) {
+                occupied.put(flightId, stored);
+            } else {
+                missing.add(flightId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return occupied;
+        }
+        long version = versions.incrementAndGet();
+        Map<UUID, List<Seat>> seatsByFlight = new HashMap<>();
+        for (Seat seat : seatRepository.findByFlightIdInAndDeleted(missing, false)) {
+            seatsByFlight.computeIfAbsent(seat.getFlight().getId(), id -> new ArrayList<>()).add(seat);
+        }
+        for (UUID flightId : missing) {
+            BitSet loaded = occupiedSeatSet(seatsByFlight.getOrDefault(flightId, List.of()));
+            store(flightId, loaded, version, false);
+            occupied.put(flightId, (BitSet) loaded.clone());
+        }
+        return occupied;
+    }
+
+    /**
+     * Writes a seat change of the flight through to the store once the current transaction commits; nothing is
+     * written if it rolls back. Runs before other after-commit work such as flight details rebuilds, so those
+     * read the new occupancy.
+     */
+    public void recordChange(UUID flightId, BitSet taken, BitSet freed) {
+        if (buffer == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(flightId, taken, freed);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(flightId, taken, freed);
+            }
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+        });
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * Compares the stored occupancy of the flight with occupied_seats and replaces it if they differ, unless a
+     * change was written through while reading.
+     */
+    void verify(UUID flightId) {
+        long version = versions.incrementAndGet();
+        BitSet actual = readTemplate.execute(status ->
+                occupiedSeatSet(seatRepository.findByFlightIdAndDeleted(flightId, false)));
+        store(flightId, actual, version, true);
+    }
+
+    private synchronized BitSet read(UUID flightId) {
+        Slot slot = slots.get(flightId);
+        if (slot == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        slot.lastRead = now;
+        if ((slot.verifiedAt == 0 || now - slot.verifiedAt >= verifyAfterNanos) && verifying.add(flightId)) {
+            try {
+                CompletableFuture.runAsync(() -> verify(flightId), verifyExecutor)
+                        .whenComplete((ignored, error) -> {
+                            verifying.remove(flightId);
+                            if (error != null) {
+                                log.debug("Could not verify seat inventory of flight {}: {}",
+                                        flightId, error.getMessage());
+                            }
+                        });
+            } catch (RejectedExecutionException e) {
+                verifying.remove(flightId);
+                log.debug("Verify queue full, serving stored seat inventory of flight {}", flightId);
+            }
+        }
+        return readBitmap(slot.index);
+    }
+
+    private synchronized void store(UUID flightId, BitSet occupied, long version, boolean verification) {
+        if (buffer == null) {
+            return;
+        }
+        Slot slot = slots.get(flightId);
+        if (slot == null) {
+            Long written = recentWrites.getIfPresent(flightId);
+            if (verification || (written != null && written > version)) {
+                // Dropped meanwhile, or read before a change that committed since
+                return;
+            }
+            slot = allocate(flightId, version);
+            if (slot == null) {
+                return;
+            }
+        } else if (slot.version > version) {
+            return;
+        } else if (verification && !occupied.equals(readBitmap(slot.index))) {
+            mismatches.incrementAndGet();
+            log.info("Stored seat inventory of flight {} differed from occupied_seats and was replaced", flightId);
+        }
+        if (!writeSlot(slot, flightId, occupied, version)) {
+            return;
+        }
+        slot.verifiedAt = System.nanoTime();
+    }
+
+    private synchronized void apply(UUID flightId, BitSet taken, BitSet freed) {
+        if (buffer == null) {
+            return;
+        }
+        long version = versions.incrementAndGet();
+        Slot slot = slots.get(flightId);
+        if (slot == null) {
+            recentWrites.put(flightId, version);
+            return;
+        }
+        BitSet occupied = readBitmap(slot.index);
+        occupied.or(taken);
+        occupied.andNot(freed);
+        writeSlot(slot, flightId, occupied, version);
+    }
+
+    // Takes a free slot, or the least recently read one when the store is full
+    private Slot allocate(UUID flightId, long version) {
+        int index = usedSlots.nextClearBit(0);
+        if (index >= slotCount) {
+            Map.Entry<UUID, Slot> oldest = slots.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastRead))
+                    .orElse(null);
+            if (oldest == null) {
+                return null;
+            }
+            slots.remove(oldest.getKey());
+            index = oldest.getValue().index;
+        }
+        Slot slot = new Slot(index, version);
+        slot.lastRead = System.nanoTime();
+        slots.put(flightId, slot);
+        usedSlots.set(index);
+        return slot;
+    }
+
+    private boolean writeSlot(Slot slot, UUID flightId, BitSet occupied, long version) {
+        byte[] bitmap = occupied.toByteArray();
+        if (bitmap.length > bitmapBytes) {
+            // Seat ordinals beyond the slot size: this flight is always read from occupied_seats
+            log.debug("Seat inventory of flight {} needs {} bytes, slots hold {}", flightId, bitmap.length, bitmapBytes);
+            slots.remove(flightId);
+            usedSlots.clear(slot.index);
+            clearSlot(slot.index);
+            return false;
+        }
+        int offset = offset(slot.index);
+        buffer.putLong(offset, flightId.getMostSignificantBits());
+        buffer.putLong(offset + 8, flightId.getLeastSignificantBits());
+        buffer.putLong(offset + 16, version);
+        buffer.putInt(offset + 24, bitmap.length);
+        buffer.put(offset + SLOT_HEADER_BYTES, bitmap);
+        buffer.putInt(offset + 28, checksum(slot.index, bitmap.length));
+        slot.version = version;
+        return true;
+    }
+
+    private BitSet readBitmap(int index) {
+        int offset = offset(index);
+        int length = buffer.getInt(offset + 24);
+        byte[] bitmap = new byte[length];
+        buffer.get(offset + SLOT_HEADER_BYTES, bitmap);
+        return BitSet.valueOf(bitmap);
+    }
+
+    private boolean checksumMatches(int index) {
+        int offset = offset(index);
+        int length = buffer.getInt(offset + 24);
+        return length >= 0 && length <= bitmapBytes && buffer.getInt(offset + 28) == checksum(index, length);
+    }
+
+    // Over the id, version, length and bitmap, i.e. the slot without the checksum field itself
+    private int checksum(int index, int length) {
+        int offset = offset(index);
+        CRC32C crc = new CRC32C();
+        ByteBuffer slot = buffer.slice(offset, SLOT_HEADER_BYTES + length);
+        crc.update(slot.slice(0, 28));
+        crc.update(slot.slice(SLOT_HEADER_BYTES, length));
+        return (int) crc.getValue();
+    }
+
+    private void clearSlot(int index) {
+        int offset = offset(index);
+        buffer.putLong(offset, 0).putLong(offset + 8, 0).putLong(offset + 16, 0).putLong(offset + 24, 0);
+    }
+
+    private int offset(int index) {
+        return HEADER_BYTES + index * slotBytes;
+    }
+
+    /**
+     * Occupied seats as a bitmap keyed by seat ordinal; seats not yet migrated to packed numbers fall back to
+     * their code.
+     */
+    public static BitSet occupiedSeatSet(Collection<Seat> occupiedSeats) {
+        BitSet occupied = new BitSet();
+        for (Seat seat : occupiedSeats) {
+            if (seat.getSeatNumber() != null && seat.getSeatNumber() != 0) {
+                occupied.set(SeatCodec.ordinal(seat.getSeatNumber()));
+            } else if (SeatCodec.isValid(seat.getSeatCode())) {
+                occupied.set(SeatCodec.ordinal(seat.getSeatCode()));
+            }
+        }
+        return occupied;
+    }
+}
@@ -1,6 +1,7 @@
 package com.boeing.flightservice.service.cache;
 
 import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
@@ -14,18 +15,24 @@ public class SeatPriceCacheService {
 
     private final Cache<String, Double> cache;
 
-    public SeatPriceCacheService() {
+    public SeatPriceCacheService(FlightMetrics flightMetrics) {
         this.cache = Caffeine.newBuilder()
                 .expireAfterWrite(30, TimeUnit.MINUTES)
+                .recordStats()
                 .build();
+        flightMetrics.monitorCache("seat-price", cache);
     }
 
     public void put(String key, Double value) {
-        log.info("put: key={}, value={}", key, value);
+        log.debug("put: key={}, value={}", key, value);
         cache.put(key, value);
     }
 
     public Double get(String key) {
         return cache.getIfPresent(key);
     }
+
+    public void evict(String key) {
+        cache.invalidate(key);
+    }
 }
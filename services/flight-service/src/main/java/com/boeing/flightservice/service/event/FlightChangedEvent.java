@@ -0,0 +1,12 @@
+package com.boeing.flightservice.service.event;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that changed a flight. Listeners that keep derived state (snapshots,
+ * indexes) react after commit, so they never see a change that was rolled back.
+ */
+public record FlightChangedEvent(UUID flightId, Change change) {
+
+    public enum Change { CREATED, UPDATED, STATUS, SCHEDULE, SEATS }
+}
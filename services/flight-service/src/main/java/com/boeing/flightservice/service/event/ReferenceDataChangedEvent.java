@@ -0,0 +1,10 @@
+package com.boeing.flightservice.service.event;
+
+/**
+ * Published inside the transaction that created, updated or deleted an airport, route or benefit. Like
+ * {@link FlightChangedEvent}, listeners react after commit.
+ */
+public record ReferenceDataChangedEvent(Kind kind) {
+
+    public enum Kind { AIRPORT, ROUTE, BENEFIT }
+}
@@ -3,6 +3,8 @@ package com.boeing.flightservice.service.ext;
 import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
 import com.boeing.flightservice.entity.enums.FareType;
 import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.service.cache.AircraftCacheService;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
@@ -18,6 +20,8 @@ import java.util.*;
 public class ExternalAircraftService {
 
     private final WebClient aircraftWebClient;
+    private final FlightMetrics flightMetrics;
+    private final AircraftCacheService aircraftCacheService;
 
     public List<String> getSetCodeByAircraft(UUID aircraftId) {
         try {
@@ -39,12 +43,7 @@ public class ExternalAircraftService {
         try {
             log.debug("Fetching aircraft info for ID: {}", aircraftId);
             
-            Map<String, Object> responseMap = aircraftWebClient.get()
-                    .uri("/api/v1/public/{id}/active", aircraftId)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
-                    })
-                    .block();
+            Map<String, Object> responseMap = fetchActiveAircraft("aircraft_info", aircraftId);
 
             if (responseMap == null) {
                 log.warn("Received null response from aircraft service for ID: {}", aircraftId);
@@ -126,6 +125,21 @@ public class ExternalAircraftService {
         }
     }
     
+    /**
+     * Seat pattern of each section ("3-3", "2-4-2"), i.e. where the aisles are. Sections without one are left out.
+     */
+    public Map<FareType, String> getAircraftSectionPatterns(UUID aircraftId) {
+        Map<FareType, String> patterns = new EnumMap<>(FareType.class);
+        for (Map.Entry<String, Object> entry : getSeatLayout(aircraftId).entrySet()) {
+            Map<String, Object> section = (Map<String, Object>) entry.getValue();
+            FareType fareType = mapSectionNameToFareType(entry.getKey());
+            if (fareType != null && !"space".equals(section.get("type")) && section.get("pattern") instanceof String pattern) {
+                patterns.put(fareType, pattern);
+            }
+        }
+        return patterns;
+    }
+
     private FareType mapSectionNameToFareType(String sectionName) {
         return switch (sectionName.toLowerCase()) {
             case "business" -> FareType.BUSINESS;
@@ -146,13 +160,7 @@ public class ExternalAircraftService {
 
     private Map<String, Object> getSeatLayout(UUID aircraftId) {
         try {
-            var response = aircraftWebClient
-                    .get()
-                    .uri("/api/v1/public/{id}/active", aircraftId)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
-                    })
-                    .block();
+            var response = fetchActiveAircraft("seat_layout", aircraftId);
 
             if (response == null) {
                 log.error("Null response from aircraft service for aircraft ID: {}", aircraftId);
@@ -191,4 +199,14 @@ public class ExternalAircraftService {
             throw new BadRequestException("Unable to retrieve aircraft seat layout from external service");
         }
     }
+
+    private Map<String, Object> fetchActiveAircraft(String call, UUID aircraftId) {
+        return aircraftCacheService.get(aircraftId, () -> flightMetrics.recordAircraftCall(call, () -> aircraftWebClient
+                .get()
+                .uri("/api/v1/public/{id}/active", aircraftId)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .block()));
+    }
 }
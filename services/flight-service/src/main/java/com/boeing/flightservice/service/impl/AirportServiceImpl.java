@@ -5,13 +5,20 @@ import com.boeing.flightservice.dto.union.AirportDTO;
 import com.boeing.flightservice.entity.Airport;
 import com.boeing.flightservice.exception.BadRequestException;
 import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.service.cache.AirportAutocompleteIndex;
+import com.boeing.flightservice.service.cache.AirportSpatialIndex;
+import com.boeing.flightservice.service.event.ReferenceDataChangedEvent;
 import com.boeing.flightservice.service.spec.AirportService;
 import com.boeing.flightservice.util.PaginationUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -20,8 +27,18 @@ import java.util.UUID;
 @Transactional
 public class AirportServiceImpl implements AirportService {
     private final AirportRepository airportRepository;
+    private final AirportSpatialIndex airportSpatialIndex;
+    private final AirportAutocompleteIndex airportAutocompleteIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${airport-autocomplete.default-limit:10}")
+    private int defaultAutocompleteLimit;
+
+    @Value("${airport-autocomplete.max-limit:50}")
+    private int maxAutocompleteLimit;
 
     @Override
+    @Transactional(readOnly = true)
     public MappingJacksonValue findAll(Map<String, String> params) {
         return PaginationUtil.findAll(
                 params,
@@ -30,6 +47,16 @@ public class AirportServiceImpl implements AirportService {
         );
     }
 
+    @Override
+    // Served from memory, so no transaction (and no pooled connection) per keystroke
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<AirportDTO.Response> autocomplete(String query, Integer limit) {
+        if (limit != null && (limit < 1 || limit > maxAutocompleteLimit)) {
+            throw new BadRequestException("limit must be between 1 and " + maxAutocompleteLimit);
+        }
+        return airportAutocompleteIndex.search(query, limit != null ? limit : defaultAutocompleteLimit);
+    }
+
     @Override
     public AirportDTO.Response createAirport(AirportDTO.CreateRequest request) {
         Airport airport = Airport.builder()
@@ -41,14 +68,20 @@ public class AirportServiceImpl implements AirportService {
                 .latitude(request.latitude())
                 .longitude(request.longitude())
                 .build();
-        return AirportDTO.fromEntity(airportRepository.save(airport));
+        airport = airportRepository.save(airport);
+        airportSpatialIndex.invalidate();
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.AIRPORT));
+        return AirportDTO.fromEntity(airport);
     }
 
     @Override
     public AirportDTO.Response updateAirport(UUID airportId, AirportDTO.UpdateRequest request) {
         Airport airport = airportRepository.findByIdAndDeleted(airportId, false)
                 .orElseThrow(() -> new BadRequestException("Airport not found with id: " + airportId));
-        return AirportDTO.fromEntity(airportRepository.save(airport));
+        airport = airportRepository.save(airport);
+        airportSpatialIndex.invalidate();
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.AIRPORT));
+        return AirportDTO.fromEntity(airport);
     }
 
     @Override
@@ -57,5 +90,7 @@ public class AirportServiceImpl implements AirportService {
                 .orElseThrow(() -> new BadRequestException("Airport not found with id: " + id));
         airport.setDeleted(true);
         airportRepository.save(airport);
+        airportSpatialIndex.invalidate();
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.AIRPORT));
     }
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.boeing.flightservice.service.impl;
+
+import com.boeing.flightservice.dto.response.FsLoadFactorReportDTO;
+import com.boeing.flightservice.entity.Route;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.repository.RouteRepository;
+import com.boeing.flightservice.service.cache.LoadFactorCacheService;
+import com.boeing.flightservice.service.spec.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Load factors computed by the database: one grouped query over flights, their fares and the occupied seats
+ * of those flights, whatever the date range. Runs read-only, so it goes to the replica when one is configured.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    // Occupied seats are counted per fare in a derived table first; joining them directly would repeat
+    // each fare's capacity once per seat
+    private static final String LOAD_FACTOR_SQL = """
+            SELECT %s,
+                   ff.fare_type AS fare_type,
+                   COUNT(DISTINCT f.id) AS flights,
+                   SUM(COALESCE(ff.capacity, 0)) AS capacity,
+                   SUM(COALESCE(ff.sold, 0)) AS sold,
+                   SUM(COALESCE(occ.occupied, 0)) AS occupied
+            FROM flights f
+            JOIN flight_fares ff ON ff.flight_id = f.id AND ff.is_deleted = false
+            JOIN airports o ON o.id = f.origin_airport_id
+            JOIN airports d ON d.id = f.destination_airport_id
+            LEFT JOIN (
+                SELECT s.flight_fare_id, COUNT(*) AS occupied
+                FROM occupied_seats s
+                JOIN flights sf ON sf.id = s.flight_id
+                WHERE s.is_deleted = false
+                  AND sf.departure_time >= :from AND sf.departure_time < :to
+                GROUP BY s.flight_fare_id
+            ) occ ON occ.flight_fare_id = ff.id
+            WHERE f.is_deleted = false
+              AND f.departure_time >= :from AND f.departure_time < :to
+              %s
+            GROUP BY %s, ff.fare_type
+            ORDER BY %s, ff.fare_type
+            """;
+
+    private static final String CSV_HEADER = "flight_id,flight_code,origin,destination,date,fare_type,"
+            + "flights,capacity,sold_seats,occupied_seats,load_factor";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RouteRepository routeRepository;
+    private final LoadFactorCacheService loadFactorCacheService;
+
+    @Value("${analytics.load-factor.max-days:366}")
+    private int maxDays;
+
+    @Override
+    public FsLoadFactorReportDTO getLoadFactors(LocalDate from, LocalDate to, UUID routeId,
+                                                FsLoadFactorReportDTO.GroupBy groupBy) {
+        if (from == null || to == null) {
+            throw new BadRequestException("from and to are required");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new BadRequestException("Date range cannot exceed " + maxDays + " days");
+        }
+        FsLoadFactorReportDTO.GroupBy grouping = groupBy != null ? groupBy : FsLoadFactorReportDTO.GroupBy.FLIGHT;
+        return loadFactorCacheService.get(new LoadFactorCacheService.Key(from, to, routeId, grouping),
+                () -> queryLoadFactors(from, to, routeId, grouping));
+    }
+
+    private FsLoadFactorReportDTO queryLoadFactors(LocalDate from, LocalDate to, UUID routeId,
+                                                   FsLoadFactorReportDTO.GroupBy groupBy) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from.atStartOfDay())
+                .addValue("to", to.plusDays(1).atStartOfDay());
+        String routeFilter = "";
+        if (routeId != null) {
+            Route route = routeRepository.findByIdAndDeleted(routeId, false)
+                    .orElseThrow(() -> new BadRequestException("Route not found with ID " + routeId));
+            routeFilter = "AND f.origin_airport_id = :originId AND f.destination_airport_id = :destinationId";
+            params.addValue("originId", route.getOrigin().getId())
+                    .addValue("destinationId", route.getDestination().getId());
+        }
+
+        String keys = switch (groupBy) {
+            case FLIGHT -> "f.id, f.code, o.airport_code, d.airport_code, CAST(f.departure_time AS DATE)";
+            case ROUTE -> "o.airport_code, d.airport_code";
+            case DAY -> "CAST(f.departure_time AS DATE)";
+        };
+        String select = switch (groupBy) {
+            case FLIGHT -> "f.id AS flight_id, f.code AS flight_code, o.airport_code AS origin_code, "
+                    + "d.airport_code AS destination_code, CAST(f.departure_time AS DATE) AS flight_date";
+            case ROUTE -> "o.airport_code AS origin_code, d.airport_code AS destination_code";
+            case DAY -> "CAST(f.departure_time AS DATE) AS flight_date";
+        };
+
+        long started = System.nanoTime();
+        List<FsLoadFactorReportDTO.Row> rows = jdbcTemplate.query(
+                LOAD_FACTOR_SQL.formatted(select, routeFilter, keys, keys), params,
+                (rs, rowNum) -> row(rs, groupBy));
+        log.info("Load factors {} to {} by {}: {} rows in {} ms", from, to, groupBy, rows.size(),
+                (System.nanoTime() - started) / 1_000_000);
+
+        return FsLoadFactorReportDTO.builder()
+                .from(from)
+                .to(to)
+                .groupBy(groupBy)
+                .rows(rows)
+                .build();
+    }
+
+    private static FsLoadFactorReportDTO.Row row(ResultSet rs, FsLoadFactorReportDTO.GroupBy groupBy)
+            throws SQLException {
+        boolean byFlight = groupBy == FsLoadFactorReportDTO.GroupBy.FLIGHT;
+        boolean hasRoute = groupBy != FsLoadFactorReportDTO.GroupBy.DAY;
+        boolean hasDate = groupBy != FsLoadFactorReportDTO.GroupBy.ROUTE;
+        int capacity = rs.getInt("capacity");
+        int occupied = rs.getInt("occupied");
+        return FsLoadFactorReportDTO.Row.builder()
+                .flightId(byFlight ? rs.getObject("flight_id", UUID.class) : null)
+                .flightCode(byFlight ? rs.getString("flight_code") : null)
+                .originCode(hasRoute ? rs.getString("origin_code") : null)
+                .destinationCode(hasRoute ? rs.getString("destination_code") : null)
+                .date(hasDate ? rs.getObject("flight_date", LocalDate.class) : null)
+                .fareType(FareType.valueOf(rs.getString("fare_type")))
+                .flights(rs.getInt("flights"))
+                .capacity(capacity)
+                .soldSeats(rs.getInt("sold"))
+                .occupiedSeats(occupied)
+                .loadFactor(capacity > 0 ? (double) occupied / capacity : 0)
+                .build();
+    }
+
+    @Override
+    public String toCsv(FsLoadFactorReportDTO report) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER.length() + report.rows().size() * 96);
+        csv.append(CSV_HEADER).append('\n');
+        for (FsLoadFactorReportDTO.Row row : report.rows()) {
+            csv.append(csvValue(row.flightId())).append(',')
+                    .append(csvValue(row.flightCode())).append(',')
+                    .append(csvValue(row.originCode())).append(',')
+                    .append(csvValue(row.destinationCode())).append(',')
+                    .append(csvValue(row.date())).append(',')
+                    .append(row.fareType()).append(',')
+                    .append(row.flights()).append(',')
+                    .append(row.capacity()).append(',')
+                    .append(row.soldSeats()).append(',')
+                    .append(row.occupiedSeats()).append(',')
+                    .append(String.format(Locale.ROOT, "%.4f", row.loadFactor()))
+                    .append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
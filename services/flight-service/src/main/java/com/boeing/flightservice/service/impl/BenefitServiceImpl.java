@@ -5,9 +5,11 @@ import com.boeing.flightservice.dto.union.BenefitDTO;
 import com.boeing.flightservice.entity.Benefit;
 import com.boeing.flightservice.exception.BadRequestException;
 import com.boeing.flightservice.repository.BenefitRepository;
+import com.boeing.flightservice.service.event.ReferenceDataChangedEvent;
 import com.boeing.flightservice.service.spec.BenefitService;
 import com.boeing.flightservice.util.PaginationUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,8 +22,10 @@ import java.util.UUID;
 public class BenefitServiceImpl implements BenefitService {
 
     private final BenefitRepository benefitRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public MappingJacksonValue findAll(Map<String, String> params) {
         return PaginationUtil.findAll(
                 params,
@@ -38,7 +42,9 @@ public class BenefitServiceImpl implements BenefitService {
                 .description(request.description())
                 .iconURL(request.iconURL())
                 .build();
-        return BenefitDTO.fromEntity(benefitRepository.save(benefit));
+        benefit = benefitRepository.save(benefit);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.BENEFIT));
+        return BenefitDTO.fromEntity(benefit);
     }
 
     @Override
@@ -55,7 +61,9 @@ public class BenefitServiceImpl implements BenefitService {
         if (request.iconURL() != null) {
             benefit.setIconURL(request.iconURL());
         }
-        return BenefitDTO.fromEntity(benefitRepository.save(benefit));
+        benefit = benefitRepository.save(benefit);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.BENEFIT));
+        return BenefitDTO.fromEntity(benefit);
     }
 
     @Override
@@ -65,5 +73,6 @@ public class BenefitServiceImpl implements BenefitService {
                 .orElseThrow(() -> new BadRequestException("Benefit not found with id: " + id));
         benefit.setDeleted(true);
         benefitRepository.save(benefit);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.BENEFIT));
     }
 }
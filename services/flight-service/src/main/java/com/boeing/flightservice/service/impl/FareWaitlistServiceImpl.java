@@ -0,0 +1,413 @@
+package com.boeing.flightservice.service.impl;
+
+import com.boeing.flightservice.dto.request.FsWaitlistClaimRequestDTO;
+import com.boeing.flightservice.dto.request.FsWaitlistJoinRequestDTO;
+import com.boeing.flightservice.dto.response.FsWaitlistEntryDTO;
+import com.boeing.flightservice.entity.FareSale;
+import com.boeing.flightservice.entity.FareWaitlistEntry;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.entity.enums.WaitlistStatus;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.exception.ResourceNotFoundException;
+import com.boeing.flightservice.repository.FareSaleRepository;
+import com.boeing.flightservice.repository.FareWaitlistRepository;
+import com.boeing.flightservice.repository.FlightFareRepository;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.service.lock.SeatWriteCoordinator;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.service.spec.FareWaitlistService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-fare waitlists that take freed seats before they go back on sale.
+ * <p>
+ * Entries are stored in fare_waitlist; the ones still waiting are also kept in memory per fare, ordered by loyalty
+ * tier and then request time, so joining, leaving and taking the head are O(log n) however long the list is. When
+ * seats are released, the head entries that fit are offered the seats in the same transaction: the seats are
+ * taken from the fare's sold counter as a FareSale under the entry's hold reference ("WL-&lt;id&gt;"), so no other
+ * booking can grab them. A claim hands the hold over to the customer's booking; an unclaimed hold expires and its
+ * seats go to the next entry.
+ * <p>
+ * All changes to a fare's waitlist happen under the flight's seat write lock. The in-memory order is rebuilt from
+ * the table when it was dropped (idle or after a rollback) or no longer matches the stored count, which also picks
+ * up entries added through other instances.
+ */
+@Slf4j
+@Service
+@Transactional
+public class FareWaitlistServiceImpl implements FareWaitlistService {
+
+    private static final List<WaitlistStatus> ACTIVE = List.of(WaitlistStatus.WAITING, WaitlistStatus.OFFERED);
+
+    private record Waiter(UUID id, int seats, int rank, LocalDateTime requestedAt) {
+
+        static Waiter of(FareWaitlistEntry entry) {
+            // Customers without a membership rank below every tier
+            int rank = entry.getTier() == null ? 0 : entry.getTier().ordinal() + 1;
+            return new Waiter(entry.getId(), entry.getSeats(), rank, entry.getRequestedAt());
+        }
+    }
+
+    // Higher tiers first, then earlier requests; the id keeps entries requested at the same instant apart
+    private static final Comparator<Waiter> PRIORITY = Comparator.comparingInt(Waiter::rank).reversed()
+            .thenComparing(Waiter::requestedAt)
+            .thenComparing(Waiter::id);
+
+    /**
+     * Waiting entries of one fare in priority order. A sorted set rather than a heap, so cancelled entries are
+     * removed in O(log n) too.
+     */
+    private static final class FareQueue {
+
+        private final TreeSet<Waiter> waiters = new TreeSet<>(PRIORITY);
+
+        synchronized void add(Waiter waiter) {
+            waiters.add(waiter);
+        }
+
+        synchronized void remove(Waiter waiter) {
+            waiters.remove(waiter);
+        }
+
+        synchronized Waiter peek() {
+            return waiters.isEmpty() ? null : waiters.first();
+        }
+
+        synchronized int size() {
+            return waiters.size();
+        }
+    }
+
+    private final FareWaitlistRepository waitlistRepository;
+    private final FlightRepository flightRepository;
+    private final FlightFareRepository flightFareRepository;
+    private final FareSaleRepository fareSaleRepository;
+    private final SeatWriteCoordinator seatWriteCoordinator;
+    private final FlightMetrics flightMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<UUID, FareQueue> queues;
+
+    @Value("${waitlist.hold-minutes:15}")
+    private int holdMinutes;
+
+    @Value("${waitlist.max-seats-per-request:9}")
+    private int maxSeatsPerRequest;
+
+    public FareWaitlistServiceImpl(FareWaitlistRepository waitlistRepository,
+                                   FlightRepository flightRepository,
+                                   FlightFareRepository flightFareRepository,
+                                   FareSaleRepository fareSaleRepository,
+                                   SeatWriteCoordinator seatWriteCoordinator,
+                                   FlightMetrics flightMetrics,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${waitlist.queue-idle-minutes:60}") long idleMinutes) {
+        this.waitlistRepository = waitlistRepository;
+        this.flightRepository = flightRepository;
+        this.flightFareRepository = flightFareRepository;
+        this.fareSaleRepository = fareSaleRepository;
+        this.seatWriteCoordinator = seatWriteCoordinator;
+        this.flightMetrics = flightMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queues = Caffeine.newBuilder()
+                .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        flightMetrics.monitorCache("fare-waitlist", queues);
+    }
+
+    @Override
+    public FsWaitlistEntryDTO join(UUID flightId, String fareName, FsWaitlistJoinRequestDTO request) {
+        if (request.customerReference() == null || request.customerReference().isBlank()) {
+            throw new BadRequestException("Customer reference is required to join a waitlist");
+        }
+        if (request.seats() < 1 || request.seats() > maxSeatsPerRequest) {
+            throw new BadRequestException("Seats must be between 1 and " + maxSeatsPerRequest);
+        }
+
+        seatWriteCoordinator.lockFlight(flightId);
+        Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
+                .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
+        if (flight.getStatus() != FlightStatus.SCHEDULED_OPEN) {
+            throw new BadRequestException("Flight " + flight.getCode() + " is not open for booking");
+        }
+        FlightFare fare = flightFareRepository.findByFlightIdAndFareNameAndDeleted(flightId, fareName)
+                .orElseThrow(() -> new BadRequestException("Fare '" + fareName + "' not found for flight " + flightId));
+        if (fare.getCapacity() != null && request.seats() > fare.getCapacity()) {
+            throw new BadRequestException("Fare '" + fareName + "' has only " + fare.getCapacity() + " seats");
+        }
+
+        // Joining again is a no-op while the earlier request is still waiting or offered
+        var existing = waitlistRepository.findFirstByFareIdAndCustomerReferenceAndStatusIn(
+                fare.getId(), request.customerReference(), ACTIVE);
+        if (existing.isPresent()) {
+            return toDTO(existing.get());
+        }
+
+        FareWaitlistEntry entry = waitlistRepository.save(FareWaitlistEntry.builder()
+                .fareId(fare.getId())
+                .flightId(flightId)
+                .customerReference(request.customerReference())
+                .seats(request.seats())
+                .tier(request.tier())
+                .status(WaitlistStatus.WAITING)
+                // Stored precision, so the queued waiter matches the one later rebuilt from the row
+                .requestedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .build());
+        queue(fare.getId()).add(Waiter.of(entry));
+        dropQueueOnRollback(fare.getId());
+        flightMetrics.countWaitlist("joined", 1);
+        log.info("Customer {} joined the waitlist of fare '{}' on flight {} for {} seats",
+                request.customerReference(), fareName, flight.getCode(), request.seats());
+
+        // Seats may be free already (a release raced the sold-out answer the customer saw); an offer is made on a
+        // fresh copy of the entry, so it is read again
+        if (promoteWaiting(flightId, fare.getId()) > 0) {
+            entry = findEntry(entry.getId());
+        }
+        return toDTO(entry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FsWaitlistEntryDTO getEntry(UUID entryId) {
+        return toDTO(findEntry(entryId));
+    }
+
+    @Override
+    public FsWaitlistEntryDTO claim(UUID entryId, FsWaitlistClaimRequestDTO request) {
+        if (request.bookingReference() == null || request.bookingReference().isBlank()) {
+            throw new BadRequestException("Booking reference is required to claim a waitlist offer");
+        }
+        FareWaitlistEntry entry = lockEntry(entryId);
+        if (entry.getStatus() == WaitlistStatus.CLAIMED
+                && request.bookingReference().equals(entry.getBookingReference())) {
+            return toDTO(entry);
+        }
+        if (entry.getStatus() != WaitlistStatus.OFFERED) {
+            throw new BadRequestException("Waitlist entry is " + entry.getStatus() + ", no seats are held for it");
+        }
+        if (entry.getHoldExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BadRequestException("The hold on waitlist entry " + entryId + " expired at "
+                    + entry.getHoldExpiresAt());
+        }
+        if (fareSaleRepository.findByFareIdAndBookingReference(entry.getFareId(), request.bookingReference()).isPresent()) {
+            throw new BadRequestException("Booking " + request.bookingReference() + " already holds seats on this fare");
+        }
+
+        // The held seats become the booking's sale; releasing the booking later releases them as usual
+        FareSale hold = fareSaleRepository.findByFareIdAndBookingReference(entry.getFareId(), entry.holdReference())
+                .orElseThrow(() -> new IllegalStateException("No hold found for waitlist entry " + entryId));
+        hold.setBookingReference(request.bookingReference());
+        fareSaleRepository.save(hold);
+
+        entry.setStatus(WaitlistStatus.CLAIMED);
+        entry.setBookingReference(request.bookingReference());
+        flightMetrics.countWaitlist("claimed", 1);
+        log.info("Waitlist entry {} claimed {} seats for booking {}", entryId, entry.getSeats(), request.bookingReference());
+        return toDTO(entry);
+    }
+
+    @Override
+    public FsWaitlistEntryDTO cancel(UUID entryId) {
+        FareWaitlistEntry entry = lockEntry(entryId);
+        switch (entry.getStatus()) {
+            case WAITING -> {
+                entry.setStatus(WaitlistStatus.CANCELLED);
+                FareQueue queue = queues.getIfPresent(entry.getFareId());
+                if (queue != null) {
+                    queue.remove(Waiter.of(entry));
+                }
+                dropQueueOnRollback(entry.getFareId());
+            }
+            case OFFERED -> {
+                releaseHold(entry);
+                entry.setStatus(WaitlistStatus.CANCELLED);
+                entry = waitlistRepository.save(entry);
+                promoteWaiting(entry.getFlightId(), entry.getFareId());
+            }
+            default -> {
+                // Claimed, expired or cancelled already: nothing left to give back
+                return toDTO(entry);
+            }
+        }
+        flightMetrics.countWaitlist("cancelled", 1);
+        return toDTO(entry);
+    }
+
+    @Override
+    public int promoteWaiting(UUID flightId, UUID fareId) {
+        FareQueue queue = queue(fareId);
+        if (queue.size() != waitlistRepository.countByFareIdAndStatus(fareId, WaitlistStatus.WAITING)) {
+            queue = loadQueue(fareId);
+            queues.put(fareId, queue);
+        }
+        Integer remaining = flightFareRepository.findRemainingById(fareId);
+        int available = remaining != null ? remaining : 0;
+
+        LocalDateTime now = LocalDateTime.now();
+        int offered = 0;
+        Waiter head;
+        // Strictly in order: a party that does not fit yet is not overtaken by smaller ones behind it
+        while (available > 0 && (head = queue.peek()) != null && head.seats() <= available) {
+            queue.remove(head);
+            FareWaitlistEntry entry = waitlistRepository.findById(head.id()).orElse(null);
+            if (entry == null || entry.getStatus() != WaitlistStatus.WAITING) {
+                continue;
+            }
+            if (flightFareRepository.incrementSold(fareId, head.seats()) == 0) {
+                queue.add(head);
+                break;
+            }
+            fareSaleRepository.save(FareSale.builder()
+                    .fareId(fareId)
+                    .bookingReference(entry.holdReference())
+                    .quantity(head.seats())
+                    .confirmedAt(now)
+                    .build());
+            entry.setStatus(WaitlistStatus.OFFERED);
+            entry.setOfferedAt(now);
+            entry.setHoldExpiresAt(now.plusMinutes(holdMinutes));
+            // incrementSold cleared the persistence context, the entry is detached
+            waitlistRepository.save(entry);
+            available -= head.seats();
+            offered++;
+            log.info("Offered {} seats on flight {} to waitlist entry {} of customer {} until {}",
+                    head.seats(), flightId, entry.getId(), entry.getCustomerReference(), entry.getHoldExpiresAt());
+        }
+        if (offered > 0) {
+            dropQueueOnRollback(fareId);
+            flightMetrics.countWaitlist("offered", offered);
+        }
+        return offered;
+    }
+
+    /**
+     * Returns the seats of holds nobody claimed in time and offers them to the next entries. Each expiry runs in
+     * a transaction of its own so one flight's lock is never held while waiting for another's.
+     */
+    @Scheduled(fixedDelayString = "${waitlist.expiry-interval-ms:30000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void expireHolds() {
+        List<FareWaitlistEntry> due = waitlistRepository.findTop100ByStatusAndHoldExpiresAtBeforeOrderByHoldExpiresAt(
+                WaitlistStatus.OFFERED, LocalDateTime.now());
+        for (FareWaitlistEntry candidate : due) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> expireHold(candidate.getId()));
+            } catch (Exception e) {
+                log.warn("Could not expire waitlist hold {}: {}", candidate.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void expireHold(UUID entryId) {
+        FareWaitlistEntry entry = lockEntry(entryId);
+        if (entry.getStatus() != WaitlistStatus.OFFERED || !entry.getHoldExpiresAt().isBefore(LocalDateTime.now())) {
+            return;
+        }
+        releaseHold(entry);
+        entry.setStatus(WaitlistStatus.EXPIRED);
+        waitlistRepository.save(entry);
+        flightMetrics.countWaitlist("expired", 1);
+        log.info("Waitlist hold {} of customer {} expired", entry.holdReference(), entry.getCustomerReference());
+        promoteWaiting(entry.getFlightId(), entry.getFareId());
+    }
+
+    /**
+     * Gives the entry's held seats back to the fare. Detaches the entry, so callers save their changes to it.
+     */
+    private void releaseHold(FareWaitlistEntry entry) {
+        fareSaleRepository.findByFareIdAndBookingReference(entry.getFareId(), entry.holdReference())
+                .filter(hold -> hold.getQuantity() > 0)
+                .ifPresent(hold -> {
+                    if (flightFareRepository.decrementSold(entry.getFareId(), hold.getQuantity()) == 0) {
+                        log.error("Sold counter of fare {} is below the {} seats held by {}",
+                                entry.getFareId(), hold.getQuantity(), entry.holdReference());
+                    }
+                    hold.setQuantity(0);
+                    hold.setReleasedAt(LocalDateTime.now());
+                    fareSaleRepository.save(hold);
+                });
+    }
+
+    /**
+     * Takes the seat write lock of the entry's flight, then reads the entry, so its status is the committed one.
+     */
+    private FareWaitlistEntry lockEntry(UUID entryId) {
+        UUID flightId = waitlistRepository.findFlightIdById(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with ID " + entryId));
+        seatWriteCoordinator.lockFlight(flightId);
+        return findEntry(entryId);
+    }
+
+    private FareWaitlistEntry findEntry(UUID entryId) {
+        return waitlistRepository.findById(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with ID " + entryId));
+    }
+
+    private FareQueue queue(UUID fareId) {
+        return queues.get(fareId, this::loadQueue);
+    }
+
+    private FareQueue loadQueue(UUID fareId) {
+        FareQueue queue = new FareQueue();
+        for (FareWaitlistEntry entry : waitlistRepository.findByFareIdAndStatus(fareId, WaitlistStatus.WAITING)) {
+            queue.add(Waiter.of(entry));
+        }
+        return queue;
+    }
+
+    // The in-memory order was changed along with the rows; if those roll back, rebuild it from the table
+    private void dropQueueOnRollback(UUID fareId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    queues.invalidate(fareId);
+                }
+            }
+        });
+    }
+
+    private FsWaitlistEntryDTO toDTO(FareWaitlistEntry entry) {
+        FareQueue queue = queues.getIfPresent(entry.getFareId());
+        return FsWaitlistEntryDTO.builder()
+                .id(entry.getId())
+                .flightId(entry.getFlightId())
+                .fareId(entry.getFareId())
+                .customerReference(entry.getCustomerReference())
+                .seats(entry.getSeats())
+                .tier(entry.getTier())
+                .status(entry.getStatus())
+                .requestedAt(entry.getRequestedAt())
+                .holdReference(entry.getStatus() == WaitlistStatus.OFFERED ? entry.holdReference() : null)
+                .holdExpiresAt(entry.getStatus() == WaitlistStatus.OFFERED ? entry.getHoldExpiresAt() : null)
+                .bookingReference(entry.getBookingReference())
+                .waiting(queue != null ? queue.size()
+                        : waitlistRepository.countByFareIdAndStatus(entry.getFareId(), WaitlistStatus.WAITING))
+                .build();
+    }
+}
@@ -0,0 +1,350 @@
+package com.boeing.flightservice.service.impl;
+
+import com.boeing.flightservice.dto.request.FsFlightDisruptionRequestDTO;
+import com.boeing.flightservice.dto.response.FsFlightDisruptionResponseDTO;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.service.event.FlightChangedEvent;
+import com.boeing.flightservice.service.lock.SeatWriteCoordinator;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.service.spec.FlightDisruptionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Applies one status change and/or time shift to a filtered set of flights in a single transaction.
+ * <p>
+ * Shifted and reopened flights are re-checked against the other flights of their aircraft in memory (one query
+ * for all affected aircraft) and the request is rejected as a whole if any turnaround would drop below the
+ * minimum. The flights are locked and read again before anything is computed, so the shift applies to their
+ * current times. The rows are then written in one JDBC batch and one {@link FlightChangedEvent} is published
+ * per flight.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class FlightDisruptionServiceImpl implements FlightDisruptionService {
+
+    private static final List<FlightStatus> DEFAULT_STATUSES =
+            List.of(FlightStatus.SCHEDULED_OPEN, FlightStatus.SCHEDULED_CLOSE);
+
+    // Longest flight assumed when widening the aircraft query, so an earlier departure still in the air is seen
+    private static final Duration MAX_FLIGHT_DURATION = Duration.ofHours(24);
+
+    private static final String UPDATE_FLIGHT_SQL = """
+            UPDATE flights
+            SET flight_status = ?, departure_time = ?, estimated_arrival_time = ?
+            WHERE id = ? AND flight_status = ? AND departure_time = ?
+            """;
+
+    private final FlightRepository flightRepository;
+    private final SeatWriteCoordinator seatWriteCoordinator;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FlightMetrics flightMetrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${business.minimum-hours-between-flights-of-aircraft}")
+    private int minimumHoursBetweenFlightsOfAircraft;
+
+    @Value("${disruption.max-flights:500}")
+    private int maxFlights;
+
+    @Value("${disruption.max-delay-minutes:2880}")
+    private int maxDelayMinutes;
+
+    @Override
+    public FsFlightDisruptionResponseDTO applyDisruption(FsFlightDisruptionRequestDTO request) {
+        return flightMetrics.record(FlightMetrics.DISRUPT_FLIGHTS, tagging -> applyDisruption(request, tagging));
+    }
+
+    private FsFlightDisruptionResponseDTO applyDisruption(FsFlightDisruptionRequestDTO request,
+                                                         FlightMetrics.Tagging tagging) {
+        validateRequest(request);
+
+        List<Flight> flights = findAffectedFlights(request);
+        if (flights.isEmpty()) {
+            tagging.outcome(FlightMetrics.FAILED);
+            return response("Failed", "No flights match the disruption filter", 0, 0, List.of(), List.of());
+        }
+        if (flights.size() > maxFlights) {
+            throw new BadRequestException("Disruption matches " + flights.size()
+                    + " flights, more than the limit of " + maxFlights + "; narrow the filter");
+        }
+        if (!request.dryRun()) {
+            // Seat writers and flight updates check the flight under this lock, so none can slip in against the
+            // old status or times. What was read before the lock may already be stale: read it again
+            Set<UUID> locked = new HashSet<>();
+            flights.forEach(flight -> locked.add(flight.getId()));
+            seatWriteCoordinator.lockFlights(locked);
+            entityManager.clear();
+            flights = findAffectedFlights(request).stream()
+                    .filter(flight -> locked.contains(flight.getId()))
+                    .toList();
+            if (flights.isEmpty()) {
+                tagging.outcome(FlightMetrics.FAILED);
+                return response("Failed", "No flights match the disruption filter", 0, 0, List.of(), List.of());
+            }
+        }
+
+        Duration shift = Duration.ofMinutes(request.delayMinutes() != null ? request.delayMinutes() : 0);
+        Map<UUID, FsFlightDisruptionResponseDTO.FlightChange> changes = new LinkedHashMap<>();
+        for (Flight flight : flights) {
+            changes.put(flight.getId(), change(flight, request.newStatus(), shift));
+        }
+        validateNotInPast(changes.values(), shift);
+
+        // Flights that end up at a new time, or back on the schedule after a cancellation while their aircraft
+        // slot may have been reused
+        Map<UUID, FsFlightDisruptionResponseDTO.FlightChange> rescheduled = new LinkedHashMap<>();
+        changes.forEach((flightId, change) -> {
+            if (change.status() != FlightStatus.CANCELLED
+                    && (!shift.isZero() || change.previousStatus() == FlightStatus.CANCELLED)) {
+                rescheduled.put(flightId, change);
+            }
+        });
+        List<FsFlightDisruptionResponseDTO.AircraftConflict> conflicts = rescheduled.isEmpty()
+                ? List.of()
+                : findAircraftConflicts(flights, rescheduled);
+        List<FsFlightDisruptionResponseDTO.FlightChange> flightChanges = List.copyOf(changes.values());
+        if (!conflicts.isEmpty()) {
+            tagging.outcome(FlightMetrics.REJECTED);
+            return response("Failed", "Time shift would break the aircraft turnaround of " + conflicts.size()
+                    + " flight pair(s); nothing was changed", flights.size(), 0, flightChanges, conflicts);
+        }
+        if (request.dryRun()) {
+            tagging.outcome(FlightMetrics.SUCCESS);
+            return response("Dry run", "Disruption can be applied to " + flights.size() + " flights",
+                    flights.size(), 0, flightChanges, List.of());
+        }
+
+        // Guarded by the values read under the lock: writers that do not take it, like the status scheduler,
+        // must not be overwritten with a shift of times or a status they already changed
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_FLIGHT_SQL, flightChanges, flightChanges.size(),
+                (statement, change) -> {
+                    statement.setString(1, change.status().name());
+                    statement.setObject(2, change.departureTime());
+                    statement.setObject(3, change.estimatedArrivalTime());
+                    statement.setObject(4, change.flightId());
+                    statement.setString(5, change.previousStatus().name());
+                    statement.setObject(6, change.previousDepartureTime());
+                });
+        List<String> changedMeanwhile = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) {
+                    changedMeanwhile.add(flightChanges.get(index).flightCode());
+                }
+                index++;
+            }
+        }
+        if (!changedMeanwhile.isEmpty()) {
+            throw new BadRequestException("Flights changed while the disruption was applied, nothing was changed;"
+                    + " please retry: " + String.join(", ", changedMeanwhile));
+        }
+
+        FlightChangedEvent.Change eventType = request.newStatus() == null ? FlightChangedEvent.Change.SCHEDULE
+                : shift.isZero() ? FlightChangedEvent.Change.STATUS
+                : FlightChangedEvent.Change.UPDATED;
+        for (UUID flightId : changes.keySet()) {
+            eventPublisher.publishEvent(new FlightChangedEvent(flightId, eventType));
+        }
+
+        log.info("Disruption applied to {} flights (status: {}, shift: {} min, reason: {})",
+                flights.size(), request.newStatus(), shift.toMinutes(), request.reason());
+        tagging.outcome(FlightMetrics.SUCCESS);
+        return response("Success", "Disruption applied to " + flights.size() + " flights",
+                flights.size(), flights.size(), flightChanges, List.of());
+    }
+
+    private void validateRequest(FsFlightDisruptionRequestDTO request) {
+        boolean hasShift = request.delayMinutes() != null && request.delayMinutes() != 0;
+        if (request.newStatus() == null && !hasShift) {
+            throw new BadRequestException("Nothing to apply: set newStatus and/or delayMinutes");
+        }
+        if (request.newStatus() == FlightStatus.COMPLETED) {
+            throw new BadRequestException("Flights are marked COMPLETED by the status scheduler, not by a disruption");
+        }
+        if (request.newStatus() == FlightStatus.CANCELLED && hasShift) {
+            throw new BadRequestException("A cancelled flight cannot also be shifted");
+        }
+        if (hasShift && Math.abs(request.delayMinutes()) > maxDelayMinutes) {
+            throw new BadRequestException("delayMinutes must be within " + maxDelayMinutes + " minutes");
+        }
+        boolean hasIds = request.flightIds() != null && !request.flightIds().isEmpty();
+        if (!hasIds && (request.departureFrom() == null || request.departureTo() == null)) {
+            throw new BadRequestException("departureFrom and departureTo are required unless flightIds are given");
+        }
+        if (request.departureFrom() != null && request.departureTo() != null
+                && request.departureFrom().isAfter(request.departureTo())) {
+            throw new BadRequestException("departureFrom must not be after departureTo");
+        }
+        if (hasIds && request.flightIds().size() > maxFlights) {
+            throw new BadRequestException("At most " + maxFlights + " flights can be disrupted at once");
+        }
+    }
+
+    /**
+     * One query for the candidates; airport and id filters are applied in memory on the (small) result.
+     */
+    private List<Flight> findAffectedFlights(FsFlightDisruptionRequestDTO request) {
+        List<FlightStatus> statuses = request.statuses() != null && !request.statuses().isEmpty()
+                ? request.statuses()
+                : DEFAULT_STATUSES;
+        Set<UUID> ids = request.flightIds() != null && !request.flightIds().isEmpty()
+                ? new HashSet<>(request.flightIds())
+                : null;
+        List<Flight> candidates = request.departureFrom() != null && request.departureTo() != null
+                ? flightRepository.findByDeletedAndStatusInAndDepartureTimeBetween(
+                        false, statuses, request.departureFrom(), request.departureTo())
+                : flightRepository.findByIdInAndDeleted(ids, false);
+
+        return candidates.stream()
+                .filter(flight -> statuses.contains(flight.getStatus()))
+                .filter(flight -> ids == null || ids.contains(flight.getId()))
+                .filter(flight -> request.airportId() == null
+                        || request.airportId().equals(flight.getOrigin().getId())
+                        || request.airportId().equals(flight.getDestination().getId()))
+                .sorted(Comparator.comparing(Flight::getDepartureTime))
+                .toList();
+    }
+
+    private static FsFlightDisruptionResponseDTO.FlightChange change(Flight flight, FlightStatus newStatus,
+                                                                     Duration shift) {
+        return FsFlightDisruptionResponseDTO.FlightChange.builder()
+                .flightId(flight.getId())
+                .flightCode(flight.getCode())
+                .previousStatus(flight.getStatus())
+                .status(newStatus != null ? newStatus : flight.getStatus())
+                .previousDepartureTime(flight.getDepartureTime())
+                .departureTime(flight.getDepartureTime().plus(shift))
+                .estimatedArrivalTime(flight.getEstimatedArrivalTime().plus(shift))
+                .build();
+    }
+
+    private static void validateNotInPast(Collection<FsFlightDisruptionResponseDTO.FlightChange> changes,
+                                          Duration shift) {
+        if (!shift.isNegative()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<String> inPast = changes.stream()
+                .filter(change -> change.departureTime().isBefore(now))
+                .map(FsFlightDisruptionResponseDTO.FlightChange::flightCode)
+                .toList();
+        if (!inPast.isEmpty()) {
+            throw new BadRequestException("Shift would move flights into the past: " + String.join(", ", inPast));
+        }
+    }
+
+    /**
+     * Same rule as single flight updates (no two flights of an aircraft within the minimum turnaround), checked
+     * per aircraft with a sweep over its flights sorted by departure, using the new times of the given changes.
+     * Only pairs involving a changed flight are reported.
+     */
+    private List<FsFlightDisruptionResponseDTO.AircraftConflict> findAircraftConflicts(
+            List<Flight> flights, Map<UUID, FsFlightDisruptionResponseDTO.FlightChange> changes) {
+        Duration turnaround = Duration.ofHours(minimumHoursBetweenFlightsOfAircraft);
+        Set<UUID> aircraftIds = new HashSet<>();
+        for (Flight flight : flights) {
+            if (changes.containsKey(flight.getId()) && flight.getAircraftId() != null) {
+                aircraftIds.add(flight.getAircraftId());
+            }
+        }
+        if (aircraftIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime from = changes.values().stream()
+                .map(FsFlightDisruptionResponseDTO.FlightChange::departureTime)
+                .min(Comparator.naturalOrder()).orElseThrow()
+                .minus(MAX_FLIGHT_DURATION).minus(turnaround);
+        LocalDateTime to = changes.values().stream()
+                .map(FsFlightDisruptionResponseDTO.FlightChange::estimatedArrivalTime)
+                .max(Comparator.naturalOrder()).orElseThrow()
+                .plus(turnaround);
+
+        Map<UUID, Flight> schedule = new HashMap<>();
+        for (Flight flight : flightRepository.findByAircraftIdInAndDeletedAndStatusNotAndDepartureTimeBetween(
+                aircraftIds, false, FlightStatus.CANCELLED, from, to)) {
+            schedule.put(flight.getId(), flight);
+        }
+        // Changed flights are included even when their current time lies outside the queried window, or they
+        // are still cancelled
+        for (Flight flight : flights) {
+            if (changes.containsKey(flight.getId())) {
+                schedule.put(flight.getId(), flight);
+            }
+        }
+
+        Map<UUID, List<Slot>> byAircraft = new HashMap<>();
+        for (Flight flight : schedule.values()) {
+            if (flight.getAircraftId() == null) {
+                continue;
+            }
+            FsFlightDisruptionResponseDTO.FlightChange change = changes.get(flight.getId());
+            Slot slot = change != null
+                    ? new Slot(flight.getCode(), change.departureTime(), change.estimatedArrivalTime(), true)
+                    : new Slot(flight.getCode(), flight.getDepartureTime(), flight.getEstimatedArrivalTime(), false);
+            byAircraft.computeIfAbsent(flight.getAircraftId(), id -> new ArrayList<>()).add(slot);
+        }
+
+        List<FsFlightDisruptionResponseDTO.AircraftConflict> conflicts = new ArrayList<>();
+        byAircraft.forEach((aircraftId, slots) -> {
+            slots.sort(Comparator.comparing(Slot::departure));
+            // Latest arrival so far overall and among affected flights: if a flight clashes with any earlier
+            // one that matters, it clashes with one of these
+            Slot latest = null;
+            Slot latestAffected = null;
+            for (Slot slot : slots) {
+                Slot previous = slot.affected() ? latest : latestAffected;
+                if (previous != null && !slot.departure().isAfter(previous.arrival().plus(turnaround))) {
+                    conflicts.add(FsFlightDisruptionResponseDTO.AircraftConflict.builder()
+                            .aircraftId(aircraftId)
+                            .flightCode(slot.affected() ? slot.code() : previous.code())
+                            .conflictingFlightCode(slot.affected() ? previous.code() : slot.code())
+                            .build());
+                }
+                if (latest == null || slot.arrival().isAfter(latest.arrival())) {
+                    latest = slot;
+                }
+                if (slot.affected() && (latestAffected == null || slot.arrival().isAfter(latestAffected.arrival()))) {
+                    latestAffected = slot;
+                }
+            }
+        });
+        return conflicts;
+    }
+
+    private static FsFlightDisruptionResponseDTO response(String status, String message, int matched, int updated,
+                                                          List<FsFlightDisruptionResponseDTO.FlightChange> flights,
+                                                          List<FsFlightDisruptionResponseDTO.AircraftConflict> conflicts) {
+        return FsFlightDisruptionResponseDTO.builder()
+                .status(status)
+                .message(message)
+                .matchedFlights(matched)
+                .updatedFlights(updated)
+                .flights(flights)
+                .conflicts(conflicts)
+                .build();
+    }
+
+    private record Slot(String code, LocalDateTime departure, LocalDateTime arrival, boolean affected) {
+    }
+}
@@ -7,6 +7,7 @@ import com.boeing.flightservice.util.PaginationUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
 
@@ -17,6 +18,7 @@ public class FlightFareServiceImpl implements FlightFareService {
     private final FlightFareRepository flightFareRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public MappingJacksonValue findAll(Map<String, String> params) {
         return PaginationUtil.findAll(
                 params,
@@ -7,24 +7,45 @@ import com.boeing.flightservice.dto.union.Search;
 import com.boeing.flightservice.entity.*;
 import com.boeing.flightservice.entity.enums.FareType;
 import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.entity.enums.WaitlistStatus;
 import com.boeing.flightservice.exception.BadRequestException;
 import com.boeing.flightservice.repository.*;
+import com.boeing.flightservice.service.cache.AirportSpatialIndex;
+import com.boeing.flightservice.service.cache.CabinLayoutCacheService;
+import com.boeing.flightservice.service.cache.FlightDetailsCacheService;
+import com.boeing.flightservice.service.cache.FlightDetailsSnapshot;
+import com.boeing.flightservice.service.cache.SearchDemandTracker;
+import com.boeing.flightservice.service.cache.SeatInventoryStore;
 import com.boeing.flightservice.service.cache.SeatPriceCacheService;
+import com.boeing.flightservice.service.event.FlightChangedEvent;
 import com.boeing.flightservice.service.ext.ExternalAircraftService;
+import com.boeing.flightservice.service.lock.SeatWriteCoordinator;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.service.spec.FareWaitlistService;
 import com.boeing.flightservice.service.spec.FlightService;
+import com.boeing.flightservice.service.spec.logic.SeatAssignmentService;
 import com.boeing.flightservice.service.spec.logic.SeatService;
+import com.boeing.flightservice.util.CabinLayout;
+import com.boeing.flightservice.util.ItineraryCursor;
 import com.boeing.flightservice.util.PaginationUtil;
+import com.boeing.flightservice.util.SeatCodec;
+import com.boeing.flightservice.util.TopK;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
 
 @Slf4j
 @Service
@@ -32,25 +53,49 @@ import java.util.concurrent.ThreadLocalRandom;
 @Transactional
 public class FlightServiceImpl implements FlightService {
 
-    private final SeatPriceCacheService seatPriceCacheService;
+    private static final int MAX_AUTO_ASSIGN_PARTY = 9;
+
     private final ExternalAircraftService externalAircraftService;
     private final SeatService seatService;
+    private final SeatAssignmentService seatAssignmentService;
     private final FlightRepository flightRepository;
     private final SeatRepository seatRepository;
     private final BenefitRepository benefitRepository;
     private final FlightFareRepository flightFareRepository;
+    private final FareSaleRepository fareSaleRepository;
     private final RouteRepository routeRepository;
-
-    @Value("${business.default-carry-on-weight}")
-    private int defaultCarryOnWeight;
-
-    @Value("${business.default-checked-baggage-weight}")
-    private int defaultCheckedBaggageWeight;
+    private final AirportSpatialIndex airportSpatialIndex;
+    private final CabinLayoutCacheService cabinLayoutCacheService;
+    private final FlightDetailsCacheService flightDetailsCacheService;
+    private final SearchDemandTracker searchDemandTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FlightMetrics flightMetrics;
+    private final SeatWriteCoordinator seatWriteCoordinator;
+    private final SeatInventoryStore seatInventoryStore;
+    private final FareWaitlistService fareWaitlistService;
+    private final FareWaitlistRepository fareWaitlistRepository;
+    private final SeatPriceCacheService seatPriceCacheService;
 
     @Value("${business.minimum-hours-between-flights-of-aircraft}")
     private int minimumHoursBetweenFlightsOfAircraft;
 
+    @Value("${search.nearby-airports.max-radius-km:300}")
+    private double maxNearbyRadiusKm;
+
+    @Value("${search.page.default-size:50}")
+    private int defaultSearchPageSize;
+
+    @Value("${search.page.max-size:200}")
+    private int maxSearchPageSize;
+
+    @Value("${seat-batch.max-flights:10}")
+    private int maxBatchFlights;
+
+    @Value("${flight-details.batch.max-flights:50}")
+    private int maxDetailsBatchFlights;
+
     @Override
+    @Transactional(readOnly = true)
     public MappingJacksonValue findAll(Map<String, String> params) {
         return PaginationUtil.findAll(
                 params,
@@ -60,6 +105,19 @@ public class FlightServiceImpl implements FlightService {
 
     @Override
     public FsSeatsAvailabilityResponseDTO checkSeatAvailability(UUID flightId, List<String> seatCodes) {
+        return flightMetrics.record(FlightMetrics.CHECK_SEAT_AVAILABILITY,
+                tagging -> checkSeatAvailability(flightId, seatCodes, tagging));
+    }
+
+    private FsSeatsAvailabilityResponseDTO checkSeatAvailability(UUID flightId, List<String> seatCodes,
+                                                                 FlightMetrics.Tagging tagging) {
+        Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
+                .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
+        return checkSeatAvailability(flight, seatCodes, seatInventoryStore.occupied(flightId), tagging);
+    }
+
+    private FsSeatsAvailabilityResponseDTO checkSeatAvailability(Flight flight, List<String> seatCodes,
+                                                                 BitSet occupiedSeats, FlightMetrics.Tagging tagging) {
         // Input validation
         if (seatCodes == null || seatCodes.isEmpty()) {
             throw new BadRequestException("Seat codes list cannot be empty");
@@ -69,8 +127,8 @@ public class FlightServiceImpl implements FlightService {
             throw new BadRequestException("Cannot check more than 10 seats at once");
         }
 
-        Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
-                .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
+        UUID flightId = flight.getId();
+        tagging.route(flight);
 
         // Check flight status - only allow seat availability check for SCHEDULED_OPEN flights
         if (flight.getStatus() != FlightStatus.SCHEDULED_OPEN) {
@@ -81,16 +139,10 @@ public class FlightServiceImpl implements FlightService {
         boolean allRequestedSeatsAvailable = true;
         List<FsSeatsAvailabilityResponseDTO.SeatStatus> seatStatuses = new ArrayList<>();
 
-        // Get occupied seat codes more efficiently
-        List<String> occupiedSeatCodes = seatRepository.findByFlightIdAndDeleted(flightId, false)
-                .stream()
-                .map(Seat::getSeatCode)
-                .toList();
-
         // Get valid aircraft seats with caching consideration
-        List<String> seatInAircraft = externalAircraftService.getSetCodeByAircraft(flight.getAircraftId());
+        Set<String> seatInAircraft = new HashSet<>(externalAircraftService.getSetCodeByAircraft(flight.getAircraftId()));
 
-        log.debug("Flight {} has {} occupied seats: {}", flightId, occupiedSeatCodes.size(), occupiedSeatCodes);
+        log.debug("Flight {} has {} occupied seats", flightId, occupiedSeats.cardinality());
         log.debug("Aircraft has {} total seats available", seatInAircraft.size());
 
         // Track unavailable seats for detailed logging
@@ -98,7 +150,7 @@ public class FlightServiceImpl implements FlightService {
 
         for (String seat : seatCodes) {
             // Validate seat code format
-            if (!seat.matches("\\d+[A-Z]")) {
+            if (!SeatCodec.isValid(seat)) {
                 throw new BadRequestException("Invalid seat code format: " + seat);
             }
 
@@ -109,7 +161,7 @@ public class FlightServiceImpl implements FlightService {
                     .build();
 
             // Check availability logic
-            boolean isOccupied = occupiedSeatCodes.contains(seat);
+            boolean isOccupied = occupiedSeats.get(SeatCodec.ordinal(seat));
             boolean isValidSeat = seatInAircraft.contains(seat);
 
             if (isOccupied || !isValidSeat) {
@@ -139,6 +191,7 @@ public class FlightServiceImpl implements FlightService {
         log.info("Seat availability check completed for flight {}: {} out of {} seats available. Unavailable seats: {}",
                 flightId, (seatCodes.size() - unavailableSeats.size()), seatCodes.size(), unavailableSeats);
 
+        tagging.outcome(allRequestedSeatsAvailable ? FlightMetrics.SUCCESS : FlightMetrics.PARTIAL);
         return FsSeatsAvailabilityResponseDTO.builder()
                 .seatStatuses(seatStatuses)
                 .allRequestedSeatsAvailable(allRequestedSeatsAvailable)
@@ -147,88 +200,81 @@ public class FlightServiceImpl implements FlightService {
 
     @Override
     public FsFlightWithFareDetailsDTO getFlightDetails(UUID flightId) {
-        Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
-                .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
-        return getFlightDetails(flight);
+        return getFlightDetailsSnapshot(flightId).details();
     }
 
-    private FsFlightWithFareDetailsDTO getFlightDetails(Flight flight) {
-        FsFlightWithFareDetailsDTO.FsAircraftDTO aircraftDTO = externalAircraftService
-                .getAircraftInfo(flight.getAircraftId());
-        int totalSeats = 0;
-        if (flight.getFares() != null) {
-            for (FlightFare fare : flight.getFares()) {
-                if (fare.getSeats() != null && !fare.getSeats().isEmpty()) {
-                    totalSeats += fare.getSeats().split(",").length;
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FlightDetailsSnapshot getFlightDetailsSnapshot(UUID flightId) {
+        return flightMetrics.record(FlightMetrics.GET_FLIGHT_DETAILS, tagging -> {
+            FlightDetailsSnapshot snapshot = flightDetailsCacheService.get(flightId);
+            tagging.route(snapshot.details().originAirport().getCode(),
+                    snapshot.details().destinationAirport().getCode());
+            return snapshot;
+        });
+    }
+
+    private FsFlightWithFareDetailsDTO getFlightDetails(Flight flight, long version) {
+        return flightDetailsCacheService.get(flight, version).details();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FsBatchResponseDTO<FsFlightWithFareDetailsDTO> getFlightDetailsBatch(
+            FsFlightDetailsBatchRequestDTO request) {
+        List<UUID> flightIds = request.flightIds();
+        if (flightIds == null || flightIds.isEmpty()) {
+            throw new BadRequestException("At least one flight id is required");
+        }
+        if (flightIds.size() > maxDetailsBatchFlights) {
+            throw new BadRequestException("Cannot get details of more than " + maxDetailsBatchFlights
+                    + " flights at once");
+        }
+        if (flightIds.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("Flight id is required for every entry");
+        }
+        return flightMetrics.record(FlightMetrics.GET_FLIGHT_DETAILS_BATCH, tagging -> {
+            FlightDetailsCacheService.Batch batch = flightDetailsCacheService.getAll(new LinkedHashSet<>(flightIds));
+            List<FsBatchResponseDTO.FlightResult<FsFlightWithFareDetailsDTO>> results = new ArrayList<>();
+            int found = 0;
+            for (UUID flightId : flightIds) {
+                FlightDetailsSnapshot snapshot = batch.snapshots().get(flightId);
+                if (snapshot != null) {
+                    found++;
+                    results.add(flightResult(flightId, snapshot.details(), null));
+                } else if (batch.errors().containsKey(flightId)) {
+                    results.add(flightResult(flightId, null, batch.errors().get(flightId)));
+                } else {
+                    results.add(flightResult(flightId, null, "Flight not found with ID " + flightId));
                 }
             }
-        }
-        List<Seat> occupiedSeats = seatRepository.findByFlightIdAndDeleted(flight.getId(), false);
-
-        int remainingSeats = totalSeats - occupiedSeats.size();
-        return FsFlightWithFareDetailsDTO.builder()
-                .flightId(flight.getId())
-                .flightCode(flight.getCode())
-                .aircraft(aircraftDTO)
-                .originAirport(AirportResponseDTO.fromEntity(flight.getOrigin()))
-                .destinationAirport(AirportResponseDTO.fromEntity(flight.getDestination()))
-                .departureTime(flight.getDepartureTime())
-                .estimatedArrivalTime(flight.getEstimatedArrivalTime())
-                .status(flight.getStatus())
-                .flightDurationMinutes(flight.getFlightDurationMinutes())
-                .actualArrivalTime(
-                        flight.getEstimatedArrivalTime().plusMinutes(flight.getFlightDurationMinutes().longValue()))
-                .occupiedSeats(occupiedSeats.stream().map(Seat::getSeatCode).toList())
-                .remainingSeats(remainingSeats)
-                .totalSeats(totalSeats)
-                .carryOnLuggageWeight(defaultCarryOnWeight)
-                .checkedBaggageWeight(defaultCheckedBaggageWeight)
-                .availableFares(flight.getFares() != null ? flight.getFares().stream().map(
-                        fare -> {
-                            Double price = seatPriceCacheService.get(fare.getId().toString());
-                            if (price == null) {
-                                // Handle case where minPrice equals maxPrice to avoid IllegalArgumentException
-                                if (fare.getMinPrice().equals(fare.getMaxPrice())) {
-                                    price = fare.getMinPrice();
-                                } else {
-                                    price = ThreadLocalRandom.current().nextDouble(fare.getMinPrice(), fare.getMaxPrice());
-                                }
-                                seatPriceCacheService.put(fare.getId().toString(), price);
-                            }
-                            List<String> seats = Arrays.stream(fare.getSeats().split(",")).toList();
-                            return FsFlightWithFareDetailsDTO.FsDetailedFareDTO
-                                    .builder()
-                                    .id(fare.getId())
-                                    .fareType(fare.getFareType())
-                                    .price(price)
-                                    .name(fare.getName())
-                                    .seats(seats)
-                                    .totalSeats(seats.size())
-                                    .occupiedSeats(occupiedSeats.stream().map(Seat::getSeatCode).toList())
-                                    .benefits(
-                                            fare.getBenefits().stream()
-                                                    .map(b -> FsFlightWithFareDetailsDTO.Benefit.builder()
-                                                            .id(b.getId())
-                                                            .name(b.getName())
-                                                            .description(b.getDescription())
-                                                            .iconURL(b.getIconURL())
-                                                            .build())
-                                                    .toList())
-                                    .build();
-                        }).toList() : List.of())
-                .build();
+            String status = batchStatus(found, results.size());
+            tagging.outcome(FlightMetrics.outcomeOf(status));
+            return FsBatchResponseDTO.<FsFlightWithFareDetailsDTO>builder()
+                    .status(status)
+                    .message("Details of " + found + " of " + results.size() + " flights returned")
+                    .results(results)
+                    .build();
+        });
     }
 
     @Override
     @Transactional
     public FsConfirmSeatsResponseDTO confirmSeat(UUID flightId, FsConfirmSeatsRequestDTO request) {
+        return flightMetrics.record(FlightMetrics.CONFIRM_SEATS, tagging -> confirmSeat(flightId, request, tagging));
+    }
+
+    private FsConfirmSeatsResponseDTO confirmSeat(UUID flightId, FsConfirmSeatsRequestDTO request,
+                                                  FlightMetrics.Tagging tagging) {
         log.info("=== CONFIRM SEATS REQUEST ===");
         log.info("Flight ID: {}", flightId);
         log.info("Booking Reference: {}", request.bookingReference());
         log.info("Seat Codes to confirm: {}", request.seatCodes());
 
+        seatWriteCoordinator.lockFlight(flightId);
         Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
                 .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
+        tagging.route(flight);
         
         // Check flight status - only allow seat confirmation for SCHEDULED_OPEN flights
         if (flight.getStatus() != FlightStatus.SCHEDULED_OPEN) {
@@ -247,7 +293,14 @@ public class FlightServiceImpl implements FlightService {
         for (String seatCode : request.seatCodes()) {
             log.info("Processing seat: {}", seatCode);
 
-            Optional<Seat> optionalSeat = seatRepository.findBySeatCodeAndFlightIdAndDeleted(seatCode, flightId, false);
+            if (!SeatCodec.isValid(seatCode)) {
+                log.warn("❌ Seat {} is not a valid seat code!", seatCode);
+                failedToConfirmSeats.add(seatCode);
+                continue;
+            }
+            short seatNumber = SeatCodec.pack(seatCode);
+
+            Optional<Seat> optionalSeat = seatRepository.findBySeatNumberAndFlightIdAndDeleted(seatNumber, flightId, false);
             if (optionalSeat.isPresent()) {
                 log.warn("❌ Seat {} is already occupied! Existing booking: {}",
                         seatCode, optionalSeat.get().getBookingReference());
@@ -263,6 +316,7 @@ public class FlightServiceImpl implements FlightService {
 
                     Seat seat = Seat.builder()
                             .seatCode(seatCode)
+                            .seatNumber(seatNumber)
                             .flight(flight)
                             .bookingReference(request.bookingReference())
                             .price(farePrice.price())
@@ -279,7 +333,7 @@ public class FlightServiceImpl implements FlightService {
                             savedSeat.getId(), savedSeat.getSeatCode(), savedSeat.getDeleted());
 
                     // Immediate verification - check if seat was actually saved
-                    Optional<Seat> verificationSeat = seatRepository.findBySeatCodeAndFlightIdAndDeleted(seatCode,
+                    Optional<Seat> verificationSeat = seatRepository.findBySeatNumberAndFlightIdAndDeleted(seatNumber,
                             flightId, false);
                     if (verificationSeat.isPresent()) {
                         log.info("✅ VERIFICATION SUCCESS: Seat {} successfully saved and retrievable from database",
@@ -316,6 +370,15 @@ public class FlightServiceImpl implements FlightService {
         log.info("Failed seats: {}", failedToConfirmSeats);
         log.info("=== END CONFIRM SEATS ===");
 
+        if (!confirmedSeats.isEmpty()) {
+            seatInventoryStore.recordChange(flightId, SeatCodec.toBitSet(confirmedSeats), new BitSet());
+            eventPublisher.publishEvent(new FlightChangedEvent(flightId, FlightChangedEvent.Change.SEATS));
+        }
+
+        tagging.outcome(FlightMetrics.outcomeOf(status));
+        flightMetrics.countSeats(FlightMetrics.CONFIRM_SEATS, FlightMetrics.SUCCESS, confirmedSeats.size());
+        flightMetrics.countSeats(FlightMetrics.CONFIRM_SEATS, FlightMetrics.FAILED, failedToConfirmSeats.size());
+
         return FsConfirmSeatsResponseDTO.builder()
                 .status(status)
                 .confirmedSeats(confirmedSeats)
@@ -327,14 +390,23 @@ public class FlightServiceImpl implements FlightService {
     @Override
     @Transactional
     public FsReleaseSeatsResponseDTO releaseSeats(UUID flightId, FsReleaseSeatsRequestDTO request) {
-        flightRepository.findByIdAndDeleted(flightId, false)
+        return flightMetrics.record(FlightMetrics.RELEASE_SEATS, tagging -> releaseSeats(flightId, request, tagging));
+    }
+
+    private FsReleaseSeatsResponseDTO releaseSeats(UUID flightId, FsReleaseSeatsRequestDTO request,
+                                                   FlightMetrics.Tagging tagging) {
+        seatWriteCoordinator.lockFlight(flightId);
+        Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
                 .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
+        tagging.route(flight);
         List<Seat> releasedSeats = new ArrayList<>();
         List<String> failedToReleaseSeats = new ArrayList<>();
         String status;
 
         for (String seatCode : request.seatCodes()) {
-            Optional<Seat> optionalSeat = seatRepository.findBySeatCodeAndFlightIdAndDeleted(seatCode, flightId, false);
+            Optional<Seat> optionalSeat = SeatCodec.isValid(seatCode)
+                    ? seatRepository.findBySeatNumberAndFlightIdAndDeleted(SeatCodec.pack(seatCode), flightId, false)
+                    : Optional.empty();
             if (optionalSeat.isPresent()
                     && optionalSeat.get().getBookingReference().equals(request.bookingReference())) {
                 Seat seat = optionalSeat.get();
@@ -355,6 +427,15 @@ public class FlightServiceImpl implements FlightService {
             status = "Success";
         }
 
+        if (!releasedSeats.isEmpty()) {
+            seatInventoryStore.recordChange(flightId, new BitSet(), SeatInventoryStore.occupiedSeatSet(releasedSeats));
+            eventPublisher.publishEvent(new FlightChangedEvent(flightId, FlightChangedEvent.Change.SEATS));
+        }
+
+        tagging.outcome(FlightMetrics.outcomeOf(status));
+        flightMetrics.countSeats(FlightMetrics.RELEASE_SEATS, FlightMetrics.SUCCESS, releasedSeats.size());
+        flightMetrics.countSeats(FlightMetrics.RELEASE_SEATS, FlightMetrics.FAILED, failedToReleaseSeats.size());
+
         return FsReleaseSeatsResponseDTO.builder()
                 .status(status)
                 .releasedSeats(releasedSeats.stream().map(Seat::getSeatCode).toList())
@@ -362,6 +443,406 @@ public class FlightServiceImpl implements FlightService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public FsBatchResponseDTO<FsSeatsAvailabilityResponseDTO> checkSeatAvailabilityBatch(
+            FsBatchSeatsRequestDTO request) {
+        List<UUID> flightIds = validateLegs(request.flights());
+
+        // One query for the flights and one for their occupied seats, instead of two per leg
+        Map<UUID, Flight> flights = new HashMap<>();
+        for (Flight flight : flightRepository.findAllById(flightIds)) {
+            if (!Boolean.TRUE.equals(flight.getDeleted())) {
+                flights.put(flight.getId(), flight);
+            }
+        }
+        Map<UUID, List<Seat>> occupiedByFlight = new HashMap<>();
+        for (Seat seat : seatRepository.findByFlightIdInAndDeleted(flightIds, false)) {
+            occupiedByFlight.computeIfAbsent(seat.getFlight().getId(), id -> new ArrayList<>()).add(seat);
+        }
+
+        List<FsBatchResponseDTO.FlightResult<FsSeatsAvailabilityResponseDTO>> results = new ArrayList<>();
+        int available = 0;
+        for (FsBatchSeatsRequestDTO.FlightSeats leg : request.flights()) {
+            Flight flight = flights.get(leg.flightId());
+            try {
+                if (flight == null) {
+                    throw new BadRequestException("Flight not found with ID " + leg.flightId());
+                }
+                FsSeatsAvailabilityResponseDTO availability = flightMetrics.record(FlightMetrics.CHECK_SEAT_AVAILABILITY,
+                        tagging -> checkSeatAvailability(flight, leg.seatCodes(),
+                                SeatInventoryStore.occupiedSeatSet(occupiedByFlight.getOrDefault(flight.getId(), List.of())),
+                                tagging));
+                if (availability.isAllRequestedSeatsAvailable()) {
+                    available++;
+                }
+                results.add(flightResult(leg.flightId(), availability, null));
+            } catch (BadRequestException e) {
+                results.add(flightResult(leg.flightId(), null, e.getMessage()));
+            }
+        }
+
+        String status = batchStatus(available, results.size());
+        return FsBatchResponseDTO.<FsSeatsAvailabilityResponseDTO>builder()
+                .status(status)
+                .message(available + " of " + results.size() + " flights have all requested seats available")
+                .results(results)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public FsBatchResponseDTO<FsConfirmSeatsResponseDTO> confirmSeatsBatch(FsBatchSeatsRequestDTO request) {
+        List<UUID> flightIds = validateLegs(request.flights());
+        // Every leg is locked up front, in id order, so two overlapping batches cannot deadlock
+        seatWriteCoordinator.lockFlights(flightIds);
+
+        List<FsBatchResponseDTO.FlightResult<FsConfirmSeatsResponseDTO>> results = new ArrayList<>();
+        List<UUID> failedFlights = new ArrayList<>();
+        for (FsBatchSeatsRequestDTO.FlightSeats leg : request.flights()) {
+            FsConfirmSeatsRequestDTO legRequest = FsConfirmSeatsRequestDTO.builder()
+                    .bookingReference(request.bookingReference())
+                    .seatCodes(leg.seatCodes())
+                    .build();
+            try {
+                FsConfirmSeatsResponseDTO confirmation = flightMetrics.record(FlightMetrics.CONFIRM_SEATS,
+                        tagging -> confirmSeat(leg.flightId(), legRequest, tagging));
+                if (!"Success".equals(confirmation.status())) {
+                    failedFlights.add(leg.flightId());
+                }
+                results.add(flightResult(leg.flightId(), confirmation, null));
+            } catch (BadRequestException e) {
+                failedFlights.add(leg.flightId());
+                results.add(flightResult(leg.flightId(), null, e.getMessage()));
+            }
+        }
+
+        if (failedFlights.isEmpty()) {
+            return FsBatchResponseDTO.<FsConfirmSeatsResponseDTO>builder()
+                    .status("Success")
+                    .message("Seats confirmed on all " + results.size() + " flights")
+                    .results(results)
+                    .build();
+        }
+
+        // All or nothing: undo the legs that did succeed and report them as rolled back
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        log.warn("Batch seat confirmation for booking {} rolled back; failed flights: {}",
+                request.bookingReference(), failedFlights);
+        return FsBatchResponseDTO.<FsConfirmSeatsResponseDTO>builder()
+                .status("Failed")
+                .message("No seats were confirmed; failed flights: " + failedFlights)
+                .results(rolledBackConfirmations(results, failedFlights))
+                .build();
+    }
+
+    private static List<FsBatchResponseDTO.FlightResult<FsConfirmSeatsResponseDTO>> rolledBackConfirmations(
+            List<FsBatchResponseDTO.FlightResult<FsConfirmSeatsResponseDTO>> results, List<UUID> failedFlights) {
+        List<FsBatchResponseDTO.FlightResult<FsConfirmSeatsResponseDTO>> rolledBack = new ArrayList<>();
+        for (var result : results) {
+            FsConfirmSeatsResponseDTO confirmation = result.result();
+            if (confirmation != null && !confirmation.confirmedSeats().isEmpty()) {
+                List<String> seats = new ArrayList<>(confirmation.confirmedSeats());
+                seats.addAll(confirmation.failedToConfirmSeats());
+                confirmation = FsConfirmSeatsResponseDTO.builder()
+                        .status("Failed")
+                        .confirmedSeats(List.of())
+                        .failedToConfirmSeats(seats)
+                        .message(failedFlights.contains(result.flightId())
+                                ? confirmation.message() + "; rolled back"
+                                : "Rolled back because another flight in the batch failed")
+                        .build();
+            }
+            rolledBack.add(flightResult(result.flightId(), confirmation, result.error()));
+        }
+        return rolledBack;
+    }
+
+    @Override
+    @Transactional
+    public FsBatchResponseDTO<FsReleaseSeatsResponseDTO> releaseSeatsBatch(FsBatchSeatsRequestDTO request) {
+        List<UUID> flightIds = validateLegs(request.flights());
+        seatWriteCoordinator.lockFlights(flightIds);
+
+        // Releases are best effort per leg, as with the single-flight endpoint
+        List<FsBatchResponseDTO.FlightResult<FsReleaseSeatsResponseDTO>> results = new ArrayList<>();
+        int released = 0;
+        for (FsBatchSeatsRequestDTO.FlightSeats leg : request.flights()) {
+            FsReleaseSeatsRequestDTO legRequest = FsReleaseSeatsRequestDTO.builder()
+                    .bookingReference(request.bookingReference())
+                    .seatCodes(leg.seatCodes())
+                    .build();
+            try {
+                FsReleaseSeatsResponseDTO release = flightMetrics.record(FlightMetrics.RELEASE_SEATS,
+                        tagging -> releaseSeats(leg.flightId(), legRequest, tagging));
+                if ("Success".equals(release.status())) {
+                    released++;
+                }
+                results.add(flightResult(leg.flightId(), release, null));
+            } catch (BadRequestException e) {
+                results.add(flightResult(leg.flightId(), null, e.getMessage()));
+            }
+        }
+
+        return FsBatchResponseDTO.<FsReleaseSeatsResponseDTO>builder()
+                .status(batchStatus(released, results.size()))
+                .message("Seats released on " + released + " of " + results.size() + " flights")
+                .results(results)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public FsSeatSwapResponseDTO swapSeats(FsSeatSwapRequestDTO request) {
+        if (request.bookingReference() == null || request.bookingReference().isBlank()) {
+            throw new BadRequestException("Booking reference is required to swap seats");
+        }
+        List<FsBatchSeatsRequestDTO.FlightSeats> toRelease = request.release() != null ? request.release() : List.of();
+        List<FsSeatSwapRequestDTO.FareSeats> faresToRelease =
+                request.releaseFares() != null ? request.releaseFares() : List.of();
+        List<FsSeatSwapRequestDTO.FareSeats> faresToConfirm =
+                request.confirmFares() != null ? request.confirmFares() : List.of();
+        Set<UUID> flightIds = new LinkedHashSet<>(validateLegs(request.confirm()));
+        if (!toRelease.isEmpty()) {
+            flightIds.addAll(validateLegs(toRelease));
+        }
+        List<FsSeatSwapRequestDTO.FareSeats> fareMoves = new ArrayList<>(faresToRelease);
+        fareMoves.addAll(faresToConfirm);
+        for (FsSeatSwapRequestDTO.FareSeats fare : fareMoves) {
+            if (fare.flightId() == null || fare.fareName() == null || fare.count() <= 0) {
+                throw new BadRequestException("Every fare to move needs a flight id, a fare name and a positive count");
+            }
+            flightIds.add(fare.flightId());
+        }
+        if (flightIds.size() > maxBatchFlights) {
+            throw new BadRequestException("Cannot process more than " + maxBatchFlights + " flights at once");
+        }
+        // Every flight on either side is locked up front, in id order, so overlapping swaps cannot deadlock
+        seatWriteCoordinator.lockFlights(flightIds);
+
+        // New seats first: nothing is given up unless every seat the booking moves to is secured
+        List<UUID> failedFlights = new ArrayList<>();
+        List<FsBatchResponseDTO.FlightResult<FsConfirmSeatsResponseDTO>> confirmed = new ArrayList<>();
+        for (FsBatchSeatsRequestDTO.FlightSeats leg : request.confirm()) {
+            FsConfirmSeatsRequestDTO legRequest = FsConfirmSeatsRequestDTO.builder()
+                    .bookingReference(request.bookingReference())
+                    .seatCodes(leg.seatCodes())
+                    .build();
+            try {
+                FsConfirmSeatsResponseDTO confirmation = flightMetrics.record(FlightMetrics.CONFIRM_SEATS,
+                        tagging -> confirmSeat(leg.flightId(), legRequest, tagging));
+                if (!"Success".equals(confirmation.status())) {
+                    failedFlights.add(leg.flightId());
+                }
+                confirmed.add(flightResult(leg.flightId(), confirmation, null));
+            } catch (BadRequestException e) {
+                failedFlights.add(leg.flightId());
+                confirmed.add(flightResult(leg.flightId(), null, e.getMessage()));
+            }
+        }
+
+        List<FsBatchResponseDTO.FlightResult<FsReleaseSeatsResponseDTO>> released = new ArrayList<>();
+        if (failedFlights.isEmpty()) {
+            for (FsBatchSeatsRequestDTO.FlightSeats leg : toRelease) {
+                FsReleaseSeatsRequestDTO legRequest = FsReleaseSeatsRequestDTO.builder()
+                        .bookingReference(request.bookingReference())
+                        .seatCodes(leg.seatCodes())
+                        .build();
+                try {
+                    FsReleaseSeatsResponseDTO release = flightMetrics.record(FlightMetrics.RELEASE_SEATS,
+                            tagging -> releaseSeats(leg.flightId(), legRequest, tagging));
+                    if (!"Success".equals(release.status())) {
+                        failedFlights.add(leg.flightId());
+                    }
+                    released.add(flightResult(leg.flightId(), release, null));
+                } catch (BadRequestException e) {
+                    failedFlights.add(leg.flightId());
+                    released.add(flightResult(leg.flightId(), null, e.getMessage()));
+                }
+            }
+        }
+
+        // Fare sales move with the seats; old ones are given back first so a move within one fare always fits
+        List<String> fareErrors = new ArrayList<>();
+        if (failedFlights.isEmpty()) {
+            for (int i = 0; i < fareMoves.size(); i++) {
+                FsSeatSwapRequestDTO.FareSeats fare = fareMoves.get(i);
+                String error = moveFareSale(fare, request.bookingReference(), i >= faresToRelease.size());
+                if (error != null) {
+                    failedFlights.add(fare.flightId());
+                    fareErrors.add(error);
+                }
+            }
+        }
+
+        if (failedFlights.isEmpty()) {
+            // Freed fare seats go to the waitlist only once the swap is certain, under the locks still held
+            for (FsSeatSwapRequestDTO.FareSeats fare : faresToRelease) {
+                flightFareRepository.findByFlightIdAndFareNameAndDeleted(fare.flightId(), fare.fareName())
+                        .ifPresent(flightFare -> fareWaitlistService.promoteWaiting(fare.flightId(), flightFare.getId()));
+            }
+            return FsSeatSwapResponseDTO.builder()
+                    .status("Success")
+                    .message("Seats swapped for booking " + request.bookingReference())
+                    .confirmed(confirmed)
+                    .released(released)
+                    .build();
+        }
+
+        // The booking keeps exactly the seats it had
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        log.warn("Seat swap for booking {} rolled back; failed flights: {}", request.bookingReference(), failedFlights);
+        List<FsBatchResponseDTO.FlightResult<FsReleaseSeatsResponseDTO>> notReleased = new ArrayList<>();
+        for (var result : released) {
+            FsReleaseSeatsResponseDTO release = result.result();
+            if (release != null && !release.releasedSeats().isEmpty()) {
+                List<String> seats = new ArrayList<>(release.releasedSeats());
+                seats.addAll(release.failedToReleaseSeats());
+                release = FsReleaseSeatsResponseDTO.builder()
+                        .status("Failed")
+                        .releasedSeats(List.of())
+                        .failedToReleaseSeats(seats)
+                        .build();
+            }
+            notReleased.add(flightResult(result.flightId(), release, result.error()));
+        }
+        return FsSeatSwapResponseDTO.builder()
+                .status("Failed")
+                .message("No seats were swapped; failed flights: " + failedFlights
+                        + (fareErrors.isEmpty() ? "" : "; " + String.join("; ", fareErrors)))
+                .confirmed(rolledBackConfirmations(confirmed, failedFlights))
+                .released(notReleased)
+                .build();
+    }
+
+    /**
+     * Adds {@code move.count()} seats to, or takes them from, the booking's sale on one fare. Returns why it could
+     * not, or null when it did.
+     */
+    private String moveFareSale(FsSeatSwapRequestDTO.FareSeats move, String bookingReference, boolean confirm) {
+        FlightFare fare = flightFareRepository.findByFlightIdAndFareNameAndDeleted(move.flightId(), move.fareName())
+                .orElse(null);
+        if (fare == null) {
+            return "Fare '" + move.fareName() + "' not found for flight " + move.flightId();
+        }
+        FareSale sale = fareSaleRepository.findByFareIdAndBookingReference(fare.getId(), bookingReference)
+                .orElse(null);
+        if (confirm) {
+            if (flightFareRepository.incrementSold(fare.getId(), move.count()) == 0) {
+                return "Not enough available seats on fare '" + move.fareName() + "' of flight " + move.flightId();
+            }
+            if (sale == null) {
+                sale = FareSale.builder()
+                        .fareId(fare.getId())
+                        .bookingReference(bookingReference)
+                        .quantity(0)
+                        .confirmedAt(LocalDateTime.now())
+                        .build();
+            }
+            sale.setQuantity(sale.getQuantity() + move.count());
+        } else {
+            // As with releaseFare, a booking gives back at most what it holds and holding nothing is not an error
+            int count = sale != null ? Math.min(move.count(), sale.getQuantity()) : 0;
+            if (count == 0) {
+                return null;
+            }
+            if (flightFareRepository.decrementSold(fare.getId(), count) == 0) {
+                return "Fare inventory is inconsistent for booking " + bookingReference;
+            }
+            sale.setQuantity(sale.getQuantity() - count);
+            sale.setReleasedAt(LocalDateTime.now());
+        }
+        fareSaleRepository.save(sale);
+        return null;
+    }
+
+    private List<UUID> validateLegs(List<FsBatchSeatsRequestDTO.FlightSeats> legs) {
+        if (legs == null || legs.isEmpty()) {
+            throw new BadRequestException("At least one flight must be provided");
+        }
+        if (legs.size() > maxBatchFlights) {
+            throw new BadRequestException("Cannot process more than " + maxBatchFlights + " flights at once");
+        }
+        List<UUID> flightIds = new ArrayList<>(legs.size());
+        for (FsBatchSeatsRequestDTO.FlightSeats leg : legs) {
+            if (leg.flightId() == null) {
+                throw new BadRequestException("Flight ID is required for every flight in the batch");
+            }
+            if (flightIds.contains(leg.flightId())) {
+                throw new BadRequestException("Flight " + leg.flightId() + " appears more than once in the batch");
+            }
+            if (leg.seatCodes() == null || leg.seatCodes().isEmpty()) {
+                throw new BadRequestException("Seat codes list cannot be empty for flight " + leg.flightId());
+            }
+            flightIds.add(leg.flightId());
+        }
+        return flightIds;
+    }
+
+    private static <T> FsBatchResponseDTO.FlightResult<T> flightResult(UUID flightId, T result, String error) {
+        return FsBatchResponseDTO.FlightResult.<T>builder()
+                .flightId(flightId)
+                .result(result)
+                .error(error)
+                .build();
+    }
+
+    private static String batchStatus(int succeeded, int total) {
+        if (succeeded == total) {
+            return "Success";
+        }
+        return succeeded == 0 ? "Failed" : "Some failed";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FsSeatAutoAssignResponseDTO autoAssignSeats(UUID flightId, FsSeatAutoAssignRequestDTO request) {
+        return flightMetrics.record(FlightMetrics.AUTO_ASSIGN_SEATS, tagging -> autoAssignSeats(flightId, request, tagging));
+    }
+
+    private FsSeatAutoAssignResponseDTO autoAssignSeats(UUID flightId, FsSeatAutoAssignRequestDTO request,
+                                                        FlightMetrics.Tagging tagging) {
+        int partySize = request.partySize() != null ? request.partySize() : 1;
+        if (partySize <= 0 || partySize > MAX_AUTO_ASSIGN_PARTY) {
+            throw new BadRequestException("Party size must be between 1 and " + MAX_AUTO_ASSIGN_PARTY);
+        }
+
+        Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
+                .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
+        tagging.route(flight);
+        if (flight.getStatus() != FlightStatus.SCHEDULED_OPEN) {
+            throw new BadRequestException("Cannot assign seats for flight " + flight.getCode() +
+                    " - booking is closed (status: " + flight.getStatus() + ")");
+        }
+
+        FlightFare fare = flight.getFares().stream()
+                .filter(f -> !Boolean.TRUE.equals(f.getDeleted()) && f.getName().equalsIgnoreCase(request.fareName()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        "Fare '" + request.fareName() + "' not found for flight " + flightId));
+
+        // Row geometry comes from the aircraft section, availability from the fare minus occupied seats
+        CabinLayout cabin = cabinLayoutCacheService.get(flight.getAircraftId(), fare.getFareType(), () -> CabinLayout.of(
+                externalAircraftService.getAircraftSeatSections(flight.getAircraftId())
+                        .getOrDefault(fare.getFareType(), SeatCodec.toSeatCodes(fare.getSeatSet())),
+                externalAircraftService.getAircraftSectionPatterns(flight.getAircraftId()).get(fare.getFareType())));
+        BitSet available = (BitSet) fare.getSeatSet().clone();
+        available.andNot(seatInventoryStore.occupied(flightId));
+
+        SeatAssignmentService.Assignment assignment = seatAssignmentService.assign(cabin, available, partySize);
+        tagging.outcome(assignment.strategy() == SeatAssignmentService.Strategy.SCATTERED
+                ? FlightMetrics.PARTIAL : FlightMetrics.SUCCESS);
+
+        return FsSeatAutoAssignResponseDTO.builder()
+                .flightId(flightId)
+                .fareName(fare.getName())
+                .partySize(partySize)
+                .seatCodes(assignment.seatCodes())
+                .strategy(assignment.strategy().name())
+                .together(assignment.strategy() != SeatAssignmentService.Strategy.SCATTERED)
+                .build();
+    }
+
     @Override
     @Transactional
     public FlightResponseDTO createFlight(FsFlightCreateRequest request) {
@@ -422,7 +903,8 @@ public class FlightServiceImpl implements FlightService {
                         .minPrice(seatClassFare.minPrice())
                         .maxPrice(seatClassFare.maxPrice())
                         .name(seatClassFare.name())
-                        .seats(String.join(",", seatCodes))
+                        .seatBitmap(SeatCodec.encode(seatCodes))
+                        .capacity(SeatCodec.toBitSet(seatCodes).cardinality())
                         .fareType(seatClassFare.fareType())
                         .benefits(benefits)
                         .flight(flight)
@@ -436,6 +918,7 @@ public class FlightServiceImpl implements FlightService {
             flight = flightRepository.save(flight);
             
             log.info("Successfully created flight {} with {} fare types", flight.getCode(), fares.size());
+            eventPublisher.publishEvent(new FlightChangedEvent(flight.getId(), FlightChangedEvent.Change.CREATED));
             
         } catch (BadRequestException e) {
             log.error("Validation error during flight creation: {}", e.getMessage());
@@ -460,7 +943,8 @@ public class FlightServiceImpl implements FlightService {
     @Override
     @Transactional
     public FlightResponseDTO updateFlight(UUID flightId, FsFlightCreateRequest request) {
-        // Find existing flight
+        // Fares keep selling while the flight is edited; hold the seat lock so their counters stay put
+        seatWriteCoordinator.lockFlight(flightId);
         Flight existingFlight = flightRepository.findByIdAndDeleted(flightId, false)
                 .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
 
@@ -495,16 +979,18 @@ public class FlightServiceImpl implements FlightService {
             // Get aircraft seat sections from aircraft service with error handling
             Map<FareType, List<String>> aircraftSeatSections = getAircraftSeatSectionsWithErrorHandling(request.aircraftId());
 
-            // Delete existing fares
-            if (existingFlight.getFares() != null) {
-                flightFareRepository.deleteAll(existingFlight.getFares());
-            }
+            // Validate fare type uniqueness
+            validateFareTypeUniqueness(request.seatClassFares());
+
+            // Existing fares are updated in place, so their ids, sold counters, sales and waitlists carry over
+            List<FlightFare> existingFares = existingFlight.getFares() == null ? List.of()
+                    : existingFlight.getFares().stream().filter(fare -> !Boolean.TRUE.equals(fare.getDeleted())).toList();
+            Map<FsFlightCreateRequest.SeatClassFareRequest, FlightFare> matchedFares =
+                    matchExistingFares(existingFares, request.seatClassFares());
 
             List<FlightFare> fares = new ArrayList<>();
+            List<UUID> grownFares = new ArrayList<>();
 
-            // Validate fare type uniqueness
-            validateFareTypeUniqueness(request.seatClassFares());
-            
             for (var seatClassFare : request.seatClassFares()) {
                 if (!aircraftSeatSections.containsKey(seatClassFare.fareType())) {
                     throw new BadRequestException(
@@ -521,24 +1007,71 @@ public class FlightServiceImpl implements FlightService {
                             "No seats available for fare type: " + seatClassFare.fareType().name());
                 }
 
-                FlightFare fare = FlightFare.builder()
-                        .minPrice(seatClassFare.minPrice())
-                        .maxPrice(seatClassFare.maxPrice())
-                        .name(seatClassFare.name())
-                        .seats(String.join(",", seatCodes))
-                        .fareType(seatClassFare.fareType())
-                        .benefits(benefits)
-                        .flight(existingFlight)
-                        .build();
+                BitSet seatSet = SeatCodec.toBitSet(seatCodes);
+                FlightFare fare = matchedFares.get(seatClassFare);
+                if (fare == null) {
+                    fare = FlightFare.builder()
+                            .flight(existingFlight)
+                            .build();
+                } else {
+                    int sold = fare.getSold() != null ? fare.getSold() : 0;
+                    if (seatSet.cardinality() < sold) {
+                        throw new BadRequestException("Fare '" + fare.getName() + "' has " + sold
+                                + " seats sold, more than the " + seatSet.cardinality() + " seats it would have");
+                    }
+                    if (!Objects.equals(fare.getMinPrice(), seatClassFare.minPrice())
+                            || !Objects.equals(fare.getMaxPrice(), seatClassFare.maxPrice())) {
+                        seatPriceCacheService.evict(fare.getId().toString());
+                    }
+                    if (fare.getCapacity() != null && seatSet.cardinality() > fare.getCapacity()) {
+                        grownFares.add(fare.getId());
+                    }
+                }
+                fare.setMinPrice(seatClassFare.minPrice());
+                fare.setMaxPrice(seatClassFare.maxPrice());
+                fare.setName(seatClassFare.name());
+                fare.setFareType(seatClassFare.fareType());
+                fare.setBenefits(benefits);
+                fare.setSeatSet(seatSet);
+                fare.setCapacity(seatSet.cardinality());
                 fares.add(fare);
             }
 
+            // A booked seat must stay inside the fare it was sold under
+            for (Seat seat : seatRepository.findByFlightIdAndDeleted(flightId, false)) {
+                FlightFare fare = seat.getFlightFare();
+                if (fare == null || !fares.contains(fare) || !fare.getSeatSet().get(SeatCodec.ordinal(seat.getSeatCode()))) {
+                    throw new BadRequestException("Seat " + seat.getSeatCode() + " is booked by "
+                            + seat.getBookingReference() + " and would no longer be part of its fare");
+                }
+            }
+
+            // Dropped fares have nowhere to move their sales to, so only unsold ones can go
+            List<FlightFare> removedFares = existingFares.stream()
+                    .filter(fare -> !matchedFares.containsValue(fare))
+                    .toList();
+            for (FlightFare fare : removedFares) {
+                if ((fare.getSold() != null && fare.getSold() > 0)
+                        || fareWaitlistRepository.countByFareIdAndStatus(fare.getId(), WaitlistStatus.WAITING) > 0
+                        || seatRepository.existsByFlightFareId(fare.getId())) {
+                    throw new BadRequestException("Fare '" + fare.getName()
+                            + "' has sales, booked seats or a waitlist and cannot be removed from flight " + flightId);
+                }
+            }
+
             // Save all fares in batch
-            fares = flightFareRepository.saveAll(fares);
             existingFlight.setFares(fares);
+            fares = flightFareRepository.saveAll(fares);
+            flightFareRepository.deleteAll(removedFares);
             existingFlight = flightRepository.save(existingFlight);
-            
+
+            // Added capacity goes to the fare's waitlist first, under the lock still held
+            for (UUID fareId : grownFares) {
+                fareWaitlistService.promoteWaiting(flightId, fareId);
+            }
+
             log.info("Successfully updated flight {} with {} fare types", existingFlight.getCode(), fares.size());
+            eventPublisher.publishEvent(new FlightChangedEvent(flightId, FlightChangedEvent.Change.UPDATED));
             
         } catch (BadRequestException e) {
             log.error("Validation error during flight update: {}", e.getMessage());
@@ -561,6 +1094,7 @@ public class FlightServiceImpl implements FlightService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public FlightResponseDTO getFlightById(UUID flightId) {
         Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
                 .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
@@ -577,6 +1111,37 @@ public class FlightServiceImpl implements FlightService {
                 .build();
     }
 
+    /**
+     * Pairs requested fares with existing ones, by fare type first and then by name ignoring case.
+     */
+    private static Map<FsFlightCreateRequest.SeatClassFareRequest, FlightFare> matchExistingFares(
+            List<FlightFare> existingFares, List<FsFlightCreateRequest.SeatClassFareRequest> seatClassFares) {
+        Map<FsFlightCreateRequest.SeatClassFareRequest, FlightFare> matched = new IdentityHashMap<>();
+        List<FlightFare> unmatched = new ArrayList<>(existingFares);
+        for (var seatClassFare : seatClassFares) {
+            unmatched.stream()
+                    .filter(fare -> fare.getFareType() == seatClassFare.fareType())
+                    .findFirst()
+                    .ifPresent(fare -> {
+                        matched.put(seatClassFare, fare);
+                        unmatched.remove(fare);
+                    });
+        }
+        for (var seatClassFare : seatClassFares) {
+            if (matched.containsKey(seatClassFare)) {
+                continue;
+            }
+            unmatched.stream()
+                    .filter(fare -> fare.getName() != null && fare.getName().equalsIgnoreCase(seatClassFare.name()))
+                    .findFirst()
+                    .ifPresent(fare -> {
+                        matched.put(seatClassFare, fare);
+                        unmatched.remove(fare);
+                    });
+        }
+        return matched;
+    }
+
     private void validateConflictingSchedule(Flight flight) {
         // Validate aircraft scheduling conflicts
         validateAircraftScheduleConflicts(flight);
@@ -614,29 +1179,37 @@ public class FlightServiceImpl implements FlightService {
     }
 
     @Override
-    @Deprecated
+    @Transactional(readOnly = true)
     public int getAvailableSeatsCount(UUID flightId, String fareClass) {
+        List<Integer> remaining = flightFareRepository.findRemainingByFlightIdAndFareName(flightId, fareClass);
+        if (!remaining.isEmpty() && remaining.getFirst() != null) {
+            return Math.max(0, remaining.getFirst());
+        }
+
+        // Not found, or a fare whose capacity has not been backfilled yet
         Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
                 .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
 
-        List<Seat> occupiedSeats = seatRepository.findByFlightIdAndDeleted(flightId, false);
-        List<String> occupiedSeatCodes = occupiedSeats.stream().map(Seat::getSeatCode).toList();
-
         FlightFare targetFare = flight.getFares().stream()
                 .filter(fare -> fare.getName().equalsIgnoreCase(fareClass))
                 .findFirst()
                 .orElseThrow(() -> new BadRequestException(
                         "Fare class '" + fareClass + "' not found for flight " + flightId));
 
-        int remainingSeats = seatService.countRemainingSeats(targetFare, occupiedSeatCodes);
-
-        return Math.max(0, remainingSeats);
+        return Math.max(0, targetFare.getSeatCount() - (targetFare.getSold() != null ? targetFare.getSold() : 0));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Search.Response searchFlights(Search.Request request) {
+        return flightMetrics.record(FlightMetrics.SEARCH_FLIGHTS, tagging -> searchFlights(request, tagging));
+    }
+
+    private Search.Response searchFlights(Search.Request request, FlightMetrics.Tagging tagging) {
         Route route = routeRepository.findByIdAndDeleted(request.routeId(), false)
                 .orElseThrow(() -> new BadRequestException("Invalid route ID: " + request.routeId()));
+        tagging.route(route);
+        searchDemandTracker.record(route, request.departureDate());
 
         // Default to 1 adult if not specified
         Integer adultsObj = request.noAdults();
@@ -657,248 +1230,372 @@ public class FlightServiceImpl implements FlightService {
         // Calculate total required seats (adults + children, babies don't need seats)
         int requiredSeats = adults + children;
 
+        // Expand origin/destination to nearby airports when a radius is requested
+        Set<UUID> originIds = resolveSearchAirports(route.getOrigin(), request.radiusKm());
+        Set<UUID> destinationIds = resolveSearchAirports(route.getDestination(), request.radiusKm());
+
+        // Snapshots built from the flights loaded below must not outrank a rebuild that reads after this point
+        long detailsVersion = flightDetailsCacheService.nextVersion();
+
         // Find direct flights
         List<Flight> directFlights = flightRepository
-                .findByDepartureTimeGreaterThanEqualAndStatusAndDeletedAndDestinationAndOrigin(
+                .findByDepartureTimeGreaterThanEqualAndStatusAndDeletedAndOriginIdInAndDestinationIdIn(
                         request.departureDate().atStartOfDay(),
                         FlightStatus.SCHEDULED_OPEN,
                         false,
-                        route.getDestination(),
-                        route.getOrigin());
+                        originIds,
+                        destinationIds);
+
+        Search.SortBy sortBy = request.sortBy() != null ? request.sortBy() : Search.SortBy.DEPARTURE;
+        int limit = request.limit() != null && request.limit() > 0
+                ? Math.min(request.limit(), maxSearchPageSize)
+                : defaultSearchPageSize;
+        ItineraryCursor after = request.cursor() != null && !request.cursor().isBlank()
+                ? ItineraryCursor.decode(request.cursor())
+                : null;
+        if (after != null && after.sortBy() != sortBy) {
+            throw new BadRequestException("Search cursor was issued for sortBy " + after.sortBy());
+        }
+
+        // Rank itineraries as lightweight keys and keep only the next page (plus one to detect more);
+        // details are built for the selected flights only
+        TopK<Itinerary> page = new TopK<>(limit + 1, Itinerary.ORDER);
+        Map<UUID, Long> cheapestFares = new HashMap<>();
+        int[] found = new int[2];
+        BiConsumer<Flight, Flight> rank = (first, second) -> {
+            found[second == null ? 0 : 1]++;
+            long key = rankKey(sortBy, first, second, cheapestFares);
+            String id = second == null ? first.getId().toString() : first.getId() + "+" + second.getId();
+            if (after == null || after.precedes(key, id)) {
+                page.offer(new Itinerary(first, second, key, id));
+            }
+        };
 
         // Filter flights that have enough available seats
-        List<Flight> availableDirectFlights = directFlights.stream()
+        directFlights.stream()
                 .filter(flight -> hasEnoughAvailableSeats(flight, requiredSeats))
-                .toList();
-
-        List<FsFlightWithFareDetailsDTO> directs = availableDirectFlights.stream()
-                .map(this::getFlightDetails)
-                .toList();
+                .forEach(flight -> rank.accept(flight, null));
 
         // Find connecting flights (with one stop)
-        List<List<FsFlightWithFareDetailsDTO>> connects = findConnectingFlights(
-                request.departureDate(),
-                route.getOrigin(),
-                route.getDestination(),
-                requiredSeats);
+        flightMetrics.record(FlightMetrics.FIND_CONNECTING_FLIGHTS, connectTagging -> {
+            connectTagging.route(route);
+            findConnectingFlights(request.departureDate(), originIds, destinationIds, requiredSeats, rank);
+            return null;
+        });
+
+        List<Itinerary> ranked = page.toSortedList();
+        String nextCursor = null;
+        if (ranked.size() > limit) {
+            ranked = ranked.subList(0, limit);
+            Itinerary last = ranked.getLast();
+            nextCursor = new ItineraryCursor(sortBy, last.key(), last.id()).encode();
+        }
+
+        Map<UUID, FsFlightWithFareDetailsDTO> details = new HashMap<>();
+        List<FsFlightWithFareDetailsDTO> directs = new ArrayList<>();
+        List<List<FsFlightWithFareDetailsDTO>> connects = new ArrayList<>();
+        for (Itinerary itinerary : ranked) {
+            FsFlightWithFareDetailsDTO first = details.computeIfAbsent(itinerary.first().getId(),
+                    id -> getFlightDetails(itinerary.first(), detailsVersion));
+            if (itinerary.second() == null) {
+                directs.add(first);
+            } else {
+                connects.add(List.of(first, details.computeIfAbsent(itinerary.second().getId(),
+                        id -> getFlightDetails(itinerary.second(), detailsVersion))));
+            }
+        }
 
-        int total = directs.size() + connects.size();
+        flightMetrics.countItineraries("direct", found[0]);
+        flightMetrics.countItineraries("connecting", found[1]);
 
         return Search.Response.builder()
-                .total(total)
+                .total(found[0] + found[1])
                 .directs(directs)
                 .connects(connects)
+                .nextCursor(nextCursor)
                 .build();
     }
 
-    private List<List<FsFlightWithFareDetailsDTO>> findConnectingFlights(
+    /**
+     * Sort key of an itinerary: minutes from first departure to last arrival, lowest fare floor per leg in cents,
+     * or first departure in epoch seconds. Prices rank on the fares' configured minimum rather than the quoted
+     * price, which is drawn per instance and cached, so every instance and every page sees the same order.
+     */
+    private long rankKey(Search.SortBy sortBy, Flight first, Flight second, Map<UUID, Long> cheapestFares) {
+        Flight last = second != null ? second : first;
+        return switch (sortBy) {
+            case DURATION -> Duration.between(first.getDepartureTime(), last.getEstimatedArrivalTime()).toMinutes();
+            case PRICE -> cheapestFare(first, cheapestFares)
+                    + (second != null ? cheapestFare(second, cheapestFares) : 0);
+            case DEPARTURE -> first.getDepartureTime().toEpochSecond(ZoneOffset.UTC);
+        };
+    }
+
+    private long cheapestFare(Flight flight, Map<UUID, Long> cheapestFares) {
+        return cheapestFares.computeIfAbsent(flight.getId(), id -> {
+            // Flights without fares rank last; kept well below overflow when two legs are added
+            long cheapest = Integer.MAX_VALUE;
+            if (flight.getFares() != null) {
+                for (FlightFare fare : flight.getFares()) {
+                    if (fare.getMinPrice() != null) {
+                        cheapest = Math.min(cheapest, Math.round(fare.getMinPrice() * 100));
+                    }
+                }
+            }
+            return cheapest;
+        });
+    }
+
+    private Set<UUID> resolveSearchAirports(Airport airport, Double radiusKm) {
+        if (radiusKm == null || radiusKm <= 0) {
+            return Set.of(airport.getId());
+        }
+        if (radiusKm > maxNearbyRadiusKm) {
+            throw new BadRequestException("Search radius cannot exceed " + maxNearbyRadiusKm + " km");
+        }
+        return airportSpatialIndex.findWithinRadius(airport, radiusKm);
+    }
+
+    /**
+     * Hands every valid one-stop pair to {@code onConnection} instead of collecting them, so the caller decides
+     * what to keep.
+     */
+    private void findConnectingFlights(
             LocalDate departureDate,
-            Airport origin,
-            Airport destination,
-            int requiredSeats) {
+            Set<UUID> originIds,
+            Set<UUID> destinationIds,
+            int requiredSeats,
+            BiConsumer<Flight, Flight> onConnection) {
         // This is the max allowed layover time in hours (24 hours)
         final int MAX_LAYOVER_HOURS = 24;
         // This is the minimum layover time in minutes (1 hour)
         final int MIN_LAYOVER_MINUTES = 60;
 
-        // Step 1: Find all potential first leg flights departing from the origin
-        List<Flight> firstLegFlights = flightRepository.findByDepartureTimeGreaterThanEqualAndStatusAndDeletedAndOrigin(
+        // Step 1: Find all potential first leg flights departing from the origin(s)
+        List<Flight> firstLegFlights = flightRepository.findByDepartureTimeGreaterThanEqualAndStatusAndDeletedAndOriginIdIn(
                 departureDate.atStartOfDay(),
                 FlightStatus.SCHEDULED_OPEN,
                 false,
-                origin);
+                originIds);
 
-        // Filter first leg flights that have enough available seats
+        // Filter first leg flights that have enough available seats.
+        // Skip legs that already reach a destination directly or just hop between nearby origins.
         List<Flight> availableFirstLegFlights = firstLegFlights.stream()
+                .filter(flight -> !destinationIds.contains(flight.getDestination().getId()))
+                .filter(flight -> !originIds.contains(flight.getDestination().getId()))
                 .filter(flight -> hasEnoughAvailableSeats(flight, requiredSeats))
                 .toList();
 
-        // Step 2: Find potential second leg flights for each first leg flight
-        List<List<FsFlightWithFareDetailsDTO>> connectingFlights = new ArrayList<>();
+        if (availableFirstLegFlights.isEmpty()) {
+            return;
+        }
 
+        // Step 2: Load every candidate second leg in one query over the combined layover window
+        Set<UUID> layoverIds = new HashSet<>();
+        LocalDateTime windowStart = null;
+        LocalDateTime windowEnd = null;
         for (Flight firstLeg : availableFirstLegFlights) {
-            // Skip if this first leg already reaches the destination directly
-            if (firstLeg.getDestination().getId().equals(destination.getId())) {
-                continue;
-            }
+            layoverIds.add(firstLeg.getDestination().getId());
+            LocalDateTime earliest = firstLeg.getEstimatedArrivalTime().plusMinutes(MIN_LAYOVER_MINUTES);
+            LocalDateTime latest = firstLeg.getEstimatedArrivalTime().plusHours(MAX_LAYOVER_HOURS);
+            windowStart = windowStart == null || earliest.isBefore(windowStart) ? earliest : windowStart;
+            windowEnd = windowEnd == null || latest.isAfter(windowEnd) ? latest : windowEnd;
+        }
+
+        Map<UUID, List<Flight>> secondLegsByLayover = new HashMap<>();
+        flightRepository.findByDepartureTimeBetweenAndStatusAndDeletedAndOriginIdInAndDestinationIdIn(
+                        windowStart,
+                        windowEnd,
+                        FlightStatus.SCHEDULED_OPEN,
+                        false,
+                        layoverIds,
+                        destinationIds)
+                .stream()
+                .filter(flight -> hasEnoughAvailableSeats(flight, requiredSeats))
+                .forEach(flight -> secondLegsByLayover
+                        .computeIfAbsent(flight.getOrigin().getId(), k -> new ArrayList<>())
+                        .add(flight));
 
-            // Calculate earliest and latest allowed departure time for second leg
+        // Step 3: Pair each first leg with the second legs inside its own layover window
+        for (Flight firstLeg : availableFirstLegFlights) {
             LocalDateTime earliestSecondLegDeparture = firstLeg.getEstimatedArrivalTime()
                     .plusMinutes(MIN_LAYOVER_MINUTES);
             LocalDateTime latestSecondLegDeparture = firstLeg.getEstimatedArrivalTime().plusHours(MAX_LAYOVER_HOURS);
 
-            // Find connecting flights from the layover airport to the final destination
-            List<Flight> secondLegFlights = flightRepository
-                    .findByDepartureTimeBetweenAndStatusAndDeletedAndOriginAndDestination(
-                            earliestSecondLegDeparture,
-                            latestSecondLegDeparture,
-                            FlightStatus.SCHEDULED_OPEN,
-                            false,
-                            firstLeg.getDestination(), // Layover airport (destination of first leg)
-                            destination // Final destination
-                    );
-
-            // Filter second leg flights that have enough available seats
-            List<Flight> availableSecondLegFlights = secondLegFlights.stream()
-                    .filter(flight -> hasEnoughAvailableSeats(flight, requiredSeats))
-                    .toList();
-
-            // Add valid connecting flight pairs to results
-            for (Flight secondLeg : availableSecondLegFlights) {
-                List<FsFlightWithFareDetailsDTO> connectionPair = new ArrayList<>();
-                connectionPair.add(getFlightDetails(firstLeg));
-                connectionPair.add(getFlightDetails(secondLeg));
-                connectingFlights.add(connectionPair);
+            for (Flight secondLeg : secondLegsByLayover.getOrDefault(firstLeg.getDestination().getId(), List.of())) {
+                if (secondLeg.getDepartureTime().isBefore(earliestSecondLegDeparture)
+                        || secondLeg.getDepartureTime().isAfter(latestSecondLegDeparture)) {
+                    continue;
+                }
+                onConnection.accept(firstLeg, secondLeg);
             }
         }
-
-        return connectingFlights;
     }
 
     private int getRemainingSeats(Flight flight) {
+        return countSeats(flight) - seatInventoryStore.occupied(flight.getId()).cardinality();
+    }
+
+    private static int countSeats(Flight flight) {
         int totalSeats = 0;
         // Handle case where flight might not have fares configured
         if (flight.getFares() != null) {
             for (FlightFare fare : flight.getFares()) {
-                if (fare.getSeats() != null && !fare.getSeats().isEmpty()) {
-                    totalSeats += fare.getSeats().split(",").length;
-                }
+                totalSeats += fare.getSeatCount();
             }
         }
-        List<Seat> occupiedSeats = seatRepository.findByFlightIdAndDeleted(flight.getId(), false);
-        return totalSeats - occupiedSeats.size();
+        return totalSeats;
     }
 
     private boolean hasEnoughAvailableSeats(Flight flight, int requiredSeats) {
-        return getRemainingSeats(flight) >= requiredSeats;
+        // Cached details already carry the count; a miss is cheaper to count than to build a snapshot for
+        return flightDetailsCacheService.peek(flight.getId())
+                .map(snapshot -> snapshot.details().remainingSeats())
+                .orElseGet(() -> getRemainingSeats(flight)) >= requiredSeats;
     }
 
     @Override
     @Transactional
-    @Deprecated
-    // Will fix if needed in the future
     public FsConfirmFareSaleResponseDTO confirmFareSale(UUID flightId, String fareName,
                                                         FsConfirmFareSaleRequestDTO request) {
-        // Validate flight exists
-        flightRepository.findByIdAndDeleted(flightId, false)
+        return flightMetrics.record(FlightMetrics.CONFIRM_FARE_SALE,
+                tagging -> confirmFareSale(flightId, fareName, request, tagging));
+    }
+
+    private FsConfirmFareSaleResponseDTO confirmFareSale(UUID flightId, String fareName,
+                                                         FsConfirmFareSaleRequestDTO request,
+                                                         FlightMetrics.Tagging tagging) {
+        if (request.getBookingReference() == null || request.getBookingReference().isBlank()) {
+            throw new BadRequestException("Booking reference is required to confirm a fare sale");
+        }
+        if (request.getSoldCount() <= 0) {
+            throw new BadRequestException("Sold count must be positive, got " + request.getSoldCount());
+        }
+
+        seatWriteCoordinator.lockFlight(flightId);
+        Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
                 .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
+        tagging.route(flight);
 
         // Find the fare by flight ID and fare name
         FlightFare fare = flightFareRepository.findByFlightIdAndFareNameAndDeleted(flightId, fareName)
                 .orElseThrow(() -> new BadRequestException("Fare '" + fareName + "' not found for flight " + flightId));
 
-        try {
-            /*
-             * Old logic for calculating available seats
-             * int totalSeats = fare.getTotalSeats() != null ? fare.getTotalSeats() :
-             * seatService.countSeatsForFare(fare);
-             * int currentSoldSeats = fare.getSoldSeats() != null ? fare.getSoldSeats() : 0;
-             * int availableSeats = totalSeats - currentSoldSeats;
-             */
-            int availableSeats = 0;
-
-            // Check if enough seats are available
-            if (availableSeats < request.getSoldCount()) {
-                return FsConfirmFareSaleResponseDTO.builder()
-                        .success(false)
-                        .fareName(fareName)
-                        .confirmedCount(0)
-                        .failureReason("Not enough available seats. Available: " + availableSeats + ", Requested: "
-                                + request.getSoldCount())
-                        .build();
-            }
-
-            /*
-             * Update sold seats count (old logic)
-             * fare.setSoldSeats(currentSoldSeats + request.getSoldCount());
-             */
-
-            /*
-             * Set total seats if not already set (old logic)
-             * if (fare.getTotalSeats() == null) {
-             * fare.setTotalSeats(totalSeats);
-             * }
-             */
-
-            flightFareRepository.save(fare);
-
+        // Saga retries must not sell the same booking twice
+        Optional<FareSale> existing = fareSaleRepository.findByFareIdAndBookingReference(
+                fare.getId(), request.getBookingReference());
+        if (existing.isPresent()) {
+            FareSale sale = existing.get();
+            boolean held = sale.getQuantity() > 0;
+            tagging.outcome(held ? FlightMetrics.SUCCESS : FlightMetrics.REJECTED);
             return FsConfirmFareSaleResponseDTO.builder()
-                    .success(true)
+                    .success(held)
                     .fareName(fareName)
-                    .confirmedCount(request.getSoldCount())
-                    .failureReason(null)
+                    .confirmedCount(sale.getQuantity())
+                    .failureReason(held ? null : "Booking " + sale.getBookingReference() + " was already released")
                     .build();
+        }
 
-        } catch (Exception e) {
-            log.error("Error confirming fare sale for flight {} and fare {}: {}", flightId, fareName, e.getMessage());
+        if (flightFareRepository.incrementSold(fare.getId(), request.getSoldCount()) == 0) {
+            int availableSeats = flightFareRepository.findRemainingByFlightIdAndFareName(flightId, fareName)
+                    .stream().findFirst().orElse(0);
+            tagging.outcome(FlightMetrics.REJECTED);
             return FsConfirmFareSaleResponseDTO.builder()
                     .success(false)
                     .fareName(fareName)
                     .confirmedCount(0)
-                    .failureReason("Internal error: " + e.getMessage())
+                    .failureReason("Not enough available seats. Available: " + Math.max(0, availableSeats)
+                            + ", Requested: " + request.getSoldCount())
                     .build();
         }
+
+        fareSaleRepository.save(FareSale.builder()
+                .fareId(fare.getId())
+                .bookingReference(request.getBookingReference())
+                .quantity(request.getSoldCount())
+                .confirmedAt(LocalDateTime.now())
+                .build());
+        log.info("Sold {} seats of fare '{}' on flight {} to booking {}",
+                request.getSoldCount(), fareName, flightId, request.getBookingReference());
+
+        tagging.outcome(FlightMetrics.SUCCESS);
+        return FsConfirmFareSaleResponseDTO.builder()
+                .success(true)
+                .fareName(fareName)
+                .confirmedCount(request.getSoldCount())
+                .failureReason(null)
+                .build();
     }
 
     @Override
     @Transactional
-    @Deprecated
     public FsReleaseFareResponseDTO releaseFare(UUID flightId, String fareName, FsReleaseFareRequestDTO request) {
-        // Validate flight exists
-        flightRepository.findByIdAndDeleted(flightId, false)
+        return flightMetrics.record(FlightMetrics.RELEASE_FARE,
+                tagging -> releaseFare(flightId, fareName, request, tagging));
+    }
+
+    private FsReleaseFareResponseDTO releaseFare(UUID flightId, String fareName, FsReleaseFareRequestDTO request,
+                                                 FlightMetrics.Tagging tagging) {
+        if (request.getBookingReference() == null || request.getBookingReference().isBlank()) {
+            throw new BadRequestException("Booking reference is required to release a fare");
+        }
+
+        seatWriteCoordinator.lockFlight(flightId);
+        Flight flight = flightRepository.findByIdAndDeleted(flightId, false)
                 .orElseThrow(() -> new BadRequestException("Flight not found with ID " + flightId));
+        tagging.route(flight);
 
         // Find the fare by flight ID and fare name
         FlightFare fare = flightFareRepository.findByFlightIdAndFareNameAndDeleted(flightId, fareName)
                 .orElseThrow(() -> new BadRequestException("Fare '" + fareName + "' not found for flight " + flightId));
-        try {
-            /*
-             * Old logic for calculating available seats
-             * int currentSoldSeats = fare.getSoldSeats() != null ? fare.getSoldSeats() : 0;
-             */
-            int currentSoldSeats = 0;
-            Integer countToReleaseObj = request.getCountToRelease();
-            int countToRelease = (countToReleaseObj != null) ? countToReleaseObj : 0;
-
-            // Check if there are enough sold seats to release
-            if (currentSoldSeats < countToRelease) {
-                return FsReleaseFareResponseDTO.builder()
-                        .success(false)
-                        .fareName(fareName)
-                        .releasedCount(0)
-                        .message("Cannot release " + countToRelease + " seats. Only " + currentSoldSeats
-                                + " seats are currently sold.")
-                        .build();
-            }
-
-            /*
-             * Update sold seats count (old logic)
-             * This logic assumes that the fare has a field for sold seats.
-             * If not, you may need to implement your own logic to track sold seats.
-             * fare.setSoldSeats(Math.max(0, currentSoldSeats - countToRelease));
-             */
-
-            flightFareRepository.save(fare);
-
-            String message = String.format("Successfully released %d seats for fare '%s'. Reason: %s",
-                    countToRelease, fareName, request.getReason() != null ? request.getReason() : "Not specified");
 
+        FareSale sale = fareSaleRepository.findByFareIdAndBookingReference(fare.getId(), request.getBookingReference())
+                .orElse(null);
+        if (sale == null || sale.getQuantity() == 0) {
+            // Nothing (left) to release: compensation paths may call this more than once
+            tagging.outcome(FlightMetrics.SUCCESS);
             return FsReleaseFareResponseDTO.builder()
                     .success(true)
                     .fareName(fareName)
-                    .releasedCount(countToRelease)
-                    .message(message)
+                    .releasedCount(0)
+                    .message("No seats held for booking " + request.getBookingReference() + " on fare '" + fareName + "'")
                     .build();
+        }
 
-        } catch (Exception e) {
-            log.error("Error releasing fare for flight {} and fare {}: {}", flightId, fareName, e.getMessage());
+        // Without an explicit count, release everything the booking holds
+        Integer countToReleaseObj = request.getCountToRelease();
+        int countToRelease = countToReleaseObj != null && countToReleaseObj > 0
+                ? Math.min(countToReleaseObj, sale.getQuantity())
+                : sale.getQuantity();
+
+        if (flightFareRepository.decrementSold(fare.getId(), countToRelease) == 0) {
+            log.error("Sold counter of fare {} is below the {} seats held by booking {}",
+                    fare.getId(), countToRelease, request.getBookingReference());
+            tagging.outcome(FlightMetrics.FAILED);
             return FsReleaseFareResponseDTO.builder()
                     .success(false)
                     .fareName(fareName)
                     .releasedCount(0)
-                    .message("Internal error: " + e.getMessage())
+                    .message("Fare inventory is inconsistent for booking " + request.getBookingReference())
                     .build();
         }
+
+        sale.setQuantity(sale.getQuantity() - countToRelease);
+        sale.setReleasedAt(LocalDateTime.now());
+        fareSaleRepository.save(sale);
+        // Freed seats go to the fare's waitlist first, under the lock still held
+        fareWaitlistService.promoteWaiting(flightId, fare.getId());
+
+        String message = String.format("Successfully released %d seats for fare '%s'. Reason: %s",
+                countToRelease, fareName, request.getReason() != null ? request.getReason() : "Not specified");
+
+        tagging.outcome(FlightMetrics.SUCCESS);
+        return FsReleaseFareResponseDTO.builder()
+                .success(true)
+                .fareName(fareName)
+                .releasedCount(countToRelease)
+                .message(message)
+                .build();
     }
 
     private void validateFlightCreateRequest(FsFlightCreateRequest request) {
@@ -1005,4 +1702,12 @@ public class FlightServiceImpl implements FlightService {
         
         return benefits;
     }
+
+    /**
+     * A direct flight ({@code second} null) or a one-stop pair, ranked by {@code key} then {@code id}.
+     */
+    private record Itinerary(Flight first, Flight second, long key, String id) {
+        static final Comparator<Itinerary> ORDER = Comparator.comparingLong(Itinerary::key)
+                .thenComparing(Itinerary::id);
+    }
 }
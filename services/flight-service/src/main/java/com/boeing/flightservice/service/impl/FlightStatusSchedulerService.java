@@ -3,9 +3,11 @@ package com.boeing.flightservice.service.impl;
 import com.boeing.flightservice.entity.Flight;
 import com.boeing.flightservice.entity.enums.FlightStatus;
 import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.service.event.FlightChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +22,7 @@ import java.util.List;
 public class FlightStatusSchedulerService {
 
     private final FlightRepository flightRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${scheduler.flight-status.close-booking-hours-before-departure:2}")
     private int closeBookingHoursBeforeDeparture;
@@ -62,6 +65,8 @@ public class FlightStatusSchedulerService {
             }
 
             flightRepository.saveAll(flightsToClose);
+            flightsToClose.forEach(flight -> eventPublisher.publishEvent(
+                    new FlightChangedEvent(flight.getId(), FlightChangedEvent.Change.STATUS)));
             
             log.info("Successfully closed booking for {} flights", flightsToClose.size());
             
@@ -105,6 +110,8 @@ public class FlightStatusSchedulerService {
             }
 
             flightRepository.saveAll(flightsToComplete);
+            flightsToComplete.forEach(flight -> eventPublisher.publishEvent(
+                    new FlightChangedEvent(flight.getId(), FlightChangedEvent.Change.STATUS)));
             
             log.info("Successfully marked {} flights as completed", flightsToComplete.size());
             
@@ -9,9 +9,11 @@ import com.boeing.flightservice.exception.BadRequestException;
 import com.boeing.flightservice.exception.ResourceNotFoundException;
 import com.boeing.flightservice.repository.AirportRepository;
 import com.boeing.flightservice.repository.RouteRepository;
+import com.boeing.flightservice.service.event.ReferenceDataChangedEvent;
 import com.boeing.flightservice.service.spec.RouteService;
 import com.boeing.flightservice.util.PaginationUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,8 +29,10 @@ public class RouteServiceImpl implements RouteService {
 
     private final RouteRepository routeRepository;
     private final AirportRepository airportRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public MappingJacksonValue findAll(Map<String, String> params) {
         return PaginationUtil.findAll(
                 params,
@@ -62,6 +66,7 @@ public class RouteServiceImpl implements RouteService {
                 .estimatedDurationMinutes(request.getEstimatedDurationMinutes())
                 .build();
         route = routeRepository.save(route);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.ROUTE));
 
         return RouteResponseDTO.fromEntity(route);
     }
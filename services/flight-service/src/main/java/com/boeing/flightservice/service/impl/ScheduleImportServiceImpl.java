@@ -0,0 +1,624 @@
+package com.boeing.flightservice.service.impl;
+
+import com.boeing.flightservice.dto.request.FsFlightCreateRequest;
+import com.boeing.flightservice.dto.request.FsScheduleImportRequestDTO;
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.dto.response.FsScheduleImportStatusDTO;
+import com.boeing.flightservice.entity.Benefit;
+import com.boeing.flightservice.entity.Route;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.exception.ResourceNotFoundException;
+import com.boeing.flightservice.repository.BenefitRepository;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.repository.RouteRepository;
+import com.boeing.flightservice.service.event.FlightChangedEvent;
+import com.boeing.flightservice.service.ext.ExternalAircraftService;
+import com.boeing.flightservice.service.spec.ScheduleImportService;
+import com.boeing.flightservice.util.SeatCodec;
+import com.boeing.flightservice.util.SsimLeg;
+import com.boeing.flightservice.util.SsimParser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports a season schedule from an SSIM file without holding the file or its flights in memory.
+ * <p>
+ * The upload is spooled to a temporary file and read line by line on a single import thread, so imports run one
+ * at a time. Each leg record is expanded into one flight per operating day and the flights are processed in
+ * chunks: codes already in the database are skipped (re-running an import only adds what is missing), each
+ * flight gets the first mapped aircraft whose timeline has room for it, and the chunk is written with JDBC
+ * batches in a transaction of its own. Routes, aircraft seat layouts and aircraft timelines are looked up once per
+ * import and kept in memory, so the database sees one code query and three batch inserts per chunk.
+ */
+@Slf4j
+@Service
+public class ScheduleImportServiceImpl implements ScheduleImportService {
+
+    private static final String INSERT_FLIGHT_SQL = """
+            INSERT INTO flights (id, code, aircraft_id, origin_airport_id, destination_airport_id, departure_time,
+                                 estimated_arrival_time, flight_duration_minutes, flight_status, is_deleted)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE)
+            """;
+
+    private static final String INSERT_FARE_SQL = """
+            INSERT INTO flight_fares (id, flight_id, flight_fare_name, fare_type, min_price, max_price, seat_bitmap,
+                                      capacity, sold, is_deleted)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, FALSE)
+            """;
+
+    private static final String INSERT_FARE_BENEFIT_SQL =
+            "INSERT INTO flight_fare_benefits (fare_id, benefit_id) VALUES (?, ?)";
+
+    private static final String AIRCRAFT_SCHEDULE_SQL = """
+            SELECT code, departure_time, estimated_arrival_time
+            FROM flights
+            WHERE aircraft_id = ? AND is_deleted = FALSE AND flight_status <> 'CANCELLED'
+            """;
+
+    private final FlightRepository flightRepository;
+    private final RouteRepository routeRepository;
+    private final BenefitRepository benefitRepository;
+    private final ExternalAircraftService externalAircraftService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Cache<UUID, Job> jobs;
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("schedule-import").daemon().factory());
+
+    @Value("${business.minimum-hours-between-flights-of-aircraft}")
+    private int minimumHoursBetweenFlightsOfAircraft;
+
+    @Value("${schedule-import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${schedule-import.max-issues:100}")
+    private int maxIssues;
+
+    @Value("${schedule-import.max-days-ahead:400}")
+    private int maxDaysAhead;
+
+    public ScheduleImportServiceImpl(FlightRepository flightRepository,
+                                     RouteRepository routeRepository,
+                                     BenefitRepository benefitRepository,
+                                     ExternalAircraftService externalAircraftService,
+                                     JdbcTemplate jdbcTemplate,
+                                     ApplicationEventPublisher eventPublisher,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${schedule-import.retention-hours:24}") long retentionHours) {
+        this.flightRepository = flightRepository;
+        this.routeRepository = routeRepository;
+        this.benefitRepository = benefitRepository;
+        this.externalAircraftService = externalAircraftService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(retentionHours, TimeUnit.HOURS)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public FsScheduleImportStatusDTO startImport(MultipartFile file, FsScheduleImportRequestDTO request) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("An SSIM file is required");
+        }
+        validateRequest(request);
+
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("ssim-import-", ".dat");
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            log.error("Failed to spool SSIM upload {}: {}", file.getOriginalFilename(), e.getMessage());
+            throw new BadRequestException("Could not read the uploaded SSIM file");
+        }
+
+        Job job = new Job(UUID.randomUUID(), file.getOriginalFilename(), request.dryRun());
+        jobs.put(job.id, job);
+        executor.execute(() -> {
+            try {
+                run(job, spooled, request);
+            } finally {
+                try {
+                    Files.deleteIfExists(spooled);
+                } catch (IOException e) {
+                    log.warn("Could not delete spooled SSIM file {}: {}", spooled, e.getMessage());
+                }
+            }
+        });
+        log.info("Schedule import {} queued for {} ({} bytes, dry run: {})",
+                job.id, job.fileName, file.getSize(), request.dryRun());
+        return job.toDTO();
+    }
+
+    @Override
+    public FsScheduleImportStatusDTO getImport(UUID jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Schedule import not found with ID " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    private void validateRequest(FsScheduleImportRequestDTO request) {
+        if (request == null) {
+            throw new BadRequestException("Import options are required");
+        }
+        if (request.aircraftByType() == null || request.aircraftByType().isEmpty()) {
+            throw new BadRequestException("aircraftByType must map at least one SSIM aircraft type to aircraft");
+        }
+        request.aircraftByType().forEach((type, aircraft) -> {
+            if (aircraft == null || aircraft.isEmpty()) {
+                throw new BadRequestException("No aircraft given for aircraft type " + type);
+            }
+        });
+        if (request.seatClassFares() == null || request.seatClassFares().isEmpty()) {
+            throw new BadRequestException("At least one seat class fare must be provided");
+        }
+        Set<FareType> fareTypes = new HashSet<>();
+        Set<UUID> benefitIds = new HashSet<>();
+        for (var fare : request.seatClassFares()) {
+            if (fare.fareType() == null || fare.name() == null || fare.name().isBlank()
+                    || fare.minPrice() == null || fare.maxPrice() == null) {
+                throw new BadRequestException("Every seat class fare needs a fare type, name, minPrice and maxPrice");
+            }
+            if (!fareTypes.add(fare.fareType())) {
+                throw new BadRequestException("Duplicate fare type found: " + fare.fareType().name());
+            }
+            if (fare.minPrice() <= 0 || fare.minPrice() > fare.maxPrice()) {
+                throw new BadRequestException("Invalid price range for fare " + fare.name());
+            }
+            if (fare.benefits() != null) {
+                benefitIds.addAll(fare.benefits());
+            }
+        }
+        if (!benefitIds.isEmpty()) {
+            Set<UUID> found = new HashSet<>();
+            for (Benefit benefit : benefitRepository.findAllById(benefitIds)) {
+                if (!Boolean.TRUE.equals(benefit.getDeleted())) {
+                    found.add(benefit.getId());
+                }
+            }
+            benefitIds.removeAll(found);
+            if (!benefitIds.isEmpty()) {
+                throw new BadRequestException("Benefits not found: " + benefitIds);
+            }
+        }
+        if (request.from() != null && request.to() != null && request.from().isAfter(request.to())) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (request.to() != null && request.to().isAfter(LocalDate.now().plusDays(maxDaysAhead))) {
+            throw new BadRequestException("Flights can be imported at most " + maxDaysAhead + " days ahead");
+        }
+    }
+
+    private void run(Job job, Path file, FsScheduleImportRequestDTO request) {
+        job.start();
+        try {
+            ImportRun run = new ImportRun(job, request);
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    job.linesRead.incrementAndGet();
+                    if (SsimParser.isLegRecord(line)) {
+                        run.accept(line, lineNumber);
+                    }
+                }
+            }
+            run.flush();
+            job.finish(FsScheduleImportStatusDTO.State.COMPLETED, request.dryRun()
+                    ? "Dry run: " + run.accepted + " of " + job.planned.get() + " flights can be created"
+                    : job.created.get() + " of " + job.planned.get() + " flights created");
+            log.info("Schedule import {} completed: {} lines, {} legs, {} flights planned, {} created, {} skipped in {} ms",
+                    job.id, job.linesRead.get(), job.legsRead.get(), job.planned.get(), job.created.get(),
+                    job.skipped.get(), job.elapsedMs());
+        } catch (Exception e) {
+            // Chunks written before the failure stay; importing the file again skips their flight codes
+            log.error("Schedule import {} failed after {} lines: {}", job.id, job.linesRead.get(), e.getMessage(), e);
+            job.finish(FsScheduleImportStatusDTO.State.FAILED, e.getMessage());
+        }
+    }
+
+    private record RouteRef(UUID originId, UUID destinationId, int durationMinutes) {
+    }
+
+    private record PlannedFlight(int line, String code, String aircraftType, RouteRef route,
+                                 LocalDateTime departure, LocalDateTime arrival, int durationMinutes) {
+    }
+
+    private record AssignedFlight(UUID flightId, UUID aircraftId, PlannedFlight flight) {
+    }
+
+    private record Slot(String code, LocalDateTime departure, LocalDateTime arrival) {
+    }
+
+    private record SeatAllocation(byte[] bitmap, int capacity) {
+    }
+
+    /**
+     * State of one import: the in-memory lookups, the current chunk and the aircraft timelines built so far.
+     */
+    private final class ImportRun {
+
+        final Job job;
+        final FsScheduleImportRequestDTO request;
+        final Map<String, RouteRef> routes;
+        final Duration turnaround = Duration.ofHours(minimumHoursBetweenFlightsOfAircraft);
+        final LocalDateTime now = LocalDateTime.now();
+        final LocalDate horizon = now.toLocalDate().plusDays(maxDaysAhead);
+        // Seat bitmap per fare type; empty for an aircraft that cannot take the requested fares
+        final Map<UUID, Map<FareType, SeatAllocation>> layouts = new HashMap<>();
+        // Flights of each aircraft by departure, existing and imported
+        final Map<UUID, TreeMap<LocalDateTime, Slot>> timelines = new HashMap<>();
+        final Set<String> codes = new HashSet<>();
+        List<PlannedFlight> chunk;
+        // Longest flight on any loaded timeline, bounds how far back an overlapping flight can depart
+        long maxDurationMinutes;
+        long accepted;
+
+        ImportRun(Job job, FsScheduleImportRequestDTO request) {
+            this.job = job;
+            this.request = request;
+            this.routes = loadRoutes();
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        void accept(String line, int lineNumber) {
+            SsimLeg leg;
+            try {
+                leg = SsimParser.parseLeg(line, lineNumber);
+            } catch (IllegalArgumentException e) {
+                job.issue(lineNumber, null, "Unreadable leg record: " + e.getMessage(), maxIssues);
+                return;
+            }
+            job.legsRead.incrementAndGet();
+
+            RouteRef route = routes.get(leg.origin() + "|" + leg.destination());
+            if (route == null) {
+                job.issue(lineNumber, null, "No active route " + leg.origin() + "-" + leg.destination(), maxIssues);
+                return;
+            }
+            if (!request.aircraftByType().containsKey(leg.aircraftType())) {
+                job.issue(lineNumber, null, "No aircraft mapped for aircraft type " + leg.aircraftType(), maxIssues);
+                return;
+            }
+            int duration = leg.blockMinutes() > 0 ? leg.blockMinutes() : route.durationMinutes();
+
+            LocalDate first = latest(leg.periodFrom(), request.from(), now.toLocalDate());
+            LocalDate last = earliest(leg.periodTo(), request.to(), horizon);
+            for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+                if (!leg.operatesOn(date)) {
+                    continue;
+                }
+                LocalDateTime departure = date.plusDays(leg.departureDateVariation()).atTime(leg.departureTime());
+                if (departure.isBefore(now)) {
+                    continue;
+                }
+                job.planned.incrementAndGet();
+                chunk.add(new PlannedFlight(lineNumber, leg.flightCode(date), leg.aircraftType(), route,
+                        departure, departure.plusMinutes(duration), duration));
+                if (chunk.size() >= chunkSize) {
+                    flush();
+                }
+            }
+        }
+
+        /**
+         * Assigns aircraft to the flights of the current chunk and writes the ones that got one.
+         */
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<PlannedFlight> flights = chunk;
+            chunk = new ArrayList<>(chunkSize);
+
+            Set<String> existing = new HashSet<>(
+                    flightRepository.findExistingCodes(flights.stream().map(PlannedFlight::code).toList()));
+            List<AssignedFlight> assigned = new ArrayList<>(flights.size());
+            for (PlannedFlight flight : flights) {
+                if (existing.contains(flight.code()) || !codes.add(flight.code())) {
+                    skip(flight, "Flight code already exists");
+                    continue;
+                }
+                UUID aircraftId = assignAircraft(flight);
+                if (aircraftId == null) {
+                    skip(flight, "No " + flight.aircraftType()
+                            + " aircraft is free for this flight within the minimum turnaround");
+                    continue;
+                }
+                assigned.add(new AssignedFlight(UUID.randomUUID(), aircraftId, flight));
+            }
+            accepted += assigned.size();
+
+            if (!request.dryRun() && !assigned.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> persist(assigned));
+                job.created.addAndGet(assigned.size());
+            }
+            log.debug("Schedule import {}: {} lines read, {} flights planned, {} created, {} skipped",
+                    job.id, job.linesRead.get(), job.planned.get(), job.created.get(), job.skipped.get());
+        }
+
+        private void skip(PlannedFlight flight, String reason) {
+            job.skipped.incrementAndGet();
+            job.issue(flight.line(), flight.code(), reason, maxIssues);
+        }
+
+        /**
+         * First mapped aircraft that has the requested cabins and no flight within the turnaround of this one
+         * (same rule as single flight creation); the flight is added to its timeline.
+         */
+        private UUID assignAircraft(PlannedFlight flight) {
+            for (UUID aircraftId : request.aircraftByType().get(flight.aircraftType())) {
+                if (layout(aircraftId).isEmpty()) {
+                    continue;
+                }
+                TreeMap<LocalDateTime, Slot> timeline = timeline(aircraftId);
+                if (fits(timeline, flight.departure(), flight.arrival())) {
+                    place(timeline, new Slot(flight.code(), flight.departure(), flight.arrival()));
+                    return aircraftId;
+                }
+            }
+            return null;
+        }
+
+        private boolean fits(TreeMap<LocalDateTime, Slot> timeline, LocalDateTime departure, LocalDateTime arrival) {
+            LocalDateTime from = departure.minus(turnaround).minusMinutes(maxDurationMinutes);
+            LocalDateTime to = arrival.plus(turnaround);
+            for (Slot slot : timeline.subMap(from, true, to, true).values()) {
+                if (!arrival.isBefore(slot.departure().minus(turnaround))
+                        && !departure.isAfter(slot.arrival().plus(turnaround))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void place(TreeMap<LocalDateTime, Slot> timeline, Slot slot) {
+            // Two flights of one aircraft departing together always conflict, keeping the longer one is enough
+            timeline.merge(slot.departure(), slot, (a, b) -> a.arrival().isAfter(b.arrival()) ? a : b);
+            maxDurationMinutes = Math.max(maxDurationMinutes,
+                    Duration.between(slot.departure(), slot.arrival()).toMinutes());
+        }
+
+        private TreeMap<LocalDateTime, Slot> timeline(UUID aircraftId) {
+            TreeMap<LocalDateTime, Slot> timeline = timelines.get(aircraftId);
+            if (timeline == null) {
+                TreeMap<LocalDateTime, Slot> loaded = new TreeMap<>();
+                jdbcTemplate.query(AIRCRAFT_SCHEDULE_SQL, rs -> {
+                    place(loaded, new Slot(rs.getString("code"),
+                            rs.getObject("departure_time", LocalDateTime.class),
+                            rs.getObject("estimated_arrival_time", LocalDateTime.class)));
+                }, aircraftId);
+                timeline = loaded;
+                timelines.put(aircraftId, timeline);
+            }
+            return timeline;
+        }
+
+        private Map<FareType, SeatAllocation> layout(UUID aircraftId) {
+            Map<FareType, SeatAllocation> layout = layouts.get(aircraftId);
+            if (layout == null) {
+                layout = loadLayout(aircraftId);
+                layouts.put(aircraftId, layout);
+            }
+            return layout;
+        }
+
+        private Map<FareType, SeatAllocation> loadLayout(UUID aircraftId) {
+            try {
+                FsFlightWithFareDetailsDTO.FsAircraftDTO aircraft = externalAircraftService.getAircraftInfo(aircraftId);
+                if (aircraft == null || aircraft.id() == null) {
+                    job.issue(0, null, "Aircraft not found or not active with ID " + aircraftId, maxIssues);
+                    return Map.of();
+                }
+                Map<FareType, List<String>> sections = externalAircraftService.getAircraftSeatSections(aircraftId);
+                Map<FareType, SeatAllocation> layout = new EnumMap<>(FareType.class);
+                for (var fare : request.seatClassFares()) {
+                    List<String> seatCodes = sections.get(fare.fareType());
+                    if (seatCodes == null || seatCodes.isEmpty()) {
+                        job.issue(0, null, "Aircraft " + aircraftId + " has no "
+                                + fare.fareType().name() + " seats", maxIssues);
+                        return Map.of();
+                    }
+                    layout.put(fare.fareType(), new SeatAllocation(SeatCodec.encode(seatCodes),
+                            SeatCodec.toBitSet(seatCodes).cardinality()));
+                }
+                return layout;
+            } catch (Exception e) {
+                log.warn("Schedule import {}: aircraft {} unavailable: {}", job.id, aircraftId, e.getMessage());
+                job.issue(0, null, "Aircraft " + aircraftId + " could not be loaded from aircraft service", maxIssues);
+                return Map.of();
+            }
+        }
+
+        private void persist(List<AssignedFlight> flights) {
+            jdbcTemplate.batchUpdate(INSERT_FLIGHT_SQL, flights, flights.size(), (statement, assigned) -> {
+                PlannedFlight flight = assigned.flight();
+                statement.setObject(1, assigned.flightId());
+                statement.setString(2, flight.code());
+                statement.setObject(3, assigned.aircraftId());
+                statement.setObject(4, flight.route().originId());
+                statement.setObject(5, flight.route().destinationId());
+                statement.setObject(6, flight.departure());
+                statement.setObject(7, flight.arrival());
+                statement.setInt(8, flight.durationMinutes());
+                statement.setString(9, FlightStatus.SCHEDULED_OPEN.name());
+            });
+
+            List<Object[]> fares = new ArrayList<>(flights.size() * request.seatClassFares().size());
+            List<Object[]> fareBenefits = new ArrayList<>();
+            for (AssignedFlight assigned : flights) {
+                Map<FareType, SeatAllocation> layout = layouts.get(assigned.aircraftId());
+                for (FsFlightCreateRequest.SeatClassFareRequest fare : request.seatClassFares()) {
+                    UUID fareId = UUID.randomUUID();
+                    SeatAllocation seats = layout.get(fare.fareType());
+                    fares.add(new Object[]{fareId, assigned.flightId(), fare.name(), fare.fareType().name(),
+                            fare.minPrice(), fare.maxPrice(), seats.bitmap(), seats.capacity()});
+                    if (fare.benefits() != null) {
+                        for (UUID benefitId : new LinkedHashSet<>(fare.benefits())) {
+                            fareBenefits.add(new Object[]{fareId, benefitId});
+                        }
+                    }
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_FARE_SQL, fares);
+            if (!fareBenefits.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_FARE_BENEFIT_SQL, fareBenefits);
+            }
+            for (AssignedFlight assigned : flights) {
+                eventPublisher.publishEvent(new FlightChangedEvent(assigned.flightId(), FlightChangedEvent.Change.CREATED));
+            }
+        }
+
+        /**
+         * Active routes by "ORIGIN|DESTINATION" airport code; the first one wins if a pair has several.
+         */
+        private Map<String, RouteRef> loadRoutes() {
+            return readOnlyTransactionTemplate.execute(status -> {
+                Map<String, RouteRef> byCodes = new HashMap<>();
+                for (Route route : routeRepository.findByDeleted(false)) {
+                    if (route.getOrigin() == null || route.getDestination() == null
+                            || Boolean.TRUE.equals(route.getOrigin().getDeleted())
+                            || Boolean.TRUE.equals(route.getDestination().getDeleted())) {
+                        continue;
+                    }
+                    byCodes.putIfAbsent(
+                            route.getOrigin().getCode().toUpperCase(Locale.ROOT) + "|"
+                                    + route.getDestination().getCode().toUpperCase(Locale.ROOT),
+                            new RouteRef(route.getOrigin().getId(), route.getDestination().getId(),
+                                    route.getEstimatedDurationMinutes()));
+                }
+                return byCodes;
+            });
+        }
+
+        private static LocalDate latest(LocalDate a, LocalDate b, LocalDate c) {
+            LocalDate latest = a;
+            if (b != null && b.isAfter(latest)) {
+                latest = b;
+            }
+            return c.isAfter(latest) ? c : latest;
+        }
+
+        private static LocalDate earliest(LocalDate a, LocalDate b, LocalDate c) {
+            LocalDate earliest = c;
+            if (a != null && a.isBefore(earliest)) {
+                earliest = a;
+            }
+            return b != null && b.isBefore(earliest) ? b : earliest;
+        }
+    }
+
+    /**
+     * Progress of one import, written by the import thread and read by status requests.
+     */
+    private static final class Job {
+
+        final UUID id;
+        final String fileName;
+        final boolean dryRun;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final AtomicLong linesRead = new AtomicLong();
+        final AtomicLong legsRead = new AtomicLong();
+        final AtomicLong planned = new AtomicLong();
+        final AtomicLong created = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        final AtomicLong issueCount = new AtomicLong();
+        final List<FsScheduleImportStatusDTO.Issue> issues = new CopyOnWriteArrayList<>();
+        volatile FsScheduleImportStatusDTO.State state = FsScheduleImportStatusDTO.State.QUEUED;
+        volatile String message;
+        volatile long startedNanos;
+        volatile long finishedNanos;
+        volatile LocalDateTime finishedAt;
+
+        Job(UUID id, String fileName, boolean dryRun) {
+            this.id = id;
+            this.fileName = fileName;
+            this.dryRun = dryRun;
+        }
+
+        void start() {
+            startedNanos = System.nanoTime();
+            state = FsScheduleImportStatusDTO.State.RUNNING;
+        }
+
+        void finish(FsScheduleImportStatusDTO.State state, String message) {
+            finishedNanos = System.nanoTime();
+            this.message = message;
+            this.state = state;
+            finishedAt = LocalDateTime.now();
+        }
+
+        void issue(int line, String flightCode, String message, int maxIssues) {
+            if (issueCount.incrementAndGet() <= maxIssues) {
+                issues.add(new FsScheduleImportStatusDTO.Issue(line, flightCode, message));
+            }
+        }
+
+        long elapsedMs() {
+            if (startedNanos == 0) {
+                return 0;
+            }
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            return TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+        }
+
+        FsScheduleImportStatusDTO toDTO() {
+            return FsScheduleImportStatusDTO.builder()
+                    .jobId(id)
+                    .fileName(fileName)
+                    .state(state)
+                    .dryRun(dryRun)
+                    .linesRead(linesRead.get())
+                    .legsRead(legsRead.get())
+                    .flightsPlanned(planned.get())
+                    .flightsCreated(created.get())
+                    .flightsSkipped(skipped.get())
+                    .issueCount(issueCount.get())
+                    .issues(List.copyOf(issues))
+                    .message(message)
+                    .submittedAt(submittedAt)
+                    .finishedAt(finishedAt)
+                    .elapsedMs(elapsedMs())
+                    .build();
+        }
+    }
+}
@@ -6,9 +6,16 @@ import org.springframework.stereotype.Service;
 @Service
 public class FlightTimeServiceImpl implements FlightTimeService {
 
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
     @Override
     public double calculateFlightTime(double lat1, double lon1, double lat2, double lon2) {
-        double earthRadius = 6371.0;
+        double distance = calculateDistanceKm(lat1, lon1, lat2, lon2);
+        return (distance / 900.0) * 60; // Flight time in minutes (assuming 900km/h)
+    }
+
+    @Override
+    public double calculateDistanceKm(double lat1, double lon1, double lat2, double lon2) {
         double dLat = Math.toRadians(lat2 - lat1);
         double dLon = Math.toRadians(lon2 - lon1);
 
@@ -16,9 +23,7 @@ public class FlightTimeServiceImpl implements FlightTimeService {
                 + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
                 * Math.sin(dLon / 2) * Math.sin(dLon / 2);
         double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        double distance = earthRadius * c;
-
-        return (distance / 900.0) * 60; // Flight time in minutes (assuming 900km/h)
+        return EARTH_RADIUS_KM * c;
     }
 
 }
@@ -0,0 +1,120 @@
+package com.boeing.flightservice.service.impl.logic;
+
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.service.spec.logic.SeatAssignmentService;
+import com.boeing.flightservice.util.CabinLayout;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Works a row at a time on 64-bit words: a row's free seats become a dense mask, and {@code n} adjacent free
+ * seats are the bits that survive {@code mask & mask >>> 1 & ... & mask >>> (n - 1)}. Rows are tried front
+ * to back and blocks left to right, so results are deterministic.
+ */
+@Service
+public class SeatAssignmentServiceImpl implements SeatAssignmentService {
+
+    @Override
+    public Assignment assign(CabinLayout cabin, BitSet available, int partySize) {
+        if (partySize <= 0) {
+            throw new BadRequestException("Party size must be positive, got " + partySize);
+        }
+        long[] words = available.toLongArray();
+        long[] free = new long[cabin.rowCount()];
+        int totalFree = 0;
+        for (int i = 0; i < free.length; i++) {
+            free[i] = cabin.freeSeats(i, words);
+            totalFree += Long.bitCount(free[i]);
+        }
+        if (totalFree < partySize) {
+            throw new BadRequestException("Only " + totalFree + " seats left, cannot seat a party of " + partySize);
+        }
+
+        Assignment assignment = sameRow(cabin, free, partySize);
+        if (assignment == null && partySize > 1) {
+            assignment = adjacentRows(cabin, free, partySize);
+        }
+        return assignment != null ? assignment : scattered(cabin, free, partySize);
+    }
+
+    private Assignment sameRow(CabinLayout cabin, long[] free, int size) {
+        for (int i = 0; i < free.length; i++) {
+            long starts = runs(free[i], size) & cabin.blockStarts(i, size);
+            if (starts != 0) {
+                List<String> seats = new ArrayList<>(size);
+                addBlock(cabin, i, Long.numberOfTrailingZeros(starts), size, seats);
+                return Assignment.builder().seatCodes(seats).strategy(Strategy.SAME_ROW).build();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Splits the party over two consecutive rows, preferring the second block directly behind the first.
+     */
+    private Assignment adjacentRows(CabinLayout cabin, long[] free, int size) {
+        int front = (size + 1) / 2;
+        int back = size / 2;
+        for (int i = 0; i + 1 < free.length; i++) {
+            if (cabin.row(i + 1) != cabin.row(i) + 1) {
+                continue;
+            }
+            long frontStarts = runs(free[i], front) & cabin.blockStarts(i, front);
+            long backStarts = runs(free[i + 1], back) & cabin.blockStarts(i + 1, back);
+            if (frontStarts == 0 || backStarts == 0) {
+                continue;
+            }
+            int bestFront = Long.numberOfTrailingZeros(frontStarts);
+            int bestBack = Long.numberOfTrailingZeros(backStarts);
+            int bestOverlap = -1;
+            for (long f = frontStarts; f != 0; f &= f - 1) {
+                int frontStart = Long.numberOfTrailingZeros(f);
+                long frontColumns = cabin.columnsOf(i, frontStart, front);
+                for (long b = backStarts; b != 0; b &= b - 1) {
+                    int backStart = Long.numberOfTrailingZeros(b);
+                    int overlap = Long.bitCount(frontColumns & cabin.columnsOf(i + 1, backStart, back));
+                    if (overlap > bestOverlap) {
+                        bestOverlap = overlap;
+                        bestFront = frontStart;
+                        bestBack = backStart;
+                    }
+                }
+                if (bestOverlap == back) {
+                    break;
+                }
+            }
+            List<String> seats = new ArrayList<>(size);
+            addBlock(cabin, i, bestFront, front, seats);
+            addBlock(cabin, i + 1, bestBack, back, seats);
+            return Assignment.builder().seatCodes(seats).strategy(Strategy.ADJACENT_ROWS).build();
+        }
+        return null;
+    }
+
+    private Assignment scattered(CabinLayout cabin, long[] free, int size) {
+        List<String> seats = new ArrayList<>(size);
+        for (int i = 0; i < free.length && seats.size() < size; i++) {
+            for (long bits = free[i]; bits != 0 && seats.size() < size; bits &= bits - 1) {
+                seats.add(cabin.seatCode(i, Long.numberOfTrailingZeros(bits)));
+            }
+        }
+        return Assignment.builder().seatCodes(seats).strategy(Strategy.SCATTERED).build();
+    }
+
+    private static long runs(long free, int size) {
+        long starts = free;
+        for (int shift = 1; shift < size && starts != 0; shift++) {
+            starts &= free >>> shift;
+        }
+        return starts;
+    }
+
+    private static void addBlock(CabinLayout cabin, int index, int start, int size, List<String> seats) {
+        for (int seat = start; seat < start + size; seat++) {
+            seats.add(cabin.seatCode(index, seat));
+        }
+    }
+}
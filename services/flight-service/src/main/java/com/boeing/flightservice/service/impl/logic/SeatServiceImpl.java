@@ -5,6 +5,7 @@ import com.boeing.flightservice.entity.FlightFare;
 import com.boeing.flightservice.exception.BadRequestException;
 import com.boeing.flightservice.service.cache.SeatPriceCacheService;
 import com.boeing.flightservice.service.spec.logic.SeatService;
+import com.boeing.flightservice.util.SeatCodec;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -20,10 +21,10 @@ public class SeatServiceImpl implements SeatService {
     @Override
     public FarePrice getSeatFareAndPrice(Flight flight, String seatCode) {
         FlightFare fare = null;
+        int ordinal = SeatCodec.ordinal(seatCode);
 
         for (FlightFare f : flight.getFares()) {
-            List<String> seatCodes = Arrays.stream(f.getSeats().split(",")).toList();
-            if (seatCodes.contains(seatCode)) {
+            if (f.getSeatSet().get(ordinal)) {
                 fare = f;
                 break;
             }
@@ -33,15 +34,25 @@ public class SeatServiceImpl implements SeatService {
             throw new BadRequestException("Seat code " + seatCode + " is not assigned to any fare for flight " + flight.getId() + "!");
         }
 
+        return FarePrice.builder()
+                .fare(fare)
+                .price(getFarePrice(fare))
+                .build();
+    }
+
+    @Override
+    public Double getFarePrice(FlightFare fare) {
         Double price = seatPriceCacheService.get(fare.getId().toString());
         if (price == null) {
-            price = ThreadLocalRandom.current().nextDouble(fare.getMinPrice(), fare.getMaxPrice());
+            // Handle case where minPrice equals maxPrice to avoid IllegalArgumentException
+            if (fare.getMinPrice().equals(fare.getMaxPrice())) {
+                price = fare.getMinPrice();
+            } else {
+                price = ThreadLocalRandom.current().nextDouble(fare.getMinPrice(), fare.getMaxPrice());
+            }
             seatPriceCacheService.put(fare.getId().toString(), price);
         }
-        return FarePrice.builder()
-                .fare(fare)
-                .price(price)
-                .build();
+        return price;
     }
 
     //--------------------------------------------------------------------------------------------------------
@@ -91,9 +102,9 @@ public class SeatServiceImpl implements SeatService {
     @Override
     @Deprecated
     public FlightFare findFareForSeat(String seatCode, List<FlightFare> fares) {
+        int ordinal = SeatCodec.ordinal(seatCode);
         for (FlightFare fare : fares) {
-            List<String> expanded = Arrays.stream(fare.getSeats().split(",")).toList();
-            if (expanded.contains(seatCode)) {
+            if (fare.getSeatSet().get(ordinal)) {
                 return fare;
             }
         }
@@ -109,7 +120,7 @@ public class SeatServiceImpl implements SeatService {
         List<String> missing = new ArrayList<>();
 
         for (FlightFare fare : fares) {
-            List<String> current = Arrays.stream(fare.getSeats().split(",")).toList();
+            List<String> current = SeatCodec.toSeatCodes(fare.getSeatSet());
 
             for (String seat : current) {
                 if (!allSeatMap.contains(seat)) {
@@ -139,27 +150,28 @@ public class SeatServiceImpl implements SeatService {
     @Override
     @Deprecated
     public int countTotalSeats(List<FlightFare> fares) {
-        Set<String> uniqueSeats = new HashSet<>();
+        BitSet uniqueSeats = new BitSet();
         for (FlightFare fare : fares) {
-            uniqueSeats.addAll(Arrays.stream(fare.getSeats().split(",")).toList());
+            uniqueSeats.or(fare.getSeatSet());
         }
-        return uniqueSeats.size();
+        return uniqueSeats.cardinality();
     }
 
     @Override
     @Deprecated
     public int countSeatsForFare(FlightFare fare) {
-        List<String> seats = Arrays.stream(fare.getSeats().split(",")).toList();
-        return seats.size();
+        return fare.getSeatCount();
     }
 
     @Override
     @Deprecated
     public int countRemainingSeats(FlightFare fare, List<String> occupiedSeats) {
-        Set<String> seatSet = new HashSet<>(Arrays.stream(fare.getSeats().split(",")).toList());
+        BitSet seatSet = (BitSet) fare.getSeatSet().clone();
         for (String occupied : occupiedSeats) {
-            seatSet.remove(occupied); // Only removes if it's actually in the range
+            if (SeatCodec.isValid(occupied)) {
+                seatSet.clear(SeatCodec.ordinal(occupied)); // Only clears if it's actually in the range
+            }
         }
-        return seatSet.size(); // Remaining seats
+        return seatSet.cardinality(); // Remaining seats
     }
 }
@@ -0,0 +1,177 @@
+package com.boeing.flightservice.service.lock;
+
+import com.boeing.flightservice.exception.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes seat mutations per flight for the lifetime of the current transaction.
+ * <p>
+ * Within one instance a striped set of JVM locks keeps writers of the same flight in line without a
+ * lock per flight; across instances {@code pg_advisory_xact_lock} on a 64-bit hash of the flight id does
+ * the same and is released by Postgres at commit/rollback. The JVM lock is released right after commit, so the
+ * next writer always sees the committed seats, but before after-commit listeners that may call other services
+ * (e.g. the flight details rebuild); on rollback it is released at completion.
+ */
+@Service
+@Slf4j
+public class SeatWriteCoordinator {
+
+    private static final String WAIT_TIMER = "flight.seat.lock.wait";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantLock[] stripes;
+    private final boolean advisoryLockEnabled;
+    private final long timeoutMillis;
+    private final Timer jvmWait;
+    private final Timer advisoryWait;
+    private final Counter timeouts;
+
+    public SeatWriteCoordinator(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${seat-lock.stripes:256}") int stripeCount,
+            @Value("${seat-lock.advisory.enabled:true}") boolean advisoryLockEnabled,
+            @Value("${seat-lock.timeout-ms:5000}") long timeoutMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.advisoryLockEnabled = advisoryLockEnabled;
+        this.timeoutMillis = timeoutMillis;
+        // Power of two so the stripe can be picked with a mask
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.jvmWait = Timer.builder(WAIT_TIMER)
+                .description("Time spent waiting for the per-flight seat write lock")
+                .tag("lock", "jvm")
+                .register(meterRegistry);
+        this.advisoryWait = Timer.builder(WAIT_TIMER)
+                .description("Time spent waiting for the per-flight seat write lock")
+                .tag("lock", "advisory")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("flight.seat.lock.timeouts")
+                .description("Seat writes rejected because the flight lock was not acquired in time")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Blocks until the caller owns seat writes for the flight; held until the surrounding transaction ends.
+     */
+    public void lockFlight(UUID flightId) {
+        lockFlights(List.of(flightId));
+    }
+
+    /**
+     * Locks several flights in a fixed order so concurrent multi-flight writers cannot deadlock. Flights share
+     * stripes, so the JVM locks are taken in stripe order, each stripe once; the advisory locks in flight id order.
+     */
+    public void lockFlights(Collection<UUID> flightIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Seat write locks must be acquired inside a transaction");
+        }
+        List<UUID> ordered = flightIds.stream().distinct().sorted().toList();
+        // Stripe index to the first flight on it, which names the flight in a timeout
+        TreeMap<Integer, UUID> stripesToLock = new TreeMap<>();
+        for (UUID flightId : ordered) {
+            stripesToLock.putIfAbsent(stripeOf(flightId), flightId);
+        }
+        stripesToLock.forEach(this::lockJvm);
+        if (advisoryLockEnabled && !ordered.isEmpty()) {
+            lockAdvisory(ordered);
+        }
+    }
+
+    private void lockJvm(int stripe, UUID flightId) {
+        ReentrantLock lock = stripes[stripe];
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BadRequestException("Interrupted while waiting for seat lock on flight " + flightId);
+        } finally {
+            jvmWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            timeouts.increment();
+            log.warn("Timed out after {} ms waiting for seat lock on flight {}", timeoutMillis, flightId);
+            throw new BadRequestException("Flight " + flightId + " is busy, please retry");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean released;
+
+            @Override
+            public void afterCommit() {
+                release();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                release();
+            }
+
+            private void release() {
+                if (!released) {
+                    released = true;
+                    lock.unlock();
+                }
+            }
+
+            // Right after the seat inventory write-through, before after-commit event listeners
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE + 1;
+            }
+        });
+    }
+
+    private void lockAdvisory(List<UUID> orderedFlightIds) {
+        long start = System.nanoTime();
+        UUID flightId = orderedFlightIds.getFirst();
+        try {
+            // Bounds the cross-instance wait the same way tryLock bounds the local one, and only that wait: the
+            // rest of the transaction gets the previous lock_timeout back
+            String previousTimeout = jdbcTemplate.queryForObject("SELECT current_setting('lock_timeout')",
+                    String.class);
+            jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class,
+                    timeoutMillis + "ms");
+            for (UUID id : orderedFlightIds) {
+                flightId = id;
+                jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class, advisoryKey(id));
+            }
+            jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class, previousTimeout);
+        } catch (RuntimeException e) {
+            timeouts.increment();
+            log.warn("Failed to acquire advisory seat lock on flight {}: {}", flightId, e.getMessage());
+            throw new BadRequestException("Flight " + flightId + " is busy, please retry");
+        } finally {
+            advisoryWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    int stripeOf(UUID flightId) {
+        int h = flightId.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    static long advisoryKey(UUID flightId) {
+        return flightId.getMostSignificantBits() ^ flightId.getLeastSignificantBits();
+    }
+}
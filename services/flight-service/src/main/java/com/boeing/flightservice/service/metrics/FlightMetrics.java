@@ -0,0 +1,199 @@
+package com.boeing.flightservice.service.metrics;
+
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.Route;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Timers and counters for flight-service hot paths and the aircraft-service dependency.
+ * <p>
+ * Tag values are kept to small fixed sets: {@code route} is an origin-destination pair of airport codes
+ * (routes past the cap in MetricsConfig are counted as {@code other}) and {@code outcome} is one of the constants
+ * below. Operations are timed twice: {@link #OPERATION_TIMER} without the route carries the latency histogram,
+ * {@link #ROUTE_TIMER} splits count, total and max by route without one.
+ */
+@Component
+@RequiredArgsConstructor
+public class FlightMetrics {
+
+    public static final String OPERATION_TIMER = "flight.operation";
+    public static final String ROUTE_TIMER = "flight.operation.route";
+    public static final String AIRCRAFT_CLIENT_TIMER = "flight.aircraft.requests";
+    public static final String SEATS_COUNTER = "flight.seats";
+    public static final String ITINERARIES_COUNTER = "flight.search.itineraries";
+    public static final String OUTBOX_COUNTER = "flight.outbox.events";
+    public static final String WAITLIST_COUNTER = "flight.waitlist.entries";
+
+    public static final String SEARCH_FLIGHTS = "search_flights";
+    public static final String FIND_CONNECTING_FLIGHTS = "find_connecting_flights";
+    public static final String GET_FLIGHT_DETAILS = "get_flight_details";
+    public static final String GET_FLIGHT_DETAILS_BATCH = "get_flight_details_batch";
+    public static final String CHECK_SEAT_AVAILABILITY = "check_seat_availability";
+    public static final String CONFIRM_SEATS = "confirm_seats";
+    public static final String RELEASE_SEATS = "release_seats";
+    public static final String CONFIRM_FARE_SALE = "confirm_fare_sale";
+    public static final String RELEASE_FARE = "release_fare";
+    public static final String AUTO_ASSIGN_SEATS = "auto_assign_seats";
+    public static final String DISRUPT_FLIGHTS = "disrupt_flights";
+
+    public static final String SUCCESS = "success";
+    public static final String PARTIAL = "partial";
+    public static final String FAILED = "failed";
+    public static final String REJECTED = "rejected";
+    public static final String ERROR = "error";
+
+    public static final String ROUTE_TAG = "route";
+    public static final String OTHER_ROUTE = "other";
+    private static final String UNKNOWN_ROUTE = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Times a service operation. The body tags the route once it has loaded it and may override the
+     * outcome; a BadRequestException is recorded as {@code rejected}, anything else thrown as {@code error}.
+     */
+    public <T> T record(String operation, Function<Tagging, T> body) {
+        Tagging tagging = new Tagging();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = body.apply(tagging);
+            stop(sample, operation, tagging.route, tagging.outcome != null ? tagging.outcome : SUCCESS);
+            return result;
+        } catch (BadRequestException e) {
+            stop(sample, operation, tagging.route, REJECTED);
+            throw e;
+        } catch (RuntimeException e) {
+            stop(sample, operation, tagging.route, ERROR);
+            throw e;
+        }
+    }
+
+    /**
+     * Times one call to aircraft-service; failures are tagged by exception type only.
+     */
+    public <T> T recordAircraftCall(String call, Supplier<T> body) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = ERROR;
+        try {
+            T result = body.get();
+            outcome = result != null ? SUCCESS : "empty";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(AIRCRAFT_CLIENT_TIMER)
+                    .description("Latency of aircraft-service calls")
+                    .tag("call", call)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void countSeats(String operation, String result, int seats) {
+        if (seats <= 0) {
+            return;
+        }
+        Counter.builder(SEATS_COUNTER)
+                .description("Seats processed by confirm/release, by result")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment(seats);
+    }
+
+    public void countItineraries(String type, int itineraries) {
+        Counter.builder(ITINERARIES_COUNTER)
+                .description("Itineraries matched by flight search, before paging")
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment(itineraries);
+    }
+
+    public void countOutboxEvents(String result, int events) {
+        Counter.builder(OUTBOX_COUNTER)
+                .description("Flight change events written to, published from or failed in the outbox")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment(events);
+    }
+
+    public void countWaitlist(String result, int entries) {
+        Counter.builder(WAITLIST_COUNTER)
+                .description("Fare waitlist entries by what happened to them")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment(entries);
+    }
+
+    /**
+     * Registers size, hit/miss/eviction meters and a hit-ratio gauge for a Caffeine cache built with recordStats().
+     */
+    public void monitorCache(String name, Cache<?, ?> cache) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Fraction of cache lookups that were hits")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    public <T> void gauge(String name, String description, T state, ToDoubleFunction<T> value) {
+        Gauge.builder(name, state, value)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    public static String outcomeOf(String status) {
+        return switch (status) {
+            case "Success" -> SUCCESS;
+            case "Some failed" -> PARTIAL;
+            default -> FAILED;
+        };
+    }
+
+    private void stop(Timer.Sample sample, String operation, String route, String outcome) {
+        long nanos = sample.stop(Timer.builder(OPERATION_TIMER)
+                .description("Latency of flight-service operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        Timer.builder(ROUTE_TIMER)
+                .description("Latency of flight-service operations by route, without histogram")
+                .tag("operation", operation)
+                .tag(ROUTE_TAG, route != null ? route : UNKNOWN_ROUTE)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static final class Tagging {
+        private String route;
+        private String outcome;
+
+        public void route(Route route) {
+            this.route = route.getOrigin().getCode() + "-" + route.getDestination().getCode();
+        }
+
+        public void route(Flight flight) {
+            this.route = flight.getOrigin().getCode() + "-" + flight.getDestination().getCode();
+        }
+
+        public void route(String originCode, String destinationCode) {
+            this.route = originCode + "-" + destinationCode;
+        }
+
+        public void outcome(String outcome) {
+            this.outcome = outcome;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.boeing.flightservice.service.outbox;
+
+import com.boeing.flightservice.service.event.FlightChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Body of a published flight change. It only says what changed; consumers drop or refresh their copy of the
+ * flight. eventId is also the AMQP message id, so consumers can discard redeliveries.
+ */
+public record OutboxMessage(UUID eventId, UUID flightId, FlightChangedEvent.Change change, LocalDateTime occurredAt) {
+
+    /**
+     * {@code flight.<change>}, e.g. {@code flight.seats}, so consumers bind to {@code flight.*} or to single
+     * kinds of change.
+     */
+    public String routingKey() {
+        return "flight." + change.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,153 @@
+package com.boeing.flightservice.service.outbox;
+
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes outbox rows to the flight events topic exchange. Each batch is sent on one channel and confirmed by
+ * the broker as a whole before its rows are marked published; on any failure the batch stays pending and is
+ * sent again, so delivery is at least once. Rows are claimed with SKIP LOCKED, so several instances can relay
+ * without publishing the same row twice in the same round.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+
+    private static final String CLAIM_SQL = """
+            SELECT id, routing_key, event_type, payload
+            FROM flight_outbox
+            WHERE published_at IS NULL
+            ORDER BY created_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String MARK_PUBLISHED_SQL = "UPDATE flight_outbox SET published_at = ? WHERE id = ?";
+
+    private static final String PURGE_SQL = "DELETE FROM flight_outbox WHERE published_at < ?";
+
+    private record PendingRow(UUID id, String routingKey, String eventType, String payload) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RabbitOperations rabbitOperations;
+    private final FlightMetrics flightMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${app.rabbitmq.exchanges.events:flight.events.exchange}")
+    private String exchange;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       RabbitOperations rabbitOperations,
+                       FlightMetrics flightMetrics,
+                       PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rabbitOperations = rabbitOperations;
+        this.flightMetrics = flightMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // Drains a backlog in consecutive batches, bounded so one run cannot hold the scheduler thread
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer published = transactionTemplate.execute(status -> publishBatch());
+                if (published == null || published < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Outbox relay failed, pending events will be retried: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claims, publishes and marks one batch in a single transaction; returns the number of events published.
+     */
+    int publishBatch() {
+        List<PendingRow> rows = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new PendingRow(rs.getObject("id", UUID.class), rs.getString("routing_key"),
+                        rs.getString("event_type"), rs.getString("payload")),
+                batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            rabbitOperations.invoke(operations -> {
+                for (PendingRow row : rows) {
+                    operations.send(exchange, row.routingKey(), toMessage(row));
+                }
+                operations.waitForConfirmsOrDie(confirmTimeoutMs);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            flightMetrics.countOutboxEvents("failed", rows.size());
+            throw e;
+        }
+
+        Timestamp publishedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            updates.add(new Object[]{publishedAt, row.id()});
+        }
+        jdbcTemplate.batchUpdate(MARK_PUBLISHED_SQL, updates);
+        flightMetrics.countOutboxEvents("published", rows.size());
+        log.debug("Published {} flight change events", rows.size());
+        return rows.size();
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 15 * * * *}")
+    public void purgePublished() {
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours)));
+        if (purged > 0) {
+            log.info("Purged {} published outbox events older than {}h", purged, retentionHours);
+        }
+    }
+
+    private static Message toMessage(PendingRow row) {
+        return MessageBuilder.withBody(row.payload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(row.id().toString())
+                .setType(row.eventType())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+    }
+}
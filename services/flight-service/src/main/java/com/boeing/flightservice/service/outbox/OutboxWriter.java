@@ -0,0 +1,99 @@
+package com.boeing.flightservice.service.outbox;
+
+import com.boeing.flightservice.service.event.FlightChangedEvent;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Turns flight changes into outbox rows in the transaction that made them, so an event is stored if and only if
+ * its change commits. Events are collected while the transaction runs and inserted in one batch just before
+ * commit; repeats of the same change to the same flight (a seat confirmation touching one flight several times)
+ * are written once.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    static final String INSERT_SQL = """
+            INSERT INTO flight_outbox (id, aggregate_id, event_type, routing_key, payload, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final FlightMetrics flightMetrics;
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Published outside a transaction: nothing to be atomic with, store it straight away
+            insert(List.of(event));
+            return;
+        }
+        pendingEvents().events.add(event);
+    }
+
+    /**
+     * The collector registered with the current transaction. It is looked up among the transaction's own
+     * synchronizations, which are suspended with it, so a REQUIRES_NEW transaction gets a collector of its own.
+     */
+    private PendingEvents pendingEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending) {
+                return pending;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void insert(Collection<FlightChangedEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (FlightChangedEvent event : events) {
+            UUID id = UUID.randomUUID();
+            OutboxMessage message = new OutboxMessage(id, event.flightId(), event.change(), now);
+            rows.add(new Object[]{id, event.flightId(), event.change().name(), message.routingKey(),
+                    serialize(message), createdAt});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        flightMetrics.countOutboxEvents("written", rows.size());
+        log.debug("Wrote {} flight change events to the outbox", rows.size());
+    }
+
+    private String serialize(OutboxMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox message " + message.eventId(), e);
+        }
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        // Insertion order is kept so the relay publishes changes in the order they were made
+        final Set<FlightChangedEvent> events = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!events.isEmpty()) {
+                insert(events);
+            }
+        }
+    }
+}
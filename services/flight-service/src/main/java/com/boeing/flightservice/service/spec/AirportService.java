@@ -3,12 +3,15 @@ package com.boeing.flightservice.service.spec;
 import com.boeing.flightservice.dto.union.AirportDTO;
 import org.springframework.http.converter.json.MappingJacksonValue;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 public interface AirportService {
     MappingJacksonValue findAll(Map<String, String> params);
 
+    List<AirportDTO.Response> autocomplete(String query, Integer limit);
+
     AirportDTO.Response createAirport(AirportDTO.CreateRequest request);
 
     AirportDTO.Response updateAirport(UUID airportId, AirportDTO.UpdateRequest request);
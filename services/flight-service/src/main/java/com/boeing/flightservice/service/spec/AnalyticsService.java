@@ -0,0 +1,13 @@
+package com.boeing.flightservice.service.spec;
+
+import com.boeing.flightservice.dto.response.FsLoadFactorReportDTO;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface AnalyticsService {
+    FsLoadFactorReportDTO getLoadFactors(LocalDate from, LocalDate to, UUID routeId,
+                                         FsLoadFactorReportDTO.GroupBy groupBy);
+
+    String toCsv(FsLoadFactorReportDTO report);
+}
@@ -0,0 +1,23 @@
+package com.boeing.flightservice.service.spec;
+
+import com.boeing.flightservice.dto.request.FsWaitlistClaimRequestDTO;
+import com.boeing.flightservice.dto.request.FsWaitlistJoinRequestDTO;
+import com.boeing.flightservice.dto.response.FsWaitlistEntryDTO;
+
+import java.util.UUID;
+
+public interface FareWaitlistService {
+    FsWaitlistEntryDTO join(UUID flightId, String fareName, FsWaitlistJoinRequestDTO request);
+
+    FsWaitlistEntryDTO getEntry(UUID entryId);
+
+    FsWaitlistEntryDTO claim(UUID entryId, FsWaitlistClaimRequestDTO request);
+
+    FsWaitlistEntryDTO cancel(UUID entryId);
+
+    /**
+     * Offers seats freed on the fare to the head of its waitlist; the caller must hold the flight's seat write lock
+     * in the current transaction. Returns the number of entries offered.
+     */
+    int promoteWaiting(UUID flightId, UUID fareId);
+}
@@ -0,0 +1,8 @@
+package com.boeing.flightservice.service.spec;
+
+import com.boeing.flightservice.dto.request.FsFlightDisruptionRequestDTO;
+import com.boeing.flightservice.dto.response.FsFlightDisruptionResponseDTO;
+
+public interface FlightDisruptionService {
+    FsFlightDisruptionResponseDTO applyDisruption(FsFlightDisruptionRequestDTO request);
+}
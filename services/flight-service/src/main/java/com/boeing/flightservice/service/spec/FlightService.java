@@ -4,6 +4,7 @@ import com.boeing.flightservice.dto.request.*;
 import com.boeing.flightservice.dto.response.*;
 import com.boeing.flightservice.dto.union.Search;
 import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.service.cache.FlightDetailsSnapshot;
 import org.springframework.http.converter.json.MappingJacksonValue;
 
 import java.util.List;
@@ -17,10 +18,24 @@ public interface FlightService {
 
     FsFlightWithFareDetailsDTO getFlightDetails(UUID flightId);
 
+    FlightDetailsSnapshot getFlightDetailsSnapshot(UUID flightId);
+
+    FsBatchResponseDTO<FsFlightWithFareDetailsDTO> getFlightDetailsBatch(FsFlightDetailsBatchRequestDTO request);
+
     FsConfirmSeatsResponseDTO confirmSeat(UUID flightId, FsConfirmSeatsRequestDTO request);
 
     FsReleaseSeatsResponseDTO releaseSeats(UUID flightId, FsReleaseSeatsRequestDTO request);
 
+    FsBatchResponseDTO<FsSeatsAvailabilityResponseDTO> checkSeatAvailabilityBatch(FsBatchSeatsRequestDTO request);
+
+    FsBatchResponseDTO<FsConfirmSeatsResponseDTO> confirmSeatsBatch(FsBatchSeatsRequestDTO request);
+
+    FsBatchResponseDTO<FsReleaseSeatsResponseDTO> releaseSeatsBatch(FsBatchSeatsRequestDTO request);
+
+    FsSeatSwapResponseDTO swapSeats(FsSeatSwapRequestDTO request);
+
+    FsSeatAutoAssignResponseDTO autoAssignSeats(UUID flightId, FsSeatAutoAssignRequestDTO request);
+
     FlightResponseDTO createFlight(FsFlightCreateRequest request);
 
     FlightResponseDTO updateFlight(UUID flightId, FsFlightCreateRequest request);
@@ -29,13 +44,15 @@ public interface FlightService {
 
     Map<FareType, List<String>> getAircraftSeatSections(UUID aircraftId);
 
-    @Deprecated
     FsReleaseFareResponseDTO releaseFare(UUID flightId, String fareName, FsReleaseFareRequestDTO request);
 
-    @Deprecated
     FsConfirmFareSaleResponseDTO confirmFareSale(UUID flightId, String fareName, FsConfirmFareSaleRequestDTO request);
 
-    @Deprecated
+    /**
+     * Seats left on the fare's sold counter, the same count confirmFareSale sells against. Seat-level views
+     * (search, flight details, seat availability) count the occupied seat map instead, which only covers
+     * bookings that have picked their seats.
+     */
     int getAvailableSeatsCount(UUID flightId, String fareClass);
 
     Search.Response searchFlights(Search.Request request);
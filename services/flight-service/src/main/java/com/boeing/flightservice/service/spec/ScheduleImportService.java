@@ -0,0 +1,13 @@
+package com.boeing.flightservice.service.spec;
+
+import com.boeing.flightservice.dto.request.FsScheduleImportRequestDTO;
+import com.boeing.flightservice.dto.response.FsScheduleImportStatusDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+public interface ScheduleImportService {
+    FsScheduleImportStatusDTO startImport(MultipartFile file, FsScheduleImportRequestDTO request);
+
+    FsScheduleImportStatusDTO getImport(UUID jobId);
+}
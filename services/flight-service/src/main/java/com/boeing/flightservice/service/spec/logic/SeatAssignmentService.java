@@ -0,0 +1,22 @@
+package com.boeing.flightservice.service.spec.logic;
+
+import com.boeing.flightservice.util.CabinLayout;
+import lombok.Builder;
+
+import java.util.BitSet;
+import java.util.List;
+
+public interface SeatAssignmentService {
+
+    /**
+     * Best block of {@code partySize} free seats: one row, else two consecutive rows, else the first free
+     * seats in cabin order. {@code available} is indexed by seat ordinal.
+     */
+    Assignment assign(CabinLayout cabin, BitSet available, int partySize);
+
+    enum Strategy {SAME_ROW, ADJACENT_ROWS, SCATTERED}
+
+    @Builder
+    record Assignment(List<String> seatCodes, Strategy strategy) {
+    }
+}
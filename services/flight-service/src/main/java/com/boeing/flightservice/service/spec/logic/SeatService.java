@@ -11,6 +11,11 @@ public interface SeatService {
 
     FarePrice getSeatFareAndPrice(Flight flight, String seatCode);
 
+    /**
+     * Cached price of a fare, drawn from its min/max range the first time it is requested.
+     */
+    Double getFarePrice(FlightFare fare);
+
     @Builder
     record FarePrice(FlightFare fare, Double price) {
     }
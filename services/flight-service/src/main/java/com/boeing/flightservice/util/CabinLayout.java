@@ -0,0 +1,117 @@
+package com.boeing.flightservice.util;
+
+import java.util.*;
+
+/**
+ * Row geometry of one cabin section, indexed for bit-level seat searches. For every row it keeps the mask of
+ * columns that exist (bit = column letter index) and how those seats split into groups between aisles.
+ * Seats are addressed by their dense index within a row: the n-th existing column from the left.
+ */
+public final class CabinLayout {
+
+    private static final long ROW_BITS = (1L << SeatCodec.COLUMNS) - 1;
+
+    private final int[] rows;
+    private final long[] columns;
+    private final int[][] groups;
+
+    private CabinLayout(int[] rows, long[] columns, int[][] groups) {
+        this.rows = rows;
+        this.columns = columns;
+        this.groups = groups;
+    }
+
+    /**
+     * Builds the layout from a section's seat codes and its seat pattern ("3-3", "2-4-2"). A row whose width
+     * does not match the pattern, or a missing pattern, is treated as a single group.
+     */
+    public static CabinLayout of(Collection<String> seatCodes, String pattern) {
+        TreeMap<Integer, Long> byRow = new TreeMap<>();
+        for (String seatCode : seatCodes) {
+            int ordinal = SeatCodec.ordinal(seatCode);
+            byRow.merge(ordinal / SeatCodec.COLUMNS + 1, 1L << (ordinal % SeatCodec.COLUMNS), (a, b) -> a | b);
+        }
+        int[] groupSizes = parsePattern(pattern);
+
+        int[] rows = new int[byRow.size()];
+        long[] columns = new long[byRow.size()];
+        int[][] groups = new int[byRow.size()][];
+        int i = 0;
+        for (Map.Entry<Integer, Long> entry : byRow.entrySet()) {
+            rows[i] = entry.getKey();
+            columns[i] = entry.getValue();
+            int width = Long.bitCount(entry.getValue());
+            groups[i] = groupSizes != null && Arrays.stream(groupSizes).sum() == width ? groupSizes : new int[]{width};
+            i++;
+        }
+        return new CabinLayout(rows, columns, groups);
+    }
+
+    public int rowCount() {
+        return rows.length;
+    }
+
+    public int row(int index) {
+        return rows[index];
+    }
+
+    public int width(int index) {
+        return Long.bitCount(columns[index]);
+    }
+
+    /**
+     * Free seats of the row as dense bits, read straight from the words of an ordinal-indexed bitmap.
+     */
+    public long freeSeats(int index, long[] words) {
+        int offset = (rows[index] - 1) * SeatCodec.COLUMNS;
+        int word = offset >>> 6;
+        int bit = offset & 63;
+        if (word >= words.length) {
+            return 0;
+        }
+        long bits = words[word] >>> bit;
+        if (bit > 64 - SeatCodec.COLUMNS && word + 1 < words.length) {
+            bits |= words[word + 1] << (64 - bit);
+        }
+        return Long.compress(bits & ROW_BITS & columns[index], columns[index]);
+    }
+
+    /**
+     * Dense positions where a block of {@code size} seats can start without crossing an aisle.
+     */
+    public long blockStarts(int index, int size) {
+        long starts = 0;
+        int from = 0;
+        for (int group : groups[index]) {
+            if (group >= size) {
+                starts |= ((1L << (group - size + 1)) - 1) << from;
+            }
+            from += group;
+        }
+        return starts;
+    }
+
+    public String seatCode(int index, int denseSeat) {
+        long column = Long.expand(1L << denseSeat, columns[index]);
+        return rows[index] + String.valueOf((char) ('A' + Long.numberOfTrailingZeros(column)));
+    }
+
+    /**
+     * Column mask (by letter) of a dense block, used to line up blocks across rows.
+     */
+    public long columnsOf(int index, int denseStart, int size) {
+        return Long.expand(((1L << size) - 1) << denseStart, columns[index]);
+    }
+
+    private static int[] parsePattern(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            return null;
+        }
+        try {
+            int[] sizes = Arrays.stream(pattern.trim().split("-")).mapToInt(part -> Integer.parseInt(part.trim())).toArray();
+            return Arrays.stream(sizes).allMatch(size -> size > 0) ? sizes : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.boeing.flightservice.util;
+
+import java.util.Arrays;
+
+/**
+ * Approximate frequency counts in fixed memory: depth rows of width counters, one counter per row for each key.
+ * Estimates never undercount; with conservative update only the counters that hold the current minimum are
+ * raised, which keeps the overcount from colliding keys low. Not thread-safe.
+ */
+public final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("width and depth must be positive");
+        }
+        // A power-of-two width turns the column lookup into a mask
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+        this.counters = new long[this.width * depth];
+    }
+
+    /**
+     * Adds count occurrences of the key with the given 64-bit hash and returns its new estimate.
+     */
+    public long add(long hash, long count) {
+        long estimate = estimate(hash) + count;
+        for (int row = 0; row < depth; row++) {
+            int index = index(hash, row);
+            if (counters[index] < estimate) {
+                counters[index] = estimate;
+            }
+        }
+        total += count;
+        return estimate;
+    }
+
+    public long estimate(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(hash, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Sum of all counts added, the scale against which the estimation error is bounded.
+     */
+    public long total() {
+        return total;
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0);
+        total = 0;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    private int index(long hash, int row) {
+        // Each row rehashes independently: deriving rows from two hash halves makes keys that share the low bits
+        // of both collide in every row, which at small widths is a one-in-a-million pair
+        return row * width + (int) (mix(hash + (row + 1) * 0x9e3779b97f4a7c15L) & width - 1);
+    }
+
+    /**
+     * Mixes a value into a well-distributed 64-bit hash (the MurmurHash3 finalizer).
+     */
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
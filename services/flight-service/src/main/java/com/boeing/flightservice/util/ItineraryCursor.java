@@ -0,0 +1,35 @@
+package com.boeing.flightservice.util;
+
+import com.boeing.flightservice.dto.union.Search;
+import com.boeing.flightservice.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a ranked itinerary list: the sort key and id of the last itinerary of a page. The next page
+ * holds the itineraries ranked strictly after it, so pages stay stable without server-side state.
+ */
+public record ItineraryCursor(Search.SortBy sortBy, long key, String itineraryId) {
+
+    public String encode() {
+        String raw = sortBy.name() + ":" + key + ":" + itineraryId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ItineraryCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            return new ItineraryCursor(Search.SortBy.valueOf(parts[0]), Long.parseLong(parts[1]), parts[2]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid search cursor");
+        }
+    }
+
+    /**
+     * True if an itinerary with this key and id ranks after the cursor.
+     */
+    public boolean precedes(long otherKey, String otherId) {
+        return otherKey > key || (otherKey == key && otherId.compareTo(itineraryId) > 0);
+    }
+}
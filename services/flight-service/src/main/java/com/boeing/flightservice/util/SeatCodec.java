@@ -0,0 +1,116 @@
+package com.boeing.flightservice.util;
+
+import com.boeing.flightservice.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact seat encodings. A seat code is a row number followed by a column letter ("12C").
+ * <ul>
+ *     <li>packed: {@code row << 5 | column} in a short (rows up to 2047, columns A-Z)</li>
+ *     <li>ordinal: {@code (row - 1) * 26 + column}, dense and row-major, used as the bit index of seat bitmaps</li>
+ * </ul>
+ */
+public final class SeatCodec {
+
+    public static final int MAX_ROW = 2047;
+    public static final int COLUMNS = 26;
+
+    private SeatCodec() {
+    }
+
+    public static boolean isValid(String seatCode) {
+        if (seatCode == null || seatCode.length() < 2) {
+            return false;
+        }
+        int last = seatCode.length() - 1;
+        char column = seatCode.charAt(last);
+        if (column < 'A' || column > 'Z') {
+            return false;
+        }
+        int row = 0;
+        for (int i = 0; i < last; i++) {
+            char c = seatCode.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            row = row * 10 + (c - '0');
+            if (row > MAX_ROW) {
+                return false;
+            }
+        }
+        return row >= 1;
+    }
+
+    public static short pack(String seatCode) {
+        requireValid(seatCode);
+        return (short) (row(seatCode) << 5 | column(seatCode));
+    }
+
+    public static String unpack(short packed) {
+        int value = packed & 0xFFFF;
+        return (value >>> 5) + String.valueOf((char) ('A' + (value & 0x1F)));
+    }
+
+    public static int ordinal(String seatCode) {
+        requireValid(seatCode);
+        return (row(seatCode) - 1) * COLUMNS + column(seatCode);
+    }
+
+    public static int ordinal(short packed) {
+        int value = packed & 0xFFFF;
+        return ((value >>> 5) - 1) * COLUMNS + (value & 0x1F);
+    }
+
+    public static String fromOrdinal(int ordinal) {
+        return (ordinal / COLUMNS + 1) + String.valueOf((char) ('A' + ordinal % COLUMNS));
+    }
+
+    public static BitSet toBitSet(Collection<String> seatCodes) {
+        BitSet seats = new BitSet();
+        for (String seatCode : seatCodes) {
+            seats.set(ordinal(seatCode));
+        }
+        return seats;
+    }
+
+    public static byte[] encode(Collection<String> seatCodes) {
+        return toBitSet(seatCodes).toByteArray();
+    }
+
+    public static byte[] encode(BitSet seats) {
+        return seats.toByteArray();
+    }
+
+    public static BitSet decode(byte[] bitmap) {
+        return bitmap != null ? BitSet.valueOf(bitmap) : new BitSet();
+    }
+
+    /**
+     * Seat codes in row-major order (row, then column letter).
+     */
+    public static List<String> toSeatCodes(BitSet seats) {
+        List<String> seatCodes = new ArrayList<>(seats.cardinality());
+        for (int i = seats.nextSetBit(0); i >= 0; i = seats.nextSetBit(i + 1)) {
+            seatCodes.add(fromOrdinal(i));
+        }
+        return seatCodes;
+    }
+
+    private static void requireValid(String seatCode) {
+        if (!isValid(seatCode)) {
+            throw new BadRequestException("Invalid seat code format: " + seatCode);
+        }
+    }
+
+    private static int row(String seatCode) {
+        return Integer.parseInt(seatCode, 0, seatCode.length() - 1, 10);
+    }
+
+    private static int column(String seatCode) {
+        return seatCode.charAt(seatCode.length() - 1) - 'A';
+    }
+}
@@ -0,0 +1,58 @@
+package com.boeing.flightservice.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+
+/**
+ * One flight leg of an SSIM type 3 record: a flight operated on the given weekdays between two dates. Times are
+ * local to their station; the UTC offsets and date variations are kept so the block time can be derived.
+ */
+public record SsimLeg(
+        int lineNumber,
+        String airline,
+        int flightNumber,
+        int legSequence,
+        LocalDate periodFrom,
+        // Null when the period is open-ended ("00XXX00")
+        LocalDate periodTo,
+        // Bit (day - 1) is set for each ISO day of week the leg operates
+        int daysOfOperation,
+        String origin,
+        LocalTime departureTime,
+        int departureUtcOffsetMinutes,
+        String destination,
+        LocalTime arrivalTime,
+        int arrivalUtcOffsetMinutes,
+        String aircraftType,
+        int departureDateVariation,
+        int arrivalDateVariation
+) {
+
+    public boolean operatesOn(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return (daysOfOperation & 1 << day.getValue() - 1) != 0
+                && !date.isBefore(periodFrom)
+                && (periodTo == null || !date.isAfter(periodTo));
+    }
+
+    /**
+     * Minutes from departure to arrival, comparing both times in UTC.
+     */
+    public int blockMinutes() {
+        int departure = departureTime.toSecondOfDay() / 60 - departureUtcOffsetMinutes + departureDateVariation * 1440;
+        int arrival = arrivalTime.toSecondOfDay() / 60 - arrivalUtcOffsetMinutes + arrivalDateVariation * 1440;
+        return arrival - departure;
+    }
+
+    /**
+     * Flight code of this leg on the given operating date, unique per leg and day, e.g. {@code VN213-20261201};
+     * later legs of a multi-leg flight get a {@code -2}, {@code -3} suffix.
+     */
+    public String flightCode(LocalDate operatingDate) {
+        String code = String.format(Locale.ROOT, "%s%d-%04d%02d%02d", airline, flightNumber,
+                operatingDate.getYear(), operatingDate.getMonthValue(), operatingDate.getDayOfMonth());
+        return legSequence > 1 ? code + "-" + legSequence : code;
+    }
+}
@@ -0,0 +1,162 @@
+package com.boeing.flightservice.util;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+
+/**
+ * Reads flight legs from IATA SSIM (Chapter 7) type 3 records. Fields are fixed-width and read by column
+ * straight from the line, without splitting or regular expressions. Header, carrier, segment and trailer records
+ * are not needed for import and are recognised only to be skipped.
+ */
+public final class SsimParser {
+
+    public static final int RECORD_LENGTH = 200;
+
+    private SsimParser() {
+    }
+
+    public static boolean isLegRecord(String line) {
+        return !line.isEmpty() && line.charAt(0) == '3';
+    }
+
+    /**
+     * Parses a type 3 record; throws IllegalArgumentException naming the field that could not be read.
+     */
+    public static SsimLeg parseLeg(String line, int lineNumber) {
+        if (line.length() < 75) {
+            throw new IllegalArgumentException("record is " + line.length() + " characters, expected " + RECORD_LENGTH);
+        }
+        // Column positions below are 1-based as in the SSIM manual
+        return new SsimLeg(
+                lineNumber,
+                field(line, 3, 5, "airline designator"),
+                number(line, 6, 9, "flight number"),
+                number(line, 12, 13, "leg sequence number"),
+                date(line, 15, "period of operation from"),
+                line.startsWith("00XXX00", 21) ? null : date(line, 22, "period of operation to"),
+                days(line),
+                field(line, 37, 39, "departure station"),
+                time(line, 40, "passenger STD"),
+                utcOffset(line, 48, "departure UTC variation"),
+                field(line, 55, 57, "arrival station"),
+                time(line, 62, "passenger STA"),
+                utcOffset(line, 66, "arrival UTC variation"),
+                field(line, 73, 75, "aircraft type"),
+                dateVariation(line, 192),
+                dateVariation(line, 193));
+    }
+
+    private static String field(String line, int from, int to, String name) {
+        String value = line.substring(from - 1, to).trim();
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("missing " + name);
+        }
+        return value;
+    }
+
+    private static int number(String line, int from, int to, String name) {
+        int value = 0;
+        boolean digits = false;
+        for (int i = from - 1; i < to; i++) {
+            char c = line.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("invalid " + name + " '" + line.substring(from - 1, to) + "'");
+            }
+            value = value * 10 + (c - '0');
+            digits = true;
+        }
+        if (!digits) {
+            throw new IllegalArgumentException("missing " + name);
+        }
+        return value;
+    }
+
+    // DDMMMYY, e.g. 01DEC26
+    private static LocalDate date(String line, int from, String name) {
+        try {
+            int day = number(line, from, from + 1, name);
+            Month month = month(line.substring(from + 1, from + 4));
+            int year = 2000 + number(line, from + 5, from + 6, name);
+            return LocalDate.of(year, month, day);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalid " + name + " '" + line.substring(from - 1, from + 6) + "'");
+        }
+    }
+
+    private static Month month(String abbreviation) {
+        return switch (abbreviation) {
+            case "JAN" -> Month.JANUARY;
+            case "FEB" -> Month.FEBRUARY;
+            case "MAR" -> Month.MARCH;
+            case "APR" -> Month.APRIL;
+            case "MAY" -> Month.MAY;
+            case "JUN" -> Month.JUNE;
+            case "JUL" -> Month.JULY;
+            case "AUG" -> Month.AUGUST;
+            case "SEP" -> Month.SEPTEMBER;
+            case "OCT" -> Month.OCTOBER;
+            case "NOV" -> Month.NOVEMBER;
+            case "DEC" -> Month.DECEMBER;
+            default -> throw new IllegalArgumentException(abbreviation);
+        };
+    }
+
+    // Columns 29-35: the digit d in column 28 + d when the leg operates on ISO day d, a space otherwise
+    private static int days(String line) {
+        int days = 0;
+        for (int day = 1; day <= 7; day++) {
+            char c = line.charAt(27 + day);
+            if (c == (char) ('0' + day)) {
+                days |= 1 << day - 1;
+            } else if (c != ' ') {
+                throw new IllegalArgumentException("invalid days of operation '" + line.substring(28, 35) + "'");
+            }
+        }
+        if (days == 0) {
+            throw new IllegalArgumentException("missing days of operation");
+        }
+        return days;
+    }
+
+    // HHMM
+    private static LocalTime time(String line, int from, String name) {
+        int hhmm = number(line, from, from + 3, name);
+        if (hhmm / 100 > 23 || hhmm % 100 > 59) {
+            throw new IllegalArgumentException("invalid " + name + " '" + line.substring(from - 1, from + 3) + "'");
+        }
+        return LocalTime.of(hhmm / 100, hhmm % 100);
+    }
+
+    // +HHMM or -HHMM
+    private static int utcOffset(String line, int from, String name) {
+        char sign = line.charAt(from - 1);
+        if (sign != '+' && sign != '-') {
+            throw new IllegalArgumentException("invalid " + name + " '" + line.substring(from - 1, from + 4) + "'");
+        }
+        int hhmm = number(line, from + 1, from + 4, name);
+        int minutes = hhmm / 100 * 60 + hhmm % 100;
+        return sign == '-' ? -minutes : minutes;
+    }
+
+    // Blank or 0 for the same day, 1-9 for days later, A for the day before
+    private static int dateVariation(String line, int column) {
+        if (line.length() < column) {
+            return 0;
+        }
+        char c = line.charAt(column - 1);
+        if (c == ' ') {
+            return 0;
+        }
+        if (c == 'A') {
+            return -1;
+        }
+        if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("invalid date variation '" + c + "'");
+        }
+        return c - '0';
+    }
+}
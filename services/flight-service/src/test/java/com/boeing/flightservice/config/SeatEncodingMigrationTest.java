@@ -0,0 +1,76 @@
+package com.boeing.flightservice.config;
+
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.entity.Seat;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.repository.FlightFareRepository;
+import com.boeing.flightservice.repository.SeatRepository;
+import com.boeing.flightservice.util.SeatCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Converts rows written in the CSV seat format and checks a second run leaves them alone.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@Import(SeatEncodingMigration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatEncodingMigrationTest {
+
+    @Autowired
+    SeatEncodingMigration migration;
+
+    @Autowired
+    FlightFareRepository flightFareRepository;
+
+    @Autowired
+    SeatRepository seatRepository;
+
+    @BeforeEach
+    void setUp() {
+        seatRepository.deleteAll();
+        flightFareRepository.deleteAll();
+    }
+
+    @Test
+    void convertsLegacyRowsOnce() {
+        FlightFare legacyFare = flightFareRepository.save(FlightFare.builder()
+                .name("Economy")
+                .fareType(FareType.ECONOMY)
+                .minPrice(50.0)
+                .maxPrice(150.0)
+                .seats("1A, 1B,12C,,bad,2047Z")
+                .build());
+        Seat legacySeat = seatRepository.save(Seat.builder().seatCode("12C").build());
+        Seat invalidSeat = seatRepository.save(Seat.builder().seatCode("C12").build());
+
+        migration.run(new DefaultApplicationArguments());
+
+        FlightFare fare = flightFareRepository.findById(legacyFare.getId()).orElseThrow();
+        assertThat(fare.getSeats()).isNull();
+        assertThat(SeatCodec.toSeatCodes(fare.getSeatSet())).containsExactly("1A", "1B", "12C", "2047Z");
+        assertThat(seatRepository.findById(legacySeat.getId()).orElseThrow().getSeatNumber())
+                .isEqualTo(SeatCodec.pack("12C"));
+        // Marked as done so it is not picked up again
+        assertThat(seatRepository.findById(invalidSeat.getId()).orElseThrow().getSeatNumber()).isZero();
+
+        byte[] bitmap = fare.getSeatBitmap();
+        migration.run(new DefaultApplicationArguments());
+
+        assertThat(flightFareRepository.findTop500BySeatBitmapIsNullAndSeatsIsNotNull()).isEmpty();
+        assertThat(seatRepository.findTop1000BySeatNumberIsNull()).isEmpty();
+        assertThat(flightFareRepository.findById(legacyFare.getId()).orElseThrow().getSeatBitmap()).isEqualTo(bitmap);
+        assertThat(seatRepository.findAll()).extracting(Seat::getSeatNumber)
+                .containsExactlyInAnyOrderElementsOf(List.of(SeatCodec.pack("12C"), (short) 0));
+    }
+}
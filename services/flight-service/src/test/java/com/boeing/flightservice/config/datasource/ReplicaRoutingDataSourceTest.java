@@ -0,0 +1,293 @@
+package com.boeing.flightservice.config.datasource;
+
+import com.boeing.flightservice.controller.FlightController;
+import com.boeing.flightservice.dto.response.FsConfirmSeatsResponseDTO;
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.grpc.FlightInternalGrpcService;
+import com.boeing.flightservice.grpc.proto.ConfirmSeatsRequest;
+import com.boeing.flightservice.grpc.proto.FlightDetailsRequest;
+import com.boeing.flightservice.grpc.proto.FlightInternalServiceGrpc;
+import com.boeing.flightservice.service.cache.FlightDetailsSnapshot;
+import com.boeing.flightservice.service.spec.FlightService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptors;
+import io.grpc.stub.MetadataUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routes against two separate in-memory databases, each tagged with its own role, so every read
+ * reports which instance served it, directly and through the REST and gRPC entry points.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    private static final String SESSION_HEADER = "X-Consistency-Session";
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void createDatabases() {
+        primary = database(PRIMARY_URL, "primary");
+        replica = database(REPLICA_URL, "replica");
+    }
+
+    @AfterEach
+    void dropDatabases() {
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+        ReadYourWritesGuard.clearSession();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        Routing routing = routing(Duration.ofSeconds(5));
+
+        assertThat(routing.read()).isEqualTo("replica");
+        assertThat(routing.write()).isEqualTo("primary");
+    }
+
+    @Test
+    void sessionIsPinnedToPrimaryAfterWriteUntilWindowExpires() throws InterruptedException {
+        Routing routing = routing(Duration.ofMillis(300));
+        ReadYourWritesGuard.bindSession("booking-1");
+
+        routing.write();
+        assertThat(routing.read()).isEqualTo("primary");
+
+        ReadYourWritesGuard.bindSession("booking-2");
+        assertThat(routing.read()).isEqualTo("replica");
+
+        ReadYourWritesGuard.bindSession("booking-1");
+        Thread.sleep(500);
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinSession() {
+        Routing routing = routing(Duration.ofSeconds(5));
+        ReadYourWritesGuard.bindSession("booking-1");
+
+        routing.transactions.execute(status -> {
+            routing.jdbc.update("UPDATE node SET writes = writes + 1");
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void writesWithoutSessionDoNotPinAnyone() {
+        Routing routing = routing(Duration.ofSeconds(5));
+
+        routing.write();
+        ReadYourWritesGuard.bindSession("booking-1");
+
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionWithoutChangesDoesNotPinSession() {
+        Routing routing = routing(Duration.ofSeconds(5));
+        ReadYourWritesGuard.bindSession("booking-1");
+
+        routing.transactions.execute(status -> {
+            routing.jdbc.queryForObject("SELECT role FROM node", String.class);
+            return routing.jdbc.update("UPDATE node SET writes = writes + 1 WHERE role = 'none'");
+        });
+
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void requestWithoutSessionHeaderIsNotBound() throws Exception {
+        ConsistencySessionFilter filter = new ConsistencySessionFilter("X-Consistency-Session");
+        AtomicReference<String> bound = new AtomicReference<>("unset");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> bound.set(ReadYourWritesGuard.currentSession()));
+        assertThat(bound.get()).isNull();
+
+        request.addHeader("X-Consistency-Session", "booking-1");
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> bound.set(ReadYourWritesGuard.currentSession()));
+        assertThat(bound.get()).isEqualTo("booking-1");
+        assertThat(ReadYourWritesGuard.currentSession()).isNull();
+    }
+
+    @Test
+    void confirmThenReadThroughTheControllerReadsThePrimary() throws Exception {
+        Routing routing = routing(Duration.ofSeconds(5));
+        UUID flightId = UUID.randomUUID();
+        FlightService service = flightService(routing, flightId);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FlightController(service))
+                .addFilters(new ConsistencySessionFilter(SESSION_HEADER))
+                .build();
+
+        mockMvc.perform(post("/api/v1/fs/flights/{flightId}/seats/confirm", flightId)
+                        .header(SESSION_HEADER, flightId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookingReference\":\"BK-1\",\"seatCodes\":[\"1A\"]}"))
+                .andExpect(status().isOk());
+
+        // The flight code reports which database served the read
+        mockMvc.perform(get("/api/v1/fs/flights/{flightId}/details", flightId).header(SESSION_HEADER, flightId.toString()))
+                .andExpect(jsonPath("$.flightCode").value("primary"));
+        mockMvc.perform(get("/api/v1/fs/flights/{flightId}/details", flightId).header(SESSION_HEADER, UUID.randomUUID().toString()))
+                .andExpect(jsonPath("$.flightCode").value("replica"));
+        mockMvc.perform(get("/api/v1/fs/flights/{flightId}/details", flightId))
+                .andExpect(jsonPath("$.flightCode").value("replica"));
+    }
+
+    @Test
+    void confirmThenReadOverGrpcReadsThePrimary() throws Exception {
+        Routing routing = routing(Duration.ofSeconds(5));
+        UUID flightId = UUID.randomUUID();
+        Server server = ServerBuilder.forPort(0)
+                .addService(ServerInterceptors.intercept(new FlightInternalGrpcService(flightService(routing, flightId)),
+                        new ConsistencySessionServerInterceptor(SESSION_HEADER)))
+                .build()
+                .start();
+        ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+        try {
+            FlightInternalServiceGrpc.FlightInternalServiceBlockingStub stub =
+                    FlightInternalServiceGrpc.newBlockingStub(channel);
+            FlightInternalServiceGrpc.FlightInternalServiceBlockingStub inSession =
+                    stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(session(flightId.toString())));
+
+            inSession.confirmSeats(ConfirmSeatsRequest.newBuilder()
+                    .setFlightId(flightId.toString())
+                    .setBookingReference("BK-1")
+                    .addSeatCodes("1A")
+                    .build());
+            FlightDetailsRequest details = FlightDetailsRequest.newBuilder().setFlightId(flightId.toString()).build();
+
+            assertThat(inSession.getFlightDetails(details).getFlightCode()).isEqualTo("primary");
+            assertThat(stub.getFlightDetails(details).getFlightCode()).isEqualTo("replica");
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    @Test
+    void configurationWiresRoutingOnlyWhenReplicaUrlIsSet() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(ReplicaRoutingConfig.class)
+                .withPropertyValues("spring.datasource.url=" + PRIMARY_URL, "spring.datasource.username=sa");
+
+        runner.run(context -> assertThat(context).doesNotHaveBean(ReadYourWritesGuard.class));
+
+        runner.withPropertyValues(
+                        "spring.datasource.replica.url=" + REPLICA_URL,
+                        "spring.datasource.replica.username=sa")
+                .run(context -> {
+                    DataSource dataSource = context.getBean(DataSource.class);
+                    TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+                    readOnly.setReadOnly(true);
+                    String role = readOnly.execute(status ->
+                            new JdbcTemplate(dataSource).queryForObject("SELECT role FROM node", String.class));
+                    assertThat(role).isEqualTo("replica");
+                });
+    }
+
+    // Confirming seats writes, reading details reads and reports which database served it
+    private static FlightService flightService(Routing routing, UUID flightId) {
+        FlightService service = mock(FlightService.class);
+        when(service.confirmSeat(eq(flightId), any())).thenAnswer(invocation -> {
+            routing.write();
+            return FsConfirmSeatsResponseDTO.builder().status("Success").confirmedSeats(List.of("1A")).build();
+        });
+        when(service.getFlightDetails(flightId)).thenAnswer(invocation ->
+                FsFlightWithFareDetailsDTO.builder().flightId(flightId).flightCode(routing.read()).build());
+        when(service.getFlightDetailsSnapshot(flightId)).thenAnswer(invocation ->
+                new FlightDetailsSnapshot(service.getFlightDetails(flightId), 1, System.nanoTime()));
+        return service;
+    }
+
+    private static Metadata session(String session) {
+        Metadata metadata = new Metadata();
+        metadata.put(Metadata.Key.of(SESSION_HEADER, Metadata.ASCII_STRING_MARSHALLER), session);
+        return metadata;
+    }
+
+    private Routing routing(Duration pinAfterWrite) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, replica, new ReadYourWritesGuard(pinAfterWrite, 1_000));
+        routing.afterPropertiesSet();
+        return new Routing(new LazyConnectionDataSourceProxy(routing));
+    }
+
+    private static DataSource database(String url, String role) {
+        DataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (role VARCHAR(16), writes INT)");
+        jdbc.update("INSERT INTO node VALUES (?, 0)", role);
+        return dataSource;
+    }
+
+    private static final class Routing {
+        final JdbcTemplate jdbc;
+        final TransactionTemplate transactions;
+        final TransactionTemplate readOnlyTransactions;
+
+        Routing(DataSource dataSource) {
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.transactions = new TransactionTemplate(transactionManager);
+            this.readOnlyTransactions = new TransactionTemplate(transactionManager);
+            this.readOnlyTransactions.setReadOnly(true);
+        }
+
+        String read() {
+            return readOnlyTransactions.execute(status -> jdbc.queryForObject("SELECT role FROM node", String.class));
+        }
+
+        String write() {
+            return transactions.execute(status -> {
+                jdbc.update("UPDATE node SET writes = writes + 1");
+                return jdbc.queryForObject("SELECT role FROM node", String.class);
+            });
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.boeing.flightservice.controller;
+
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.service.cache.FlightDetailsSnapshot;
+import com.boeing.flightservice.service.spec.FlightService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class FlightControllerTest {
+
+    private final FlightService service = mock(FlightService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FlightController(service)).build();
+
+    @Test
+    void flightDetailsAnswerAMatchingETagWithNotModified() throws Exception {
+        UUID flightId = UUID.randomUUID();
+        FlightDetailsSnapshot snapshot = snapshot(flightId, "VN100", 41);
+        when(service.getFlightDetailsSnapshot(flightId)).thenReturn(snapshot);
+
+        mockMvc.perform(get("/api/v1/fs/flights/{flightId}/details", flightId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.etag()))
+                .andExpect(jsonPath("$.flightCode").value("VN100"));
+
+        mockMvc.perform(get("/api/v1/fs/flights/{flightId}/details", flightId)
+                        .header(HttpHeaders.IF_NONE_MATCH, snapshot.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.etag()))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void flightDetailsAreSentAgainOnceTheSnapshotChanges() throws Exception {
+        UUID flightId = UUID.randomUUID();
+        FlightDetailsSnapshot old = snapshot(flightId, "VN100", 41);
+        FlightDetailsSnapshot current = snapshot(flightId, "VN101", 42);
+        when(service.getFlightDetailsSnapshot(flightId)).thenReturn(current);
+
+        mockMvc.perform(get("/api/v1/fs/flights/{flightId}/details", flightId)
+                        .header(HttpHeaders.IF_NONE_MATCH, old.etag()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, current.etag()))
+                .andExpect(jsonPath("$.flightCode").value("VN101"));
+    }
+
+    private static FlightDetailsSnapshot snapshot(UUID flightId, String code, long version) {
+        FsFlightWithFareDetailsDTO details = FsFlightWithFareDetailsDTO.builder()
+                .flightId(flightId)
+                .flightCode(code)
+                .build();
+        return new FlightDetailsSnapshot(details, version, System.nanoTime());
+    }
+}
@@ -0,0 +1,157 @@
+package com.boeing.flightservice.grpc;
+
+import com.boeing.flightservice.dto.request.FsConfirmSeatsRequestDTO;
+import com.boeing.flightservice.dto.request.FsReleaseSeatsRequestDTO;
+import com.boeing.flightservice.dto.response.FsConfirmSeatsResponseDTO;
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.dto.response.FsReleaseSeatsResponseDTO;
+import com.boeing.flightservice.dto.response.FsSeatsAvailabilityResponseDTO;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.grpc.proto.ConfirmSeatsRequest;
+import com.boeing.flightservice.grpc.proto.ConfirmSeatsResult;
+import com.boeing.flightservice.grpc.proto.FlightDetailsRequest;
+import com.boeing.flightservice.grpc.proto.FlightInternalServiceGrpc;
+import com.boeing.flightservice.grpc.proto.ReleaseSeatsRequest;
+import com.boeing.flightservice.grpc.proto.SeatAvailabilityRequest;
+import com.boeing.flightservice.service.spec.FlightService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Calls the gRPC service through a real server and channel on a free local port: requests reach the service
+ * layer intact, responses come back mapped, and service errors become gRPC statuses.
+ */
+class FlightInternalGrpcServiceTest {
+
+    private final FlightService flightService = mock(FlightService.class);
+    private Server server;
+    private ManagedChannel channel;
+    private FlightInternalServiceGrpc.FlightInternalServiceBlockingStub stub;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = ServerBuilder.forPort(0)
+                .addService(new FlightInternalGrpcService(flightService))
+                .build()
+                .start();
+        channel = ManagedChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+        stub = FlightInternalServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void stop() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void flightDetailsAreServedMapped() {
+        UUID flightId = UUID.randomUUID();
+        when(flightService.getFlightDetails(flightId)).thenReturn(FsFlightWithFareDetailsDTO.builder()
+                .flightId(flightId)
+                .flightCode("VN100")
+                .totalSeats(180)
+                .remainingSeats(42)
+                .occupiedSeats(List.of("1A"))
+                .build());
+
+        var details = stub.getFlightDetails(FlightDetailsRequest.newBuilder().setFlightId(flightId.toString()).build());
+
+        assertThat(details.getFlightId()).isEqualTo(flightId.toString());
+        assertThat(details.getFlightCode()).isEqualTo("VN100");
+        assertThat(details.getRemainingSeats()).isEqualTo(42);
+        assertThat(details.getOccupiedSeatsList()).containsExactly("1A");
+    }
+
+    @Test
+    void seatCallsPassTheRequestThrough() {
+        UUID flightId = UUID.randomUUID();
+        when(flightService.checkSeatAvailability(flightId, List.of("1A", "1B")))
+                .thenReturn(FsSeatsAvailabilityResponseDTO.builder().allRequestedSeatsAvailable(true).build());
+        when(flightService.confirmSeat(eq(flightId), any())).thenReturn(FsConfirmSeatsResponseDTO.builder()
+                .status("Success")
+                .confirmedSeats(List.of("1A", "1B"))
+                .build());
+        when(flightService.releaseSeats(eq(flightId), any())).thenReturn(FsReleaseSeatsResponseDTO.builder()
+                .status("Success")
+                .releasedSeats(List.of("1A"))
+                .build());
+
+        boolean available = stub.checkSeatAvailability(SeatAvailabilityRequest.newBuilder()
+                .setFlightId(flightId.toString())
+                .addAllSeatCodes(List.of("1A", "1B"))
+                .build()).getAllRequestedSeatsAvailable();
+        ConfirmSeatsResult confirmed = stub.confirmSeats(ConfirmSeatsRequest.newBuilder()
+                .setFlightId(flightId.toString())
+                .setBookingReference("BK-1")
+                .addAllSeatCodes(List.of("1A", "1B"))
+                .build());
+        List<String> released = stub.releaseSeats(ReleaseSeatsRequest.newBuilder()
+                .setFlightId(flightId.toString())
+                .setBookingReference("BK-1")
+                .addSeatCodes("1A")
+                .build()).getReleasedSeatsList();
+
+        assertThat(available).isTrue();
+        assertThat(confirmed.getConfirmedSeatsList()).containsExactly("1A", "1B");
+        assertThat(released).containsExactly("1A");
+        ArgumentCaptor<FsConfirmSeatsRequestDTO> confirm = ArgumentCaptor.forClass(FsConfirmSeatsRequestDTO.class);
+        verify(flightService).confirmSeat(eq(flightId), confirm.capture());
+        assertThat(confirm.getValue().bookingReference()).isEqualTo("BK-1");
+        assertThat(confirm.getValue().seatCodes()).containsExactly("1A", "1B");
+        ArgumentCaptor<FsReleaseSeatsRequestDTO> release = ArgumentCaptor.forClass(FsReleaseSeatsRequestDTO.class);
+        verify(flightService).releaseSeats(eq(flightId), release.capture());
+        assertThat(release.getValue().bookingReference()).isEqualTo("BK-1");
+        assertThat(release.getValue().seatCodes()).containsExactly("1A");
+    }
+
+    @Test
+    void rejectedRequestsAreInvalidArgument() {
+        UUID flightId = UUID.randomUUID();
+        when(flightService.getFlightDetails(flightId)).thenThrow(new BadRequestException("Flight not found"));
+
+        assertThatThrownBy(() -> stub.getFlightDetails(
+                FlightDetailsRequest.newBuilder().setFlightId(flightId.toString()).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                    assertThat(e.getStatus().getDescription()).isEqualTo("Flight not found");
+                });
+        assertThatThrownBy(() -> stub.getFlightDetails(
+                FlightDetailsRequest.newBuilder().setFlightId("not-a-uuid").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e ->
+                        assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    void unexpectedFailuresAreInternal() {
+        UUID flightId = UUID.randomUUID();
+        when(flightService.getFlightDetails(flightId)).thenThrow(new IllegalStateException("Aircraft service down"));
+
+        assertThatThrownBy(() -> stub.getFlightDetails(
+                FlightDetailsRequest.newBuilder().setFlightId(flightId.toString()).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INTERNAL);
+                    assertThat(e.getStatus().getDescription()).isEqualTo("Aircraft service down");
+                });
+    }
+}
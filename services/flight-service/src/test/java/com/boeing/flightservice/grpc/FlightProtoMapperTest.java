@@ -0,0 +1,218 @@
+package com.boeing.flightservice.grpc;
+
+import com.boeing.flightservice.dto.response.AirportResponseDTO;
+import com.boeing.flightservice.dto.response.FsConfirmSeatsResponseDTO;
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.dto.response.FsReleaseSeatsResponseDTO;
+import com.boeing.flightservice.dto.response.FsSeatsAvailabilityResponseDTO;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.grpc.proto.ConfirmSeatsResult;
+import com.boeing.flightservice.grpc.proto.FlightDetails;
+import com.boeing.flightservice.grpc.proto.ReleaseSeatsResult;
+import com.boeing.flightservice.grpc.proto.SeatAvailability;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Maps DTOs to protobuf and back through the wire encoding, with every field set and with the optional
+ * fields left null.
+ */
+class FlightProtoMapperTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.of(2026, 3, 1, 8, 30);
+
+    @Test
+    void flightDetailsSurviveTheWire() throws InvalidProtocolBufferException {
+        UUID flightId = UUID.randomUUID();
+        UUID fareId = UUID.randomUUID();
+        UUID benefitId = UUID.randomUUID();
+        UUID aircraftId = UUID.randomUUID();
+        FsFlightWithFareDetailsDTO dto = FsFlightWithFareDetailsDTO.builder()
+                .flightId(flightId)
+                .flightCode("VN100")
+                .aircraft(new FsFlightWithFareDetailsDTO.FsAircraftDTO(aircraftId, "A321", "Airbus A321"))
+                .originAirport(airport("SGN"))
+                .destinationAirport(airport("HAN"))
+                .departureTime(DEPARTURE)
+                .estimatedArrivalTime(DEPARTURE.plusMinutes(125))
+                .actualArrivalTime(DEPARTURE.plusMinutes(130))
+                .status(FlightStatus.SCHEDULED_OPEN)
+                .flightDurationMinutes(125)
+                .totalSeats(180)
+                .remainingSeats(42)
+                .occupiedSeats(List.of("1A", "2B"))
+                .availableFares(List.of(FsFlightWithFareDetailsDTO.FsDetailedFareDTO.builder()
+                        .id(fareId)
+                        .price(89.5)
+                        .name("Economy")
+                        .fareType(FareType.ECONOMY)
+                        .seats(List.of("2A", "2B"))
+                        .occupiedSeats(List.of("2B"))
+                        .benefits(List.of(new FsFlightWithFareDetailsDTO.Benefit(
+                                benefitId, "Meal", "Hot meal", "https://cdn/meal.png")))
+                        .build()))
+                .carryOnLuggageWeight(7)
+                .checkedBaggageWeight(23)
+                .build();
+
+        FlightDetails details = FlightDetails.parseFrom(FlightProtoMapper.toProto(dto).toByteArray());
+
+        assertThat(details.getFlightId()).isEqualTo(flightId.toString());
+        assertThat(FlightProtoMapper.toUuid(details.getFlightId())).isEqualTo(flightId);
+        assertThat(details.getFlightCode()).isEqualTo("VN100");
+        assertThat(details.getAircraft().getId()).isEqualTo(aircraftId.toString());
+        assertThat(details.getAircraft().getModel()).isEqualTo("Airbus A321");
+        assertThat(details.getOriginAirport().getCode()).isEqualTo("SGN");
+        assertThat(details.getOriginAirport().getTimezone()).isEqualTo("Asia/Ho_Chi_Minh");
+        assertThat(details.getDestinationAirport().getCode()).isEqualTo("HAN");
+        assertThat(LocalDateTime.ofEpochSecond(details.getDepartureTime(), 0, ZoneOffset.UTC)).isEqualTo(DEPARTURE);
+        assertThat(details.getEstimatedArrivalTime() - details.getDepartureTime()).isEqualTo(125 * 60);
+        assertThat(details.getActualArrivalTime() - details.getDepartureTime()).isEqualTo(130 * 60);
+        assertThat(details.getStatus()).isEqualTo(com.boeing.flightservice.grpc.proto.FlightStatus.SCHEDULED_OPEN);
+        assertThat(details.getFlightDurationMinutes()).isEqualTo(125);
+        assertThat(details.getTotalSeats()).isEqualTo(180);
+        assertThat(details.getRemainingSeats()).isEqualTo(42);
+        assertThat(details.getOccupiedSeatsList()).containsExactly("1A", "2B");
+        assertThat(details.getCarryOnLuggageWeight()).isEqualTo(7);
+        assertThat(details.getCheckedBaggageWeight()).isEqualTo(23);
+
+        assertThat(details.getAvailableFaresList()).singleElement().satisfies(fare -> {
+            assertThat(fare.getId()).isEqualTo(fareId.toString());
+            assertThat(fare.getPrice()).isEqualTo(89.5);
+            assertThat(fare.getName()).isEqualTo("Economy");
+            assertThat(fare.getFareType()).isEqualTo(com.boeing.flightservice.grpc.proto.FareType.ECONOMY);
+            assertThat(fare.getSeatsList()).containsExactly("2A", "2B");
+            assertThat(fare.getBenefitsList()).singleElement().satisfies(benefit -> {
+                assertThat(benefit.getId()).isEqualTo(benefitId.toString());
+                assertThat(benefit.getDescription()).isEqualTo("Hot meal");
+                assertThat(benefit.getIconUrl()).isEqualTo("https://cdn/meal.png");
+            });
+        });
+    }
+
+    @Test
+    void absentFlightFieldsBecomeProtoDefaults() throws InvalidProtocolBufferException {
+        FsFlightWithFareDetailsDTO dto = FsFlightWithFareDetailsDTO.builder()
+                .availableFares(List.of(FsFlightWithFareDetailsDTO.FsDetailedFareDTO.builder().build()))
+                .build();
+
+        FlightDetails details = FlightDetails.parseFrom(FlightProtoMapper.toProto(dto).toByteArray());
+
+        assertThat(details.getFlightId()).isEmpty();
+        assertThat(details.getFlightCode()).isEmpty();
+        assertThat(details.hasAircraft()).isFalse();
+        assertThat(details.hasOriginAirport()).isFalse();
+        assertThat(details.hasDestinationAirport()).isFalse();
+        assertThat(details.getDepartureTime()).isZero();
+        assertThat(details.getActualArrivalTime()).isZero();
+        assertThat(details.getStatus())
+                .isEqualTo(com.boeing.flightservice.grpc.proto.FlightStatus.FLIGHT_STATUS_UNSPECIFIED);
+        assertThat(details.getFlightDurationMinutes()).isZero();
+        assertThat(details.getCarryOnLuggageWeight()).isZero();
+        assertThat(details.getOccupiedSeatsList()).isEmpty();
+        assertThat(details.getAvailableFaresList()).singleElement().satisfies(fare -> {
+            assertThat(fare.getId()).isEmpty();
+            assertThat(fare.getPrice()).isZero();
+            assertThat(fare.getFareType())
+                    .isEqualTo(com.boeing.flightservice.grpc.proto.FareType.FARE_TYPE_UNSPECIFIED);
+            assertThat(fare.getSeatsList()).isEmpty();
+            assertThat(fare.getBenefitsList()).isEmpty();
+        });
+    }
+
+    @Test
+    void everyStatusAndFareTypeHasAProtoValue() {
+        for (FlightStatus status : FlightStatus.values()) {
+            FlightDetails details = FlightProtoMapper.toProto(FsFlightWithFareDetailsDTO.builder().status(status).build());
+            assertThat(details.getStatus().name()).isEqualTo(status.name());
+        }
+        for (FareType fareType : FareType.values()) {
+            FlightDetails details = FlightProtoMapper.toProto(FsFlightWithFareDetailsDTO.builder()
+                    .availableFares(List.of(FsFlightWithFareDetailsDTO.FsDetailedFareDTO.builder()
+                            .fareType(fareType)
+                            .build()))
+                    .build());
+            assertThat(details.getAvailableFares(0).getFareType().name()).isEqualTo(fareType.name());
+        }
+    }
+
+    @Test
+    void seatAvailabilityKeepsSeatsWithAndWithoutAFare() throws InvalidProtocolBufferException {
+        UUID fareId = UUID.randomUUID();
+        FsSeatsAvailabilityResponseDTO dto = FsSeatsAvailabilityResponseDTO.builder()
+                .allRequestedSeatsAvailable(false)
+                .seatStatuses(List.of(
+                        FsSeatsAvailabilityResponseDTO.SeatStatus.builder()
+                                .seatCode("1A")
+                                .available(true)
+                                .fare(new FsSeatsAvailabilityResponseDTO.FareDetail(fareId, "Business", 250.0))
+                                .build(),
+                        FsSeatsAvailabilityResponseDTO.SeatStatus.builder()
+                                .seatCode("9Z")
+                                .available(false)
+                                .fare(new FsSeatsAvailabilityResponseDTO.FareDetail(null, null, null))
+                                .build(),
+                        FsSeatsAvailabilityResponseDTO.SeatStatus.builder().seatCode("9Y").build()))
+                .build();
+
+        SeatAvailability availability = SeatAvailability.parseFrom(FlightProtoMapper.toProto(dto).toByteArray());
+
+        assertThat(availability.getAllRequestedSeatsAvailable()).isFalse();
+        assertThat(availability.getSeatStatusesList()).hasSize(3);
+        assertThat(availability.getSeatStatuses(0).getAvailable()).isTrue();
+        assertThat(availability.getSeatStatuses(0).getFareId()).isEqualTo(fareId.toString());
+        assertThat(availability.getSeatStatuses(0).getFareName()).isEqualTo("Business");
+        assertThat(availability.getSeatStatuses(0).getPrice()).isEqualTo(250.0);
+        assertThat(availability.getSeatStatuses(1).getFareId()).isEmpty();
+        assertThat(availability.getSeatStatuses(1).getPrice()).isZero();
+        assertThat(availability.getSeatStatuses(2).getSeatCode()).isEqualTo("9Y");
+        assertThat(availability.getSeatStatuses(2).getFareName()).isEmpty();
+
+        assertThat(FlightProtoMapper.toProto(new FsSeatsAvailabilityResponseDTO()).getSeatStatusesList()).isEmpty();
+    }
+
+    @Test
+    void seatResultsMapNullListsToEmpty() throws InvalidProtocolBufferException {
+        ConfirmSeatsResult confirmed = ConfirmSeatsResult.parseFrom(FlightProtoMapper.toProto(
+                FsConfirmSeatsResponseDTO.builder()
+                        .status("Partial")
+                        .confirmedSeats(List.of("1A"))
+                        .failedToConfirmSeats(List.of("1B"))
+                        .message("1B is taken")
+                        .build()).toByteArray());
+        assertThat(confirmed.getStatus()).isEqualTo("Partial");
+        assertThat(confirmed.getConfirmedSeatsList()).containsExactly("1A");
+        assertThat(confirmed.getFailedToConfirmSeatsList()).containsExactly("1B");
+        assertThat(confirmed.getMessage()).isEqualTo("1B is taken");
+
+        ConfirmSeatsResult empty = FlightProtoMapper.toProto(FsConfirmSeatsResponseDTO.builder().build());
+        assertThat(empty.getStatus()).isEmpty();
+        assertThat(empty.getConfirmedSeatsList()).isEmpty();
+        assertThat(empty.getMessage()).isEmpty();
+
+        ReleaseSeatsResult released = ReleaseSeatsResult.parseFrom(FlightProtoMapper.toProto(
+                FsReleaseSeatsResponseDTO.builder().status("Success").releasedSeats(List.of("2C")).build())
+                .toByteArray());
+        assertThat(released.getReleasedSeatsList()).containsExactly("2C");
+        assertThat(released.getFailedToReleaseSeatsList()).isEmpty();
+    }
+
+    private static AirportResponseDTO airport(String code) {
+        return AirportResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .name(code + " International")
+                .code(code)
+                .city(code)
+                .country("Vietnam")
+                .timezone("Asia/Ho_Chi_Minh")
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.boeing.flightservice.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import java.util.*;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * WireMock stand-in for aircraft-service {@code /api/v1/public/{id}/active}. Every aircraft id resolves
+ * to the same 180-seat layout (business rows 1-3, economy rows 4-31).
+ */
+final class AircraftServiceStub {
+
+    static final List<String> BUSINESS_SEATS = seats(1, 3, "ACDF");
+    static final List<String> ECONOMY_SEATS = seats(4, 31, "ABCDEF");
+
+    private AircraftServiceStub() {
+    }
+
+    static WireMockServer start() {
+        WireMockServer server = new WireMockServer(options().dynamicPort());
+        server.start();
+        server.stubFor(get(urlPathMatching("/api/v1/public/[^/]+/active"))
+                .willReturn(okJson(responseBody())
+                        .withTransformers("response-template")));
+        return server;
+    }
+
+    private static String responseBody() {
+        Map<String, Object> layout = new LinkedHashMap<>();
+        layout.put("business", section("2-2", 1, 3, BUSINESS_SEATS));
+        layout.put("galley", Map.of("type", "space", "label", "Galley", "fromRow", 3, "toRow", 3));
+        layout.put("economy", section("3-3", 4, 31, ECONOMY_SEATS));
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", "{{request.pathSegments.[3]}}");
+        data.put("code", "VN-LOAD");
+        data.put("aircraftType", Map.of(
+                "model", "Airbus A321",
+                "seatMap", Map.of("layout", layout)
+        ));
+        try {
+            return new ObjectMapper().writeValueAsString(Map.of("statusCode", 200, "data", data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Object> section(String pattern, int fromRow, int toRow, List<String> seats) {
+        return Map.of(
+                "pattern", pattern,
+                "fromRow", fromRow,
+                "toRow", toRow,
+                "seats", seats.stream().map(code -> Map.of("seatCode", code)).toList()
+        );
+    }
+
+    private static List<String> seats(int fromRow, int toRow, String columns) {
+        List<String> seats = new ArrayList<>();
+        for (int row = fromRow; row <= toRow; row++) {
+            for (char column : columns.toCharArray()) {
+                seats.add(row + String.valueOf(column));
+            }
+        }
+        return List.copyOf(seats);
+    }
+}
@@ -0,0 +1,177 @@
+package com.boeing.flightservice.load;
+
+import com.boeing.flightservice.dto.request.FsFlightCreateRequest;
+import com.boeing.flightservice.entity.Route;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.repository.RouteRepository;
+import com.boeing.flightservice.service.spec.FlightService;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Offline load harness: boots flight-service on H2 (or a local Postgres with the {@code load-postgres}
+ * profile) against a WireMock aircraft-service, seeds flights and replays a mixed workload.
+ * <p>
+ * Excluded from the default build; run with {@code mvn test -Pload}. Tunables are system properties:
+ * {@code load.flights}, {@code load.threads}, {@code load.warmupSeconds}, {@code load.durationSeconds}
+ * and {@code load.mix} (e.g. {@code search=40,details=30,availability=20,confirm=10}; add {@code details_grpc}
+ * to compare the gRPC transport with REST). Per-operation histograms are written to {@code target/load-results}.
+ */
+@Tag("load")
+@ActiveProfiles("load")
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadHarnessTest {
+
+    private static final WireMockServer AIRCRAFT_SERVICE = AircraftServiceStub.start();
+    private static final int GRPC_PORT = freePort();
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    FlightService flightService;
+
+    @Autowired
+    RouteRepository routeRepository;
+
+    @DynamicPropertySource
+    static void aircraftService(DynamicPropertyRegistry registry) {
+        registry.add("external.aircraftURL", AIRCRAFT_SERVICE::baseUrl);
+        registry.add("spring.grpc.server.port", () -> GRPC_PORT);
+    }
+
+    @AfterAll
+    static void stopAircraftService() {
+        AIRCRAFT_SERVICE.stop();
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        awaitReadiness();
+        LocalDate departureDate = LocalDate.now().plusDays(1);
+        Route direct = route("SGN", "HAN");
+        List<UUID> flightIds = seedFlights(departureDate, direct, route("SGN", "BKK"), route("BKK", "HAN"));
+
+        List<String> seatCodes = Stream.concat(
+                AircraftServiceStub.BUSINESS_SEATS.stream(),
+                AircraftServiceStub.ECONOMY_SEATS.stream()
+        ).toList();
+        WorkloadDriver.Fixture fixture = new WorkloadDriver.Fixture(
+                "http://localhost:" + port, GRPC_PORT, direct.getId(), departureDate, flightIds, seatCodes);
+
+        WorkloadDriver.Report report = new WorkloadDriver(WorkloadDriver.Config.fromSystemProperties(), fixture).run();
+        report.print(System.out);
+        Path written = report.write(Path.of("target", "load-results"));
+        System.out.println("Histograms written to " + written.toAbsolutePath());
+        scrapeMetrics(written);
+
+        assertTrue(report.totalOperations() > 0, "workload issued no requests");
+        assertTrue(report.totalErrors() < report.totalOperations(), "every request failed");
+    }
+
+    /**
+     * Waits for the readiness probe (which includes startup cache warm-up) the way a load balancer would.
+     */
+    private void awaitReadiness() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/actuator/health/readiness")).build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+            assertTrue(System.nanoTime() < deadline, "instance never became ready");
+            Thread.sleep(200);
+        }
+    }
+
+    /**
+     * Keeps the server-side view (flight.operation, flight.aircraft.requests, cache gauges) next to the
+     * client-side histograms of the same run.
+     */
+    private void scrapeMetrics(Path directory) throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Files.writeString(directory.resolve("prometheus.txt"), response.body());
+    }
+
+    /**
+     * Spreads flights over the day on direct SGN-HAN plus SGN-BKK / BKK-HAN pairs so searches also exercise
+     * connection building. Each flight gets its own aircraft id to stay clear of the turnaround rule.
+     */
+    private List<UUID> seedFlights(LocalDate date, Route direct, Route firstLeg, Route secondLeg) {
+        int count = Integer.getInteger("load.flights", 30);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Route route = switch (i % 4) {
+                case 0, 1 -> direct;
+                case 2 -> firstLeg;
+                default -> secondLeg;
+            };
+            LocalTime departure = LocalTime.of(5, 0).plusMinutes(30L * (i % 36));
+            ids.add(flightService.createFlight(FsFlightCreateRequest.builder()
+                    .code("LD" + (1000 + i))
+                    .aircraftId(UUID.randomUUID())
+                    .routeId(route.getId())
+                    .departureTime(date.atTime(departure))
+                    .seatClassFares(List.of(
+                            fare(FareType.BUSINESS, "Business Flex", 4_000_000, 6_000_000),
+                            fare(FareType.ECONOMY, "Economy Saver", 1_000_000, 2_500_000)
+                    ))
+                    .build()).id());
+        }
+        return ids;
+    }
+
+    private static FsFlightCreateRequest.SeatClassFareRequest fare(FareType type, String name, double min, double max) {
+        return FsFlightCreateRequest.SeatClassFareRequest.builder()
+                .fareType(type)
+                .name(name)
+                .minPrice(min)
+                .maxPrice(max)
+                .build();
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Route route(String origin, String destination) {
+        return routeRepository.findAll().stream()
+                .filter(r -> r.getOrigin().getCode().equals(origin) && r.getDestination().getCode().equals(destination))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Route " + origin + "-" + destination + " not seeded"));
+    }
+}
@@ -0,0 +1,377 @@
+package com.boeing.flightservice.load;
+
+import com.boeing.flightservice.grpc.proto.FlightDetailsRequest;
+import com.boeing.flightservice.grpc.proto.FlightInternalServiceGrpc;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.StatusRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Closed-loop workload driver: N threads replay a weighted mix of flight-service calls over HTTP and
+ * record per-operation latency in HdrHistograms.
+ */
+@Slf4j
+final class WorkloadDriver {
+
+    enum Operation {SEARCH, DETAILS, DETAILS_REVALIDATE, DETAILS_GRPC, AVAILABILITY, AVAILABILITY_BATCH, AUTO_ASSIGN, CONFIRM, CONFIRM_BATCH, RELEASE}
+
+    record Config(int threads, Duration warmup, Duration duration, Map<Operation, Integer> mix) {
+
+        static Config fromSystemProperties() {
+            return new Config(
+                    Integer.getInteger("load.threads", 8),
+                    Duration.ofSeconds(Long.getLong("load.warmupSeconds", 5)),
+                    Duration.ofSeconds(Long.getLong("load.durationSeconds", 30)),
+                    parseMix(System.getProperty("load.mix", "search=40,details=30,availability=20,confirm=10"))
+            );
+        }
+
+        private static Map<Operation, Integer> parseMix(String mix) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String part : mix.split(",")) {
+                String[] kv = part.trim().split("=");
+                weights.put(Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+            }
+            return weights;
+        }
+    }
+
+    record Fixture(String baseUrl, int grpcPort, UUID routeId, LocalDate departureDate, List<UUID> flightIds, List<String> seatCodes) {
+    }
+
+    private record HeldSeat(UUID flightId, String seatCode, String bookingReference) {
+    }
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Config config;
+    private final Fixture fixture;
+    private final HttpClient httpClient;
+    private final ManagedChannel grpcChannel;
+    private final FlightInternalServiceGrpc.FlightInternalServiceBlockingStub grpcStub;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final Queue<HeldSeat> heldSeats = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, String> detailsEtags = new ConcurrentHashMap<>();
+    private final AtomicLong bookingSequence = new AtomicLong();
+    private final Operation[] schedule;
+
+    WorkloadDriver(Config config, Fixture fixture) {
+        this.config = config;
+        this.fixture = fixture;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(config.threads()))
+                .build();
+        this.grpcChannel = ManagedChannelBuilder.forAddress("localhost", fixture.grpcPort()).usePlaintext().build();
+        this.grpcStub = FlightInternalServiceGrpc.newBlockingStub(grpcChannel);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+        List<Operation> weighted = new ArrayList<>();
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.schedule = weighted.toArray(new Operation[0]);
+    }
+
+    Report run() throws InterruptedException {
+        log.info("Warming up for {}s with {} threads, mix {}", config.warmup().toSeconds(), config.threads(), config.mix());
+        drive(config.warmup());
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(counter -> counter.set(0));
+
+        log.info("Measuring for {}s", config.duration().toSeconds());
+        long started = System.nanoTime();
+        drive(config.duration());
+        long elapsedNanos = System.nanoTime() - started;
+        grpcChannel.shutdown();
+        return new Report(histograms, errors, elapsedNanos);
+    }
+
+    private void drive(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(config.threads());
+        for (int i = 0; i < config.threads(); i++) {
+            workers.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    execute(schedule[random.nextInt(schedule.length)], random);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private void execute(Operation operation, ThreadLocalRandom random) {
+        // Keep inventory stable: once enough seats are held, confirm turns into release of an older hold
+        if ((operation == Operation.CONFIRM || operation == Operation.CONFIRM_BATCH)
+                && heldSeats.size() > config.threads() * 4) {
+            operation = Operation.RELEASE;
+        }
+        if (operation == Operation.RELEASE && heldSeats.isEmpty()) {
+            operation = Operation.CONFIRM;
+        }
+
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            ok = switch (operation) {
+                case SEARCH -> search();
+                case DETAILS -> details(randomFlight(random));
+                case DETAILS_REVALIDATE -> revalidateDetails(randomFlight(random));
+                case DETAILS_GRPC -> detailsOverGrpc(randomFlight(random));
+                case AVAILABILITY -> availability(randomFlight(random), random);
+                case AVAILABILITY_BATCH -> availabilityBatch(random);
+                case AUTO_ASSIGN -> autoAssign(randomFlight(random), random);
+                case CONFIRM -> confirm(randomFlight(random), random);
+                case CONFIRM_BATCH -> confirmBatch(random);
+                case RELEASE -> release();
+            };
+        } catch (IOException | InterruptedException | StatusRuntimeException e) {
+            ok = false;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        histograms.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (!ok) {
+            errors.get(operation).incrementAndGet();
+        }
+    }
+
+    private boolean search() throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "routeId", fixture.routeId(),
+                "departureDate", fixture.departureDate().toString(),
+                "noAdults", 2
+        ));
+        return send(post("/api/v1/fs/flights/search", body)).statusCode() == 200;
+    }
+
+    private boolean details(UUID flightId) throws IOException, InterruptedException {
+        return send(get("/api/v1/fs/flights/" + flightId + "/details")).statusCode() == 200;
+    }
+
+    /**
+     * Details read by a client that keeps the last ETag between calls and revalidates with If-None-Match.
+     */
+    private boolean revalidateDetails(UUID flightId) throws IOException, InterruptedException {
+        String etag = detailsEtags.get(flightId);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(fixture.baseUrl()
+                        + "/api/v1/fs/flights/" + flightId + "/details"))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        HttpResponse<String> response = send(request.build());
+        response.headers().firstValue("ETag").ifPresent(latest -> detailsEtags.put(flightId, latest));
+        return response.statusCode() == 200 || response.statusCode() == 304;
+    }
+
+    private boolean detailsOverGrpc(UUID flightId) {
+        return grpcStub.getFlightDetails(FlightDetailsRequest.newBuilder().setFlightId(flightId.toString()).build())
+                .getFlightId().equals(flightId.toString());
+    }
+
+    private boolean availability(UUID flightId, ThreadLocalRandom random) throws IOException, InterruptedException {
+        String seats = random.ints(3, 0, fixture.seatCodes().size())
+                .mapToObj(i -> fixture.seatCodes().get(i))
+                .distinct()
+                .collect(Collectors.joining(","));
+        return send(get("/api/v1/fs/flights/" + flightId + "/seats/check-availability?seatCodes=" + seats))
+                .statusCode() == 200;
+    }
+
+    private boolean confirm(UUID flightId, ThreadLocalRandom random) throws IOException, InterruptedException {
+        String seatCode = fixture.seatCodes().get(random.nextInt(fixture.seatCodes().size()));
+        String bookingReference = "LOAD-" + bookingSequence.incrementAndGet();
+        String body = objectMapper.writeValueAsString(Map.of(
+                "bookingReference", bookingReference,
+                "seatCodes", List.of(seatCode)
+        ));
+        HttpResponse<String> response = send(post("/api/v1/fs/flights/" + flightId + "/seats/confirm", body));
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        // An already-taken seat is a valid business outcome, not a transport error
+        JsonNode json = objectMapper.readTree(response.body());
+        if ("Success".equals(json.path("status").asText())) {
+            heldSeats.add(new HeldSeat(flightId, seatCode, bookingReference));
+        }
+        return true;
+    }
+
+    /**
+     * A two-leg itinerary checked in one call; compare with two AVAILABILITY calls.
+     */
+    private boolean availabilityBatch(ThreadLocalRandom random) throws IOException, InterruptedException {
+        List<Map<String, Object>> legs = new ArrayList<>();
+        for (UUID flightId : twoFlights(random)) {
+            legs.add(Map.of("flightId", flightId, "seatCodes", List.of(randomSeat(random))));
+        }
+        String body = objectMapper.writeValueAsString(Map.of("flights", legs));
+        return send(post("/api/v1/fs/flights/seats/check-availability:batch", body)).statusCode() == 200;
+    }
+
+    private boolean autoAssign(UUID flightId, ThreadLocalRandom random) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "fareName", "Economy Saver",
+                "partySize", 1 + random.nextInt(6)
+        ));
+        // 400 once the fare is too full for the party is a business outcome
+        int status = send(post("/api/v1/fs/flights/" + flightId + "/seats/auto-assign", body)).statusCode();
+        return status == 200 || status == 400;
+    }
+
+    private boolean confirmBatch(ThreadLocalRandom random) throws IOException, InterruptedException {
+        String bookingReference = "LOAD-" + bookingSequence.incrementAndGet();
+        List<HeldSeat> legs = new ArrayList<>();
+        for (UUID flightId : twoFlights(random)) {
+            legs.add(new HeldSeat(flightId, randomSeat(random), bookingReference));
+        }
+        String body = objectMapper.writeValueAsString(Map.of(
+                "bookingReference", bookingReference,
+                "flights", legs.stream()
+                        .map(leg -> Map.of("flightId", leg.flightId(), "seatCodes", List.of(leg.seatCode())))
+                        .toList()
+        ));
+        HttpResponse<String> response = send(post("/api/v1/fs/flights/seats/confirm:batch", body));
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        // All or nothing: either every leg is held or none is
+        if ("Success".equals(objectMapper.readTree(response.body()).path("status").asText())) {
+            heldSeats.addAll(legs);
+        }
+        return true;
+    }
+
+    private List<UUID> twoFlights(ThreadLocalRandom random) {
+        UUID first = randomFlight(random);
+        UUID second = randomFlight(random);
+        while (second.equals(first) && fixture.flightIds().size() > 1) {
+            second = randomFlight(random);
+        }
+        return first.equals(second) ? List.of(first) : List.of(first, second);
+    }
+
+    private String randomSeat(ThreadLocalRandom random) {
+        return fixture.seatCodes().get(random.nextInt(fixture.seatCodes().size()));
+    }
+
+    private boolean release() throws IOException, InterruptedException {
+        HeldSeat held = heldSeats.poll();
+        if (held == null) {
+            return true;
+        }
+        String body = objectMapper.writeValueAsString(Map.of(
+                "bookingReference", held.bookingReference(),
+                "seatCodes", List.of(held.seatCode())
+        ));
+        return send(post("/api/v1/fs/flights/" + held.flightId() + "/seats/release", body)).statusCode() == 200;
+    }
+
+    private UUID randomFlight(ThreadLocalRandom random) {
+        return fixture.flightIds().get(random.nextInt(fixture.flightIds().size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(fixture.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(fixture.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    record Report(Map<Operation, Histogram> histograms, Map<Operation, AtomicLong> errors, long elapsedNanos) {
+
+        long totalOperations() {
+            return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        }
+
+        long totalErrors() {
+            return errors.values().stream().mapToLong(AtomicLong::get).sum();
+        }
+
+        void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            out.printf("%n%-14s %10s %8s %10s %10s %10s %10s %10s%n",
+                    "operation", "count", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+            histograms.forEach((operation, histogram) -> {
+                if (histogram.getTotalCount() == 0) {
+                    return;
+                }
+                out.printf("%-14s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                        operation,
+                        histogram.getTotalCount(),
+                        errors.get(operation).get(),
+                        histogram.getTotalCount() / seconds,
+                        histogram.getValueAtPercentile(50) / 1000.0,
+                        histogram.getValueAtPercentile(95) / 1000.0,
+                        histogram.getValueAtPercentile(99) / 1000.0,
+                        histogram.getMaxValue() / 1000.0);
+            });
+            out.printf("%-14s %10d %8d %10.1f%n%n", "TOTAL", totalOperations(), totalErrors(), totalOperations() / seconds);
+        }
+
+        /**
+         * Writes one .hgrm percentile distribution per operation (values in ms) plus a summary, so runs can be
+         * diffed or plotted with the HdrHistogram plotter.
+         */
+        Path write(Path directory) throws IOException {
+            Path runDirectory = directory.resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+            Files.createDirectories(runDirectory);
+            for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+                if (entry.getValue().getTotalCount() == 0) {
+                    continue;
+                }
+                try (PrintStream out = new PrintStream(Files.newOutputStream(
+                        runDirectory.resolve(entry.getKey().name().toLowerCase() + ".hgrm")))) {
+                    entry.getValue().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(runDirectory.resolve("summary.txt")))) {
+                print(out);
+            }
+            return runDirectory;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.boeing.flightservice.repository;
+
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.entity.enums.FareType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises the fare sold counter's conditional updates from concurrent transactions, the way parallel
+ * booking sagas hit it, and reads of the counter later in the same transaction.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FlightFareRepositoryTest {
+
+    @Autowired
+    FlightFareRepository flightFareRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentSalesNeverExceedCapacity() throws Exception {
+        UUID fareId = fare(10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> sales = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            sales.add(executor.submit(() -> {
+                start.await();
+                return sell(fareId, 1);
+            }));
+        }
+        start.countDown();
+
+        int accepted = 0;
+        for (Future<Integer> sale : sales) {
+            accepted += sale.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(accepted).isEqualTo(10);
+        assertThat(flightFareRepository.findById(fareId).orElseThrow().getSold()).isEqualTo(10);
+    }
+
+    @Test
+    void saleLargerThanRemainingCapacityIsRejected() {
+        UUID fareId = fare(4);
+
+        assertThat(sell(fareId, 3)).isEqualTo(1);
+        assertThat(sell(fareId, 2)).isZero();
+        assertThat(flightFareRepository.findById(fareId).orElseThrow().getSold()).isEqualTo(3);
+    }
+
+    @Test
+    void releaseCannotDriveSoldBelowZero() {
+        UUID fareId = fare(4);
+
+        sell(fareId, 2);
+        assertThat(release(fareId, 3)).isZero();
+        assertThat(release(fareId, 2)).isEqualTo(1);
+        assertThat(flightFareRepository.findById(fareId).orElseThrow().getSold()).isZero();
+    }
+
+    @Test
+    void faresLoadedBeforeAnUpdateAreReadFresh() {
+        UUID fareId = fare(4);
+
+        Integer[] soldSeen = new TransactionTemplate(transactionManager).execute(status -> {
+            FlightFare loaded = flightFareRepository.findById(fareId).orElseThrow();
+            flightFareRepository.incrementSold(fareId, 3);
+            int afterSale = flightFareRepository.findById(fareId).orElseThrow().getSold();
+            flightFareRepository.decrementSold(fareId, 1);
+            int afterRelease = flightFareRepository.findById(fareId).orElseThrow().getSold();
+            return new Integer[]{loaded.getSold(), afterSale, afterRelease};
+        });
+
+        assertThat(soldSeen).containsExactly(0, 3, 2);
+    }
+
+        private int sell(UUID fareId, int count) {
+        Integer updated = new TransactionTemplate(transactionManager)
+                .execute(status -> flightFareRepository.incrementSold(fareId, count));
+        return updated != null ? updated : 0;
+    }
+
+    private int release(UUID fareId, int count) {
+        Integer updated = new TransactionTemplate(transactionManager)
+                .execute(status -> flightFareRepository.decrementSold(fareId, count));
+        return updated != null ? updated : 0;
+    }
+
+    private UUID fare(int capacity) {
+        return flightFareRepository.save(FlightFare.builder()
+                .name("Economy")
+                .fareType(FareType.ECONOMY)
+                .minPrice(100.0)
+                .maxPrice(200.0)
+                .capacity(capacity)
+                .build()).getId();
+    }
+}
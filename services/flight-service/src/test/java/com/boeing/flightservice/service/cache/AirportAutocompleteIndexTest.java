@@ -0,0 +1,88 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.dto.union.AirportDTO;
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.service.event.ReferenceDataChangedEvent;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class AirportAutocompleteIndexTest {
+
+    private final AirportRepository airportRepository = mock(AirportRepository.class);
+    private final AirportAutocompleteIndex index =
+            new AirportAutocompleteIndex(airportRepository, new FlightMetrics(new SimpleMeterRegistry()));
+    private final List<Airport> airports = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        airports.add(airport("HAN", "Noi Bai International Airport", "Hà Nội"));
+        airports.add(airport("SGN", "Tân Sơn Nhất International Airport", "Hồ Chí Minh"));
+        airports.add(airport("DAD", "Da Nang International Airport", "Đà Nẵng"));
+        airports.add(airport("HPH", "Cát Bi International Airport", "Hải Phòng"));
+        airports.add(airport("NRT", "Narita International Airport", "Tokyo"));
+        airports.add(airport("HND", "Haneda Airport", "Tokyo"));
+        when(airportRepository.findByDeleted(false)).thenAnswer(invocation -> List.copyOf(airports));
+    }
+
+    @Test
+    void foldsCaseAccentsAndPunctuation() {
+        assertThat(AirportAutocompleteIndex.fold("Đà Nẵng")).isEqualTo("da nang");
+        assertThat(AirportAutocompleteIndex.fold("  HỒ-CHÍ   MINH ")).isEqualTo("ho chi minh");
+        assertThat(AirportAutocompleteIndex.fold("Zürich (ZRH)")).isEqualTo("zurich zrh");
+        assertThat(AirportAutocompleteIndex.fold(" - ")).isEmpty();
+    }
+
+    @Test
+    void ranksCodeMatchesBeforeCityAndNameMatches() {
+        // Code prefixes first, then Hồ Chí Minh by city
+        assertThat(codes(index.search("h", 10))).containsExactly("HAN", "HND", "HPH", "SGN");
+        assertThat(codes(index.search("han", 10))).containsExactly("HAN", "HND");
+        // HAN by code, then Hải Phòng by city before Haneda by name
+        assertThat(codes(index.search("ha", 10))).containsExactly("HAN", "HPH", "HND");
+    }
+
+    @Test
+    void matchesAccentFoldedCitiesAndLaterWords() {
+        assertThat(codes(index.search("da nang", 10))).containsExactly("DAD");
+        assertThat(codes(index.search("Đà", 10))).containsExactly("DAD");
+        assertThat(codes(index.search("chi minh", 10))).containsExactly("SGN");
+        assertThat(codes(index.search("tokyo", 10))).containsExactlyInAnyOrder("HND", "NRT");
+        assertThat(codes(index.search("narita", 10))).containsExactly("NRT");
+        assertThat(index.search("international", 2)).hasSize(2);
+        assertThat(index.search("xyz", 10)).isEmpty();
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void buildsOnceAndRebuildsOnAirportChanges() {
+        index.search("ha", 10);
+        index.search("sg", 10);
+        verify(airportRepository, times(1)).findByDeleted(false);
+
+        airports.add(airport("CXR", "Cam Ranh International Airport", "Nha Trang"));
+        index.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.ROUTE));
+        assertThat(index.search("cxr", 10)).isEmpty();
+
+        index.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.AIRPORT));
+        assertThat(codes(index.search("nha trang", 10))).containsExactly("CXR");
+        verify(airportRepository, times(2)).findByDeleted(false);
+    }
+
+    private static List<String> codes(List<AirportDTO.Response> airports) {
+        return airports.stream().map(AirportDTO.Response::code).toList();
+    }
+
+    private static Airport airport(String code, String name, String city) {
+        return Airport.builder().id(UUID.randomUUID()).code(code).name(name).city(city).country("VN").build();
+    }
+}
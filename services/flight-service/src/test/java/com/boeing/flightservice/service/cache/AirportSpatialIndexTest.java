@@ -0,0 +1,127 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.service.impl.logic.FlightTimeServiceImpl;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class AirportSpatialIndexTest {
+
+    private final AirportRepository airportRepository = mock(AirportRepository.class);
+    private final FlightTimeServiceImpl flightTimeService = new FlightTimeServiceImpl();
+    private final AirportSpatialIndex index = new AirportSpatialIndex(airportRepository, flightTimeService,
+            new FlightMetrics(new SimpleMeterRegistry()));
+    private final List<Airport> airports = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(airportRepository.findByDeleted(false)).thenAnswer(invocation -> List.copyOf(airports));
+    }
+
+    @Test
+    void findsAirportsWithinTheRadius() {
+        Airport han = add("HAN", 21.2212, 105.8072);
+        Airport hph = add("HPH", 20.8194, 106.7250);
+        Airport vdo = add("VDO", 21.1178, 107.4142);
+        add("SGN", 10.8188, 106.6519);
+
+        // Cát Bi is about 105 km from Nội Bài, Vân Đồn about 167 km
+        assertThat(index.findWithinRadius(han, 120)).containsExactly(han.getId(), hph.getId());
+        assertThat(index.findWithinRadius(han, 200)).containsExactlyInAnyOrder(han.getId(), hph.getId(), vdo.getId());
+        assertThat(index.findWithinRadius(han, 0)).containsExactly(han.getId());
+    }
+
+    @Test
+    void radiusCrossesTheAntimeridian() {
+        Airport west = add("WST", -17.0, 179.5);
+        Airport east = add("EST", -17.0, -179.5);
+        add("FAR", -17.0, 176.0);
+
+        // One degree of longitude apart across 180°, about 106 km
+        assertThat(index.findWithinRadius(west, 150)).containsExactlyInAnyOrder(west.getId(), east.getId());
+        assertThat(index.findWithinRadius(east, 150)).containsExactlyInAnyOrder(east.getId(), west.getId());
+    }
+
+    @Test
+    void radiusReachesAcrossThePole() {
+        Airport a = add("PLA", 89.5, 0.0);
+        Airport b = add("PLB", 89.5, 180.0);
+        Airport c = add("PLC", 89.5, 90.0);
+        add("OSL", 60.19, 11.10);
+
+        // Opposite meridians are one degree apart over the pole
+        assertThat(index.findWithinRadius(a, 150)).containsExactlyInAnyOrder(a.getId(), b.getId(), c.getId());
+    }
+
+    @Test
+    void airportsWithoutCoordinatesAreLeftOut() {
+        Airport han = add("HAN", 21.2212, 105.8072);
+        Airport unknown = add("UNK", null, null);
+        add("HPH", 20.8194, 106.7250);
+
+        assertThat(index.warmUp()).isEqualTo(2);
+        assertThat(index.findWithinRadius(han, 20_000)).doesNotContain(unknown.getId()).hasSize(2);
+        // A center without coordinates only matches itself, without building anything more
+        assertThat(index.findWithinRadius(unknown, 20_000)).containsExactly(unknown.getId());
+    }
+
+    @Test
+    void invalidateRebuildsFromTheRepository() {
+        Airport han = add("HAN", 21.2212, 105.8072);
+        assertThat(index.findWithinRadius(han, 200)).containsExactly(han.getId());
+
+        Airport hph = add("HPH", 20.8194, 106.7250);
+        assertThat(index.findWithinRadius(han, 200)).containsExactly(han.getId());
+
+        index.invalidate();
+        assertThat(index.findWithinRadius(han, 200)).containsExactly(han.getId(), hph.getId());
+        verify(airportRepository, times(2)).findByDeleted(false);
+    }
+
+    @Test
+    void matchesABruteForceScan() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            add("R" + i, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            Airport center = airports.get(random.nextInt(airports.size()));
+            double radiusKm = 100 + random.nextDouble() * 3000;
+            Set<UUID> expected = new LinkedHashSet<>();
+            expected.add(center.getId());
+            for (Airport airport : airports) {
+                if (flightTimeService.calculateDistanceKm(center.getLatitude(), center.getLongitude(),
+                        airport.getLatitude(), airport.getLongitude()) <= radiusKm) {
+                    expected.add(airport.getId());
+                }
+            }
+            assertThat(index.findWithinRadius(center, radiusKm)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private Airport add(String code, Double latitude, Double longitude) {
+        Airport airport = Airport.builder()
+                .id(UUID.randomUUID())
+                .code(code)
+                .name(code)
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+        airports.add(airport);
+        return airport;
+    }
+}
@@ -0,0 +1,143 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.config.WarmupHealthIndicator;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.service.ext.ExternalAircraftService;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.service.spec.logic.SeatService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Readiness around startup warm-up: held back while it runs, released when it completes, fails or runs out of
+ * budget, with the outcome in the health details.
+ */
+class CacheWarmupServiceTest {
+
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final AirportSpatialIndex airportSpatialIndex = mock(AirportSpatialIndex.class);
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(CacheWarmupService.class, WarmupHealthIndicator.class)
+            .withBean(FlightRepository.class, () -> flightRepository)
+            .withBean(AirportSpatialIndex.class, () -> airportSpatialIndex)
+            .withBean(ExternalAircraftService.class, () -> mock(ExternalAircraftService.class))
+            .withBean(AirportAutocompleteIndex.class, () -> mock(AirportAutocompleteIndex.class))
+            .withBean(ReferenceDataCacheService.class, () -> mock(ReferenceDataCacheService.class))
+            .withBean(SeatService.class, () -> mock(SeatService.class))
+            .withBean(PlatformTransactionManager.class, () -> mock(PlatformTransactionManager.class))
+            .withBean(FlightMetrics.class, () -> new FlightMetrics(new SimpleMeterRegistry()))
+            .withPropertyValues("warmup.parallelism=2", "warmup.time-budget-seconds=30");
+
+    @Test
+    void readinessIsHeldBackUntilWarmupCompletes() {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(airportSpatialIndex.warmUp()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 2;
+        });
+        when(flightRepository.findByStatusAndDeletedAndDepartureTimeBetween(any(), any(Boolean.class), any(), any()))
+                .thenReturn(List.of(flight(UUID.randomUUID(), 2), flight(null, 1)));
+
+        runner.run(context -> {
+            CacheWarmupService warmup = context.getBean(CacheWarmupService.class);
+            WarmupHealthIndicator indicator = context.getBean(WarmupHealthIndicator.class);
+            assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+            assertThat(indicator.health().getDetails()).containsEntry("state", CacheWarmupService.State.PENDING);
+
+            Thread thread = Thread.ofPlatform().start(warmup::warmUp);
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+            assertThat(indicator.health().getDetails()).containsEntry("state", CacheWarmupService.State.RUNNING);
+
+            release.countDown();
+            thread.join(5000);
+            Health health = indicator.health();
+            assertThat(health.getStatus()).isEqualTo(Status.UP);
+            assertThat(health.getDetails())
+                    .containsEntry("state", CacheWarmupService.State.COMPLETED)
+                    .containsEntry("flights", 2)
+                    .containsEntry("fares", 3)
+                    .containsEntry("aircraft", 1)
+                    .doesNotContainKey("error");
+        });
+    }
+
+    @Test
+    void failedWarmupReleasesReadinessAndReportsTheFailure() {
+        when(airportSpatialIndex.warmUp()).thenThrow(new DataAccessResourceFailureException("database unreachable"));
+
+        runner.run(context -> {
+            context.getBean(CacheWarmupService.class).warmUp();
+
+            Health health = context.getBean(WarmupHealthIndicator.class).health();
+            assertThat(health.getStatus()).isEqualTo(Status.UP);
+            assertThat(health.getDetails())
+                    .containsEntry("state", CacheWarmupService.State.FAILED)
+                    .containsEntry("error", "DataAccessResourceFailureException: database unreachable");
+        });
+    }
+
+    @Test
+    void blockedWarmupReleasesReadinessOnceTheBudgetIsSpent() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(airportSpatialIndex.warmUp()).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return 0;
+        });
+
+        runner.withPropertyValues("warmup.time-budget-seconds=1").run(context -> {
+            CacheWarmupService warmup = context.getBean(CacheWarmupService.class);
+            WarmupHealthIndicator indicator = context.getBean(WarmupHealthIndicator.class);
+            Thread thread = Thread.ofPlatform().start(warmup::warmUp);
+            try {
+                assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+                Thread.sleep(1200);
+                assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+                assertThat(indicator.health().getDetails()).containsEntry("state", CacheWarmupService.State.TIMED_OUT);
+            } finally {
+                release.countDown();
+                thread.join(5000);
+            }
+        });
+    }
+
+    @Test
+    void disabledWarmupIsReadyAtOnce() {
+        runner.withPropertyValues("warmup.enabled=false").run(context -> {
+            context.getBean(CacheWarmupService.class).onApplicationReady();
+
+            Health health = context.getBean(WarmupHealthIndicator.class).health();
+            assertThat(health.getStatus()).isEqualTo(Status.UP);
+            assertThat(health.getDetails()).containsEntry("state", CacheWarmupService.State.DISABLED);
+        });
+    }
+
+    private static Flight flight(UUID aircraftId, int fareCount) {
+        Flight flight = Flight.builder().id(UUID.randomUUID()).aircraftId(aircraftId).build();
+        flight.setFares(IntStream.range(0, fareCount)
+                .mapToObj(i -> FlightFare.builder().id(UUID.randomUUID()).build())
+                .toList());
+        return flight;
+    }
+}
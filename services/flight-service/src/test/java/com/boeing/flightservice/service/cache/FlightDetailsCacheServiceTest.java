@@ -0,0 +1,291 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.repository.FlightFareRepository;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.service.event.FlightChangedEvent;
+import com.boeing.flightservice.service.ext.ExternalAircraftService;
+import com.boeing.flightservice.service.impl.logic.SeatServiceImpl;
+import com.boeing.flightservice.service.spec.logic.SeatService;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.util.SeatCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Flight details snapshots against a real schema: building several at once, per-flight failures, which of two
+ * concurrent builds is kept, stale reads, the bounded refresh queue and rebuilds after a change.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "business.default-carry-on-weight=7",
+        "business.default-checked-baggage-weight=30"
+})
+@Import({FlightDetailsCacheService.class, SeatInventoryStore.class, SeatServiceImpl.class, SeatPriceCacheService.class,
+        FlightMetrics.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FlightDetailsCacheServiceTest {
+
+    @Autowired
+    FlightDetailsCacheService cacheService;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    FlightFareRepository flightFareRepository;
+
+    @Autowired
+    AirportRepository airportRepository;
+
+    @Autowired
+    SeatInventoryStore seatInventoryStore;
+
+    @Autowired
+    SeatService seatService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    ExternalAircraftService externalAircraftService;
+
+    private final UUID firstAircraft = UUID.randomUUID();
+    private final UUID secondAircraft = UUID.randomUUID();
+    private Airport origin;
+    private Airport destination;
+
+    @BeforeEach
+    void setUp() {
+        flightFareRepository.deleteAll();
+        flightRepository.deleteAll();
+        airportRepository.deleteAll();
+        origin = airportRepository.save(Airport.builder().name("Tan Son Nhat").code("SGN").build());
+        destination = airportRepository.save(Airport.builder().name("Noi Bai").code("HAN").build());
+        when(externalAircraftService.getAircraftInfo(any())).thenAnswer(invocation ->
+                FsFlightWithFareDetailsDTO.FsAircraftDTO.builder().id(invocation.getArgument(0)).code("A321").build());
+    }
+
+    @Test
+    void getAllServesCachedFlightsAndBuildsTheRest() {
+        Flight cached = flight("VN100", firstAircraft);
+        Flight sameAircraft = flight("VN101", firstAircraft);
+        Flight otherAircraft = flight("VN102", secondAircraft);
+        UUID unknown = UUID.randomUUID();
+        FlightDetailsSnapshot before = cacheService.get(cached.getId());
+
+        FlightDetailsCacheService.Batch batch = cacheService.getAll(
+                List.of(cached.getId(), sameAircraft.getId(), otherAircraft.getId(), unknown));
+
+        assertThat(batch.snapshots()).containsOnlyKeys(cached.getId(), sameAircraft.getId(), otherAircraft.getId());
+        assertThat(batch.snapshots().get(cached.getId())).isSameAs(before);
+        assertThat(batch.snapshots().get(otherAircraft.getId()).details().flightCode()).isEqualTo("VN102");
+        assertThat(batch.snapshots().get(sameAircraft.getId()).details().remainingSeats()).isEqualTo(4);
+        assertThat(batch.errors()).isEmpty();
+        // The built misses are cached too
+        assertThat(cacheService.peek(sameAircraft.getId())).contains(batch.snapshots().get(sameAircraft.getId()));
+        // One lookup for the cached flight, then one per distinct aircraft of the misses
+        verify(externalAircraftService, times(2)).getAircraftInfo(firstAircraft);
+        verify(externalAircraftService, times(1)).getAircraftInfo(secondAircraft);
+    }
+
+    @Test
+    void aircraftFailureOnlyFailsTheFlightsUsingIt() {
+        Flight healthy = flight("VN200", firstAircraft);
+        Flight broken = flight("VN201", secondAircraft);
+        Flight alsoBroken = flight("VN202", secondAircraft);
+        when(externalAircraftService.getAircraftInfo(secondAircraft))
+                .thenThrow(new BadRequestException("Aircraft service unavailable"));
+
+        FlightDetailsCacheService.Batch batch = cacheService.getAll(
+                List.of(healthy.getId(), broken.getId(), alsoBroken.getId()));
+
+        assertThat(batch.snapshots()).containsOnlyKeys(healthy.getId());
+        assertThat(batch.errors()).containsOnlyKeys(broken.getId(), alsoBroken.getId());
+        assertThat(batch.errors().get(broken.getId())).contains("Aircraft service unavailable");
+        assertThat(cacheService.peek(broken.getId())).isEmpty();
+        // A failed aircraft is not asked again for its other flights
+        verify(externalAircraftService, times(1)).getAircraftInfo(secondAircraft);
+    }
+
+    @Test
+    void olderBuildDoesNotReplaceANewerSnapshot() {
+        Flight flight = flight("VN300", firstAircraft);
+        AtomicBoolean interleaved = new AtomicBoolean();
+        AtomicReference<FlightDetailsSnapshot> newer = new AtomicReference<>();
+        // While the batch is building, a single read of the same flight takes a later version and installs it
+        when(externalAircraftService.getAircraftInfo(firstAircraft)).thenAnswer(invocation -> {
+            if (interleaved.compareAndSet(false, true)) {
+                newer.set(cacheService.get(flight.getId()));
+            }
+            return FsFlightWithFareDetailsDTO.FsAircraftDTO.builder().id(firstAircraft).code("A321").build();
+        });
+
+        FlightDetailsCacheService.Batch batch = cacheService.getAll(List.of(flight.getId()));
+
+        assertThat(newer.get()).isNotNull();
+        assertThat(batch.snapshots().get(flight.getId())).isSameAs(newer.get());
+        assertThat(cacheService.peek(flight.getId())).containsSame(newer.get());
+    }
+
+    @Test
+    void staleSnapshotIsServedWhileItIsRebuilt() throws InterruptedException {
+        FlightDetailsCacheService staleCache = staleCache(1, 10);
+        Flight flight = flight("VN400", firstAircraft);
+        FlightDetailsSnapshot first = staleCache.get(flight.getId());
+        flight.setCode("VN401");
+        flightRepository.save(flight);
+
+        assertThat(staleCache.get(flight.getId())).isSameAs(first);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (staleCache.peek(flight.getId()).map(s -> s.details().flightCode()).orElse("").equals("VN400")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        FlightDetailsSnapshot refreshed = staleCache.peek(flight.getId()).orElseThrow();
+        assertThat(refreshed.details().flightCode()).isEqualTo("VN401");
+        assertThat(refreshed.version()).isGreaterThan(first.version());
+        staleCache.shutdown();
+    }
+
+    @Test
+    void fullRefreshQueueKeepsServingTheStaleSnapshot() throws Exception {
+        FlightDetailsCacheService staleCache = staleCache(1, 1);
+        Flight running = flight("VN410", firstAircraft);
+        Flight queued = flight("VN411", firstAircraft);
+        Flight dropped = flight("VN412", firstAircraft);
+        FlightDetailsSnapshot droppedFirst = staleCache.get(dropped.getId());
+        staleCache.get(running.getId());
+        staleCache.get(queued.getId());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(externalAircraftService.getAircraftInfo(firstAircraft)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return FsFlightWithFareDetailsDTO.FsAircraftDTO.builder().id(firstAircraft).code("A321").build();
+        });
+
+        // One refresh runs and blocks on the aircraft call, one waits in the queue, the third does not fit
+        staleCache.get(running.getId());
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        staleCache.get(queued.getId());
+        assertThat(staleCache.get(dropped.getId())).isSameAs(droppedFirst);
+        release.countDown();
+
+        // The dropped flight is not left marked as refreshing: a later read queues it again
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (staleCache.peek(dropped.getId()).orElseThrow() == droppedFirst
+                && System.currentTimeMillis() < deadline) {
+            staleCache.get(dropped.getId());
+            Thread.sleep(20);
+        }
+        assertThat(staleCache.peek(dropped.getId()).orElseThrow().version()).isGreaterThan(droppedFirst.version());
+        staleCache.shutdown();
+    }
+
+    @Test
+    void searchSnapshotDoesNotOutrankARebuildThatReadLater() {
+        Flight flight = flight("VN600", firstAircraft);
+        // A search takes its version, then loads the flight
+        long searchVersion = cacheService.nextVersion();
+        Flight loaded = new TransactionTemplate(transactionManager).execute(status -> {
+            Flight found = flightRepository.findWithFaresByIdInAndDeleted(List.of(flight.getId()), false).getFirst();
+            found.getFares().forEach(fare -> fare.getBenefits().size());
+            return found;
+        });
+        flight.setCode("VN601");
+        flightRepository.save(flight);
+        AtomicBoolean interleaved = new AtomicBoolean();
+        AtomicReference<FlightDetailsSnapshot> rebuilt = new AtomicReference<>();
+        // While the search builds from its copy, a read installs a snapshot of the updated flight
+        when(externalAircraftService.getAircraftInfo(firstAircraft)).thenAnswer(invocation -> {
+            if (interleaved.compareAndSet(false, true)) {
+                rebuilt.set(cacheService.get(flight.getId()));
+            }
+            return FsFlightWithFareDetailsDTO.FsAircraftDTO.builder().id(firstAircraft).code("A321").build();
+        });
+
+        FlightDetailsSnapshot snapshot = cacheService.get(loaded, searchVersion);
+
+        assertThat(snapshot).isSameAs(rebuilt.get());
+        assertThat(snapshot.details().flightCode()).isEqualTo("VN601");
+        assertThat(cacheService.peek(flight.getId())).containsSame(rebuilt.get());
+    }
+
+    @Test
+    void changeRebuildsTheSnapshotOrDropsItWhenTheRebuildFails() {
+        Flight flight = flight("VN500", firstAircraft);
+        FlightDetailsSnapshot first = cacheService.get(flight.getId());
+
+        cacheService.onFlightChanged(new FlightChangedEvent(flight.getId(), FlightChangedEvent.Change.SEATS));
+        FlightDetailsSnapshot rebuilt = cacheService.peek(flight.getId()).orElseThrow();
+        assertThat(rebuilt.version()).isGreaterThan(first.version());
+
+        when(externalAircraftService.getAircraftInfo(firstAircraft))
+                .thenThrow(new BadRequestException("Aircraft service unavailable"));
+        cacheService.onFlightChanged(new FlightChangedEvent(flight.getId(), FlightChangedEvent.Change.UPDATED));
+
+        // The old snapshot may be out of date, so the next read goes to the database instead
+        assertThat(cacheService.peek(flight.getId())).isEmpty();
+    }
+
+    // Every snapshot is stale as soon as it is built
+    private FlightDetailsCacheService staleCache(int refreshThreads, int refreshQueue) {
+        return new FlightDetailsCacheService(flightRepository, seatInventoryStore, externalAircraftService,
+                seatService, transactionManager, new FlightMetrics(new SimpleMeterRegistry()), 0, 60, 100,
+                refreshThreads, refreshQueue);
+    }
+
+    private Flight flight(String code, UUID aircraftId) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(3).withNano(0);
+        Flight flight = flightRepository.save(Flight.builder()
+                .code(code)
+                .aircraftId(aircraftId)
+                .origin(origin)
+                .destination(destination)
+                .departureTime(departure)
+                .estimatedArrivalTime(departure.plusHours(2))
+                .flightDurationMinutes(120)
+                .status(FlightStatus.SCHEDULED_OPEN)
+                .build());
+        flightFareRepository.save(FlightFare.builder()
+                .name("Economy")
+                .fareType(FareType.ECONOMY)
+                .minPrice(100.0)
+                .maxPrice(100.0)
+                .seatBitmap(SeatCodec.encode(List.of("1A", "1B", "2A", "2B")))
+                .capacity(4)
+                .flight(flight)
+                .build());
+        return flight;
+    }
+}
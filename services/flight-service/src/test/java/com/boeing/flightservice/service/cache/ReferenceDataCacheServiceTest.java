@@ -0,0 +1,83 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.entity.Benefit;
+import com.boeing.flightservice.entity.Route;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.repository.BenefitRepository;
+import com.boeing.flightservice.repository.RouteRepository;
+import com.boeing.flightservice.service.event.ReferenceDataChangedEvent;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Snapshot rebuilds: content-hash versions, the compact route form and the pre-gzipped body.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@Import({ReferenceDataCacheService.class, FlightMetrics.class, SimpleMeterRegistry.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheServiceTest {
+
+    @Autowired
+    ReferenceDataCacheService referenceDataCacheService;
+
+    @Autowired
+    AirportRepository airportRepository;
+
+    @Autowired
+    RouteRepository routeRepository;
+
+    @Autowired
+    BenefitRepository benefitRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void versionChangesOnlyWhenContentDoes() throws IOException {
+        Airport origin = airportRepository.save(Airport.builder().name("Noi Bai").code("HAN").build());
+        Airport destination = airportRepository.save(Airport.builder().name("Tan Son Nhat").code("SGN").build());
+        routeRepository.save(Route.builder().origin(origin).destination(destination).estimatedDurationMinutes(125).build());
+        referenceDataCacheService.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.ROUTE));
+
+        ReferenceDataSnapshot first = referenceDataCacheService.get();
+        assertThat(referenceDataCacheService.get()).isSameAs(first);
+
+        // A change event without a content change rebuilds to the same version
+        referenceDataCacheService.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.AIRPORT));
+        ReferenceDataSnapshot unchanged = referenceDataCacheService.get();
+        assertThat(unchanged).isNotSameAs(first);
+        assertThat(unchanged.etag()).isEqualTo(first.etag());
+
+        benefitRepository.save(Benefit.builder().name("Lounge").description("Lounge access").build());
+        referenceDataCacheService.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.BENEFIT));
+        ReferenceDataSnapshot changed = referenceDataCacheService.get();
+        assertThat(changed.etag()).isNotEqualTo(first.etag());
+
+        JsonNode body = objectMapper.readTree(changed.json());
+        assertThat(body.get("version").asText()).isEqualTo(changed.version());
+        assertThat(body.get("benefits")).anySatisfy(benefit -> assertThat(benefit.get("name").asText()).isEqualTo("Lounge"));
+        JsonNode route = body.get("routes").get(0);
+        assertThat(route.get("originId").asText()).isEqualTo(origin.getId().toString());
+        assertThat(route.has("origin")).isFalse();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(changed.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(changed.json());
+        }
+    }
+}
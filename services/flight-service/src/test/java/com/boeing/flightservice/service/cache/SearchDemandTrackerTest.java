@@ -0,0 +1,78 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heavy hitters out of a long tail of one-off keys, and keys ageing out of the sliding window.
+ */
+class SearchDemandTrackerTest {
+
+    private static final long BUCKET_MILLIS = 60_000;
+
+    // Three one-minute buckets, a deliberately small sketch and candidate set
+    private final SearchDemandTracker tracker = new SearchDemandTracker(null, null, null, null,
+            new FlightMetrics(new SimpleMeterRegistry()), 3, BUCKET_MILLIS / 1000, 1024, 4, 20);
+
+    private final LocalDate date = LocalDate.of(2026, 12, 1);
+    private final Random random = new Random(11);
+
+    @Test
+    void findsHotKeysAmongManyRareOnes() {
+        List<SearchDemandTracker.SearchKey> hot = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            hot.add(key(date.plusDays(i)));
+        }
+        List<SearchDemandTracker.SearchKey> searches = new ArrayList<>();
+        for (SearchDemandTracker.SearchKey key : hot) {
+            searches.addAll(Collections.nCopies(200, key));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            searches.add(key(date));
+        }
+        Collections.shuffle(searches, new Random(7));
+        for (SearchDemandTracker.SearchKey key : searches) {
+            tracker.record(key, 0);
+        }
+
+        List<SearchDemandTracker.HotKey> top = tracker.hotKeys(5, 0);
+        assertThat(top).extracting(SearchDemandTracker.HotKey::key).containsExactlyInAnyOrderElementsOf(hot);
+        // Count-Min never undercounts; conservative update keeps the overcount from 20k rare keys small
+        assertThat(top).allSatisfy(hotKey -> assertThat(hotKey.searches()).isBetween(200L, 260L));
+    }
+
+    @Test
+    void keysAgeOutOfTheWindow() {
+        SearchDemandTracker.SearchKey early = key(date);
+        SearchDemandTracker.SearchKey late = key(date);
+        for (int i = 0; i < 10; i++) {
+            tracker.record(early, 0);
+        }
+        tracker.record(late, 2 * BUCKET_MILLIS);
+        tracker.record(late, 2 * BUCKET_MILLIS);
+
+        assertThat(tracker.hotKeys(1, 2 * BUCKET_MILLIS)).singleElement()
+                .satisfies(hotKey -> assertThat(hotKey.key()).isEqualTo(early));
+        // The early bucket is reused for minute 3, which clears it
+        tracker.record(late, 3 * BUCKET_MILLIS);
+        assertThat(tracker.hotKeys(2, 3 * BUCKET_MILLIS)).singleElement()
+                .satisfies(hotKey -> {
+                    assertThat(hotKey.key()).isEqualTo(late);
+                    assertThat(hotKey.searches()).isEqualTo(3);
+                });
+    }
+
+    private SearchDemandTracker.SearchKey key(LocalDate date) {
+        return new SearchDemandTracker.SearchKey(new UUID(random.nextLong(), random.nextLong()), "HAN", "SGN", date);
+    }
+}
@@ -0,0 +1,196 @@
+package com.boeing.flightservice.service.cache;
+
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.Seat;
+import com.boeing.flightservice.repository.SeatRepository;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import com.boeing.flightservice.util.SeatCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SeatInventoryStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final SeatRepository seatRepository = mock(SeatRepository.class);
+    private final List<SeatInventoryStore> opened = new ArrayList<>();
+    private final UUID flightId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(SeatInventoryStore::close);
+    }
+
+    @Test
+    void restartServesStoredOccupancyUntilVerified() {
+        occupiedInDatabase("1A", "1B");
+        SeatInventoryStore store = open(true);
+        assertThat(store.occupied(flightId)).isEqualTo(seats("1A", "1B"));
+        // Written through after commit
+        store.recordChange(flightId, seats("2C"), seats("1A"));
+        assertThat(store.occupied(flightId)).isEqualTo(seats("1B", "2C"));
+        store.close();
+
+        // Another instance sold 5F meanwhile
+        occupiedInDatabase("1B", "2C", "5F");
+        SeatInventoryStore restarted = open(true);
+        assertThat(restarted.size()).isEqualTo(1);
+        clearInvocations(seatRepository);
+        assertThat(restarted.occupied(flightId)).isEqualTo(seats("1B", "2C"));
+
+        restarted.verify(flightId);
+        assertThat(restarted.occupied(flightId)).isEqualTo(seats("1B", "2C", "5F"));
+    }
+
+    @Test
+    void damagedSlotIsDroppedOnOpen() throws Exception {
+        occupiedInDatabase("3D");
+        SeatInventoryStore store = open(true);
+        store.occupied(flightId);
+        store.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("seats.dat").toFile(), "rw")) {
+            // First bitmap byte of the first slot
+            file.seek(64 + 32);
+            file.write(0x7F);
+        }
+
+        SeatInventoryStore restarted = open(true);
+        assertThat(restarted.size()).isZero();
+        clearInvocations(seatRepository);
+        assertThat(restarted.occupied(flightId)).isEqualTo(seats("3D"));
+        verify(seatRepository).findByFlightIdAndDeleted(flightId, false);
+    }
+
+    @Test
+    void fullStoreReusesTheLeastRecentlyReadSlot() {
+        SeatInventoryStore store = open(true);
+        UUID[] flights = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+        when(seatRepository.findByFlightIdAndDeleted(any(), eq(false))).thenReturn(List.of(seat("1A")));
+
+        store.occupied(flights[0]);
+        store.occupied(flights[1]);
+        store.occupied(flights[0]);
+        store.occupied(flights[2]);
+
+        assertThat(store.size()).isEqualTo(2);
+        clearInvocations(seatRepository);
+        store.occupied(flights[0]);
+        store.occupied(flights[2]);
+        verify(seatRepository, never()).findByFlightIdAndDeleted(any(), eq(false));
+    }
+
+    @Test
+    void batchReadLoadsOnlyTheMissingFlightsInOneQuery() {
+        occupiedInDatabase("1A");
+        SeatInventoryStore store = open(true);
+        store.occupied(flightId);
+        UUID other = UUID.randomUUID();
+        UUID empty = UUID.randomUUID();
+        Seat otherSeat = seat("7C");
+        otherSeat.setFlight(Flight.builder().id(other).build());
+        when(seatRepository.findByFlightIdInAndDeleted(List.of(other, empty), false)).thenReturn(List.of(otherSeat));
+
+        Map<UUID, BitSet> occupied = store.occupied(List.of(flightId, other, empty));
+
+        assertThat(occupied).containsEntry(flightId, seats("1A"))
+                .containsEntry(other, seats("7C"))
+                .containsEntry(empty, new BitSet());
+        verify(seatRepository).findByFlightIdInAndDeleted(List.of(other, empty), false);
+        clearInvocations(seatRepository);
+        assertThat(store.occupied(other)).isEqualTo(seats("7C"));
+        verifyNoInteractions(seatRepository);
+    }
+
+    @Test
+    void verificationsThatDoNotFitTheQueueAreRetriedOnALaterRead() throws Exception {
+        // Every read after the first is due for verification
+        SeatInventoryStore store = open(true, 3, 0, 1);
+        UUID running = UUID.randomUUID();
+        UUID queued = UUID.randomUUID();
+        UUID dropped = UUID.randomUUID();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean block = new AtomicBoolean();
+        when(seatRepository.findByFlightIdAndDeleted(any(), eq(false))).thenAnswer(invocation -> {
+            if (block.get()) {
+                started.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return List.of(seat("1A"));
+        });
+        store.occupied(running);
+        store.occupied(queued);
+        store.occupied(dropped);
+        clearInvocations(seatRepository);
+        block.set(true);
+
+        // One verification runs and blocks, one waits in the queue, the third does not fit
+        store.occupied(running);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        store.occupied(queued);
+        assertThat(store.occupied(dropped)).isEqualTo(seats("1A"));
+        release.countDown();
+        verify(seatRepository, timeout(10_000)).findByFlightIdAndDeleted(queued, false);
+        verify(seatRepository, never()).findByFlightIdAndDeleted(dropped, false);
+
+        store.occupied(dropped);
+        verify(seatRepository, timeout(10_000)).findByFlightIdAndDeleted(dropped, false);
+    }
+
+    @Test
+    void disabledStoreReadsTheDatabase() {
+        occupiedInDatabase("4A");
+        SeatInventoryStore store = open(false);
+
+        assertThat(store.occupied(flightId)).isEqualTo(seats("4A"));
+        store.recordChange(flightId, seats("4B"), new BitSet());
+        assertThat(store.occupied(flightId)).isEqualTo(seats("4A"));
+        verify(seatRepository, times(2)).findByFlightIdAndDeleted(flightId, false);
+    }
+
+    private SeatInventoryStore open(boolean enabled) {
+        return open(enabled, 2, 3600, 1);
+    }
+
+    private SeatInventoryStore open(boolean enabled, int slots, long verifyAfterSeconds, int verifyQueue) {
+        SeatInventoryStore store = new SeatInventoryStore(seatRepository, mock(PlatformTransactionManager.class),
+                new FlightMetrics(new SimpleMeterRegistry()), enabled, directory.resolve("seats.dat").toString(),
+                slots, 64, verifyAfterSeconds, 1, verifyQueue);
+        store.open();
+        opened.add(store);
+        return store;
+    }
+
+    private void occupiedInDatabase(String... seatCodes) {
+        when(seatRepository.findByFlightIdAndDeleted(flightId, false))
+                .thenReturn(Arrays.stream(seatCodes).map(SeatInventoryStoreTest::seat).toList());
+    }
+
+    private static Seat seat(String seatCode) {
+        return Seat.builder().seatCode(seatCode).seatNumber(SeatCodec.pack(seatCode)).build();
+    }
+
+    private static BitSet seats(String... seatCodes) {
+        return SeatCodec.toBitSet(List.of(seatCodes));
+    }
+}
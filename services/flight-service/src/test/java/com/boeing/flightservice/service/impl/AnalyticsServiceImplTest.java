@@ -0,0 +1,156 @@
+package com.boeing.flightservice.service.impl;
+
+import com.boeing.flightservice.dto.response.FsLoadFactorReportDTO;
+import com.boeing.flightservice.entity.*;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.repository.*;
+import com.boeing.flightservice.service.cache.LoadFactorCacheService;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load-factor SQL against a real schema, mainly that capacity is not multiplied by the occupied seats it is
+ * joined with.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@Import({AnalyticsServiceImpl.class, LoadFactorCacheService.class, FlightMetrics.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnalyticsServiceImplTest {
+
+    @Autowired
+    AnalyticsServiceImpl analyticsService;
+
+    @Autowired
+    AirportRepository airportRepository;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    FlightFareRepository flightFareRepository;
+
+    @Autowired
+    SeatRepository seatRepository;
+
+    private final LocalDate day = LocalDate.now().plusDays(30);
+    private Flight first;
+
+    @BeforeEach
+    void setUp() {
+        seatRepository.deleteAll();
+        flightFareRepository.deleteAll();
+        flightRepository.deleteAll();
+        Airport origin = airportRepository.save(Airport.builder().name("Origin").code("ORG").build());
+        Airport destination = airportRepository.save(Airport.builder().name("Destination").code("DST").build());
+
+        first = flight("VN100", origin, destination, day.atTime(8, 0));
+        FlightFare firstEconomy = fare(first, FareType.ECONOMY, 10, 4);
+        FlightFare firstBusiness = fare(first, FareType.BUSINESS, 4, 1);
+        seats(first, firstEconomy, 3, false);
+        seats(first, firstEconomy, 2, true);
+        seats(first, firstBusiness, 1, false);
+
+        Flight second = flight("VN102", origin, destination, day.atTime(18, 0));
+        seats(second, fare(second, FareType.ECONOMY, 10, 2), 2, false);
+        fare(second, FareType.BUSINESS, 4, 0);
+
+        // Outside the reported range
+        Flight later = flight("VN104", origin, destination, day.plusDays(5).atTime(8, 0));
+        seats(later, fare(later, FareType.ECONOMY, 10, 9), 9, false);
+    }
+
+    @Test
+    void perFlightRowsCountOnlyLiveSeats() {
+        FsLoadFactorReportDTO report = analyticsService.getLoadFactors(day, day, null, FsLoadFactorReportDTO.GroupBy.FLIGHT);
+
+        assertThat(report.rows()).hasSize(4);
+        FsLoadFactorReportDTO.Row economy = report.rows().stream()
+                .filter(row -> row.flightId().equals(first.getId()) && row.fareType() == FareType.ECONOMY)
+                .findFirst().orElseThrow();
+        assertThat(economy.flightCode()).isEqualTo("VN100");
+        assertThat(economy.date()).isEqualTo(day);
+        assertThat(economy.capacity()).isEqualTo(10);
+        assertThat(economy.soldSeats()).isEqualTo(4);
+        assertThat(economy.occupiedSeats()).isEqualTo(3);
+        assertThat(economy.loadFactor()).isEqualTo(0.3);
+    }
+
+    @Test
+    void routeRowsSumCapacityOncePerFare() {
+        FsLoadFactorReportDTO report = analyticsService.getLoadFactors(day, day.plusDays(1), null,
+                FsLoadFactorReportDTO.GroupBy.ROUTE);
+
+        assertThat(report.rows()).hasSize(2);
+        FsLoadFactorReportDTO.Row economy = report.rows().stream()
+                .filter(row -> row.fareType() == FareType.ECONOMY)
+                .findFirst().orElseThrow();
+        assertThat(economy.originCode()).isEqualTo("ORG");
+        assertThat(economy.flightId()).isNull();
+        assertThat(economy.flights()).isEqualTo(2);
+        assertThat(economy.capacity()).isEqualTo(20);
+        assertThat(economy.soldSeats()).isEqualTo(6);
+        assertThat(economy.occupiedSeats()).isEqualTo(5);
+        assertThat(economy.loadFactor()).isEqualTo(0.25);
+    }
+
+    @Test
+    void csvHasHeaderAndOneLinePerRow() {
+        FsLoadFactorReportDTO report = analyticsService.getLoadFactors(day, day, null, FsLoadFactorReportDTO.GroupBy.DAY);
+
+        String[] lines = analyticsService.toCsv(report).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("flight_id,flight_code,origin,destination,date,fare_type");
+        assertThat(lines).anySatisfy(line -> assertThat(line).isEqualTo(",,,," + day + ",ECONOMY,2,20,6,5,0.2500"));
+    }
+
+    private Flight flight(String code, Airport origin, Airport destination, LocalDateTime departure) {
+        return flightRepository.save(Flight.builder()
+                .code(code)
+                .aircraftId(UUID.randomUUID())
+                .origin(origin)
+                .destination(destination)
+                .departureTime(departure)
+                .estimatedArrivalTime(departure.plusHours(2))
+                .flightDurationMinutes(120)
+                .status(FlightStatus.SCHEDULED_OPEN)
+                .build());
+    }
+
+    private FlightFare fare(Flight flight, FareType fareType, int capacity, int sold) {
+        return flightFareRepository.save(FlightFare.builder()
+                .name(fareType.name())
+                .fareType(fareType)
+                .minPrice(100.0)
+                .maxPrice(200.0)
+                .capacity(capacity)
+                .sold(sold)
+                .flight(flight)
+                .build());
+    }
+
+    private void seats(Flight flight, FlightFare fare, int count, boolean deleted) {
+        for (int i = 0; i < count; i++) {
+            seatRepository.save(Seat.builder()
+                    .seatCode((i + 1) + (deleted ? "F" : "A"))
+                    .flight(flight)
+                    .flightFare(fare)
+                    .bookingReference("BR-" + i)
+                    .deleted(deleted)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.boeing.flightservice.service.impl;
+
+import com.boeing.flightservice.dto.request.FsWaitlistClaimRequestDTO;
+import com.boeing.flightservice.dto.request.FsWaitlistJoinRequestDTO;
+import com.boeing.flightservice.dto.response.FsWaitlistEntryDTO;
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.entity.FareSale;
+import com.boeing.flightservice.entity.FareWaitlistEntry;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.entity.enums.MembershipTier;
+import com.boeing.flightservice.entity.enums.WaitlistStatus;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.repository.FareSaleRepository;
+import com.boeing.flightservice.repository.FareWaitlistRepository;
+import com.boeing.flightservice.repository.FlightFareRepository;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.service.lock.SeatWriteCoordinator;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Waitlist promotion against a real schema: priority order, holds taken from the sold counter, claims and expiry.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "seat-lock.advisory.enabled=false",
+        "waitlist.expiry-interval-ms=3600000"
+})
+@Import({FareWaitlistServiceImpl.class, SeatWriteCoordinator.class, FlightMetrics.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FareWaitlistServiceImplTest {
+
+    @Autowired
+    FareWaitlistServiceImpl waitlistService;
+
+    @Autowired
+    FareWaitlistRepository waitlistRepository;
+
+    @Autowired
+    FareSaleRepository fareSaleRepository;
+
+    @Autowired
+    FlightFareRepository flightFareRepository;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    AirportRepository airportRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Flight flight;
+    private FlightFare fare;
+
+    @BeforeEach
+    void setUp() {
+        waitlistRepository.deleteAll();
+        fareSaleRepository.deleteAll();
+        flightFareRepository.deleteAll();
+        flightRepository.deleteAll();
+        Airport origin = airportRepository.save(Airport.builder().name("Origin").code("O" + suffix()).build());
+        Airport destination = airportRepository.save(Airport.builder().name("Destination").code("D" + suffix()).build());
+        LocalDateTime departure = LocalDateTime.now().plusDays(3);
+        flight = flightRepository.save(Flight.builder()
+                .code("VN" + suffix())
+                .aircraftId(UUID.randomUUID())
+                .origin(origin)
+                .destination(destination)
+                .departureTime(departure)
+                .estimatedArrivalTime(departure.plusHours(2))
+                .flightDurationMinutes(120)
+                .status(FlightStatus.SCHEDULED_OPEN)
+                .build());
+        // Sold out
+        fare = flightFareRepository.save(FlightFare.builder()
+                .name("Economy")
+                .fareType(FareType.ECONOMY)
+                .minPrice(50.0)
+                .maxPrice(150.0)
+                .capacity(4)
+                .sold(4)
+                .flight(flight)
+                .build());
+    }
+
+    @Test
+    void releasedSeatsGoToHigherTiersFirstThenEarlierRequests() {
+        FsWaitlistEntryDTO plain = join("C-1", 1, null);
+        FsWaitlistEntryDTO silver = join("C-2", 1, MembershipTier.SILVER);
+        FsWaitlistEntryDTO gold = join("C-3", 1, MembershipTier.GOLD);
+        FsWaitlistEntryDTO secondSilver = join("C-4", 1, MembershipTier.SILVER);
+        assertThat(plain.status()).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(waitlistService.getEntry(plain.id()).waiting()).isEqualTo(4);
+
+        assertThat(release(2)).isEqualTo(2);
+
+        assertThat(status(gold)).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(status(silver)).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(status(secondSilver)).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(status(plain)).isEqualTo(WaitlistStatus.WAITING);
+        // The freed seats are held, not back on sale
+        assertThat(flightFareRepository.findRemainingById(fare.getId())).isZero();
+        FsWaitlistEntryDTO offer = waitlistService.getEntry(gold.id());
+        assertThat(offer.holdReference()).isEqualTo("WL-" + gold.id());
+        assertThat(offer.holdExpiresAt()).isAfter(LocalDateTime.now().plusMinutes(14));
+        assertThat(offer.waiting()).isEqualTo(2);
+    }
+
+    @Test
+    void partyThatDoesNotFitBlocksSmallerOnesBehindIt() {
+        FsWaitlistEntryDTO pair = join("C-1", 2, null);
+        FsWaitlistEntryDTO single = join("C-2", 1, null);
+        // Joining again while waiting is a no-op
+        assertThat(join("C-1", 2, null).id()).isEqualTo(pair.id());
+
+        assertThat(release(1)).isZero();
+        assertThat(status(single)).isEqualTo(WaitlistStatus.WAITING);
+
+        assertThat(release(1)).isEqualTo(1);
+        assertThat(status(pair)).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(status(single)).isEqualTo(WaitlistStatus.WAITING);
+    }
+
+    @Test
+    void claimMovesTheHoldToTheBooking() {
+        FsWaitlistEntryDTO entry = join("C-1", 2, MembershipTier.PLATINUM);
+        release(2);
+
+        FsWaitlistEntryDTO claimed = waitlistService.claim(entry.id(), new FsWaitlistClaimRequestDTO("BK-1"));
+
+        assertThat(claimed.status()).isEqualTo(WaitlistStatus.CLAIMED);
+        assertThat(claimed.holdReference()).isNull();
+        FareSale sale = fareSaleRepository.findByFareIdAndBookingReference(fare.getId(), "BK-1").orElseThrow();
+        assertThat(sale.getQuantity()).isEqualTo(2);
+        assertThat(fareSaleRepository.findByFareIdAndBookingReference(fare.getId(), "WL-" + entry.id())).isEmpty();
+        // Retrying the same claim is fine, claiming for another booking is not
+        assertThat(waitlistService.claim(entry.id(), new FsWaitlistClaimRequestDTO("BK-1")).status())
+                .isEqualTo(WaitlistStatus.CLAIMED);
+        assertThatThrownBy(() -> waitlistService.claim(entry.id(), new FsWaitlistClaimRequestDTO("BK-2")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void expiredHoldIsOfferedToTheNextEntry() {
+        FsWaitlistEntryDTO first = join("C-1", 1, null);
+        FsWaitlistEntryDTO second = join("C-2", 1, null);
+        release(1);
+        FareWaitlistEntry offered = waitlistRepository.findById(first.id()).orElseThrow();
+        offered.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+        waitlistRepository.save(offered);
+
+        waitlistService.expireHolds();
+
+        assertThat(status(first)).isEqualTo(WaitlistStatus.EXPIRED);
+        assertThat(status(second)).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(fareSaleRepository.findByFareIdAndBookingReference(fare.getId(), "WL-" + first.id()).orElseThrow()
+                .getQuantity()).isZero();
+        assertThat(flightFareRepository.findById(fare.getId()).orElseThrow().getSold()).isEqualTo(4);
+        assertThatThrownBy(() -> waitlistService.claim(first.id(), new FsWaitlistClaimRequestDTO("BK-1")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void cancellingAnOfferPassesTheSeatsOn() {
+        FsWaitlistEntryDTO first = join("C-1", 1, MembershipTier.GOLD);
+        FsWaitlistEntryDTO second = join("C-2", 1, null);
+        FsWaitlistEntryDTO third = join("C-3", 1, null);
+        release(1);
+
+        waitlistService.cancel(second.id());
+        assertThat(waitlistService.cancel(first.id()).status()).isEqualTo(WaitlistStatus.CANCELLED);
+
+        assertThat(status(second)).isEqualTo(WaitlistStatus.CANCELLED);
+        assertThat(status(third)).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(flightFareRepository.findById(fare.getId()).orElseThrow().getSold()).isEqualTo(4);
+    }
+
+    private FsWaitlistEntryDTO join(String customer, int seats, MembershipTier tier) {
+        return waitlistService.join(flight.getId(), "Economy", new FsWaitlistJoinRequestDTO(customer, seats, tier));
+    }
+
+    // What releaseFare does for a cancelled booking
+    private int release(int seats) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            flightFareRepository.decrementSold(fare.getId(), seats);
+            return waitlistService.promoteWaiting(flight.getId(), fare.getId());
+        });
+    }
+
+    private WaitlistStatus status(FsWaitlistEntryDTO entry) {
+        return waitlistRepository.findById(entry.id()).orElseThrow().getStatus();
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString().substring(0, 6);
+    }
+}
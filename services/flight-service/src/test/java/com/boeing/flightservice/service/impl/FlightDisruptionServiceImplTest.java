@@ -0,0 +1,231 @@
+package com.boeing.flightservice.service.impl;
+
+import com.boeing.flightservice.dto.request.FsFlightDisruptionRequestDTO;
+import com.boeing.flightservice.dto.response.FsFlightDisruptionResponseDTO;
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.enums.FlightStatus;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.service.lock.SeatWriteCoordinator;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk disruptions against a real schema: the batch write, the in-memory turnaround check, the
+ * all-or-nothing rejection and updates that land while the disruption waits for the flight lock.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "business.minimum-hours-between-flights-of-aircraft=3",
+        "seat-lock.advisory.enabled=false"
+})
+@Import({FlightDisruptionServiceImpl.class, SeatWriteCoordinator.class, FlightMetrics.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FlightDisruptionServiceImplTest {
+
+    @Autowired
+    FlightDisruptionServiceImpl disruptionService;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    AirportRepository airportRepository;
+
+    @Autowired
+    SeatWriteCoordinator seatWriteCoordinator;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Airport hub;
+    private Airport outstation;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository.deleteAll();
+        hub = airportRepository.save(Airport.builder().name("Hub").code("HUB" + suffix()).build());
+        outstation = airportRepository.save(Airport.builder().name("Out").code("OUT" + suffix()).build());
+        base = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    void delaysAllMatchingFlightsInOneRequest() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // Each flight on its own aircraft, so only the batch path is exercised
+            ids.add(flight(UUID.randomUUID(), hub, base.plusMinutes(i)).getId());
+        }
+
+        FsFlightDisruptionResponseDTO response = disruptionService.applyDisruption(FsFlightDisruptionRequestDTO.builder()
+                .departureFrom(base)
+                .departureTo(base.plusHours(4))
+                .airportId(hub.getId())
+                .delayMinutes(90)
+                .build());
+
+        assertThat(response.status()).isEqualTo("Success");
+        assertThat(response.updatedFlights()).isEqualTo(200);
+        Flight first = flightRepository.findById(ids.getFirst()).orElseThrow();
+        assertThat(first.getDepartureTime()).isEqualTo(base.plusMinutes(90));
+        assertThat(first.getEstimatedArrivalTime()).isEqualTo(base.plusMinutes(90 + 120));
+        assertThat(first.getStatus()).isEqualTo(FlightStatus.SCHEDULED_OPEN);
+    }
+
+    @Test
+    void delayThatBreaksTurnaroundIsRejectedWithoutChanges() {
+        UUID aircraftId = UUID.randomUUID();
+        Flight disrupted = flight(aircraftId, hub, base);
+        // Leaves the outstation 4h after the disrupted flight lands: a 3h delay leaves 1h turnaround
+        Flight next = flight(aircraftId, outstation, base.plusHours(6));
+
+        FsFlightDisruptionResponseDTO response = disruptionService.applyDisruption(FsFlightDisruptionRequestDTO.builder()
+                .departureFrom(base.minusHours(1))
+                .departureTo(base.plusHours(1))
+                .airportId(hub.getId())
+                .delayMinutes(180)
+                .build());
+
+        assertThat(response.status()).isEqualTo("Failed");
+        assertThat(response.updatedFlights()).isZero();
+        assertThat(response.conflicts()).singleElement().satisfies(conflict -> {
+            assertThat(conflict.flightCode()).isEqualTo(disrupted.getCode());
+            assertThat(conflict.conflictingFlightCode()).isEqualTo(next.getCode());
+        });
+        assertThat(flightRepository.findById(disrupted.getId()).orElseThrow().getDepartureTime()).isEqualTo(base);
+    }
+
+    @Test
+    void cancellationSkipsTurnaroundCheckAndOnlyTouchesFilteredAirport() {
+        UUID aircraftId = UUID.randomUUID();
+        Flight atHub = flight(aircraftId, hub, base);
+        Airport other = airportRepository.save(Airport.builder().name("Other").code("OTH" + suffix()).build());
+        Flight elsewhere = flight(aircraftId, outstation, other, base.plusHours(4));
+
+        FsFlightDisruptionResponseDTO response = disruptionService.applyDisruption(FsFlightDisruptionRequestDTO.builder()
+                .departureFrom(base.minusHours(1))
+                .departureTo(base.plusHours(8))
+                .airportId(hub.getId())
+                .newStatus(FlightStatus.CANCELLED)
+                .reason("Storm")
+                .build());
+
+        assertThat(response.updatedFlights()).isEqualTo(1);
+        assertThat(flightRepository.findById(atHub.getId()).orElseThrow().getStatus()).isEqualTo(FlightStatus.CANCELLED);
+        assertThat(flightRepository.findById(elsewhere.getId()).orElseThrow().getStatus())
+                .isEqualTo(FlightStatus.SCHEDULED_OPEN);
+    }
+
+    @Test
+    void reopeningACancelledFlightIsCheckedAgainstItsReusedSlot() {
+        UUID aircraftId = UUID.randomUUID();
+        Flight cancelled = flight(aircraftId, hub, base);
+        cancelled.setStatus(FlightStatus.CANCELLED);
+        flightRepository.save(cancelled);
+        // The aircraft took another flight 2h after the cancelled one would have landed
+        Flight replacement = flight(aircraftId, hub, base.plusHours(4));
+
+        FsFlightDisruptionResponseDTO response = disruptionService.applyDisruption(FsFlightDisruptionRequestDTO.builder()
+                .flightIds(List.of(cancelled.getId()))
+                .statuses(List.of(FlightStatus.CANCELLED))
+                .newStatus(FlightStatus.SCHEDULED_OPEN)
+                .build());
+
+        assertThat(response.status()).isEqualTo("Failed");
+        assertThat(response.conflicts()).singleElement().satisfies(conflict -> {
+            assertThat(conflict.flightCode()).isEqualTo(cancelled.getCode());
+            assertThat(conflict.conflictingFlightCode()).isEqualTo(replacement.getCode());
+        });
+        assertThat(flightRepository.findById(cancelled.getId()).orElseThrow().getStatus())
+                .isEqualTo(FlightStatus.CANCELLED);
+    }
+
+    @Test
+    void delayAppliesToTimesChangedWhileWaitingForTheLock() throws Exception {
+        Flight flight = flight(UUID.randomUUID(), hub, base);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // A flight update holds the lock and has moved the flight 1h later, not yet committed
+            Future<?> update = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                seatWriteCoordinator.lockFlight(flight.getId());
+                jdbcTemplate.update("UPDATE flights SET departure_time = ?, estimated_arrival_time = ? WHERE id = ?",
+                        base.plusHours(1), base.plusHours(3), flight.getId());
+                updated.countDown();
+                try {
+                    commit.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(updated.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<FsFlightDisruptionResponseDTO> disruption = executor.submit(() ->
+                    disruptionService.applyDisruption(FsFlightDisruptionRequestDTO.builder()
+                            .flightIds(List.of(flight.getId()))
+                            .delayMinutes(30)
+                            .build()));
+            // Let the disruption read the old times and queue on the lock
+            Thread.sleep(300);
+            commit.countDown();
+            update.get(10, TimeUnit.SECONDS);
+
+            assertThat(disruption.get(10, TimeUnit.SECONDS).status()).isEqualTo("Success");
+        } finally {
+            executor.shutdownNow();
+        }
+        Flight delayed = flightRepository.findById(flight.getId()).orElseThrow();
+        assertThat(delayed.getDepartureTime()).isEqualTo(base.plusMinutes(90));
+        assertThat(delayed.getEstimatedArrivalTime()).isEqualTo(base.plusMinutes(210));
+    }
+
+    private Flight flight(UUID aircraftId, Airport origin, LocalDateTime departure) {
+        return flight(aircraftId, origin, origin == hub ? outstation : hub, departure);
+    }
+
+    private Flight flight(UUID aircraftId, Airport origin, Airport destination, LocalDateTime departure) {
+        return flightRepository.save(Flight.builder()
+                .code("VN" + suffix())
+                .aircraftId(aircraftId)
+                .origin(origin)
+                .destination(destination)
+                .departureTime(departure)
+                .estimatedArrivalTime(departure.plusHours(2))
+                .flightDurationMinutes(120)
+                .status(FlightStatus.SCHEDULED_OPEN)
+                .build());
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString().substring(0, 6);
+    }
+}
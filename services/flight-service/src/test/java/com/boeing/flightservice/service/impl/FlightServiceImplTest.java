@@ -0,0 +1,461 @@
+package com.boeing.flightservice.service.impl;
+
+import com.boeing.flightservice.dto.request.FsBatchSeatsRequestDTO;
+import com.boeing.flightservice.dto.request.FsConfirmFareSaleRequestDTO;
+import com.boeing.flightservice.dto.request.FsConfirmSeatsRequestDTO;
+import com.boeing.flightservice.dto.request.FsFlightCreateRequest;
+import com.boeing.flightservice.dto.request.FsFlightDetailsBatchRequestDTO;
+import com.boeing.flightservice.dto.request.FsReleaseFareRequestDTO;
+import com.boeing.flightservice.dto.request.FsReleaseSeatsRequestDTO;
+import com.boeing.flightservice.dto.request.FsSeatSwapRequestDTO;
+import com.boeing.flightservice.dto.response.FsBatchResponseDTO;
+import com.boeing.flightservice.dto.response.FsConfirmFareSaleResponseDTO;
+import com.boeing.flightservice.dto.response.FsConfirmSeatsResponseDTO;
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.dto.response.FsSeatSwapResponseDTO;
+import com.boeing.flightservice.dto.union.Search;
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.entity.Route;
+import com.boeing.flightservice.entity.Seat;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.repository.FareSaleRepository;
+import com.boeing.flightservice.repository.FareWaitlistRepository;
+import com.boeing.flightservice.repository.FlightFareRepository;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.repository.RouteRepository;
+import com.boeing.flightservice.repository.SeatRepository;
+import com.boeing.flightservice.service.cache.AirportSpatialIndex;
+import com.boeing.flightservice.service.cache.CabinLayoutCacheService;
+import com.boeing.flightservice.service.cache.FlightDetailsCacheService;
+import com.boeing.flightservice.service.cache.SearchDemandTracker;
+import com.boeing.flightservice.service.cache.SeatInventoryStore;
+import com.boeing.flightservice.service.cache.SeatPriceCacheService;
+import com.boeing.flightservice.service.ext.ExternalAircraftService;
+import com.boeing.flightservice.service.impl.logic.SeatAssignmentServiceImpl;
+import com.boeing.flightservice.service.impl.logic.SeatServiceImpl;
+import com.boeing.flightservice.service.lock.SeatWriteCoordinator;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Flight writes against a real schema: in-place fare updates, the fare sale counter and its idempotency, and
+ * all-or-nothing seat batches and swaps, the details batch, and price ranking.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "business.minimum-hours-between-flights-of-aircraft=3",
+        "business.default-carry-on-weight=7",
+        "business.default-checked-baggage-weight=30",
+        "seat-lock.advisory.enabled=false",
+        "seat-batch.max-flights=3",
+        "waitlist.expiry-interval-ms=3600000"
+})
+@Import({FlightServiceImpl.class, SeatServiceImpl.class, SeatPriceCacheService.class, SeatAssignmentServiceImpl.class,
+        CabinLayoutCacheService.class, FlightDetailsCacheService.class, SeatInventoryStore.class,
+        FareWaitlistServiceImpl.class, SeatWriteCoordinator.class, FlightMetrics.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FlightServiceImplTest {
+
+    @Autowired
+    FlightServiceImpl flightService;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    FlightFareRepository flightFareRepository;
+
+    @Autowired
+    FareSaleRepository fareSaleRepository;
+
+    @Autowired
+    FareWaitlistRepository waitlistRepository;
+
+    @Autowired
+    SeatRepository seatRepository;
+
+    @Autowired
+    RouteRepository routeRepository;
+
+    @Autowired
+    AirportRepository airportRepository;
+
+    @Autowired
+    SeatPriceCacheService seatPriceCacheService;
+
+    @MockitoBean
+    ExternalAircraftService externalAircraftService;
+
+    @MockitoBean
+    AirportSpatialIndex airportSpatialIndex;
+
+    @MockitoBean
+    SearchDemandTracker searchDemandTracker;
+
+    private final Map<FareType, List<String>> sections = new EnumMap<>(FareType.class);
+    private Route route;
+
+    @BeforeEach
+    void setUp() {
+        seatRepository.deleteAll();
+        waitlistRepository.deleteAll();
+        fareSaleRepository.deleteAll();
+        flightFareRepository.deleteAll();
+        flightRepository.deleteAll();
+        routeRepository.deleteAll();
+        airportRepository.deleteAll();
+        Airport sgn = airportRepository.save(Airport.builder().name("Tan Son Nhat").code("SGN").build());
+        Airport han = airportRepository.save(Airport.builder().name("Noi Bai").code("HAN").build());
+        route = routeRepository.save(Route.builder().origin(sgn).destination(han).estimatedDurationMinutes(125).build());
+
+        sections.put(FareType.BUSINESS, List.of("1A", "1B"));
+        sections.put(FareType.ECONOMY, List.of("2A", "2B", "2C", "3A"));
+        when(externalAircraftService.getAircraftInfo(any())).thenAnswer(invocation ->
+                FsFlightWithFareDetailsDTO.FsAircraftDTO.builder().id(invocation.getArgument(0)).code("A321").build());
+        when(externalAircraftService.getAircraftSeatSections(any())).thenAnswer(invocation -> Map.copyOf(sections));
+        when(externalAircraftService.getSetCodeByAircraft(any())).thenAnswer(invocation ->
+                sections.values().stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    void updateKeepsFareIdsAndSoldSeats() {
+        UUID flightId = createFlight("VN100");
+        FlightFare economy = fare(flightId, FareType.ECONOMY);
+        assertThat(confirmSale(flightId, "Economy", "B-1", 3).isSuccess()).isTrue();
+        confirmSeats(flightId, "B-1", "2A");
+
+        sections.put(FareType.ECONOMY, List.of("2A", "2B", "2C", "3A", "3B", "3C"));
+        flightService.updateFlight(flightId, request("VN100", 80.0, 120.0));
+
+        FlightFare updated = fare(flightId, FareType.ECONOMY);
+        assertThat(updated.getId()).isEqualTo(economy.getId());
+        assertThat(updated.getSold()).isEqualTo(3);
+        assertThat(updated.getCapacity()).isEqualTo(6);
+        assertThat(updated.getMinPrice()).isEqualTo(80.0);
+        assertThat(flightFareRepository.findAll()).hasSize(2);
+        assertThat(flightService.getAvailableSeatsCount(flightId, "Economy")).isEqualTo(3);
+
+        // The sale and the booked seat still release against the same fare
+        assertThat(flightService.releaseFare(flightId, "Economy", FsReleaseFareRequestDTO.builder()
+                .bookingReference("B-1").build()).getReleasedCount()).isEqualTo(3);
+        assertThat(flightService.getAvailableSeatsCount(flightId, "Economy")).isEqualTo(6);
+        assertThat(flightService.releaseSeats(flightId, FsReleaseSeatsRequestDTO.builder()
+                .bookingReference("B-1").seatCodes(List.of("2A")).build()).status()).isEqualTo("Success");
+    }
+
+    @Test
+    void updateRejectsLosingSoldSeats() {
+        UUID flightId = createFlight("VN101");
+        confirmSale(flightId, "Economy", "B-1", 3);
+
+        // Shrinking below what is sold
+        sections.put(FareType.ECONOMY, List.of("2A", "2B"));
+        assertThatThrownBy(() -> flightService.updateFlight(flightId, request("VN101", 50.0, 100.0)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("3 seats sold");
+
+        // Dropping the fare altogether
+        sections.put(FareType.ECONOMY, List.of("2A", "2B", "2C", "3A"));
+        FsFlightCreateRequest businessOnly = FsFlightCreateRequest.builder()
+                .code("VN101")
+                .aircraftId(aircraftOf("VN101"))
+                .routeId(route.getId())
+                .departureTime(departure())
+                .seatClassFares(List.of(fareRequest(FareType.BUSINESS, "Business", 200.0, 300.0)))
+                .build();
+        assertThatThrownBy(() -> flightService.updateFlight(flightId, businessOnly))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("cannot be removed");
+
+        assertThat(fare(flightId, FareType.ECONOMY).getSold()).isEqualTo(3);
+        assertThat(fare(flightId, FareType.ECONOMY).getCapacity()).isEqualTo(4);
+    }
+
+    @Test
+    void confirmingTheSameSaleTwiceCountsOnce() {
+        UUID flightId = createFlight("VN102");
+
+        FsConfirmFareSaleResponseDTO first = confirmSale(flightId, "Economy", "B-1", 2);
+        // A saga retry, with the fare named in another case
+        FsConfirmFareSaleResponseDTO retry = confirmSale(flightId, "ECONOMY", "B-1", 2);
+
+        assertThat(first.isSuccess()).isTrue();
+        assertThat(retry.isSuccess()).isTrue();
+        assertThat(retry.getConfirmedCount()).isEqualTo(2);
+        assertThat(fare(flightId, FareType.ECONOMY).getSold()).isEqualTo(2);
+        assertThat(fareSaleRepository.findAll()).hasSize(1);
+        assertThat(flightService.getAvailableSeatsCount(flightId, "economy")).isEqualTo(2);
+    }
+
+    @Test
+    void failedLegRollsBackSeatsConfirmedOnEarlierLegs() {
+        UUID first = createFlight("VN200");
+        UUID second = createFlight("VN201");
+        confirmSeats(second, "B-0", "2B");
+
+        FsBatchResponseDTO<FsConfirmSeatsResponseDTO> response = flightService.confirmSeatsBatch(
+                FsBatchSeatsRequestDTO.builder()
+                        .bookingReference("B-1")
+                        .flights(List.of(leg(first, "2A", "2C"), leg(second, "2B")))
+                        .build());
+
+        assertThat(response.status()).isEqualTo("Failed");
+        FsConfirmSeatsResponseDTO firstLeg = response.results().getFirst().result();
+        assertThat(firstLeg.confirmedSeats()).isEmpty();
+        assertThat(firstLeg.failedToConfirmSeats()).containsExactly("2A", "2C");
+        assertThat(seatRepository.findByFlightIdAndDeleted(first, false)).isEmpty();
+        // Nothing is left behind on the first flight
+        assertThat(confirmSeats(first, "B-2", "2A").status()).isEqualTo("Success");
+    }
+
+    @Test
+    void batchesAreCappedAtTheConfiguredFlightCount() {
+        List<FsBatchSeatsRequestDTO.FlightSeats> legs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            legs.add(leg(UUID.randomUUID(), "2A"));
+        }
+
+        assertThatThrownBy(() -> flightService.confirmSeatsBatch(FsBatchSeatsRequestDTO.builder()
+                .bookingReference("B-1")
+                .flights(legs)
+                .build()))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("more than 3 flights");
+    }
+
+    @Test
+    void swapMovesSeatsAndFareSale() {
+        UUID oldFlight = createFlight("VN300");
+        UUID newFlight = createFlight("VN301");
+        confirmSeats(oldFlight, "B-1", "2A");
+        confirmSale(oldFlight, "Economy", "B-1", 1);
+
+        FsSeatSwapResponseDTO response = flightService.swapSeats(FsSeatSwapRequestDTO.builder()
+                .bookingReference("B-1")
+                .release(List.of(leg(oldFlight, "2A")))
+                .confirm(List.of(leg(newFlight, "1A")))
+                .releaseFares(List.of(new FsSeatSwapRequestDTO.FareSeats(oldFlight, "Economy", 1)))
+                .confirmFares(List.of(new FsSeatSwapRequestDTO.FareSeats(newFlight, "Business", 1)))
+                .build());
+
+        assertThat(response.status()).isEqualTo("Success");
+        assertThat(seatsHeldBy(oldFlight, "B-1")).isEmpty();
+        assertThat(seatsHeldBy(newFlight, "B-1")).containsExactly("1A");
+        assertThat(fare(oldFlight, FareType.ECONOMY).getSold()).isZero();
+        assertThat(fare(newFlight, FareType.BUSINESS).getSold()).isEqualTo(1);
+        // The moved sale releases from the new fare like any other
+        assertThat(flightService.releaseFare(newFlight, "Business", FsReleaseFareRequestDTO.builder()
+                .bookingReference("B-1").build()).getReleasedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failedConfirmKeepsTheOldSeat() {
+        UUID oldFlight = createFlight("VN302");
+        UUID newFlight = createFlight("VN303");
+        confirmSeats(oldFlight, "B-1", "2A");
+        confirmSeats(newFlight, "B-0", "1A");
+
+        FsSeatSwapResponseDTO response = flightService.swapSeats(FsSeatSwapRequestDTO.builder()
+                .bookingReference("B-1")
+                .release(List.of(leg(oldFlight, "2A")))
+                .confirm(List.of(leg(newFlight, "1A")))
+                .build());
+
+        assertThat(response.status()).isEqualTo("Failed");
+        assertThat(response.released()).isEmpty();
+        assertThat(seatsHeldBy(oldFlight, "B-1")).containsExactly("2A");
+        assertThat(seatsHeldBy(newFlight, "B-0")).containsExactly("1A");
+    }
+
+    @Test
+    void failedReleaseRollsBackTheNewSeat() {
+        UUID oldFlight = createFlight("VN304");
+        UUID newFlight = createFlight("VN305");
+        confirmSeats(oldFlight, "B-1", "2A");
+
+        // 2C is not held by the booking
+        FsSeatSwapResponseDTO response = flightService.swapSeats(FsSeatSwapRequestDTO.builder()
+                .bookingReference("B-1")
+                .release(List.of(leg(oldFlight, "2C")))
+                .confirm(List.of(leg(newFlight, "1A")))
+                .build());
+
+        assertThat(response.status()).isEqualTo("Failed");
+        assertThat(response.confirmed().getFirst().result().confirmedSeats()).isEmpty();
+        assertThat(seatsHeldBy(newFlight, "B-1")).isEmpty();
+        assertThat(seatsHeldBy(oldFlight, "B-1")).containsExactly("2A");
+    }
+
+    @Test
+    void fareWithoutRoomFailsTheWholeSwap() {
+        UUID oldFlight = createFlight("VN306");
+        UUID newFlight = createFlight("VN307");
+        confirmSeats(oldFlight, "B-1", "2A");
+        confirmSale(oldFlight, "Economy", "B-1", 1);
+        confirmSale(newFlight, "Business", "B-0", 2);
+
+        FsSeatSwapResponseDTO response = flightService.swapSeats(FsSeatSwapRequestDTO.builder()
+                .bookingReference("B-1")
+                .release(List.of(leg(oldFlight, "2A")))
+                .confirm(List.of(leg(newFlight, "1A")))
+                .releaseFares(List.of(new FsSeatSwapRequestDTO.FareSeats(oldFlight, "Economy", 1)))
+                .confirmFares(List.of(new FsSeatSwapRequestDTO.FareSeats(newFlight, "Business", 1)))
+                .build());
+
+        assertThat(response.status()).isEqualTo("Failed");
+        assertThat(response.message()).contains("Not enough available seats on fare 'Business'");
+        assertThat(seatsHeldBy(oldFlight, "B-1")).containsExactly("2A");
+        assertThat(seatsHeldBy(newFlight, "B-1")).isEmpty();
+        assertThat(fare(oldFlight, FareType.ECONOMY).getSold()).isEqualTo(1);
+        assertThat(fare(newFlight, FareType.BUSINESS).getSold()).isEqualTo(2);
+    }
+
+    @Test
+    void detailsBatchAnswersEachRequestedIdInOrder() {
+        UUID cached = createFlight("VN400");
+        UUID missing = createFlight("VN401");
+        UUID unknown = UUID.randomUUID();
+        flightService.getFlightDetails(cached);
+
+        FsBatchResponseDTO<FsFlightWithFareDetailsDTO> response = flightService.getFlightDetailsBatch(
+                new FsFlightDetailsBatchRequestDTO(List.of(missing, unknown, cached, missing)));
+
+        assertThat(response.results()).extracting(FsBatchResponseDTO.FlightResult::flightId)
+                .containsExactly(missing, unknown, cached, missing);
+        assertThat(response.results().get(0).result().flightCode()).isEqualTo("VN401");
+        assertThat(response.results().get(1).result()).isNull();
+        assertThat(response.results().get(1).error()).contains("not found");
+        assertThat(response.results().get(2).result().flightCode()).isEqualTo("VN400");
+        assertThat(response.results().get(3).result()).isEqualTo(response.results().get(0).result());
+        assertThat(response.status()).isEqualTo("Some failed");
+    }
+
+    @Test
+    void detailsBatchReportsAircraftFailuresPerFlight() {
+        UUID healthy = createFlight("VN402");
+        UUID broken = createFlight("VN403");
+        when(externalAircraftService.getAircraftInfo(aircraftOf("VN403")))
+                .thenThrow(new BadRequestException("Aircraft service unavailable"));
+
+        FsBatchResponseDTO<FsFlightWithFareDetailsDTO> response = flightService.getFlightDetailsBatch(
+                new FsFlightDetailsBatchRequestDTO(List.of(healthy, broken)));
+
+        assertThat(response.results().get(0).result().flightCode()).isEqualTo("VN402");
+        assertThat(response.results().get(1).result()).isNull();
+        assertThat(response.results().get(1).error()).contains("Aircraft details unavailable");
+        assertThat(response.status()).isEqualTo("Some failed");
+    }
+
+    @Test
+    void priceRankingFollowsTheFareFloorNotTheQuotedPrice() {
+        UUID cheap = flightService.createFlight(request("VN410", 60.0, 1000.0)).id();
+        UUID middle = flightService.createFlight(request("VN411", 90.0, 1000.0)).id();
+        UUID dear = flightService.createFlight(request("VN412", 120.0, 1000.0)).id();
+        // Quotes drawn earlier on this instance must not reorder the results
+        flightFareRepository.findAll().stream()
+                .filter(fare -> fare.getFlight().getId().equals(cheap))
+                .forEach(fare -> seatPriceCacheService.put(fare.getId().toString(), 999.0));
+
+        Search.Response first = search(2, null);
+        Search.Response second = search(2, first.nextCursor());
+
+        assertThat(first.directs()).extracting(FsFlightWithFareDetailsDTO::flightId).containsExactly(cheap, middle);
+        assertThat(second.directs()).extracting(FsFlightWithFareDetailsDTO::flightId).containsExactly(dear);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    private Search.Response search(int limit, String cursor) {
+        return flightService.searchFlights(new Search.Request(route.getId(), departure().toLocalDate().minusDays(1),
+                1, 0, 0, null, Search.SortBy.PRICE, limit, cursor));
+    }
+
+    private UUID createFlight(String code) {
+        return flightService.createFlight(request(code, 50.0, 100.0)).id();
+    }
+
+    private FsFlightCreateRequest request(String code, double economyMin, double economyMax) {
+        return FsFlightCreateRequest.builder()
+                .code(code)
+                .aircraftId(aircraftOf(code))
+                .routeId(route.getId())
+                .departureTime(departure())
+                .seatClassFares(List.of(
+                        fareRequest(FareType.BUSINESS, "Business", 200.0, 300.0),
+                        fareRequest(FareType.ECONOMY, "Economy", economyMin, economyMax)))
+                .build();
+    }
+
+    private static FsFlightCreateRequest.SeatClassFareRequest fareRequest(FareType type, String name,
+                                                                          double min, double max) {
+        return FsFlightCreateRequest.SeatClassFareRequest.builder()
+                .fareType(type)
+                .name(name)
+                .minPrice(min)
+                .maxPrice(max)
+                .build();
+    }
+
+    // One aircraft per flight code, so flights never conflict on schedule
+    private static UUID aircraftOf(String code) {
+        return UUID.nameUUIDFromBytes(code.getBytes());
+    }
+
+    private static FsBatchSeatsRequestDTO.FlightSeats leg(UUID flightId, String... seatCodes) {
+        return FsBatchSeatsRequestDTO.FlightSeats.builder()
+                .flightId(flightId)
+                .seatCodes(List.of(seatCodes))
+                .build();
+    }
+
+    private FsConfirmSeatsResponseDTO confirmSeats(UUID flightId, String bookingReference, String... seatCodes) {
+        return flightService.confirmSeat(flightId, FsConfirmSeatsRequestDTO.builder()
+                .bookingReference(bookingReference)
+                .seatCodes(List.of(seatCodes))
+                .build());
+    }
+
+    private List<String> seatsHeldBy(UUID flightId, String bookingReference) {
+        return seatRepository.findByFlightIdAndDeleted(flightId, false).stream()
+                .filter(seat -> seat.getBookingReference().equals(bookingReference))
+                .map(Seat::getSeatCode)
+                .toList();
+    }
+
+    private static LocalDateTime departure() {
+        return LocalDateTime.now().plusDays(5).withNano(0);
+    }
+
+    private FsConfirmFareSaleResponseDTO confirmSale(UUID flightId, String fareName, String bookingReference,
+                                                     int count) {
+        return flightService.confirmFareSale(flightId, fareName, FsConfirmFareSaleRequestDTO.builder()
+                .bookingReference(bookingReference)
+                .soldCount(count)
+                .build());
+    }
+
+    private FlightFare fare(UUID flightId, FareType type) {
+        return flightFareRepository.findAll().stream()
+                .filter(fare -> fare.getFlight().getId().equals(flightId) && fare.getFareType() == type)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,184 @@
+package com.boeing.flightservice.service.impl;
+
+import com.boeing.flightservice.dto.request.FsFlightCreateRequest;
+import com.boeing.flightservice.dto.request.FsScheduleImportRequestDTO;
+import com.boeing.flightservice.dto.response.FsFlightWithFareDetailsDTO;
+import com.boeing.flightservice.dto.response.FsScheduleImportStatusDTO;
+import com.boeing.flightservice.entity.Airport;
+import com.boeing.flightservice.entity.Flight;
+import com.boeing.flightservice.entity.FlightFare;
+import com.boeing.flightservice.entity.Route;
+import com.boeing.flightservice.entity.enums.FareType;
+import com.boeing.flightservice.repository.AirportRepository;
+import com.boeing.flightservice.repository.FlightFareRepository;
+import com.boeing.flightservice.repository.FlightRepository;
+import com.boeing.flightservice.repository.RouteRepository;
+import com.boeing.flightservice.service.ext.ExternalAircraftService;
+import com.boeing.flightservice.util.SsimLines;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * SSIM import against a real schema: expansion to dated flights, aircraft assignment within the turnaround,
+ * the batch writes and skipping what already exists.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "business.minimum-hours-between-flights-of-aircraft=3",
+        "schedule-import.chunk-size=4"
+})
+@Import(ScheduleImportServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ScheduleImportServiceImplTest {
+
+    @Autowired
+    ScheduleImportServiceImpl importService;
+
+    @Autowired
+    AirportRepository airportRepository;
+
+    @Autowired
+    RouteRepository routeRepository;
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    FlightFareRepository flightFareRepository;
+
+    @MockitoBean
+    ExternalAircraftService externalAircraftService;
+
+    private final UUID firstAircraft = UUID.randomUUID();
+    private final UUID secondAircraft = UUID.randomUUID();
+    private final LocalDate start = LocalDate.now().plusDays(10);
+
+    @BeforeEach
+    void setUp() {
+        flightFareRepository.deleteAll();
+        flightRepository.deleteAll();
+        routeRepository.deleteAll();
+        airportRepository.deleteAll();
+        Airport sgn = airportRepository.save(Airport.builder().name("Tan Son Nhat").code("SGN").build());
+        Airport han = airportRepository.save(Airport.builder().name("Noi Bai").code("HAN").build());
+        routeRepository.save(Route.builder().origin(sgn).destination(han).estimatedDurationMinutes(125).build());
+        routeRepository.save(Route.builder().origin(han).destination(sgn).estimatedDurationMinutes(125).build());
+
+        for (UUID aircraftId : List.of(firstAircraft, secondAircraft)) {
+            when(externalAircraftService.getAircraftInfo(aircraftId))
+                    .thenReturn(new FsFlightWithFareDetailsDTO.FsAircraftDTO(aircraftId, "VN-A" + aircraftId.hashCode(), "A321"));
+        }
+        when(externalAircraftService.getAircraftSeatSections(any())).thenReturn(Map.of(
+                FareType.BUSINESS, List.of("1A", "1B", "1C", "1D"),
+                FareType.ECONOMY, List.of("10A", "10B", "10C", "10D", "10E", "10F", "11A", "11B")));
+    }
+
+    @Test
+    void importsEveryOperatingDayAndSplitsConflictingLegsOverAircraft() throws Exception {
+        FsScheduleImportStatusDTO status = runImport(schedule(), false);
+
+        assertThat(status.state()).isEqualTo(FsScheduleImportStatusDTO.State.COMPLETED);
+        assertThat(status.legsRead()).isEqualTo(3);
+        assertThat(status.flightsPlanned()).isEqualTo(14);
+        assertThat(status.flightsCreated()).isEqualTo(14);
+        assertThat(status.flightsSkipped()).isZero();
+        // The unreadable leg and the leg without a route
+        assertThat(status.issueCount()).isEqualTo(2);
+
+        List<Flight> flights = flightRepository.findAll();
+        assertThat(flights).hasSize(14);
+        Flight outbound = flightRepository.findByCodeAndDeleted("VN210-" + compact(start), false);
+        assertThat(outbound.getDepartureTime()).isEqualTo(start.atTime(8, 0));
+        assertThat(outbound.getEstimatedArrivalTime()).isEqualTo(start.atTime(10, 10));
+        assertThat(outbound.getFlightDurationMinutes()).isEqualTo(130);
+        assertThat(outbound.getOrigin().getCode()).isEqualTo("SGN");
+        // The return leg departs 1h50 after the outbound lands, inside the 3h turnaround, so it needs another aircraft
+        assertThat(flights).filteredOn(f -> f.getCode().startsWith("VN210-"))
+                .allMatch(f -> f.getAircraftId().equals(firstAircraft));
+        assertThat(flights).filteredOn(f -> f.getCode().startsWith("VN211-"))
+                .allMatch(f -> f.getAircraftId().equals(secondAircraft));
+
+        List<FlightFare> fares = flightFareRepository.findAll();
+        assertThat(fares).hasSize(28);
+        assertThat(fares).filteredOn(f -> f.getFareType() == FareType.ECONOMY)
+                .allMatch(f -> f.getCapacity() == 8 && f.getSeatCount() == 8 && f.getSold() == 0);
+        assertThat(fares).filteredOn(f -> f.getFareType() == FareType.BUSINESS)
+                .allMatch(f -> f.getCapacity() == 4 && f.getMinPrice() == 300.0);
+    }
+
+    @Test
+    void importingAgainSkipsExistingFlights() throws Exception {
+        runImport(schedule(), false);
+
+        FsScheduleImportStatusDTO again = runImport(schedule(), false);
+
+        assertThat(again.state()).isEqualTo(FsScheduleImportStatusDTO.State.COMPLETED);
+        assertThat(again.flightsCreated()).isZero();
+        assertThat(again.flightsSkipped()).isEqualTo(14);
+        assertThat(again.issues()).anyMatch(issue -> issue.message().equals("Flight code already exists"));
+        assertThat(flightRepository.count()).isEqualTo(14);
+    }
+
+    @Test
+    void dryRunPlansWithoutWriting() throws Exception {
+        FsScheduleImportStatusDTO status = runImport(schedule(), true);
+
+        assertThat(status.state()).isEqualTo(FsScheduleImportStatusDTO.State.COMPLETED);
+        assertThat(status.flightsPlanned()).isEqualTo(14);
+        assertThat(status.flightsCreated()).isZero();
+        assertThat(status.message()).isEqualTo("Dry run: 14 of 14 flights can be created");
+        assertThat(flightRepository.count()).isZero();
+    }
+
+    private String schedule() {
+        LocalDate end = start.plusDays(6);
+        return String.join("\n",
+                SsimLines.header(),
+                SsimLines.carrier("VN"),
+                SsimLines.leg("VN", 210, "SGN", "HAN").period(start, end).days("1234567").times("0800", "1010").toString(),
+                SsimLines.leg("VN", 211, "HAN", "SGN").period(start, end).days("1234567").times("1200", "1410").toString(),
+                SsimLines.leg("VN", 212, "SGN", "DAD").period(start, end).days("1234567").times("1500", "1620").toString(),
+                SsimLines.leg("VN", 213, "SGN", "HAN").period(start, end).days("1234567").times("9900", "1620").toString(),
+                "5 VN 000006E000007");
+    }
+
+    private FsScheduleImportStatusDTO runImport(String ssim, boolean dryRun) throws InterruptedException {
+        FsScheduleImportRequestDTO request = FsScheduleImportRequestDTO.builder()
+                .aircraftByType(Map.of("321", List.of(firstAircraft, secondAircraft)))
+                .seatClassFares(List.of(
+                        new FsFlightCreateRequest.SeatClassFareRequest(FareType.BUSINESS, 300.0, 600.0, "Business", null),
+                        new FsFlightCreateRequest.SeatClassFareRequest(FareType.ECONOMY, 50.0, 150.0, "Economy", null)))
+                .dryRun(dryRun)
+                .build();
+        MockMultipartFile file = new MockMultipartFile("file", "winter.ssim", "text/plain",
+                ssim.getBytes(StandardCharsets.ISO_8859_1));
+
+        UUID jobId = importService.startImport(file, request).jobId();
+        long deadline = System.currentTimeMillis() + 10_000;
+        FsScheduleImportStatusDTO status = importService.getImport(jobId);
+        while (status.finishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = importService.getImport(jobId);
+        }
+        return status;
+    }
+
+    private static String compact(LocalDate date) {
+        return date.toString().replace("-", "");
+    }
+}
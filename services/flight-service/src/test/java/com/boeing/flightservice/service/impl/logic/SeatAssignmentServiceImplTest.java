@@ -0,0 +1,124 @@
+package com.boeing.flightservice.service.impl.logic;
+
+import com.boeing.flightservice.exception.BadRequestException;
+import com.boeing.flightservice.service.spec.logic.SeatAssignmentService.Assignment;
+import com.boeing.flightservice.service.spec.logic.SeatAssignmentService.Strategy;
+import com.boeing.flightservice.util.CabinLayout;
+import com.boeing.flightservice.util.SeatCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatAssignmentServiceImplTest {
+
+    private final SeatAssignmentServiceImpl service = new SeatAssignmentServiceImpl();
+
+    // Rows 1-30, 3-3 narrow-body economy
+    private final List<String> economy = seats(1, 30, "ABCDEF");
+    private final CabinLayout narrowBody = CabinLayout.of(economy, "3-3");
+
+    @Test
+    void fillsOneRowWithoutCrossingTheAisle() {
+        BitSet available = SeatCodec.toBitSet(economy);
+        occupy(available, "1A", "1B", "1E", "1F", "2A");
+
+        Assignment assignment = service.assign(narrowBody, available, 3);
+
+        // 1C-1D straddles the aisle, 2B-2D as well; 2D-2F is the first block inside one group
+        assertThat(assignment.strategy()).isEqualTo(Strategy.SAME_ROW);
+        assertThat(assignment.seatCodes()).containsExactly("2D", "2E", "2F");
+    }
+
+    @Test
+    void seatsAcrossSkippedColumnLettersAreAdjacent() {
+        List<String> business = seats(1, 3, "ACDF");
+        BitSet available = SeatCodec.toBitSet(business);
+        occupy(available, "1A");
+
+        Assignment assignment = service.assign(CabinLayout.of(business, "2-2"), available, 2);
+
+        assertThat(assignment.seatCodes()).containsExactly("1D", "1F");
+    }
+
+    @Test
+    void splitsOverConsecutiveRowsWhenNoRowFits() {
+        BitSet available = new BitSet();
+        // Only 10A-10C and 11A-11B are left in their groups
+        for (String seat : List.of("10A", "10B", "10C", "11A", "11B", "20A", "22A")) {
+            available.set(SeatCodec.ordinal(seat));
+        }
+
+        Assignment assignment = service.assign(narrowBody, available, 5);
+
+        assertThat(assignment.strategy()).isEqualTo(Strategy.ADJACENT_ROWS);
+        assertThat(assignment.seatCodes()).containsExactly("10A", "10B", "10C", "11A", "11B");
+    }
+
+    @Test
+    void prefersTheBackBlockDirectlyBehindTheFront() {
+        BitSet available = new BitSet();
+        for (String seat : List.of("5D", "5E", "6A", "6B", "6E", "6F")) {
+            available.set(SeatCodec.ordinal(seat));
+        }
+
+        Assignment assignment = service.assign(narrowBody, available, 4);
+
+        assertThat(assignment.seatCodes()).containsExactly("5D", "5E", "6E", "6F");
+    }
+
+    @Test
+    void fallsBackToScatteredSeats() {
+        BitSet available = new BitSet();
+        for (String seat : List.of("3A", "9C", "17F")) {
+            available.set(SeatCodec.ordinal(seat));
+        }
+
+        Assignment assignment = service.assign(narrowBody, available, 3);
+
+        assertThat(assignment.strategy()).isEqualTo(Strategy.SCATTERED);
+        assertThat(assignment.seatCodes()).containsExactly("3A", "9C", "17F");
+    }
+
+    @Test
+    void readsRowsThatSpanTwoBitmapWords() {
+        // Row 3 starts at ordinal 52, so its seats straddle the first and second 64-bit words
+        BitSet available = new BitSet();
+        for (String seat : List.of("3D", "3E", "3F")) {
+            available.set(SeatCodec.ordinal(seat));
+        }
+
+        Assignment assignment = service.assign(narrowBody, available, 3);
+
+        assertThat(assignment.seatCodes()).containsExactly("3D", "3E", "3F");
+    }
+
+    @Test
+    void rejectsPartiesLargerThanTheSeatsLeft() {
+        BitSet available = new BitSet();
+        available.set(SeatCodec.ordinal("1A"));
+
+        assertThatThrownBy(() -> service.assign(narrowBody, available, 2))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static void occupy(BitSet available, String... seats) {
+        for (String seat : seats) {
+            available.clear(SeatCodec.ordinal(seat));
+        }
+    }
+
+    private static List<String> seats(int fromRow, int toRow, String columns) {
+        List<String> seats = new ArrayList<>();
+        for (int row = fromRow; row <= toRow; row++) {
+            for (char column : columns.toCharArray()) {
+                seats.add(row + String.valueOf(column));
+            }
+        }
+        return seats;
+    }
+}
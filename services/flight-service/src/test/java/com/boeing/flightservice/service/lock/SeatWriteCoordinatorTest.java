@@ -0,0 +1,160 @@
+package com.boeing.flightservice.service.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SeatWriteCoordinatorTest {
+
+    private final SeatWriteCoordinator coordinator = new SeatWriteCoordinator(mock(JdbcTemplate.class),
+            new SimpleMeterRegistry(), 2, false, 2000);
+
+    @Test
+    void flightPairsOnCrossingStripesDoNotBlockEachOther() throws Exception {
+        // Ordered by id, the first pair maps to stripes 1,0 and the second to 0,1
+        List<UUID> first = pairOnStripes(1, 0);
+        List<UUID> second = pairOnStripes(0, 1);
+        UUID holder = pairOnStripes(0, 0).get(0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Both callers queue on stripe 0, the second pair first; locking by id order would let the first
+            // pair take stripe 1 while it waits, and the second pair would then wait for it forever
+            coordinator.lockFlight(holder);
+            Future<?> b = executor.submit(() -> lockAndComplete(second));
+            Thread.sleep(200);
+            Future<?> a = executor.submit(() -> lockAndComplete(first));
+            Thread.sleep(200);
+            complete();
+
+            b.get(10, TimeUnit.SECONDS);
+            a.get(10, TimeUnit.SECONDS);
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                complete();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void flightsSharingAStripeAreLockedOnce() {
+        List<UUID> flights = pairOnStripes(1, 1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            coordinator.lockFlights(flights);
+            // One release per stripe taken
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        } finally {
+            complete();
+        }
+    }
+
+    @Test
+    void stripeIsFreeBeforeAfterCommitListenersRun() throws Exception {
+        UUID flightId = UUID.randomUUID();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Stands in for an after-commit event listener, e.g. a slow details rebuild: the next writer of the
+            // flight must not wait for it, even if it registered before the lock was taken
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        executor.submit(() -> lockAndComplete(List.of(flightId))).get(10, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            coordinator.lockFlight(flightId);
+            complete();
+
+            // Rolled back: released at completion
+            TransactionSynchronizationManager.initSynchronization();
+            coordinator.lockFlight(flightId);
+            rollback();
+            executor.submit(() -> lockAndComplete(List.of(flightId))).get(10, TimeUnit.SECONDS);
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                complete();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void advisoryLockTimeoutOnlyCoversTheLockWait() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject("SELECT current_setting('lock_timeout')", String.class)).thenReturn("0");
+        SeatWriteCoordinator advisory = new SeatWriteCoordinator(jdbcTemplate, new SimpleMeterRegistry(), 2, true, 2000);
+        List<UUID> flights = pairOnStripes(0, 1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            advisory.lockFlights(flights);
+        } finally {
+            complete();
+        }
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class,
+                "2000ms");
+        inOrder.verify(jdbcTemplate).queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class,
+                SeatWriteCoordinator.advisoryKey(flights.get(0)));
+        inOrder.verify(jdbcTemplate).queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class,
+                SeatWriteCoordinator.advisoryKey(flights.get(1)));
+        // The rest of the transaction runs with the previous lock_timeout
+        inOrder.verify(jdbcTemplate).queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class, "0");
+    }
+
+    // What a transaction does: lock the flights, then release at completion
+    private Void lockAndComplete(List<UUID> flights) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            coordinator.lockFlights(flights);
+        } finally {
+            complete();
+        }
+        return null;
+    }
+
+    // What a commit does: after-commit callbacks in order, then completion
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static void rollback() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+
+    private List<UUID> pairOnStripes(int lowerStripe, int higherStripe) {
+        while (true) {
+            UUID x = UUID.randomUUID();
+            UUID y = UUID.randomUUID();
+            UUID lower = x.compareTo(y) < 0 ? x : y;
+            UUID higher = lower == x ? y : x;
+            if (coordinator.stripeOf(lower) == lowerStripe && coordinator.stripeOf(higher) == higherStripe) {
+                return List.of(lower, higher);
+            }
+        }
+    }
+}
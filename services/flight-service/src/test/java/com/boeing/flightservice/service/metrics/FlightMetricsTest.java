@@ -0,0 +1,73 @@
+package com.boeing.flightservice.service.metrics;
+
+import com.boeing.flightservice.config.MetricsConfig;
+import com.boeing.flightservice.exception.BadRequestException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FlightMetrics metrics = new FlightMetrics(registry);
+
+    FlightMetricsTest() {
+        registry.config().meterFilter(new MetricsConfig().routeTagCardinalityFilter(2));
+    }
+
+    @Test
+    void routesPastTheCapAreRecordedAsOther() {
+        record("SGN", "HAN");
+        record("SGN", "DAD");
+        record("HAN", "PQC");
+        record("DAD", "CXR");
+        record("SGN", "HAN");
+
+        assertThat(routeTimer("SGN-HAN").count()).isEqualTo(2);
+        assertThat(routeTimer("SGN-DAD").count()).isEqualTo(1);
+        assertThat(routeTimer(FlightMetrics.OTHER_ROUTE).count()).isEqualTo(2);
+        assertThat(registry.find(FlightMetrics.ROUTE_TIMER).tag(FlightMetrics.ROUTE_TAG, "HAN-PQC").timer()).isNull();
+        // The histogram timer has no route and sees every call
+        Timer operation = registry.get(FlightMetrics.OPERATION_TIMER)
+                .tag("operation", FlightMetrics.SEARCH_FLIGHTS)
+                .timer();
+        assertThat(operation.count()).isEqualTo(5);
+        assertThat(operation.getId().getTag(FlightMetrics.ROUTE_TAG)).isNull();
+    }
+
+    @Test
+    void outcomeFollowsHowTheOperationEnded() {
+        metrics.record(FlightMetrics.CONFIRM_SEATS, tagging -> {
+            tagging.outcome(FlightMetrics.PARTIAL);
+            return null;
+        });
+        assertThatThrownBy(() -> metrics.record(FlightMetrics.CONFIRM_SEATS, tagging -> {
+            throw new BadRequestException("Seat 1A is taken");
+        })).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> metrics.record(FlightMetrics.CONFIRM_SEATS, tagging -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        for (String outcome : new String[]{FlightMetrics.PARTIAL, FlightMetrics.REJECTED, FlightMetrics.ERROR}) {
+            assertThat(registry.get(FlightMetrics.OPERATION_TIMER).tag("outcome", outcome).timer().count())
+                    .isEqualTo(1);
+            // Without a route tagged by the body
+            assertThat(registry.get(FlightMetrics.ROUTE_TIMER).tag("outcome", outcome).timer().getId()
+                    .getTag(FlightMetrics.ROUTE_TAG)).isEqualTo("unknown");
+        }
+    }
+
+    private void record(String origin, String destination) {
+        metrics.record(FlightMetrics.SEARCH_FLIGHTS, tagging -> {
+            tagging.route(origin, destination);
+            return null;
+        });
+    }
+
+    private Timer routeTimer(String route) {
+        return registry.get(FlightMetrics.ROUTE_TIMER).tag(FlightMetrics.ROUTE_TAG, route).timer();
+    }
+}
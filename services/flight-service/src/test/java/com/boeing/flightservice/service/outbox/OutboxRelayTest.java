@@ -0,0 +1,121 @@
+package com.boeing.flightservice.service.outbox;
+
+import com.boeing.flightservice.service.event.FlightChangedEvent;
+import com.boeing.flightservice.service.metrics.FlightMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Outbox rows follow their transaction, and are only marked published once the broker confirmed the batch.
+ */
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "outbox.relay.batch-size=2"})
+@Import({OutboxWriter.class, OutboxRelay.class, FlightMetrics.class, SimpleMeterRegistry.class,
+        JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    OutboxRelay outboxRelay;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    RabbitOperations rabbitOperations;
+
+    private final RabbitOperations channel = mock(RabbitOperations.class);
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM flight_outbox");
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        when(rabbitOperations.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(channel));
+    }
+
+    @Test
+    void writesOneRowPerDistinctChangeOnlyOnCommit() {
+        UUID flightId = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            publish(flightId, FlightChangedEvent.Change.SEATS);
+            publish(flightId, FlightChangedEvent.Change.SEATS);
+            publish(flightId, FlightChangedEvent.Change.STATUS);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            publish(UUID.randomUUID(), FlightChangedEvent.Change.UPDATED);
+            status.setRollbackOnly();
+        });
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT aggregate_id, routing_key, payload FROM flight_outbox ORDER BY created_at, routing_key");
+        assertThat(rows).extracting(row -> row.get("routing_key")).containsExactlyInAnyOrder("flight.seats", "flight.status");
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.get("aggregate_id")).isEqualTo(flightId);
+            assertThat((String) row.get("payload")).contains(flightId.toString());
+        });
+    }
+
+    @Test
+    void publishesInConfirmedBatchesAndMarksRows() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                publish(UUID.randomUUID(), FlightChangedEvent.Change.SEATS);
+            }
+        });
+
+        outboxRelay.relay();
+
+        verify(channel, times(3)).send(eq("flight.events.exchange"), eq("flight.seats"), any(Message.class));
+        // Batch size 2: the backlog is drained in two confirmed batches
+        verify(channel, times(2)).waitForConfirmsOrDie(anyLong());
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void unconfirmedBatchStaysPending() {
+        transactionTemplate.executeWithoutResult(status -> publish(UUID.randomUUID(), FlightChangedEvent.Change.CREATED));
+        doThrow(new AmqpTimeoutException("no confirm")).when(channel).waitForConfirmsOrDie(anyLong());
+
+        outboxRelay.relay();
+
+        assertThat(pending()).isEqualTo(1);
+    }
+
+    private void publish(UUID flightId, FlightChangedEvent.Change change) {
+        eventPublisher.publishEvent(new FlightChangedEvent(flightId, change));
+    }
+
+    private Integer pending() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM flight_outbox WHERE published_at IS NULL", Integer.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.boeing.flightservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    @Test
+    void neverUndercountsAndStaysWithinErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(1000, 4);
+        assertThat(sketch.width()).isEqualTo(1024);
+
+        int keys = 5_000;
+        for (int key = 0; key < keys; key++) {
+            sketch.add(CountMinSketch.mix(key), key % 10 + 1);
+        }
+        // Standard bound: overcount at most e/width of the total, with high probability
+        long bound = (long) Math.ceil(Math.E / sketch.width() * sketch.total());
+        int withinBound = 0;
+        for (int key = 0; key < keys; key++) {
+            long estimate = sketch.estimate(CountMinSketch.mix(key));
+            assertThat(estimate).isGreaterThanOrEqualTo(key % 10 + 1);
+            if (estimate - (key % 10 + 1) <= bound) {
+                withinBound++;
+            }
+        }
+        assertThat(withinBound).isGreaterThan(keys * 95 / 100);
+
+        sketch.clear();
+        assertThat(sketch.estimate(CountMinSketch.mix(1))).isZero();
+        assertThat(sketch.total()).isZero();
+    }
+}
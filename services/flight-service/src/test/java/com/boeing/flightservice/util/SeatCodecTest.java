@@ -0,0 +1,69 @@
+package com.boeing.flightservice.util;
+
+import com.boeing.flightservice.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatCodecTest {
+
+    @Test
+    void packedCodesRoundTripAtTheEdges() {
+        for (String seatCode : List.of("1A", "1Z", "12C", "99F", "2047A", "2047Z")) {
+            short packed = SeatCodec.pack(seatCode);
+            assertThat(SeatCodec.unpack(packed)).isEqualTo(seatCode);
+            assertThat(SeatCodec.ordinal(packed)).isEqualTo(SeatCodec.ordinal(seatCode));
+        }
+        // The highest rows use the sign bit of the short
+        assertThat(SeatCodec.pack("2047Z")).isNegative();
+        assertThat(SeatCodec.pack("1A")).isEqualTo((short) 32);
+    }
+
+    @Test
+    void ordinalsAreDenseAndRowMajor() {
+        assertThat(SeatCodec.ordinal("1A")).isZero();
+        assertThat(SeatCodec.ordinal("1Z")).isEqualTo(25);
+        assertThat(SeatCodec.ordinal("2A")).isEqualTo(26);
+        assertThat(SeatCodec.ordinal("2047Z")).isEqualTo(2047 * SeatCodec.COLUMNS - 1);
+        for (String seatCode : List.of("1A", "1Z", "2A", "10K", "2047Z")) {
+            assertThat(SeatCodec.fromOrdinal(SeatCodec.ordinal(seatCode))).isEqualTo(seatCode);
+        }
+    }
+
+    @Test
+    void rejectsInvalidCodes() {
+        for (String seatCode : new String[]{null, "", "A", "1", "0A", "2048A", "12a", "1AA", "A1", "-1A", " 1A", "1 A"}) {
+            assertThat(SeatCodec.isValid(seatCode)).as(seatCode).isFalse();
+        }
+        assertThatThrownBy(() -> SeatCodec.pack("0A")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> SeatCodec.ordinal("12a")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> SeatCodec.toBitSet(List.of("1A", "X1"))).isInstanceOf(BadRequestException.class);
+        // Leading zeros are part of the row number
+        assertThat(SeatCodec.isValid("012C")).isTrue();
+        assertThat(SeatCodec.unpack(SeatCodec.pack("012C"))).isEqualTo("12C");
+    }
+
+    @Test
+    void bitmapsRoundTripInRowMajorOrder() {
+        List<String> seatCodes = List.of("30F", "1A", "2047Z", "1B", "12C");
+
+        BitSet decoded = SeatCodec.decode(SeatCodec.encode(seatCodes));
+
+        assertThat(decoded).isEqualTo(SeatCodec.toBitSet(seatCodes));
+        assertThat(SeatCodec.toSeatCodes(decoded)).containsExactly("1A", "1B", "12C", "30F", "2047Z");
+        assertThat(SeatCodec.encode(decoded)).isEqualTo(SeatCodec.encode(seatCodes));
+    }
+
+    @Test
+    void emptySetsEncodeToAnEmptyBitmap() {
+        assertThat(SeatCodec.encode(List.of())).isEmpty();
+        assertThat(SeatCodec.encode(new BitSet())).isEmpty();
+        assertThat(SeatCodec.decode(new byte[0]).isEmpty()).isTrue();
+        assertThat(SeatCodec.decode(null).isEmpty()).isTrue();
+        assertThat(SeatCodec.toSeatCodes(new BitSet())).isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+package com.boeing.flightservice.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Builds fixed-width SSIM records for tests, placing each field at its 1-based column.
+ */
+public final class SsimLines {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("ddMMMyy", Locale.ENGLISH);
+
+    private final char[] record = new char[SsimParser.RECORD_LENGTH];
+
+    private SsimLines(char type) {
+        Arrays.fill(record, ' ');
+        record[0] = type;
+    }
+
+    public static String header() {
+        return new SsimLines('1').put(2, "AIRLINE STANDARD SCHEDULE DATA SET").toString();
+    }
+
+    public static String carrier(String airline) {
+        return new SsimLines('2').put(2, "U").put(3, airline).toString();
+    }
+
+    public static SsimLines leg(String airline, int flightNumber, String origin, String destination) {
+        return new SsimLines('3')
+                .put(3, String.format("%-3s", airline))
+                .put(6, String.format("%4d", flightNumber))
+                .put(10, "01")
+                .put(12, "01")
+                .put(14, "J")
+                .put(37, origin)
+                .put(48, "+0700")
+                .put(55, destination)
+                .put(66, "+0700")
+                .put(73, "321");
+    }
+
+    public SsimLines period(LocalDate from, LocalDate to) {
+        put(15, DATE.format(from).toUpperCase(Locale.ROOT));
+        return put(22, to == null ? "00XXX00" : DATE.format(to).toUpperCase(Locale.ROOT));
+    }
+
+    public SsimLines days(String days) {
+        return put(29, days);
+    }
+
+    public SsimLines times(String departure, String arrival) {
+        put(40, departure).put(44, departure);
+        return put(62, arrival).put(58, arrival);
+    }
+
+    public SsimLines put(int column, String value) {
+        value.getChars(0, value.length(), record, column - 1);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return new String(record);
+    }
+}
@@ -0,0 +1,88 @@
+package com.boeing.flightservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SsimParserTest {
+
+    private final LocalDate monday = LocalDate.of(2026, 12, 7);
+
+    @Test
+    void readsLegFieldsByColumn() {
+        String line = SsimLines.leg("VN", 213, "SGN", "HAN")
+                .period(monday, monday.plusDays(27))
+                .days("1 3 5  ")
+                .times("0800", "1010")
+                .toString();
+
+        assertThat(SsimParser.isLegRecord(line)).isTrue();
+        SsimLeg leg = SsimParser.parseLeg(line, 4);
+        assertThat(leg.lineNumber()).isEqualTo(4);
+        assertThat(leg.airline()).isEqualTo("VN");
+        assertThat(leg.flightNumber()).isEqualTo(213);
+        assertThat(leg.legSequence()).isEqualTo(1);
+        assertThat(leg.periodFrom()).isEqualTo(monday);
+        assertThat(leg.periodTo()).isEqualTo(monday.plusDays(27));
+        assertThat(leg.origin()).isEqualTo("SGN");
+        assertThat(leg.destination()).isEqualTo("HAN");
+        assertThat(leg.departureTime()).isEqualTo(LocalTime.of(8, 0));
+        assertThat(leg.arrivalTime()).isEqualTo(LocalTime.of(10, 10));
+        assertThat(leg.aircraftType()).isEqualTo("321");
+        assertThat(leg.blockMinutes()).isEqualTo(130);
+        assertThat(leg.flightCode(monday)).isEqualTo("VN213-20261207");
+    }
+
+    @Test
+    void operatesOnListedDaysWithinPeriod() {
+        SsimLeg leg = SsimParser.parseLeg(SsimLines.leg("VN", 1, "SGN", "HAN")
+                .period(monday, monday.plusDays(13))
+                .days("1 3 5  ")
+                .times("0800", "1010")
+                .toString(), 1);
+
+        assertThat(leg.operatesOn(monday)).isTrue();
+        assertThat(leg.operatesOn(monday.plusDays(1))).isFalse();
+        assertThat(leg.operatesOn(monday.plusDays(11))).isTrue();
+        assertThat(leg.operatesOn(monday.plusDays(14))).isFalse();
+        assertThat(leg.operatesOn(monday.minusDays(7))).isFalse();
+    }
+
+    @Test
+    void openPeriodAndOvernightBlockAcrossTimeZones() {
+        String line = SsimLines.leg("VN", 300, "HAN", "NRT")
+                .period(monday, null)
+                .days("1234567")
+                .times("2300", "0630")
+                .put(66, "+0900")
+                .put(193, "1")
+                .toString();
+
+        SsimLeg leg = SsimParser.parseLeg(line, 1);
+        assertThat(leg.periodTo()).isNull();
+        assertThat(leg.operatesOn(monday.plusYears(1))).isTrue();
+        assertThat(leg.arrivalDateVariation()).isEqualTo(1);
+        // 23:00 +07 to 06:30 +09 the next day
+        assertThat(leg.blockMinutes()).isEqualTo(330);
+    }
+
+    @Test
+    void rejectsMalformedRecordsNamingTheField() {
+        String badTime = SsimLines.leg("VN", 1, "SGN", "HAN")
+                .period(monday, monday).days("1      ").times("2561", "1010").toString();
+        String noDays = SsimLines.leg("VN", 1, "SGN", "HAN")
+                .period(monday, monday).times("0800", "1010").toString();
+        String badDate = SsimLines.leg("VN", 1, "SGN", "HAN")
+                .period(monday, monday).days("1      ").times("0800", "1010").put(17, "XYZ").toString();
+
+        assertThatThrownBy(() -> SsimParser.parseLeg(badTime, 1)).hasMessageContaining("passenger STD");
+        assertThatThrownBy(() -> SsimParser.parseLeg(noDays, 1)).hasMessageContaining("days of operation");
+        assertThatThrownBy(() -> SsimParser.parseLeg(badDate, 1)).hasMessageContaining("period of operation from");
+        assertThatThrownBy(() -> SsimParser.parseLeg("3 VN", 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(SsimParser.isLegRecord(SsimLines.header())).isFalse();
+    }
+}
@@ -0,0 +1,71 @@
+package com.boeing.flightservice.util;
+
+import com.boeing.flightservice.dto.union.Search;
+import com.boeing.flightservice.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Paging through a ranked list with TopK and ItineraryCursor, the way the flight search does.
+ */
+class TopKTest {
+
+    private record Ranked(long key, String id) {
+    }
+
+    private static final Comparator<Ranked> ORDER = Comparator.comparingLong(Ranked::key).thenComparing(Ranked::id);
+
+    @Test
+    void keepsSmallestInOrder() {
+        TopK<Integer> top = new TopK<>(3, Comparator.naturalOrder());
+        for (int value : new int[]{9, 4, 7, 1, 8, 3, 3}) {
+            top.offer(value);
+        }
+        assertThat(top.toSortedList()).containsExactly(1, 3, 3);
+    }
+
+    @Test
+    void cursorPagesCoverFullRankingWithoutGapsOrDuplicates() {
+        Random random = new Random(42);
+        List<Ranked> all = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // Few distinct keys, so ties are broken by id across page boundaries
+            all.add(new Ranked(random.nextInt(50), "itinerary-" + i));
+        }
+
+        List<Ranked> paged = new ArrayList<>();
+        ItineraryCursor cursor = null;
+        do {
+            TopK<Ranked> page = new TopK<>(26, ORDER);
+            for (Ranked ranked : all) {
+                if (cursor == null || cursor.precedes(ranked.key(), ranked.id())) {
+                    page.offer(ranked);
+                }
+            }
+            List<Ranked> selected = page.toSortedList();
+            cursor = null;
+            if (selected.size() > 25) {
+                selected = selected.subList(0, 25);
+                Ranked last = selected.getLast();
+                cursor = ItineraryCursor.decode(
+                        new ItineraryCursor(Search.SortBy.PRICE, last.key(), last.id()).encode());
+            }
+            paged.addAll(selected);
+        } while (cursor != null);
+
+        assertThat(paged).containsExactlyElementsOf(all.stream().sorted(ORDER).toList());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> ItineraryCursor.decode("not a cursor"))
+                .isInstanceOf(BadRequestException.class);
+    }
+}